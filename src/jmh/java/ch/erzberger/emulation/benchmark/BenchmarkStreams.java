@@ -0,0 +1,103 @@
+package ch.erzberger.emulation.benchmark;
+
+import ch.erzberger.emulation.common.FileParserHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Representative byte streams for the benchmarks. Every stream ends with a line feed and never cuts through an
+ * escape sequence, so that it can be fed to the same PrinterByteProcessorImpl over and over again.
+ */
+public class BenchmarkStreams {
+    public static final String TEXT = "text";
+    public static final String GRAPHICS = "graphics";
+    public static final String MODES = "modes";
+    public static final String SAMPLES = "samples";
+
+    private static final String SAMPLE_DIRECTORY = "documentation/sampleoutput";
+
+    private BenchmarkStreams() {
+        // Prevent instantiation
+        super();
+    }
+
+    /**
+     * Creates a stream of exactly the given size.
+     *
+     * @param type One of TEXT, GRAPHICS, MODES or SAMPLES
+     * @param size Size of the stream in bytes
+     * @return The stream
+     */
+    public static byte[] create(String type, int size) {
+        byte[] unit;
+        switch (type) {
+            case TEXT:
+                // One full line of text
+                unit = "The quick brown fox 0123\n".getBytes(StandardCharsets.US_ASCII);
+                break;
+            case GRAPHICS:
+                // One full line of graphics
+                unit = new byte[166 + 3];
+                new Random(82240).nextBytes(unit);
+                unit[0] = 0x1B;
+                unit[1] = (byte) 166;
+                unit[unit.length - 1] = 0x0A;
+                break;
+            case MODES:
+                // Double wide, underline and charset switched on and off all the time
+                unit = new byte[]{0x1B, (byte) 0xFD, 'A', 'B', 0x1B, (byte) 0xFC, 0x1B, (byte) 0xFB, 'C', 0x1B, (byte) 0xFA,
+                        0x1B, (byte) 0xF9, 'D', 0x1B, (byte) 0xF8, 0x1B, 0x02, 0x55, 0x2A, 0x0A};
+                break;
+            case SAMPLES:
+                unit = readSamples();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown stream type: " + type);
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(size);
+        while (stream.size() + unit.length < size) {
+            stream.writeBytes(unit);
+        }
+        // Fill up with blanks and a final line feed
+        while (stream.size() < size - 1) {
+            stream.write(' ');
+        }
+        stream.write('\n');
+        return stream.toByteArray();
+    }
+
+    /**
+     * The benchmarks must not measure the console output of warnings (e.g. for buffer overflows).
+     */
+    public static void disableLogging() {
+        LogManager.getLogManager().reset();
+        Logger.getLogger("").setLevel(Level.OFF);
+    }
+
+    private static byte[] readSamples() {
+        List<Path> samples;
+        try (Stream<Path> files = Files.list(Paths.get(SAMPLE_DIRECTORY))) {
+            samples = files.filter(f -> f.toString().endsWith(".yaml")).sorted().collect(Collectors.toList());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (Path sample : samples) {
+            stream.writeBytes(new FileParserHelper(sample).readEntireFile());
+        }
+        return stream.toByteArray();
+    }
+}
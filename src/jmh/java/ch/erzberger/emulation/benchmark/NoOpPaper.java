@@ -0,0 +1,24 @@
+package ch.erzberger.emulation.benchmark;
+
+import ch.erzberger.emulation.hp41printer.Paper;
+
+/**
+ * Paper that throws everything away, so that only the decoder is measured.
+ */
+public class NoOpPaper implements Paper {
+    private long lines = 0;
+
+    @Override
+    public void printLine(String line) {
+        lines++;
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap) {
+        // Nothing to do
+    }
+
+    public long getLines() {
+        return lines;
+    }
+}
@@ -0,0 +1,141 @@
+package ch.erzberger.emulation.benchmark;
+
+import ch.erzberger.emulation.hp41printer.Paper;
+import ch.erzberger.emulation.hp41printer.PaperImpl;
+import ch.erzberger.emulation.hp41printer.TiledPaper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures how printing into a Paper scales with the length of the roll. One operation prints the given number of
+ * lines into a new Paper that writes into a temporary directory. The latency percentiles of the single lines and the
+ * heap growth (measured after a GC, with the Paper still alive) are secondary results, see {@link LineStatistics}.
+ * <p></p>
+ * Note: PaperImpl rewrites the complete output on every line, so its cost grows quadratically with the number of
+ * lines. Tiled adds the tiles of TiledPaper on top, whose cost per line must stay constant. Durable is a durable
+ * PaperImpl that commits its journal every 100 ms, so most lines only go into the journal.
+ * By default only rolls of up to 1000 lines are measured. Longer ones are opt-in, e.g.
+ * -Djmh.args="PaperScaling -p lines=10000": 10000 lines take about half an hour, 100000 lines days.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PaperScalingBenchmark {
+    private static final long DURABLE_COMMIT_MILLIS = 100L;
+
+    @Param({"100", "1000"})
+    private int lines;
+
+    @Param({"PaperImpl", "Tiled", "Durable"})
+    private String paperType;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final boolean[][] bitmap = new boolean[166][8];
+    private Path outputDirectory;
+    private Paper paper;
+    private long[] latencies;
+    private long heapBefore;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        BenchmarkStreams.disableLogging();
+        // Something that looks like a line of text
+        for (int column = 0; column < bitmap.length; column++) {
+            for (int row = 0; row < 7; row++) {
+                bitmap[column][row] = column % 6 != 5 && (column * 7 + row) % 3 == 0;
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        outputDirectory = Files.createTempDirectory("hp82240-paper");
+        latencies = new long[lines];
+        heapBefore = usedHeap();
+        paper = createPaper(paperType, outputDirectory);
+    }
+
+    @Benchmark
+    public Paper printLines() {
+        for (int i = 0; i < lines; i++) {
+            long start = System.nanoTime();
+            paper.printLine("The quick brown fox 0123");
+            paper.printGraphic(bitmap);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return paper;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown(LineStatistics statistics) throws IOException {
+        statistics.heapGrowthKiB = (usedHeap() - heapBefore) / 1024.0;
+        Arrays.sort(latencies);
+        statistics.p50Millis = percentile(0.5);
+        statistics.p90Millis = percentile(0.9);
+        statistics.p99Millis = percentile(0.99);
+        statistics.maxMillis = percentile(1.0);
+        if (paper instanceof Closeable) {
+            ((Closeable) paper).close();
+        }
+        paper = null;
+        try (Stream<Path> outputFiles = Files.walk(outputDirectory)) {
+            for (Path outputFile : outputFiles.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(outputFile);
+            }
+        }
+    }
+
+    /**
+     * The secondary results of an iteration, set when it ends.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LineStatistics {
+        public double p50Millis;
+        public double p90Millis;
+        public double p99Millis;
+        public double maxMillis;
+        public double heapGrowthKiB;
+    }
+
+    /**
+     * Creates the Paper implementation to measure. New output engines are added here, and to the paperType values.
+     */
+    private static Paper createPaper(String paperType, Path outputDirectory) {
+        if ("PaperImpl".equals(paperType)) {
+            return new PaperImpl(outputDirectory);
+        }
+        if ("Tiled".equals(paperType)) {
+            // The tiles on top of the paper, as with --tiles
+            return new TiledPaper(new PaperImpl(outputDirectory), outputDirectory);
+        }
+        if ("Durable".equals(paperType)) {
+            return PaperImpl.open(outputDirectory, 0, false, null, DURABLE_COMMIT_MILLIS);
+        }
+        throw new IllegalArgumentException("Unknown paper type: " + paperType);
+    }
+
+    private long usedHeap() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private double percentile(double percentile) {
+        int index = (int) Math.ceil(percentile * latencies.length) - 1;
+        return latencies[Math.max(0, index)] / 1e6;
+    }
+}
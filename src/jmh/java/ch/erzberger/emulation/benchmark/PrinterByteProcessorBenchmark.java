@@ -0,0 +1,40 @@
+package ch.erzberger.emulation.benchmark;
+
+import ch.erzberger.emulation.hp41printer.PrinterByteProcessorImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the decoder, PrinterByteProcessorImpl.processBytes(). One operation is one byte, so the score is
+ * in bytes per second, and the "gc.alloc.rate.norm" of the allocation profiler is in bytes allocated per byte.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrinterByteProcessorBenchmark {
+    private static final int STREAM_SIZE = 64 * 1024;
+
+    @Param({BenchmarkStreams.TEXT, BenchmarkStreams.GRAPHICS, BenchmarkStreams.MODES, BenchmarkStreams.SAMPLES})
+    private String stream;
+
+    private byte[] data;
+    private PrinterByteProcessorImpl processor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkStreams.create(stream, STREAM_SIZE);
+        BenchmarkStreams.disableLogging();
+        processor = new PrinterByteProcessorImpl(new NoOpPaper(), false);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAM_SIZE)
+    public PrinterByteProcessorImpl processBytes() {
+        processor.processBytes(data);
+        return processor;
+    }
+}
@@ -0,0 +1,235 @@
+package ch.erzberger.emulation.archive;
+
+import ch.erzberger.emulation.hp41printer.FinishedPage;
+import lombok.extern.java.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves finished pages into compressed archives, one per day (e.g. Hp8224-2024-01-31.tar.gz). Each page is appended
+ * as a gzip member of its own, so an archive is never rewritten and is readable after every page, e.g. with
+ * 'tar xzf'. The archive index (Hp8224-Archive-Index.txt) lists every page with its time range and line count.
+ * Archives that are older than the maximum age, or the oldest ones if all archives together are too big, are deleted.
+ * <p></p>
+ * All archivers share one background thread, so the compression never runs on the printing thread.
+ */
+@Log
+public class PageArchiver implements Consumer<FinishedPage> {
+    private static final String ARCHIVE_PREFIX = "Hp8224-";
+    private static final String ARCHIVE_SUFFIX = ".tar.gz";
+    private static final String INDEXFILE = "Hp8224-Archive-Index.txt";
+    private static final String INDEX_HEADER = "Archive\tImage\tText\tPage\tLines\tStarted\tFinished";
+    private static final int TAR_BLOCK = 512;
+    private static final ExecutorService ARCHIVER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "page-archiver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        // Finish the pages that are already queued, an interrupted gzip member would end the archive
+        Runtime.getRuntime().addShutdownHook(new Thread(PageArchiver::awaitArchived, "page-archiver-shutdown"));
+    }
+
+    private final Path archiveDirectory;
+    private final Duration maxAge;
+    private final long maxBytes;
+
+    /**
+     * @param archiveDirectory Directory for the archives and the archive index
+     * @param maxAge           Archives older than this are deleted, null to keep them
+     * @param maxBytes         The oldest archives are deleted while all are bigger than this, 0 for no limit
+     */
+    public PageArchiver(Path archiveDirectory, Duration maxAge, long maxBytes) {
+        this.archiveDirectory = archiveDirectory;
+        this.maxAge = maxAge;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Queues the page for the archive. Called on the printing thread.
+     */
+    @Override
+    public void accept(FinishedPage page) {
+        ARCHIVER.execute(() -> archive(page));
+    }
+
+    /**
+     * Waits until all queued pages are archived.
+     */
+    public static void awaitArchived() {
+        try {
+            ARCHIVER.submit(() -> {
+            }).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.log(Level.WARNING, "Archiving did not finish", e);
+        }
+    }
+
+    private void archive(FinishedPage page) {
+        LocalDate day = page.getFinished().atZone(ZoneId.systemDefault()).toLocalDate();
+        Path archive = archiveDirectory.resolve(ARCHIVE_PREFIX + day + ARCHIVE_SUFFIX);
+        try {
+            Files.createDirectories(archiveDirectory);
+            ByteArrayOutputStream member = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+                for (Path file : new Path[]{page.getImageFile(), page.getTextFile()}) {
+                    if (Files.exists(file)) {
+                        writeTarEntry(gzip, file.getFileName().toString(), Files.readAllBytes(file),
+                                Files.getLastModifiedTime(file).toInstant());
+                    }
+                }
+            }
+            // The member is written in one go and forced to disk before the originals are deleted
+            try (FileOutputStream output = new FileOutputStream(archive.toFile(), true)) {
+                member.writeTo(output);
+                output.getChannel().force(false);
+            }
+            Files.deleteIfExists(page.getImageFile());
+            Files.deleteIfExists(page.getTextFile());
+            appendToIndex(archive, page);
+            log.log(Level.FINE, "Page {0} archived in {1}", new Object[]{page.getNumber(), archive});
+            applyRetention(day);
+        } catch (IOException ex) {
+            // The page stays in the output directory
+            log.log(Level.SEVERE, String.format("Cannot archive page %d", page.getNumber()), ex);
+        }
+    }
+
+    private void appendToIndex(Path archive, FinishedPage page) throws IOException {
+        Path indexFile = archiveDirectory.resolve(INDEXFILE);
+        String entry = String.format("%s\t%s\t%s\t%d\t%d\t%s\t%s%n", archive.getFileName(), page.getImageFile().getFileName(),
+                page.getTextFile().getFileName(), page.getNumber(), page.getLines(), page.getStarted(), page.getFinished());
+        if (!Files.exists(indexFile)) {
+            entry = INDEX_HEADER + System.lineSeparator() + entry;
+        }
+        Files.writeString(indexFile, entry, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Deletes the archives that are too old, and then the oldest ones while there are too many bytes. The archive
+     * of the current day is always kept.
+     */
+    private void applyRetention(LocalDate today) throws IOException {
+        if (maxAge == null && maxBytes <= 0) {
+            return;
+        }
+        List<Path> archives;
+        try (Stream<Path> files = Files.list(archiveDirectory)) {
+            archives = files.filter(f -> archiveDay(f) != null).sorted().collect(Collectors.toList());
+        }
+        long totalBytes = 0;
+        for (Path archive : archives) {
+            totalBytes += Files.size(archive);
+        }
+        Instant oldest = maxAge != null ? Instant.now().minus(maxAge) : null;
+        List<String> deleted = new ArrayList<>();
+        for (Path archive : archives) {
+            LocalDate day = archiveDay(archive);
+            boolean tooOld = oldest != null && day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().isBefore(oldest);
+            boolean tooBig = maxBytes > 0 && totalBytes > maxBytes;
+            if (day.equals(today) || !(tooOld || tooBig)) {
+                continue;
+            }
+            totalBytes -= Files.size(archive);
+            Files.delete(archive);
+            deleted.add(archive.getFileName().toString());
+            log.log(Level.INFO, "Archive {0} deleted", archive.getFileName());
+        }
+        if (!deleted.isEmpty()) {
+            removeFromIndex(deleted);
+        }
+    }
+
+    private void removeFromIndex(List<String> deletedArchives) throws IOException {
+        Path indexFile = archiveDirectory.resolve(INDEXFILE);
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        List<String> remaining = Files.readAllLines(indexFile).stream()
+                .filter(line -> deletedArchives.stream().noneMatch(a -> line.startsWith(a + "\t")))
+                .collect(Collectors.toList());
+        Path temporary = indexFile.resolveSibling(INDEXFILE + ".tmp");
+        Files.write(temporary, remaining);
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static LocalDate archiveDay(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(ARCHIVE_PREFIX) || !name.endsWith(ARCHIVE_SUFFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name.substring(ARCHIVE_PREFIX.length(), name.length() - ARCHIVE_SUFFIX.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes one file in the ustar format. The end of archive blocks are left out, so that the next page can be
+     * appended; tar reads up to the end of the file anyway.
+     */
+    static void writeTarEntry(OutputStream output, String name, byte[] data, Instant modified) throws IOException {
+        byte[] header = new byte[TAR_BLOCK];
+        putString(header, 0, 100, name);
+        putOctal(header, 100, 8, 0644);
+        putOctal(header, 108, 8, 0);
+        putOctal(header, 116, 8, 0);
+        putOctal(header, 124, 12, data.length);
+        putOctal(header, 136, 12, modified.getEpochSecond());
+        header[156] = '0'; // Regular file
+        putString(header, 257, 6, "ustar");
+        putString(header, 263, 2, "00");
+        // The checksum is calculated with blanks in the checksum field
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        putOctal(header, 148, 7, checksum);
+        output.write(header);
+        output.write(data);
+        int padding = (TAR_BLOCK - data.length % TAR_BLOCK) % TAR_BLOCK;
+        output.write(new byte[padding]);
+    }
+
+    private static void putString(byte[] header, int offset, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, Math.min(length, bytes.length));
+    }
+
+    private static void putOctal(byte[] header, int offset, int length, long value) {
+        // Zero padded octal digits, followed by a NUL
+        String octal = String.format("%0" + (length - 1) + "o", value);
+        putString(header, offset, length - 1, octal);
+        header[offset + length - 1] = 0;
+    }
+}
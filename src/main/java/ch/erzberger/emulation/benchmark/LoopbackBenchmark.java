@@ -0,0 +1,95 @@
+package ch.erzberger.emulation.benchmark;
+
+import ch.erzberger.emulation.common.FileParserHelper;
+import ch.erzberger.emulation.communication.LoopbackLink;
+import ch.erzberger.emulation.communication.PrintDataWriter;
+import ch.erzberger.emulation.communication.TransmissionPacing;
+import ch.erzberger.emulation.hp41printer.PaperImpl;
+import ch.erzberger.emulation.hp41printer.PrinterByteProcessorImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the whole chain from the YAML file to the output files, without any hardware: FileParserHelper,
+ * PrintDataWriter, LoopbackLink, PrinterByteProcessorImpl and PaperImpl. The output files go to a temporary
+ * directory. For each sample file the throughput and the latency of each line (from sending the line until
+ * the receiver has written it to disk) are reported.
+ * <p></p>
+ * Usage: LoopbackBenchmark [realistic|unlimited] [directory with YAML files]
+ */
+public class LoopbackBenchmark {
+    private static final String SAMPLE_DIRECTORY = "documentation/sampleoutput";
+
+    public static void main(String[] args) throws IOException {
+        TransmissionPacing pacing = args.length > 0 ? TransmissionPacing.valueOf(args[0].toUpperCase()) : TransmissionPacing.UNLIMITED;
+        Path sampleDirectory = Paths.get(args.length > 1 ? args[1] : SAMPLE_DIRECTORY);
+        // Every printed line is logged on INFO, which would dominate the measurement
+        LogManager.getLogManager().reset();
+        Logger.getLogger("").setLevel(Level.WARNING);
+        List<Path> samples;
+        try (Stream<Path> files = Files.list(sampleDirectory)) {
+            samples = files.filter(f -> f.toString().endsWith(".yaml")).sorted().collect(Collectors.toList());
+        }
+        System.out.printf("Pacing: %s%n", pacing);
+        System.out.printf("%-24s %8s %8s %10s %12s %10s %10s %10s%n",
+                "File", "Lines", "Bytes", "Time [ms]", "Bytes/s", "p50 [ms]", "p99 [ms]", "max [ms]");
+        for (Path sample : samples) {
+            run(sample, pacing);
+        }
+    }
+
+    private static void run(Path sample, TransmissionPacing pacing) throws IOException {
+        Path outputDirectory = Files.createTempDirectory("hp82240-loopback");
+        FileParserHelper helper = new FileParserHelper(sample);
+        LoopbackLink link = new LoopbackLink(pacing);
+        long[][] latencies = {new long[1024]}; // Grows with the number of lines
+        int[] lines = new int[1];
+        long[] bytes = new long[1];
+        link.setDeliveryListener((sentNanos, deliveredNanos, length) -> {
+            if (lines[0] == latencies[0].length) {
+                latencies[0] = Arrays.copyOf(latencies[0], 2 * lines[0]);
+            }
+            latencies[0][lines[0]] = deliveredNanos - sentNanos;
+            lines[0]++;
+            bytes[0] += length;
+        });
+        link.getReader().registerCallback(new PrinterByteProcessorImpl(new PaperImpl(outputDirectory), false));
+        PrintDataWriter writer = link.getWriter();
+        long start = System.nanoTime();
+        while (helper.hasNextLine()) {
+            writer.sendBytes(helper.readNextLine());
+        }
+        writer.flush();
+        link.close();
+        long elapsed = System.nanoTime() - start;
+        long[] sorted = Arrays.copyOf(latencies[0], lines[0]);
+        Arrays.sort(sorted);
+        System.out.printf("%-24s %8d %8d %10.1f %12.0f %10.2f %10.2f %10.2f%n", sample.getFileName(), lines[0], bytes[0],
+                elapsed / 1e6, bytes[0] / (elapsed / 1e9), percentile(sorted, 0.5), percentile(sorted, 0.99),
+                percentile(sorted, 1.0));
+        try (Stream<Path> outputFiles = Files.walk(outputDirectory)) {
+            for (Path outputFile : outputFiles.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(outputFile);
+            }
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,411 @@
+package ch.erzberger.emulation.benchmark;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import ch.erzberger.emulation.common.Hp82240EscapeCodes;
+import ch.erzberger.emulation.common.Hp82240aCharsetProvider;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates large, nasty print streams for load tests: Text lines, full width graphics, double wide / underline
+ * storms, lines that overflow the printer buffer, graphics with invalid lengths, resets and self tests, mixed
+ * according to configurable weights.
+ * The stream only depends on the seed and the mix, so a failure can be reproduced. It is generated element by
+ * element while it is written, so it can be gigabytes long. Every element ends with a line feed.
+ * The stream can be written as raw printer bytes, as YAML (like the files in documentation/sampleoutput), or be fed
+ * to a ByteProcessor directly.
+ * <p></p>
+ * Usage: PrintStreamGenerator [raw|yaml] [size, e.g. 10m or 2g] [seed] [mix, e.g. text=10,graphics=5,selftest=0]
+ * <br>
+ * The stream is written to stdout.
+ */
+public class PrintStreamGenerator {
+    /**
+     * The elements of a stream
+     */
+    public enum Element {
+        /** A line of text, sometimes with characters from the upper half of the charset */
+        TEXT,
+        /** A line of 166 graphic columns */
+        GRAPHICS,
+        /** A line with double wide and underline switched on and off after almost every character */
+        STORM,
+        /** A line that is longer than the printer buffer (200 bytes) */
+        OVERFLOW,
+        /** A graphic sequence with the length 0 or more than 166 */
+        INVALID_GRAPHICS,
+        /** Reset of the printer */
+        RESET,
+        /** Self test of the printer, which prints a dozen lines */
+        SELFTEST
+    }
+
+    public static final long DEFAULT_SEED = 82240L;
+    private static final int COLUMNS = 166;
+    private static final int CHARS_PER_LINE = 24;
+    private static final int PRINTER_BUFFER_SIZE = 200;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Random random;
+    private final Element[] weightedElements;
+
+    /**
+     * @param seed The seed, the same seed and mix always generate the same stream
+     * @param mix  Weight of each element, elements that are missing are not generated
+     */
+    public PrintStreamGenerator(long seed, Map<Element, Integer> mix) {
+        this.random = new Random(seed);
+        List<Element> elements = new ArrayList<>();
+        for (Map.Entry<Element, Integer> entry : new EnumMap<>(mix).entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                elements.add(entry.getKey());
+            }
+        }
+        if (elements.isEmpty()) {
+            throw new IllegalArgumentException("The mix does not contain any element");
+        }
+        this.weightedElements = elements.toArray(new Element[0]);
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean yaml = args.length > 0 && "yaml".equalsIgnoreCase(args[0]);
+        long size = args.length > 1 ? parseSize(args[1]) : 1024L * 1024;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        Map<Element, Integer> mix = args.length > 3 ? parseMix(args[3]) : defaultMix();
+        PrintStreamGenerator generator = new PrintStreamGenerator(seed, mix);
+        if (yaml) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), CHUNK_SIZE);
+            generator.writeYaml(out, size);
+            out.flush();
+        } else {
+            OutputStream out = new BufferedOutputStream(System.out, CHUNK_SIZE);
+            generator.writeRaw(out, size);
+            out.flush();
+        }
+    }
+
+    /**
+     * @return Mostly text and graphics, with a little of everything else
+     */
+    public static Map<Element, Integer> defaultMix() {
+        Map<Element, Integer> mix = new EnumMap<>(Element.class);
+        mix.put(Element.TEXT, 40);
+        mix.put(Element.GRAPHICS, 30);
+        mix.put(Element.STORM, 10);
+        mix.put(Element.OVERFLOW, 10);
+        mix.put(Element.INVALID_GRAPHICS, 5);
+        mix.put(Element.RESET, 4);
+        mix.put(Element.SELFTEST, 1);
+        return mix;
+    }
+
+    /**
+     * Parses a mix like "text=10,graphics=5". Elements that are not given are not generated.
+     */
+    public static Map<Element, Integer> parseMix(String mix) {
+        Map<Element, Integer> result = new EnumMap<>(Element.class);
+        for (String part : mix.split(",")) {
+            String[] keyValue = part.split("=");
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid mix element: " + part);
+            }
+            result.put(Element.valueOf(keyValue[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(keyValue[1].trim()));
+        }
+        return result;
+    }
+
+    /**
+     * Parses a size like 1024, 64k, 10m or 2g.
+     */
+    public static long parseSize(String size) {
+        String value = size.trim().toLowerCase(Locale.ROOT);
+        long factor = 1;
+        if (value.endsWith("k")) {
+            factor = 1024L;
+        } else if (value.endsWith("m")) {
+            factor = 1024L * 1024;
+        } else if (value.endsWith("g")) {
+            factor = 1024L * 1024 * 1024;
+        }
+        if (factor != 1) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Long.parseLong(value) * factor;
+    }
+
+    /**
+     * Writes raw printer bytes, until at least the given number of bytes have been written.
+     *
+     * @return The number of bytes written
+     */
+    public long writeRaw(OutputStream out, long size) throws IOException {
+        RawWriter writer = new RawWriter((buffer, length) -> out.write(buffer, 0, length));
+        return generate(writer, size);
+    }
+
+    /**
+     * Writes the stream as YAML, until it contains at least the given number of printer bytes.
+     *
+     * @return The number of printer bytes in the YAML
+     */
+    public long writeYaml(Writer out, long size) throws IOException {
+        YamlWriter writer = new YamlWriter(out);
+        out.write("title: Generated stream" + System.lineSeparator());
+        out.write("purpose: Load test, generated by the PrintStreamGenerator" + System.lineSeparator());
+        out.write("hp82240PrintData:" + System.lineSeparator());
+        return generate(writer, size);
+    }
+
+    /**
+     * Feeds the stream to a ByteProcessor in chunks of 64 KiB, until at least the given number of bytes was fed.
+     *
+     * @return The number of bytes fed
+     */
+    public long feed(ByteProcessor processor, long size) {
+        RawWriter writer = new RawWriter((buffer, length) -> processor.processBytes(buffer, 0, length, System.nanoTime()));
+        try {
+            return generate(writer, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); // Cannot happen, there is no I/O
+        }
+    }
+
+    private long generate(ElementWriter writer, long size) throws IOException {
+        while (writer.getBytesWritten() < size) {
+            writeElement(weightedElements[random.nextInt(weightedElements.length)], writer);
+        }
+        writer.flush();
+        return writer.getBytesWritten();
+    }
+
+    private void writeElement(Element element, ElementWriter writer) throws IOException {
+        switch (element) {
+            case TEXT:
+                writer.text(randomText(1 + random.nextInt(CHARS_PER_LINE)));
+                if (random.nextInt(4) == 0) {
+                    writer.hex(randomUpperHalf(1 + random.nextInt(8)));
+                }
+                break;
+            case GRAPHICS:
+                byte[] columns = new byte[COLUMNS];
+                random.nextBytes(columns);
+                writer.graphic(columns);
+                break;
+            case STORM:
+                for (int i = 0; i < CHARS_PER_LINE; i++) {
+                    writer.esc(random.nextBoolean() ? Hp82240EscapeCodes.START_DOUBLEWIDE : Hp82240EscapeCodes.STOP_DOUBLEWIDE);
+                    writer.esc(random.nextBoolean() ? Hp82240EscapeCodes.START_UNDERLINE : Hp82240EscapeCodes.STOP_UNDERLINE);
+                    writer.text(randomText(1 + random.nextInt(2)));
+                }
+                writer.esc(Hp82240EscapeCodes.STOP_DOUBLEWIDE);
+                writer.esc(Hp82240EscapeCodes.STOP_UNDERLINE);
+                break;
+            case OVERFLOW:
+                int length = PRINTER_BUFFER_SIZE + random.nextInt(PRINTER_BUFFER_SIZE);
+                while (length > 0) {
+                    int part = Math.min(length, 60);
+                    writer.text(randomText(part));
+                    length -= part;
+                }
+                break;
+            case INVALID_GRAPHICS:
+                // ESC 0 is ignored, a length of more than 166 overflows the line. 0xF8 and up are other escape codes.
+                int invalidLength = random.nextBoolean() ? 0 : COLUMNS + 1 + random.nextInt(0xF8 - COLUMNS - 1);
+                byte[] sequence = new byte[invalidLength + 2];
+                random.nextBytes(sequence);
+                sequence[0] = 0x1B;
+                sequence[1] = (byte) invalidLength;
+                writer.hex(sequence);
+                break;
+            case RESET:
+                writer.esc(Hp82240EscapeCodes.RESET);
+                break;
+            case SELFTEST:
+                writer.esc(Hp82240EscapeCodes.SELFTEST);
+                break;
+            default:
+                throw new IllegalStateException("Unknown element: " + element);
+        }
+        writer.lineFeed(random.nextBoolean());
+    }
+
+    private String randomText(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (' ' + random.nextInt(0x7F - ' '));
+        }
+        return new String(chars);
+    }
+
+    private byte[] randomUpperHalf(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            // 0xA0 to 0xF7, without the codes of the escape sequences
+            bytes[i] = (byte) (0xA0 + random.nextInt(0xF8 - 0xA0));
+        }
+        return bytes;
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        void accept(byte[] buffer, int length) throws IOException;
+    }
+
+    /**
+     * Receives the elements of the stream, in the terms of the YAML files.
+     */
+    private interface ElementWriter {
+        void text(String text) throws IOException;
+
+        void graphic(byte[] columns) throws IOException;
+
+        void esc(Hp82240EscapeCodes code) throws IOException;
+
+        void lineFeed(boolean hp) throws IOException;
+
+        void hex(byte[] bytes) throws IOException;
+
+        void flush() throws IOException;
+
+        long getBytesWritten();
+    }
+
+    private static class RawWriter implements ElementWriter {
+        private final ChunkConsumer consumer;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int length = 0;
+        private long bytesWritten = 0;
+
+        RawWriter(ChunkConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void text(String text) throws IOException {
+            write(text.getBytes(Hp82240aCharsetProvider.hp82240a()));
+        }
+
+        @Override
+        public void graphic(byte[] columns) throws IOException {
+            write((byte) 0x1B);
+            write((byte) columns.length);
+            write(columns);
+        }
+
+        @Override
+        public void esc(Hp82240EscapeCodes code) throws IOException {
+            write((byte) 0x1B);
+            write(code.getEscCode());
+        }
+
+        @Override
+        public void lineFeed(boolean hp) throws IOException {
+            write((byte) (hp ? 0x04 : 0x0A));
+        }
+
+        @Override
+        public void hex(byte[] bytes) throws IOException {
+            write(bytes);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (length > 0) {
+                consumer.accept(buffer, length);
+                length = 0;
+            }
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            for (byte b : bytes) {
+                write(b);
+            }
+        }
+
+        private void write(byte b) throws IOException {
+            if (length == buffer.length) {
+                flush();
+            }
+            buffer[length++] = b;
+            bytesWritten++;
+        }
+    }
+
+    private static class YamlWriter implements ElementWriter {
+        private static final HexFormat HEX = HexFormat.of().withUpperCase();
+        private final Writer out;
+        private long bytesWritten = 0;
+
+        YamlWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void text(String text) throws IOException {
+            // Single quoted, so that no character of the text has a meaning in YAML
+            writeElement("text", "'" + text.replace("'", "''") + "'");
+            bytesWritten += text.length();
+        }
+
+        @Override
+        public void graphic(byte[] columns) throws IOException {
+            writeElement("graphic", HEX.formatHex(columns));
+            bytesWritten += columns.length + 2L;
+        }
+
+        @Override
+        public void esc(Hp82240EscapeCodes code) throws IOException {
+            writeElement("esc", code.getTextVersion());
+            bytesWritten += 2;
+        }
+
+        @Override
+        public void lineFeed(boolean hp) throws IOException {
+            writeElement("linefeed", hp ? "hp" : "regular");
+            bytesWritten++;
+        }
+
+        @Override
+        public void hex(byte[] bytes) throws IOException {
+            writeElement("hex", HEX.formatHex(bytes));
+            bytesWritten += bytes.length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        private void writeElement(String key, String value) throws IOException {
+            out.write("    - ");
+            out.write(key);
+            out.write(": ");
+            out.write(value);
+            out.write(System.lineSeparator());
+        }
+    }
+}
@@ -12,4 +12,17 @@ public interface ByteProcessor {
             processByte(currentByte);
         }
     }
+
+    /**
+     * Processes a block of bytes that arrived at the same time
+     * @param bytes buffer with the bytes that were received
+     * @param offset start of the received bytes in the buffer
+     * @param length number of bytes received
+     * @param arrivalNanos System.nanoTime() when the bytes arrived, for latency tracing
+     */
+    default void processBytes(byte[] bytes, int offset, int length, long arrivalNanos) {
+        for (int i = offset; i < offset + length; i++) {
+            processByte(bytes[i]);
+        }
+    }
 }
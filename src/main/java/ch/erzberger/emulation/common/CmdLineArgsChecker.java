@@ -1,5 +1,6 @@
 package ch.erzberger.emulation.common;
 
+import ch.erzberger.emulation.communication.TcpReaderImpl;
 import lombok.extern.java.Log;
 import org.apache.commons.cli.*;
 
@@ -11,76 +12,282 @@ import java.util.logging.Level;
 public class CmdLineArgsChecker {
     public static final String FILEARG = "inputFile";
 
+    public static final String OUTPUTARG = "outputFile";
     public static final String MODELA = "modelA";
+    public static final String TEXTARG = "text";
     public static final String PORTARG = "port";
     public static final String STDOUT = "stdout";
     public static final String STDIN = "stdin";
+    public static final String SESSIONSARG = "sessions";
+    public static final String TCP_PREFIX = "tcp:";
+    public static final String LIVEVIEWARG = "liveView";
+    public static final String LINESPERPAGEARG = "linesPerPage";
+    public static final String JOBSARG = "jobs";
+    public static final String ARCHIVEARG = "archive";
+    public static final String ARCHIVEDAYSARG = "archiveDays";
+    public static final String ARCHIVEMEGABYTESARG = "archiveMegabytes";
+    public static final String INDEXARG = "index";
+    public static final String TILESARG = "tiles";
+    public static final String DURABLEARG = "durable";
+    public static final String CONTEXTARG = "context";
+    public static final String LIMITARG = "limit";
+    public static final String QUERYARG = "query";
+    public static final String DIRECTORYARG = "directory";
+    public static final String LINEARG = "line";
+    public static final String COUNTARG = "count";
 
-    private static final String SENDER = "sender";
-    private static final String RECEIVER = "receiver";
+    private static final String RECEIVER_USAGE = "Hp82240";
+    private static final String SENDER_USAGE = "RedEyeSender";
+    private static final String CONVERTER_USAGE = "ImageConverter";
+    private static final String SEARCH_USAGE = "SearchTool [OPTIONS] WORDS";
+    private static final String CROP_USAGE = "LineCropTool";
 
     public Map<String, String> checkReceiverArgs(String[] args) {
-        return checkArgs(args, RECEIVER);
+        Options options = receiverOptions();
+        options.addOption(portOption(false, false));
+        CommandLine line = parse(args, options, RECEIVER_USAGE);
+        return checkPort(receiverResult(line), line, options, RECEIVER_USAGE, false, false);
     }
 
     public Map<String, String> checkSenderArgs(String[] args) {
-        return checkArgs(args, SENDER);
+        Options options = senderOptions();
+        options.addOption(portOption(true, false));
+        CommandLine line = parse(args, options, SENDER_USAGE);
+        return checkPort(senderResult(line), line, options, SENDER_USAGE, true, false);
     }
 
-    private Map<String, String> checkArgs(String[] args, String role) {
-        boolean isSender = SENDER.equals(role);
-        String prefix = isSender ? "RedEyeSender" : "Hp82240";
+    public Map<String, String> checkConverterArgs(String[] args) {
+        // The image converter sends its output like the sender does
+        Options options = converterOptions();
+        options.addOption(portOption(true, true));
+        CommandLine line = parse(args, options, CONVERTER_USAGE);
+        return checkPort(converterResult(line), line, options, CONVERTER_USAGE, true, true);
+    }
+
+    public Map<String, String> checkSearchArgs(String[] args) {
+        return searchResult(parse(args, searchOptions(), SEARCH_USAGE));
+    }
+
+    public Map<String, String> checkCropArgs(String[] args) {
+        return cropResult(parse(args, cropOptions(), CROP_USAGE));
+    }
+
+    private static Options receiverOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder("i").longOpt(FILEARG)
+                .desc("Input file, will be used instead of opening and listening to a serial port")
+                .hasArg().argName("FILE")
+                .build());
+        options.addOption(Option.builder("a").longOpt(MODELA)
+                .desc("Force HP 82240A; Ignores the RPL charset escape code and uses the model A bitmaps")
+                .build());
+        options.addOption(Option.builder("s").longOpt(SESSIONSARG)
+                .desc("YAML file with several printers (port and output directory each) that are served at the same time. " +
+                        "Used instead of the PORT")
+                .hasArg().argName("FILE")
+                .build());
+        options.addOption(Option.builder("l").longOpt(LINESPERPAGEARG)
+                .desc("Start a new page after LINES lines. Finished pages are numbered, e.g. Hp8224-Image-0001.png")
+                .hasArg().argName("LINES")
+                .build());
+        options.addOption(Option.builder("j").longOpt(JOBSARG)
+                .desc("Write each print job to its own files. A job ends with a printer reset, a self test, a tear-off " +
+                        "in the live view, or when no data arrived for SECONDS (0 for never)")
+                .hasArg().argName("SECONDS")
+                .build());
+        options.addOption(Option.builder("z").longOpt(ARCHIVEARG)
+                .desc("Move finished pages and jobs, and the output of the last run, into compressed archives in DIR")
+                .hasArg().argName("DIR")
+                .build());
+        options.addOption(Option.builder().longOpt(ARCHIVEDAYSARG)
+                .desc("Delete archives that are older than DAYS")
+                .hasArg().argName("DAYS")
+                .build());
+        options.addOption(Option.builder().longOpt(ARCHIVEMEGABYTESARG)
+                .desc("Delete the oldest archives while all archives together are bigger than MB")
+                .hasArg().argName("MB")
+                .build());
+        options.addOption(Option.builder("x").longOpt(INDEXARG)
+                .desc("Add the printed text to the search index in DIR, see SearchTool")
+                .hasArg().argName("DIR")
+                .build());
+        options.addOption(Option.builder().longOpt(TILESARG)
+                .desc("Also draw the whole roll as tiles at several zoom levels, see Hp8224-Tiles/index.html")
+                .build());
+        options.addOption(Option.builder().longOpt(DURABLEARG)
+                .desc("Keep the current page in a journal that survives a crash, and update the output files every " +
+                        "MILLIS ms (0 for every line)")
+                .hasArg().argName("MILLIS")
+                .build());
+        options.addOption(Option.builder("w").longOpt(LIVEVIEWARG)
+                .desc("Show the output in a browser while it is printed, at http://localhost:HTTPPORT/")
+                .hasArg().argName("HTTPPORT")
+                .build());
+        return options;
+    }
+
+    private static Map<String, String> receiverResult(CommandLine line) {
         HashMap<String, String> result = new HashMap<>();
-        // Set up the command line parameters
+        result.put(FILEARG, line.getOptionValue("i"));
+        result.put(SESSIONSARG, line.getOptionValue("s"));
+        result.put(LIVEVIEWARG, line.getOptionValue("w"));
+        result.put(LINESPERPAGEARG, line.getOptionValue("l"));
+        result.put(JOBSARG, line.getOptionValue("j"));
+        result.put(ARCHIVEARG, line.getOptionValue("z"));
+        result.put(ARCHIVEDAYSARG, line.getOptionValue(ARCHIVEDAYSARG));
+        result.put(ARCHIVEMEGABYTESARG, line.getOptionValue(ARCHIVEMEGABYTESARG));
+        result.put(INDEXARG, line.getOptionValue("x"));
+        result.put(DURABLEARG, line.getOptionValue(DURABLEARG));
+        if (line.hasOption('a')) {
+            result.put(MODELA, MODELA);
+        }
+        if (line.hasOption(TILESARG)) {
+            result.put(TILESARG, TILESARG);
+        }
+        return result;
+    }
+
+    private static Options senderOptions() {
         Options options = new Options();
-        if (isSender) {
-            options.addOption(Option.builder("i").longOpt(FILEARG)
-                    .desc("File that is sent to the PORT")
-                    .hasArg().argName("FILE")
-                    .required()
-                    .build());
-        } else {
-            options.addOption(Option.builder("i").longOpt(FILEARG)
-                    .desc("Input file, will be used instead of opening and listening to a serial port")
-                    .hasArg().argName("FILE")
-                    .build());
-            options.addOption(Option.builder("a").longOpt(MODELA)
-                    .desc("Force HP 82240A; Ignores the RPL charset escape code and uses the model A bitmaps")
-                    .build());
+        options.addOption(Option.builder("i").longOpt(FILEARG)
+                .desc("File that is sent to the PORT. Separate several files with commas to send them one after the other. " +
+                        "If no file is given, the data is read from stdin and sent while it arrives")
+                .hasArg().argName("FILE")
+                .build());
+        options.addOption(Option.builder("t").longOpt(TEXTARG)
+                .desc("Data on stdin is UTF-8 text instead of raw printer bytes")
+                .build());
+        return options;
+    }
+
+    private static Map<String, String> senderResult(CommandLine line) {
+        HashMap<String, String> result = new HashMap<>();
+        result.put(FILEARG, line.getOptionValue("i"));
+        if (line.hasOption('t')) {
+            result.put(TEXTARG, TEXTARG);
         }
+        return result;
+    }
+
+    private static Options converterOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder("i").longOpt(FILEARG)
+                .desc("Image (PNG or JPEG) that is converted and sent to the PORT")
+                .hasArg().argName("FILE")
+                .required()
+                .build());
+        options.addOption(Option.builder("o").longOpt(OUTPUTARG)
+                .desc("Write the converted image to this YAML file instead of sending it to the PORT")
+                .hasArg().argName("FILE")
+                .build());
+        return options;
+    }
+
+    private static Map<String, String> converterResult(CommandLine line) {
+        HashMap<String, String> result = new HashMap<>();
+        result.put(FILEARG, line.getOptionValue("i"));
+        result.put(OUTPUTARG, line.getOptionValue("o"));
+        return result;
+    }
+
+    private static Options searchOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder("x").longOpt(INDEXARG)
+                .desc("Directory of the search index, as given to the simulator")
+                .hasArg().argName("DIR")
+                .required()
+                .build());
+        options.addOption(Option.builder("c").longOpt(CONTEXTARG)
+                .desc("Show LINES lines before and after every hit (default 2)")
+                .hasArg().argName("LINES")
+                .build());
+        options.addOption(Option.builder("n").longOpt(LIMITARG)
+                .desc("Show at most HITS hits, the most recent ones (default 50)")
+                .hasArg().argName("HITS")
+                .build());
+        return options;
+    }
+
+    private static Map<String, String> searchResult(CommandLine line) {
+        HashMap<String, String> result = new HashMap<>();
+        result.put(INDEXARG, line.getOptionValue("x"));
+        result.put(CONTEXTARG, line.getOptionValue("c"));
+        result.put(LIMITARG, line.getOptionValue("n"));
+        result.put(QUERYARG, String.join(" ", line.getArgList()));
+        return result;
+    }
+
+    private static Options cropOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder("d").longOpt(DIRECTORYARG)
+                .desc("Output directory of the simulator (default: the current directory)")
+                .hasArg().argName("DIR")
+                .build());
+        options.addOption(Option.builder("l").longOpt(LINEARG)
+                .desc("Number of the line, counted across all pages starting with 1")
+                .hasArg().argName("LINE")
+                .required()
+                .build());
+        options.addOption(Option.builder("n").longOpt(COUNTARG)
+                .desc("Number of lines, up to the end of the page (default 1)")
+                .hasArg().argName("LINES")
+                .build());
+        options.addOption(Option.builder("o").longOpt(OUTPUTARG)
+                .desc("PNG file for the lines (default: Hp8224-Line-LINE.png)")
+                .hasArg().argName("FILE")
+                .build());
+        return options;
+    }
+
+    private static Map<String, String> cropResult(CommandLine line) {
+        HashMap<String, String> result = new HashMap<>();
+        result.put(DIRECTORYARG, line.getOptionValue("d"));
+        result.put(LINEARG, line.getOptionValue("l"));
+        result.put(COUNTARG, line.getOptionValue("n"));
+        result.put(OUTPUTARG, line.getOptionValue("o"));
+        return result;
+    }
+
+    private static Option portOption(boolean isSender, boolean isConverter) {
         String portMsg = isSender ? STDOUT : STDIN;
         String description = "Serial port to use (will auto-detect if not specified). '" + portMsg + "' will use the console";
-        options.addOption(Option.builder("p").longOpt(PORTARG)
+        if (!isSender) {
+            description += ". 'tcp:PORT' or 'tcp:HOST:PORT' listens for network bridges";
+        }
+        if (isSender && !isConverter) {
+            description += ". Separate several ports with commas to send to all of them in parallel";
+        }
+        return Option.builder("p").longOpt(PORTARG)
                 .desc(description)
                 .hasArg().argName("PORT")
-                .build());
-        // create the command line parser and parse the arguments
-        CommandLineParser parser = new DefaultParser();
-        HelpFormatter formatter = new HelpFormatter();
-        String port = null;
+                .build();
+    }
+
+    /**
+     * Parses the command line. Prints the help and exits if it is not valid.
+     */
+    private static CommandLine parse(String[] args, Options options, String usage) {
         try {
-            // parse the command line arguments
-            CommandLine line = parser.parse(options, args);
-            result.put(FILEARG, line.getOptionValue("i"));
-            if (line.hasOption('a')) {
-                result.put(MODELA, MODELA);
-            }
-            port = line.getOptionValue("p");
-            if (port != null) {
-                // If the option is given as '-p com1:' instead of '-p=com1:', then the blank will be present. Remove it.
-                port = port.trim();
-            }
+            return new DefaultParser().parse(options, args);
         } catch (MissingOptionException ex) {
-            formatter.printHelp(prefix, options);
-            System.exit(-1);
+            new HelpFormatter().printHelp(usage, options);
         } catch (ParseException exp) {
             log.log(Level.SEVERE, "Unexpected exception:", exp);
-            System.exit(-1);
         }
+        System.exit(-1);
+        return null;
+    }
+
+    private static Map<String, String> checkPort(Map<String, String> result, CommandLine line, Options options,
+                                                 String usage, boolean isSender, boolean isConverter) {
+        HelpFormatter formatter = new HelpFormatter();
+        String port = line.getOptionValue("p");
         if (port == null) {
             result.put(PORTARG, ""); // Blank means auto-detect
             return result;
         }
+        // If the option is given as '-p com1:' instead of '-p=com1:', then the blank will be present. Remove it.
+        port = port.trim();
         // Check special cases
         if (isSender && STDOUT.equalsIgnoreCase(port)) {
             result.put(PORTARG, STDOUT);
@@ -90,15 +297,33 @@ public class CmdLineArgsChecker {
             result.put(PORTARG, STDIN);
             return result;
         }
-        // Check the port for validity
-        boolean isOk = port.contains("com"); // Windows style com port is ok so far
-        isOk |= !(port.contains("dev") || port.contains(".")); // Either way: No /dev or .tty or anything
+        if (!isSender && TcpReaderImpl.isTcpPort(port)) {
+            try {
+                TcpReaderImpl.parseAddress(port);
+                result.put(PORTARG, port); // Host names and IP addresses contain dots
+            } catch (IllegalArgumentException ex) {
+                result.put(PORTARG, null);
+                formatter.printHelp(usage + ": " + ex.getMessage() + ". Give 'tcp:PORT' or 'tcp:HOST:PORT'.", options);
+            }
+            return result;
+        }
+        // Check the port(s) for validity. Only the sender accepts a list of ports.
+        boolean isOk = true;
+        for (String singlePort : isSender && !isConverter ? port.split(",") : new String[]{port}) {
+            isOk &= isValidPort(singlePort.trim());
+        }
         if (isOk) {
             result.put(PORTARG, port);
         } else {
             result.put(PORTARG, null);
-            formatter.printHelp(prefix + ": Specified serial port is invalid. Give only the name, and do not include /dev or a prefix such as tty.", options);
+            formatter.printHelp(usage + ": Specified serial port is invalid. Give only the name, and do not include /dev or a prefix such as tty.", options);
         }
         return result;
     }
+
+    private static boolean isValidPort(String port) {
+        boolean isOk = port.contains("com"); // Windows style com port is ok so far
+        isOk |= !(port.contains("dev") || port.contains(".")); // Either way: No /dev or .tty or anything
+        return isOk;
+    }
 }
@@ -2,6 +2,8 @@ package ch.erzberger.emulation.common;
 
 import lombok.Getter;
 
+import java.util.Arrays;
+
 @Getter
 public enum Hp82240EscapeCodes {
     RESET("reset", (byte)0xFF),
@@ -13,6 +15,14 @@ public enum Hp82240EscapeCodes {
     START_ISO8859("iso8859", (byte)0xF9),
     STOP_ISO8859("end_iso8859", (byte)0xF8),
     GRAPHICS_MODE("graphics", (byte)0x00);
+    // Lookup by code, values() would create a new array for every escape sequence
+    private static final Hp82240EscapeCodes[] BY_CODE = new Hp82240EscapeCodes[256];
+    static {
+        Arrays.fill(BY_CODE, GRAPHICS_MODE);
+        for (Hp82240EscapeCodes value : values()) {
+            BY_CODE[value.escCode & 0xFF] = value;
+        }
+    }
     private final String textVersion;
     private final byte escCode;
 
@@ -30,11 +40,6 @@ public enum Hp82240EscapeCodes {
     }
 
     public static Hp82240EscapeCodes getEscapeCodeByCode(int code) {
-        for (Hp82240EscapeCodes value : values()) {
-            if (value.escCode == (byte)code) {
-                return value;
-            }
-        }
-        return GRAPHICS_MODE;
+        return BY_CODE[code & 0xFF];
     }
 }
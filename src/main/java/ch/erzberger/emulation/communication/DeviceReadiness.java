@@ -0,0 +1,84 @@
+package ch.erzberger.emulation.communication;
+
+import lombok.extern.java.Log;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Readiness handshake for a PrintDataDevice. The device calls {@link #start()} when it begins to set itself up
+ * (e.g. opens the serial port), and {@link #signalReady()} once it is able to process data. Any thread can block
+ * in {@link #await(long)} until the device is ready, or until the timeout expires.
+ * The time between start and ready is kept, so that it can be reported (e.g. how long an Arduino reset takes).
+ */
+@Log
+public class DeviceReadiness {
+    private final CountDownLatch readyLatch = new CountDownLatch(1);
+    private volatile long startNanos = System.nanoTime();
+    private volatile long readyNanos = -1L;
+
+    /**
+     * Creates a readiness handshake for a device that is ready right away (e.g. stdin or a file).
+     *
+     * @return An already signalled DeviceReadiness
+     */
+    public static DeviceReadiness alwaysReady() {
+        DeviceReadiness readiness = new DeviceReadiness();
+        readiness.signalReady();
+        return readiness;
+    }
+
+    /**
+     * Marks the moment the device started to get ready. The time to ready is measured from here.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Signals that the device is ready. Only the first call has an effect.
+     */
+    public void signalReady() {
+        if (readyLatch.getCount() > 0) {
+            readyNanos = System.nanoTime();
+            readyLatch.countDown();
+            log.log(Level.FINE, "Device became ready after {0} ms", getTimeToReady().toMillis());
+        }
+    }
+
+    /**
+     * @return true if the device has signalled readiness
+     */
+    public boolean isReady() {
+        return readyLatch.getCount() == 0;
+    }
+
+    /**
+     * Blocking wait until the device is ready.
+     *
+     * @param timeout Maximum wait time in milliseconds
+     * @return true if the device is ready; false if the timeout occurred before the device became ready
+     */
+    public boolean await(long timeout) {
+        try {
+            return readyLatch.await(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            log.log(Level.FINE, "Thread was interrupted", e);
+            Thread.currentThread().interrupt();
+            return isReady();
+        }
+    }
+
+    /**
+     * @return The time it took the device to become ready, or null if it is not ready (yet)
+     */
+    public Duration getTimeToReady() {
+        long ready = readyNanos;
+        if (ready < 0) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(0L, ready - startNanos));
+    }
+}
@@ -0,0 +1,151 @@
+package ch.erzberger.emulation.communication;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import lombok.extern.java.Log;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+
+/**
+ * An in-process link between a sender and a receiver, replacing the IR hardware. Whatever is sent to the
+ * writer side is delivered to the callback of the reader side, on a separate thread like a serial port does.
+ * The writer either paces the data like a real printer would, or sends as fast as possible.
+ */
+@Log
+public class LoopbackLink {
+    private static final Chunk END_OF_DATA = new Chunk(new byte[0], 0L);
+
+    private final BlockingQueue<Chunk> queue = new LinkedBlockingQueue<>();
+    private final TransmissionPacing pacing;
+    private final PrintDataWriter writer = new LoopbackWriter();
+    private final PrintDataReader reader = new LoopbackReader();
+    private DeliveryListener deliveryListener = (sentNanos, deliveredNanos, length) -> {
+    };
+    private Thread readerThread;
+
+    public LoopbackLink(TransmissionPacing pacing) {
+        this.pacing = pacing;
+    }
+
+    /**
+     * @return The sending side of the link
+     */
+    public PrintDataWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * @return The receiving side of the link
+     */
+    public PrintDataReader getReader() {
+        return reader;
+    }
+
+    /**
+     * Registers a listener that is informed after each block of data was processed by the receiver.
+     * Must be called before the reader callback is registered.
+     *
+     * @param deliveryListener The listener
+     */
+    public void setDeliveryListener(DeliveryListener deliveryListener) {
+        this.deliveryListener = deliveryListener;
+    }
+
+    /**
+     * Signals the end of the data, and waits until the receiver has processed everything that was sent.
+     */
+    public void close() {
+        queue.add(END_OF_DATA);
+        if (readerThread == null) {
+            return;
+        }
+        try {
+            readerThread.join();
+        } catch (InterruptedException e) {
+            log.log(Level.INFO, "Thread interrupted", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Called on the receiver thread after a block of data has been processed.
+     */
+    @FunctionalInterface
+    public interface DeliveryListener {
+        /**
+         * @param sentNanos      System.nanoTime() when the block was sent
+         * @param deliveredNanos System.nanoTime() when the receiver was done with the block
+         * @param length         Number of bytes in the block
+         */
+        void delivered(long sentNanos, long deliveredNanos, int length);
+    }
+
+    private static class Chunk {
+        final byte[] data;
+        final long sentNanos;
+
+        Chunk(byte[] data, long sentNanos) {
+            this.data = data;
+            this.sentNanos = sentNanos;
+        }
+    }
+
+    private class LoopbackWriter implements PrintDataWriter {
+        @Override
+        public String getDeviceName() {
+            return "Loopback writer";
+        }
+
+        @Override
+        public boolean waitUntilReady(long timeout) {
+            return true; // The link is always ready
+        }
+
+        @Override
+        public void sendBytes(byte[] sendBuffer) {
+            if (sendBuffer.length == 0) {
+                return;
+            }
+            // Copy the buffer, the caller may reuse it
+            queue.add(new Chunk(sendBuffer.clone(), System.nanoTime()));
+            pacing.pace(sendBuffer.length, sendBuffer[sendBuffer.length - 1]);
+        }
+
+        @Override
+        public void flush() {
+            // Nothing is buffered on the sending side
+        }
+    }
+
+    private class LoopbackReader implements PrintDataReader {
+        @Override
+        public String getDeviceName() {
+            return "Loopback reader";
+        }
+
+        @Override
+        public boolean waitUntilReady(long timeout) {
+            return true; // The link is always ready
+        }
+
+        @Override
+        public void registerCallback(ByteProcessor byteProcessor) {
+            readerThread = new Thread(() -> deliver(byteProcessor), "loopback-reader");
+            readerThread.start();
+        }
+
+        private void deliver(ByteProcessor byteProcessor) {
+            try {
+                Chunk chunk;
+                while ((chunk = queue.take()) != END_OF_DATA) {
+                    byteProcessor.processBytes(chunk.data, 0, chunk.data.length, chunk.sentNanos);
+                    deliveryListener.delivered(chunk.sentNanos, System.nanoTime(), chunk.data.length);
+                }
+            } catch (InterruptedException e) {
+                log.log(Level.INFO, "Thread interrupted", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
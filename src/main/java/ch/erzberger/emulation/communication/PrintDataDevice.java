@@ -1,5 +1,7 @@
 package ch.erzberger.emulation.communication;
 
+import java.time.Duration;
+
 /**
  * A PrintDataDevice is the parent for senders or receivers. It covers common functionality.
  */
@@ -18,4 +20,13 @@ public interface PrintDataDevice {
      * @return true if the device is ready; false might be returned if the timeout occurs before the device became ready
      */
     boolean waitUntilReady(long timeout);
+
+    /**
+     * Time the device needed to become ready, e.g. for an Arduino to reset after the serial port was opened.
+     *
+     * @return Time to ready; zero for devices that are always ready, null if the device did not become ready (yet)
+     */
+    default Duration getTimeToReady() {
+        return Duration.ZERO;
+    }
 }
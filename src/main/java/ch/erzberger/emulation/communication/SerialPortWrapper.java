@@ -2,6 +2,9 @@ package ch.erzberger.emulation.communication;
 
 import ch.erzberger.emulation.common.ByteProcessor;
 import ch.erzberger.emulation.hp41printer.PrinterLogger;
+import ch.erzberger.emulation.jfr.SerialDataEvent;
+import ch.erzberger.emulation.logging.HotPathLogger;
+import ch.erzberger.emulation.monitoring.PrinterMetrics;
 import com.fazecast.jSerialComm.SerialPort;
 import com.fazecast.jSerialComm.SerialPortDataListener;
 import com.fazecast.jSerialComm.SerialPortEvent;
@@ -14,6 +17,7 @@ import java.util.logging.Level;
  */
 @Log
 public class SerialPortWrapper {
+    private static final HotPathLogger HOT_LOG = new HotPathLogger(log);
     private final SerialPort port;
     private ByteProcessor byteProcessor;
 
@@ -132,6 +136,10 @@ public class SerialPortWrapper {
     }
 
     class Listener implements SerialPortDataListener {
+        // The max number of bytes that can be received in one go. Events arrive one after the other on the
+        // library's thread, and the byte processor does not keep the bytes, so the buffer is reused.
+        private final byte[] buffer = new byte[2000];
+
         @Override
         public int getListeningEvents() {
             log.log(Level.FINEST, "GetListeningEvents called");
@@ -145,8 +153,8 @@ public class SerialPortWrapper {
                 log.log(Level.SEVERE, "Unexpected error, port is null when it should not be");
                 return;
             }
-            byte[] buffer = new byte[2000];  // The max number of bytes that can be received in one go
-            log.log(Level.FINEST, "serialEvent called");
+            long arrivalNanos = System.nanoTime();
+            HOT_LOG.log(Level.FINEST, "serialEvent called");
             // Check for library malfunction
             if (serialPortEvent.getEventType() != SerialPort.LISTENING_EVENT_DATA_AVAILABLE) {
                 log.log(Level.SEVERE, "Unexpected SerialPortEvent received: {0}", serialPortEvent);
@@ -159,14 +167,18 @@ public class SerialPortWrapper {
             }
             // Process the data
             int bytesRead = port.readBytes(buffer, Math.min(buffer.length, bytesAvailable));
-            log.log(Level.FINEST, "Bytes read: {0}", bytesRead);
-            // Copy the bytes into an appropriately sized array.
-            byte[] realBytes = new byte[bytesRead];
-            System.arraycopy(buffer, 0, realBytes, 0, bytesRead);
+            HOT_LOG.log(Level.FINEST, "Bytes read: {0}", bytesRead);
+            PrinterMetrics.getInstance().serialEvent(bytesRead);
+            SerialDataEvent event = new SerialDataEvent();
+            if (event.shouldCommit()) {
+                event.port = port.getSystemPortName();
+                event.bytes = bytesRead;
+                event.commit();
+            }
             // Log the buffer that was read
-            PrinterLogger.logPrintData(realBytes);
+            PrinterLogger.logPrintData(buffer, 0, bytesRead);
             // Pass the bytes to the parser
-            byteProcessor.processBytes(realBytes);
+            byteProcessor.processBytes(buffer, 0, bytesRead, arrivalNanos);
         }
     }
 }
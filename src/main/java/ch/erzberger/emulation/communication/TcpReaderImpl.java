@@ -0,0 +1,253 @@
+package ch.erzberger.emulation.communication;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import ch.erzberger.emulation.hp41printer.PrinterLogger;
+import lombok.extern.java.Log;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+import static ch.erzberger.emulation.common.CmdLineArgsChecker.TCP_PREFIX;
+
+/**
+ * The TcpReaderImpl listens on a TCP port, for IR receivers that are attached to a network bridge. All connections
+ * are served by one selector thread. Each connection gets its own ByteProcessor from a factory (see BridgePrinter);
+ * with {@link #registerCallback(ByteProcessor)} all connections share the one processor, which is only safe if they
+ * do not send at the same time.
+ * The processors are called on the selector thread, so they should hand over slow work (e.g. with a SessionScheduler).
+ */
+@Log
+public class TcpReaderImpl implements PrintDataReader {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InetSocketAddress address;
+    // Only the selector thread reads, and the processors do not keep the bytes, so one buffer serves all connections
+    // A heap buffer, so the processors get its array without copying
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private Function<InetSocketAddress, ByteProcessor> processorFactory;
+    private Consumer<InetSocketAddress> closeListener;
+    private ServerSocketChannel server;
+    private Selector selector;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * @param address Local address to listen on
+     */
+    public TcpReaderImpl(InetSocketAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * @param port "tcp:PORT" to listen on all interfaces, or "tcp:HOST:PORT"
+     * @return The address to listen on
+     * @throws IllegalArgumentException If the port or the host is not valid
+     */
+    public static InetSocketAddress parseAddress(String port) {
+        String hostAndPort = port.substring(TCP_PREFIX.length());
+        int colon = hostAndPort.lastIndexOf(':');
+        try {
+            if (colon < 0) {
+                return new InetSocketAddress(Integer.parseInt(hostAndPort));
+            }
+            return new InetSocketAddress(hostAndPort.substring(0, colon), Integer.parseInt(hostAndPort.substring(colon + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(String.format("Invalid TCP address: %s", port), ex);
+        }
+    }
+
+    /**
+     * @param port A port as given on the command line
+     * @return true if the port is a TCP address
+     */
+    public static boolean isTcpPort(String port) {
+        return port != null && port.toLowerCase().startsWith(TCP_PREFIX);
+    }
+
+    @Override
+    public void registerCallback(ByteProcessor byteProcessor) {
+        registerConnectionFactory(remote -> byteProcessor);
+    }
+
+    /**
+     * Starts listening. The factory is called on the selector thread for every new connection.
+     *
+     * @param processorFactory Creates the processor for a connection, from the address of the client
+     */
+    public void registerConnectionFactory(Function<InetSocketAddress, ByteProcessor> processorFactory) {
+        registerConnectionFactory(processorFactory, remote -> {
+        });
+    }
+
+    /**
+     * Starts listening. The factory is called on the selector thread for every new connection; if it throws, the
+     * connection is refused. The listener is called on the selector thread when an accepted connection is closed.
+     *
+     * @param processorFactory Creates the processor for a connection, from the address of the client
+     * @param closeListener    Gets the address of the client of every connection that was closed
+     */
+    public void registerConnectionFactory(Function<InetSocketAddress, ByteProcessor> processorFactory,
+                                          Consumer<InetSocketAddress> closeListener) {
+        this.processorFactory = processorFactory;
+        this.closeListener = closeListener;
+        try {
+            selector = Selector.open();
+            server = ServerSocketChannel.open();
+            server.bind(address);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new NoClassDefFoundError(String.format("Cannot listen on %s. Error: %s", address, e.getMessage()));
+        }
+        running = true;
+        selectorThread = new Thread(this::select, "tcp-reader-" + getLocalPort());
+        selectorThread.start();
+    }
+
+    /**
+     * @return The port that is listened on, e.g. when the reader was created with port 0
+     */
+    public int getLocalPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Stops listening and closes all connections.
+     */
+    public void close() {
+        running = false;
+        if (selector == null) {
+            return;
+        }
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            log.log(Level.INFO, "Thread interrupted", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getDeviceName() {
+        return String.format("TCP %s", server != null ? server.socket().getLocalSocketAddress() : address);
+    }
+
+    @Override
+    public boolean waitUntilReady(long timeout) {
+        return true; // Clients connect whenever they are ready
+    }
+
+    private void select() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Error in the TCP selector, stop listening", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Cannot close the TCP selector", e);
+            }
+        }
+    }
+
+    private void accept() {
+        SocketChannel client = null;
+        try {
+            client = server.accept();
+            if (client == null) {
+                return;
+            }
+            InetSocketAddress remote = (InetSocketAddress) client.getRemoteAddress();
+            client.configureBlocking(false);
+            client.register(selector, SelectionKey.OP_READ, new Connection(remote, processorFactory.apply(remote)));
+            log.log(Level.INFO, "Connection from {0}", remote);
+        } catch (IOException | RuntimeException ex) {
+            // Refuse only this connection, keep on listening
+            log.log(Level.SEVERE, "Cannot accept a TCP connection", ex);
+            if (client != null) {
+                try {
+                    client.close();
+                } catch (IOException e) {
+                    log.log(Level.FINE, "Cannot close a TCP channel", e);
+                }
+            }
+        }
+    }
+
+    private void read(SelectionKey key) {
+        SocketChannel client = (SocketChannel) key.channel();
+        ByteProcessor byteProcessor = ((Connection) key.attachment()).processor;
+        try {
+            buffer.clear();
+            int bytesRead = client.read(buffer);
+            if (bytesRead < 0) {
+                log.log(Level.INFO, "Connection closed by {0}", client.getRemoteAddress());
+                closeQuietly(key);
+                return;
+            }
+            long arrivalNanos = System.nanoTime();
+            PrinterLogger.logPrintData(buffer.array(), 0, bytesRead);
+            byteProcessor.processBytes(buffer.array(), 0, bytesRead, arrivalNanos);
+        } catch (IOException | RuntimeException ex) {
+            // Only this connection is affected, the others are still served
+            log.log(Level.SEVERE, "Error on a TCP connection, closing it", ex);
+            closeQuietly(key);
+        }
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        boolean wasOpen = key.channel().isOpen();
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.log(Level.FINE, "Cannot close a TCP channel", e);
+        }
+        if (wasOpen && key.attachment() instanceof Connection) {
+            try {
+                closeListener.accept(((Connection) key.attachment()).remote);
+            } catch (RuntimeException ex) {
+                log.log(Level.WARNING, "Error when closing a TCP connection", ex);
+            }
+        }
+    }
+
+    private static final class Connection {
+        final InetSocketAddress remote;
+        final ByteProcessor processor;
+
+        Connection(InetSocketAddress remote, ByteProcessor processor) {
+            this.remote = remote;
+            this.processor = processor;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ch.erzberger.emulation.communication;
+
+import lombok.extern.java.Log;
+
+import java.util.logging.Level;
+
+/**
+ * Pacing of the data sent to a printer. A real printer receives less than 80 bytes per second via infrared,
+ * and needs time to print a line. A sender that is faster than that overflows the printer's buffer.
+ */
+@Log
+public enum TransmissionPacing {
+    /**
+     * Wait as long as the IR transmission and the printer need.
+     */
+    REALISTIC {
+        @Override
+        public void pace(int bufferSize, byte lastByte) {
+            try {
+                // The IR protocol is less than 80 bytes per second; Arduino is 115200. Hence: Wait for the serial data to be sent.
+                // Specific: One byte needs 12.82 milliseconds to transmit
+                long transmissionTime = (long) Math.ceil(12.82 * bufferSize);
+                Thread.sleep(transmissionTime);
+                if (lastByte == 0x04 || lastByte == 0x0A) {
+                    // The printer will print on a line feed. Wait 1.8 Seconds as specified in the printer manual
+                    Thread.sleep(1800);
+                }
+            } catch (InterruptedException e) {
+                log.log(Level.INFO, "Thread interrupted", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    },
+    /**
+     * Do not wait at all, e.g. for benchmarks or for a receiver that is not a real printer.
+     */
+    UNLIMITED {
+        @Override
+        public void pace(int bufferSize, byte lastByte) {
+            // No waiting
+        }
+    };
+
+    /**
+     * Blocks until the printer is able to receive more data.
+     *
+     * @param bufferSize Number of bytes that were just sent
+     * @param lastByte   The last byte that was sent; a line feed makes the printer print
+     */
+    public abstract void pace(int bufferSize, byte lastByte);
+}
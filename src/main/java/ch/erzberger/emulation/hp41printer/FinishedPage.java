@@ -0,0 +1,19 @@
+package ch.erzberger.emulation.hp41printer;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A page (or job) that PaperImpl has finished. Its files are complete and are not written to anymore.
+ */
+@Value
+public class FinishedPage {
+    int number;
+    int lines;
+    Instant started;
+    Instant finished;
+    Path imageFile;
+    Path textFile;
+}
@@ -5,11 +5,24 @@ import ch.erzberger.emulation.communication.FileReaderImpl;
 import ch.erzberger.emulation.communication.PrintDataReader;
 import ch.erzberger.emulation.communication.SerialHpIrReaderImpl;
 import ch.erzberger.emulation.communication.StdInReaderImpl;
+import ch.erzberger.emulation.communication.TcpReaderImpl;
+import ch.erzberger.emulation.liveview.LiveViewServer;
+import ch.erzberger.emulation.monitoring.LatencyTracer;
+import ch.erzberger.emulation.monitoring.PrinterMetrics;
+import ch.erzberger.emulation.session.BridgePrinter;
+import ch.erzberger.emulation.session.MultiSessionReceiver;
+import ch.erzberger.emulation.session.SessionScheduler;
 import lombok.extern.java.Log;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -30,25 +43,142 @@ public class Hp82240 {
 
     public static void main(String[] args) {
         Map<String, String> arguments = new CmdLineArgsChecker().checkReceiverArgs(args);
-        boolean useModelA = arguments.get(MODELA) != null;
+        registerMonitoringInBackground();
+        PrinterOptions options = printerOptions(arguments);
         String file = arguments.get(FILEARG);
         if (file != null) {
             // Do not open a port, instead read from the file and then end the application
             PrintDataReader handler = new FileReaderImpl(Paths.get(file));
-            handler.registerCallback(new PrinterByteProcessorImpl(new PaperImpl(), useModelA));
+            handler.registerCallback(PrinterSetup.create(Paths.get(""), options, null));
             System.exit(0);
         }
+        String sessions = arguments.get(SESSIONSARG);
+        if (sessions != null) {
+            // Serve all printers in the file, the sessions keep the application running
+            MultiSessionReceiver receiver = new MultiSessionReceiver(MultiSessionReceiver.readSessions(Paths.get(sessions)));
+            if (receiver.start() == 0) {
+                System.exit(-1);
+            }
+            return;
+        }
         String port = arguments.get(PORTARG);
         if (port == null) {
             System.exit(-1); // Error message will be written by the Cmd Line checker
         }
+        if (TcpReaderImpl.isTcpPort(port)) {
+            listenOnTcp(port, arguments);
+            return;
+        }
         PrintDataReader handler;
         if (STDIN.equals(port)) {
             handler = new StdInReaderImpl();
         } else {
             handler = new SerialHpIrReaderImpl(port);
         }
-        handler.registerCallback(new PrinterByteProcessorImpl(new PaperImpl(), useModelA));
+        LiveViewServer liveView = startLiveView(arguments.get(LIVEVIEWARG));
+        handler.registerCallback(PrinterSetup.create(Paths.get(""), options, liveView));
         log.log(Level.INFO, "Using reader on port: {0}", handler.getDeviceName());
+        ProcessHandle.current().info().startInstant().ifPresent(start ->
+                log.log(Level.INFO, "Ready to receive {0} ms after start", Duration.between(start, Instant.now()).toMillis()));
+    }
+
+    private static PrinterOptions printerOptions(Map<String, String> arguments) {
+        PrinterOptions options = new PrinterOptions();
+        options.setUseModelA(arguments.get(MODELA) != null);
+        options.setLinesPerPage((int) parseNumber(arguments.get(LINESPERPAGEARG), "lines per page", 0L));
+        // The times are given in seconds and days, and the size in megabytes
+        long jobIdleSeconds = parseNumber(arguments.get(JOBSARG), "seconds for the end of a job", PrinterOptions.NO_JOBS);
+        options.setJobIdleMillis(jobIdleSeconds == PrinterOptions.NO_JOBS ? PrinterOptions.NO_JOBS : jobIdleSeconds * 1000L);
+        if (arguments.get(ARCHIVEARG) != null) {
+            options.setArchiveDirectory(Paths.get(arguments.get(ARCHIVEARG)));
+            long days = parseNumber(arguments.get(ARCHIVEDAYSARG), "days to keep the archives", 0L);
+            options.setArchiveMaxAge(days > 0 ? Duration.ofDays(days) : null);
+            options.setArchiveMaxBytes(parseNumber(arguments.get(ARCHIVEMEGABYTESARG), "megabytes of archives", 0L) * 1024L * 1024L);
+        }
+        options.setTiles(arguments.get(TILESARG) != null);
+        options.setDurableCommitMillis(parseNumber(arguments.get(DURABLEARG), "milliseconds between commits", PrinterOptions.NOT_DURABLE));
+        if (arguments.get(INDEXARG) != null) {
+            options.setIndexDirectory(Paths.get(arguments.get(INDEXARG)));
+        }
+        return options;
+    }
+
+    /**
+     * @param value        A number as given on the command line, or null
+     * @param what         What the number is, for the error message
+     * @param defaultValue The value if the option is not given
+     * @return The number, at least 0
+     */
+    private static long parseNumber(String value, String what, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            log.log(Level.SEVERE, "Invalid number of {0}: {1}", new Object[]{what, value});
+            System.exit(-1);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @param liveViewPort The port of the live view, or null if there is none
+     * @return The running live view, or null
+     */
+    private static LiveViewServer startLiveView(String liveViewPort) {
+        if (liveViewPort == null) {
+            return null;
+        }
+        try {
+            LiveViewServer server = new LiveViewServer(Integer.parseInt(liveViewPort.trim()));
+            server.start();
+            return server;
+        } catch (IOException | NumberFormatException ex) {
+            log.log(Level.SEVERE, String.format("Cannot start the live view on port %s", liveViewPort), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Every network bridge (by its host address) gets its own session and output directory, named after the address.
+     * A bridge that reconnects continues its session, with a new decoder for every connection (see BridgePrinter).
+     * The archives and search indexes are also kept apart, since the page numbers are not, and every index can only
+     * be written by one printer.
+     */
+    private static void listenOnTcp(String port, Map<String, String> arguments) {
+        SessionScheduler scheduler = new SessionScheduler(2);
+        Map<String, BridgePrinter> bridges = new HashMap<>(); // Only used by the selector thread
+        TcpReaderImpl handler = new TcpReaderImpl(TcpReaderImpl.parseAddress(port));
+        handler.registerConnectionFactory(remote -> bridges.computeIfAbsent(remote.getAddress().getHostAddress(), host -> {
+            Path outputDirectory = Paths.get(host.replace(':', '_'));
+            try {
+                Files.createDirectories(outputDirectory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            PrinterOptions options = printerOptions(arguments);
+            if (options.getArchiveDirectory() != null) {
+                options.setArchiveDirectory(options.getArchiveDirectory().resolve(outputDirectory.getFileName()));
+            }
+            if (options.getIndexDirectory() != null) {
+                options.setIndexDirectory(options.getIndexDirectory().resolve(outputDirectory.getFileName()));
+            }
+            log.log(Level.INFO, "New session for {0}, writing to {1}", new Object[]{host, outputDirectory.toAbsolutePath()});
+            return new BridgePrinter(scheduler.newSession(host), PrinterSetup.createPaper(outputDirectory, options, null), options);
+        }).connect(remote), remote -> bridges.get(remote.getAddress().getHostAddress()).disconnected(remote));
+        log.log(Level.INFO, "Using reader on port: {0}", handler.getDeviceName());
+    }
+
+    /**
+     * Starting the JMX server takes longer than everything else together, so it must not delay the reader.
+     */
+    private static void registerMonitoringInBackground() {
+        Thread registration = new Thread(() -> {
+            PrinterMetrics.getInstance().register();
+            LatencyTracer.getInstance().register();
+        }, "monitoring-registration");
+        registration.setDaemon(true);
+        registration.start();
     }
 }
@@ -43,827 +43,857 @@ import java.util.logging.Level;
  * "     "
  */
 @Log public class HpPrinterFonts {
-    static final Map<Integer, int[]> ROMAN8A;
-    static final Map<Integer, int[]> ROMAN8B;
-    static final Map<Integer, int[]> RPL;
-    static final Map<Integer, int[]> HP82143A;
+    // Each font is built when it is used for the first time, most runs only need one or two of them.
+    // The fonts are kept as maps, and as arrays indexed by the character code for lookups without boxing.
+    private static final int TABLE_SIZE = 256;
+    private static final int DUMMY_CODE = 255;
 
-    static {
-        // HP 82240A Roman 8
-        Map<Integer, int[]> tempMap = new HashMap<>();
-        tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
-        tempMap.put(34, new int[]{0x00, 0x07, 0x00, 0x07, 0x00});
-        tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
-        tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
-        tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
-        tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
-        tempMap.put(39, new int[]{0x00, 0x00, 0x07, 0x00, 0x00});
-        tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
-        tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
-        tempMap.put(42, new int[]{0x08, 0x2A, 0x1C, 0x2A, 0x08});
-        tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
-        tempMap.put(44, new int[]{0x00, 0xB0, 0x70, 0x00, 0x00});
-        tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
-        tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
-        tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
-        tempMap.put(48, new int[]{0x3E, 0x51, 0x49, 0x45, 0x3E});
-        tempMap.put(49, new int[]{0x00, 0x42, 0x7F, 0x40, 0x00});
-        tempMap.put(50, new int[]{0x62, 0x51, 0x49, 0x49, 0x46});
-        tempMap.put(51, new int[]{0x22, 0x49, 0x49, 0x49, 0x36});
-        tempMap.put(52, new int[]{0x18, 0x14, 0x12, 0x7F, 0x10});
-        tempMap.put(53, new int[]{0x27, 0x45, 0x45, 0x45, 0x39});
-        tempMap.put(54, new int[]{0x3C, 0x4A, 0x49, 0x49, 0x30});
-        tempMap.put(55, new int[]{0x01, 0x71, 0x09, 0x05, 0x03});
-        tempMap.put(56, new int[]{0x36, 0x49, 0x49, 0x49, 0x36});
-        tempMap.put(57, new int[]{0x06, 0x49, 0x49, 0x29, 0x1E});
-        tempMap.put(58, new int[]{0x00, 0x36, 0x36, 0x00, 0x00});
-        tempMap.put(59, new int[]{0x00, 0xB6, 0x76, 0x00, 0x00});
-        tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
-        tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
-        tempMap.put(62, new int[]{0x41, 0x22, 0x14, 0x08, 0x00});
-        tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
-        tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x49, 0x4E});
-        tempMap.put(65, new int[]{0x7E, 0x09, 0x09, 0x09, 0x7E});
-        tempMap.put(66, new int[]{0x7F, 0x49, 0x49, 0x49, 0x36});
-        tempMap.put(67, new int[]{0x3E, 0x41, 0x41, 0x41, 0x22});
-        tempMap.put(68, new int[]{0x7F, 0x41, 0x41, 0x22, 0x1C});
-        tempMap.put(69, new int[]{0x7F, 0x49, 0x49, 0x49, 0x41});
-        tempMap.put(70, new int[]{0x7F, 0x09, 0x09, 0x09, 0x01});
-        tempMap.put(71, new int[]{0x3E, 0x41, 0x41, 0x51, 0x72});
-        tempMap.put(72, new int[]{0x7F, 0x08, 0x08, 0x08, 0x7F});
-        tempMap.put(73, new int[]{0x00, 0x41, 0x7F, 0x41, 0x00});
-        tempMap.put(74, new int[]{0x30, 0x40, 0x40, 0x40, 0x3F});
-        tempMap.put(75, new int[]{0x7F, 0x08, 0x14, 0x22, 0x41});
-        tempMap.put(76, new int[]{0x7F, 0x40, 0x40, 0x40, 0x40});
-        tempMap.put(77, new int[]{0x7F, 0x02, 0x0C, 0x02, 0x7F});
-        tempMap.put(78, new int[]{0x7F, 0x04, 0x08, 0x10, 0x7F});
-        tempMap.put(79, new int[]{0x3E, 0x41, 0x41, 0x41, 0x3E});
-        tempMap.put(80, new int[]{0x7F, 0x09, 0x09, 0x09, 0x06});
-        tempMap.put(81, new int[]{0x3E, 0x41, 0x51, 0x21, 0x5E});
-        tempMap.put(82, new int[]{0x7F, 0x09, 0x19, 0x29, 0x46});
-        tempMap.put(83, new int[]{0x26, 0x49, 0x49, 0x49, 0x32});
-        tempMap.put(84, new int[]{0x01, 0x01, 0x7F, 0x01, 0x01});
-        tempMap.put(85, new int[]{0x3F, 0x40, 0x40, 0x40, 0x3F});
-        tempMap.put(86, new int[]{0x07, 0x18, 0x60, 0x18, 0x07});
-        tempMap.put(87, new int[]{0x7F, 0x20, 0x18, 0x20, 0x7F});
-        tempMap.put(88, new int[]{0x63, 0x14, 0x08, 0x14, 0x63});
-        tempMap.put(89, new int[]{0x03, 0x04, 0x78, 0x04, 0x03});
-        tempMap.put(90, new int[]{0x61, 0x51, 0x49, 0x45, 0x43});
-        tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
-        tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
-        tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
-        tempMap.put(94, new int[]{0x04, 0x02, 0x01, 0x02, 0x04});
-        tempMap.put(95, new int[]{0x80, 0x80, 0x80, 0x80, 0x80});
-        tempMap.put(96, new int[]{0x00, 0x03, 0x04, 0x00, 0x00});
-        tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
-        tempMap.put(98, new int[]{0x7F, 0x44, 0x44, 0x44, 0x38});
-        tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x44});
-        tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x44, 0x7F});
-        tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x18});
-        tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
-        tempMap.put(103, new int[]{0x18, 0xA4, 0xA4, 0xA4, 0x78});
-        tempMap.put(104, new int[]{0x7F, 0x04, 0x04, 0x04, 0x78});
-        tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
-        tempMap.put(106, new int[]{0x40, 0x80, 0x84, 0x7D, 0x00});
-        tempMap.put(107, new int[]{0x7F, 0x10, 0x28, 0x44, 0x00});
-        tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
-        tempMap.put(109, new int[]{0x7C, 0x04, 0x18, 0x04, 0x78});
-        tempMap.put(110, new int[]{0x7C, 0x04, 0x04, 0x04, 0x78});
-        tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
-        tempMap.put(112, new int[]{0xFC, 0x24, 0x24, 0x24, 0x18});
-        tempMap.put(113, new int[]{0x18, 0x24, 0x24, 0x24, 0xFC});
-        tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x04});
-        tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x24});
-        tempMap.put(116, new int[]{0x04, 0x3F, 0x44, 0x20, 0x00});
-        tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x40, 0x7C});
-        tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
-        tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
-        tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
-        tempMap.put(121, new int[]{0x1C, 0xA0, 0xA0, 0xA0, 0x7C});
-        tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
-        tempMap.put(123, new int[]{0x08, 0x36, 0x41, 0x41, 0x00});
-        tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
-        tempMap.put(125, new int[]{0x00, 0x41, 0x41, 0x36, 0x08});
-        tempMap.put(126, new int[]{0x08, 0x04, 0x08, 0x10, 0x08});
-        tempMap.put(127, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
-        tempMap.put(128, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        tempMap.put(129, new int[]{0x08, 0x08, 0x2A, 0x08, 0x08});
-        tempMap.put(130, new int[]{0x22, 0x14, 0x08, 0x14, 0x22});
-        tempMap.put(131, new int[]{0x10, 0x20, 0x7F, 0x01, 0x01});
-        tempMap.put(132, new int[]{0x20, 0x40, 0x3E, 0x01, 0x02});
-        tempMap.put(133, new int[]{0x41, 0x63, 0x55, 0x49, 0x63});
-        tempMap.put(134, new int[]{0x7F, 0x7F, 0x3E, 0x1C, 0x08});
-        tempMap.put(135, new int[]{0x04, 0x7C, 0x04, 0x7C, 0x04});
-        tempMap.put(136, new int[]{0x30, 0x48, 0x49, 0x52, 0x3C});
-        tempMap.put(137, new int[]{0x50, 0x58, 0x54, 0x52, 0x51});
-        tempMap.put(138, new int[]{0x51, 0x52, 0x54, 0x58, 0x50});
-        tempMap.put(139, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
-        tempMap.put(140, new int[]{0x30, 0x48, 0x48, 0x30, 0x48});
-        tempMap.put(141, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
-        tempMap.put(142, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
-        tempMap.put(143, new int[]{0x80, 0x78, 0x40, 0x40, 0x38});
-        tempMap.put(144, new int[]{0x0F, 0x08, 0x00, 0x78, 0x28});
-        tempMap.put(145, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
-        tempMap.put(146, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
-        tempMap.put(147, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
-        tempMap.put(148, new int[]{0x7F, 0x08, 0x08, 0x08, 0x08});
-        tempMap.put(149, new int[]{0x00, 0x00, 0xF8, 0x00, 0x00});
-        tempMap.put(150, new int[]{0x00, 0xE8, 0xA8, 0xB8, 0x00});
-        tempMap.put(151, new int[]{0x00, 0x1D, 0x15, 0x17, 0x00});
-        tempMap.put(152, new int[]{0x00, 0x15, 0x15, 0x1F, 0x00});
-        tempMap.put(153, new int[]{0x00, 0x00, 0x68, 0x80, 0x00});
-        tempMap.put(154, new int[]{0x00, 0x80, 0x80, 0x74, 0x00});
-        tempMap.put(155, new int[]{0x60, 0x60, 0x00, 0x60, 0x60});
-        tempMap.put(156, new int[]{0x00, 0x00, 0x0D, 0x10, 0x00});
-        tempMap.put(157, new int[]{0x00, 0x10, 0x10, 0x0D, 0x00});
-        tempMap.put(158, new int[]{0x00, 0x1F, 0x04, 0x0A, 0x10});
-        tempMap.put(159, new int[]{0x00, 0x1E, 0x02, 0x02, 0x1C});
-        tempMap.put(160, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
-        tempMap.put(161, new int[]{0x78, 0x14, 0x15, 0x16, 0x78});
-        tempMap.put(162, new int[]{0x78, 0x16, 0x15, 0x16, 0x78});
-        tempMap.put(163, new int[]{0x7C, 0x54, 0x55, 0x56, 0x44});
-        tempMap.put(164, new int[]{0x7C, 0x56, 0x55, 0x56, 0x44});
-        tempMap.put(165, new int[]{0x7C, 0x55, 0x54, 0x55, 0x44});
-        tempMap.put(166, new int[]{0x00, 0x46, 0x7D, 0x46, 0x00});
-        tempMap.put(167, new int[]{0x00, 0x45, 0x7C, 0x45, 0x00});
-        tempMap.put(168, new int[]{0x00, 0x00, 0x02, 0x01, 0x00});
-        tempMap.put(169, new int[]{0x00, 0x01, 0x02, 0x00, 0x00});
-        tempMap.put(170, new int[]{0x00, 0x02, 0x01, 0x02, 0x00});
-        tempMap.put(171, new int[]{0x00, 0x01, 0x00, 0x01, 0x00});
-        tempMap.put(172, new int[]{0x02, 0x01, 0x02, 0x04, 0x02});
-        tempMap.put(173, new int[]{0x3C, 0x41, 0x42, 0x40, 0x3C});
-        tempMap.put(174, new int[]{0x38, 0x42, 0x41, 0x42, 0x38});
-        tempMap.put(175, new int[]{0x58, 0x7E, 0x59, 0x41, 0x02});
-        tempMap.put(176, new int[]{0x01, 0x01, 0x01, 0x01, 0x01});
-        tempMap.put(177, new int[]{0x0C, 0x10, 0x62, 0x11, 0x0C});
-        tempMap.put(178, new int[]{0x18, 0xA0, 0xA2, 0xA1, 0x78});
-        tempMap.put(179, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
-        tempMap.put(180, new int[]{0x1E, 0xA1, 0xA1, 0x61, 0x12});
-        tempMap.put(181, new int[]{0x18, 0xA4, 0xA4, 0x64, 0x24});
-        tempMap.put(182, new int[]{0x7E, 0x09, 0x12, 0x21, 0x7C});
-        tempMap.put(183, new int[]{0x7A, 0x09, 0x0A, 0x09, 0x70});
-        tempMap.put(184, new int[]{0x00, 0x00, 0x7D, 0x00, 0x00});
-        tempMap.put(185, new int[]{0x30, 0x48, 0x45, 0x40, 0x20});
-        tempMap.put(186, new int[]{0x5D, 0x22, 0x22, 0x22, 0x5D});
-        tempMap.put(187, new int[]{0x48, 0x7E, 0x49, 0x41, 0x02});
-        tempMap.put(188, new int[]{0x2B, 0x2C, 0x78, 0x2C, 0x2B});
-        tempMap.put(189, new int[]{0x08, 0x56, 0x55, 0x35, 0x08});
-        tempMap.put(190, new int[]{0x40, 0x48, 0x3E, 0x09, 0x01});
-        tempMap.put(191, new int[]{0x18, 0x24, 0x7E, 0x24, 0x24});
-        tempMap.put(192, new int[]{0x20, 0x56, 0x55, 0x56, 0x78});
-        tempMap.put(193, new int[]{0x38, 0x56, 0x55, 0x56, 0x48});
-        tempMap.put(194, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x30});
-        tempMap.put(195, new int[]{0x30, 0x42, 0x41, 0x42, 0x30});
-        tempMap.put(196, new int[]{0x20, 0x54, 0x56, 0x55, 0x78});
-        tempMap.put(197, new int[]{0x38, 0x54, 0x56, 0x55, 0x48});
-        tempMap.put(198, new int[]{0x30, 0x48, 0x4A, 0x49, 0x30});
-        tempMap.put(199, new int[]{0x38, 0x40, 0x42, 0x41, 0x38});
-        tempMap.put(200, new int[]{0x20, 0x55, 0x56, 0x54, 0x78});
-        tempMap.put(201, new int[]{0x38, 0x55, 0x56, 0x54, 0x48});
-        tempMap.put(202, new int[]{0x30, 0x49, 0x4A, 0x48, 0x30});
-        tempMap.put(203, new int[]{0x38, 0x41, 0x42, 0x40, 0x38});
-        tempMap.put(204, new int[]{0x20, 0x55, 0x54, 0x55, 0x78});
-        tempMap.put(205, new int[]{0x38, 0x55, 0x54, 0x55, 0x48});
-        tempMap.put(206, new int[]{0x30, 0x49, 0x48, 0x49, 0x30});
-        tempMap.put(207, new int[]{0x38, 0x41, 0x40, 0x41, 0x38});
-        tempMap.put(208, new int[]{0x78, 0x17, 0x15, 0x17, 0x78});
-        tempMap.put(209, new int[]{0x00, 0x4A, 0x79, 0x42, 0x00});
-        tempMap.put(210, new int[]{0x5C, 0x32, 0x2A, 0x26, 0x1D});
-        tempMap.put(211, new int[]{0x7E, 0x09, 0x7F, 0x49, 0x49});
-        tempMap.put(212, new int[]{0x20, 0x57, 0x55, 0x57, 0x78});
-        tempMap.put(213, new int[]{0x00, 0x48, 0x7A, 0x41, 0x00});
-        tempMap.put(214, new int[]{0x48, 0x34, 0x1C, 0x16, 0x09});
-        tempMap.put(215, new int[]{0x24, 0x54, 0x38, 0x54, 0x48});
-        tempMap.put(216, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
-        tempMap.put(217, new int[]{0x00, 0x49, 0x7A, 0x40, 0x00});
-        tempMap.put(218, new int[]{0x3C, 0x43, 0x42, 0x43, 0x3C});
-        tempMap.put(219, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
-        tempMap.put(220, new int[]{0x7C, 0x54, 0x56, 0x55, 0x44});
-        tempMap.put(221, new int[]{0x00, 0x49, 0x78, 0x41, 0x00});
-        tempMap.put(222, new int[]{0xFE, 0x25, 0x25, 0x25, 0x1A});
-        tempMap.put(223, new int[]{0x38, 0x46, 0x45, 0x46, 0x38});
-        tempMap.put(224, new int[]{0x78, 0x14, 0x16, 0x15, 0x78});
-        tempMap.put(225, new int[]{0x7A, 0x15, 0x16, 0x15, 0x78});
-        tempMap.put(226, new int[]{0x22, 0x55, 0x56, 0x55, 0x78});
-        tempMap.put(227, new int[]{0x08, 0x7F, 0x49, 0x22, 0x1C});
-        tempMap.put(228, new int[]{0x30, 0x48, 0x4A, 0x3F, 0x02});
-        tempMap.put(229, new int[]{0x00, 0x44, 0x7E, 0x45, 0x00});
-        tempMap.put(230, new int[]{0x00, 0x45, 0x7E, 0x44, 0x00});
-        tempMap.put(231, new int[]{0x38, 0x44, 0x46, 0x45, 0x38});
-        tempMap.put(232, new int[]{0x38, 0x45, 0x46, 0x44, 0x38});
-        tempMap.put(233, new int[]{0x3A, 0x45, 0x46, 0x45, 0x38});
-        tempMap.put(234, new int[]{0x32, 0x49, 0x4A, 0x49, 0x30});
-        tempMap.put(235, new int[]{0x48, 0x55, 0x56, 0x55, 0x24});
-        tempMap.put(236, new int[]{0x40, 0x51, 0x2A, 0x09, 0x00});
-        tempMap.put(237, new int[]{0x3C, 0x40, 0x42, 0x41, 0x3C});
-        tempMap.put(238, new int[]{0x0C, 0x11, 0x60, 0x11, 0x0C});
-        tempMap.put(239, new int[]{0x1C, 0xA1, 0xA0, 0xA1, 0x7C});
-        tempMap.put(240, new int[]{0x41, 0x7F, 0x4B, 0x0A, 0x04});
-        tempMap.put(241, new int[]{0x7F, 0x22, 0x22, 0x22, 0x1C});
-        tempMap.put(242, new int[]{0x00, 0x00, 0x0C, 0x0C, 0x00});
-        tempMap.put(243, new int[]{0x80, 0x78, 0x40, 0x40, 0x38});
-        tempMap.put(244, new int[]{0x06, 0x0F, 0x7F, 0x01, 0x7F});
-        tempMap.put(245, new int[]{0x15, 0x1F, 0x38, 0x24, 0x72});
-        tempMap.put(246, new int[]{0x04, 0x04, 0x04, 0x04, 0x04});
-        tempMap.put(247, new int[]{0x17, 0x08, 0x34, 0x22, 0x70});
-        tempMap.put(248, new int[]{0x17, 0x08, 0x04, 0x6A, 0x59});
-        tempMap.put(249, new int[]{0x20, 0x25, 0x2B, 0x2E, 0x20});
-        tempMap.put(250, new int[]{0x26, 0x29, 0x29, 0x29, 0x26});
-        tempMap.put(251, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
-        tempMap.put(252, new int[]{0x7F, 0x7F, 0x7F, 0x7F, 0x7F});
-        tempMap.put(253, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
-        tempMap.put(254, new int[]{0x00, 0x24, 0x2E, 0x24, 0x00});
-        tempMap.put(255, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        ROMAN8A = Collections.unmodifiableMap(tempMap);
+    // HP 82240A Roman 8
+    private static final class Roman8A {
+        static final Map<Integer, int[]> MAP;
+        static final int[][] TABLE;
 
-        // HP 82240B Roman 8
-        tempMap = new HashMap<>();
-        tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
-        tempMap.put(34, new int[]{0x00, 0x07, 0x00, 0x07, 0x00});
-        tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
-        tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
-        tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
-        tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
-        tempMap.put(39, new int[]{0x00, 0x00, 0x07, 0x00, 0x00});
-        tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
-        tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
-        tempMap.put(42, new int[]{0x08, 0x2A, 0x1C, 0x2A, 0x08});
-        tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
-        tempMap.put(44, new int[]{0x00, 0xB0, 0x70, 0x00, 0x00});
-        tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
-        tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
-        tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
-        tempMap.put(48, new int[]{0x3C, 0x62, 0x52, 0x4A, 0x3C});
-        tempMap.put(49, new int[]{0x00, 0x44, 0x7E, 0x40, 0x00});
-        tempMap.put(50, new int[]{0x64, 0x52, 0x4A, 0x4A, 0x44});
-        tempMap.put(51, new int[]{0x24, 0x42, 0x4A, 0x4A, 0x34});
-        tempMap.put(52, new int[]{0x10, 0x18, 0x14, 0x7E, 0x10});
-        tempMap.put(53, new int[]{0x2E, 0x4A, 0x4A, 0x4A, 0x32});
-        tempMap.put(54, new int[]{0x38, 0x54, 0x52, 0x52, 0x20});
-        tempMap.put(55, new int[]{0x02, 0x62, 0x12, 0x0A, 0x06});
-        tempMap.put(56, new int[]{0x34, 0x4A, 0x4A, 0x4A, 0x34});
-        tempMap.put(57, new int[]{0x04, 0x4A, 0x4A, 0x2A, 0x1C});
-        tempMap.put(58, new int[]{0x00, 0x36, 0x36, 0x00, 0x00});
-        tempMap.put(59, new int[]{0x00, 0xB6, 0x76, 0x00, 0x00});
-        tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
-        tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
-        tempMap.put(62, new int[]{0x41, 0x22, 0x14, 0x08, 0x00});
-        tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
-        tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x49, 0x4E});
-        tempMap.put(65, new int[]{0x7C, 0x12, 0x12, 0x12, 0x7C});
-        tempMap.put(66, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x34});
-        tempMap.put(67, new int[]{0x3C, 0x42, 0x42, 0x42, 0x24});
-        tempMap.put(68, new int[]{0x7E, 0x42, 0x42, 0x24, 0x18});
-        tempMap.put(69, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x42});
-        tempMap.put(70, new int[]{0x7E, 0x0A, 0x0A, 0x0A, 0x02});
-        tempMap.put(71, new int[]{0x3C, 0x42, 0x42, 0x52, 0x74});
-        tempMap.put(72, new int[]{0x7E, 0x08, 0x08, 0x08, 0x7E});
-        tempMap.put(73, new int[]{0x00, 0x42, 0x7E, 0x42, 0x00});
-        tempMap.put(74, new int[]{0x20, 0x40, 0x40, 0x40, 0x3E});
-        tempMap.put(75, new int[]{0x7E, 0x08, 0x14, 0x22, 0x40});
-        tempMap.put(76, new int[]{0x7E, 0x40, 0x40, 0x40, 0x40});
-        tempMap.put(77, new int[]{0x7E, 0x04, 0x18, 0x04, 0x7E});
-        tempMap.put(78, new int[]{0x7E, 0x04, 0x08, 0x10, 0x7E});
-        tempMap.put(79, new int[]{0x3C, 0x42, 0x42, 0x42, 0x3C});
-        tempMap.put(80, new int[]{0x7E, 0x12, 0x12, 0x12, 0x0C});
-        tempMap.put(81, new int[]{0x3C, 0x42, 0x52, 0x22, 0x5C});
-        tempMap.put(82, new int[]{0x7E, 0x12, 0x12, 0x32, 0x4C});
-        tempMap.put(83, new int[]{0x24, 0x4A, 0x4A, 0x4A, 0x30});
-        tempMap.put(84, new int[]{0x02, 0x02, 0x7E, 0x02, 0x02});
-        tempMap.put(85, new int[]{0x3E, 0x40, 0x40, 0x40, 0x3E});
-        tempMap.put(86, new int[]{0x0E, 0x30, 0x40, 0x30, 0x0E});
-        tempMap.put(87, new int[]{0x7E, 0x20, 0x18, 0x20, 0x7E});
-        tempMap.put(88, new int[]{0x42, 0x24, 0x18, 0x24, 0x42});
-        tempMap.put(89, new int[]{0x06, 0x08, 0x70, 0x08, 0x06});
-        tempMap.put(90, new int[]{0x62, 0x52, 0x4A, 0x46, 0x42});
-        tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
-        tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
-        tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
-        tempMap.put(94, new int[]{0x04, 0x02, 0x01, 0x02, 0x04});
-        tempMap.put(95, new int[]{0x80, 0x80, 0x80, 0x80, 0x80});
-        tempMap.put(96, new int[]{0x00, 0x03, 0x04, 0x00, 0x00});
-        tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
-        tempMap.put(98, new int[]{0x7F, 0x44, 0x44, 0x44, 0x38});
-        tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x44});
-        tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x44, 0x7F});
-        tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x18});
-        tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
-        tempMap.put(103, new int[]{0x18, 0xA4, 0xA4, 0xA4, 0x78});
-        tempMap.put(104, new int[]{0x7F, 0x04, 0x04, 0x04, 0x78});
-        tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
-        tempMap.put(106, new int[]{0x40, 0x80, 0x84, 0x7D, 0x00});
-        tempMap.put(107, new int[]{0x7F, 0x10, 0x28, 0x44, 0x00});
-        tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
-        tempMap.put(109, new int[]{0x7C, 0x04, 0x38, 0x04, 0x78});
-        tempMap.put(110, new int[]{0x7C, 0x04, 0x04, 0x04, 0x78});
-        tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
-        tempMap.put(112, new int[]{0xFC, 0x24, 0x24, 0x24, 0x18});
-        tempMap.put(113, new int[]{0x18, 0x24, 0x24, 0x24, 0xFC});
-        tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x04});
-        tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x24});
-        tempMap.put(116, new int[]{0x04, 0x3F, 0x44, 0x20, 0x00});
-        tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x40, 0x7C});
-        tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
-        tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
-        tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
-        tempMap.put(121, new int[]{0x1C, 0xA0, 0xA0, 0xA0, 0x7C});
-        tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
-        tempMap.put(123, new int[]{0x08, 0x36, 0x41, 0x41, 0x00});
-        tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
-        tempMap.put(125, new int[]{0x00, 0x41, 0x41, 0x36, 0x08});
-        tempMap.put(126, new int[]{0x08, 0x04, 0x08, 0x10, 0x08});
-        tempMap.put(127, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
-        tempMap.put(128, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        tempMap.put(129, new int[]{0x08, 0x08, 0x2A, 0x08, 0x08});
-        tempMap.put(130, new int[]{0x22, 0x14, 0x08, 0x14, 0x22});
-        tempMap.put(131, new int[]{0x10, 0x20, 0x7F, 0x01, 0x01});
-        tempMap.put(132, new int[]{0x20, 0x40, 0x3E, 0x01, 0x02});
-        tempMap.put(133, new int[]{0x41, 0x63, 0x55, 0x49, 0x63});
-        tempMap.put(134, new int[]{0x7F, 0x7F, 0x3E, 0x1C, 0x08});
-        tempMap.put(135, new int[]{0x04, 0x7C, 0x04, 0x7C, 0x04});
-        tempMap.put(136, new int[]{0x30, 0x49, 0x4A, 0x4C, 0x38});
-        tempMap.put(137, new int[]{0x50, 0x58, 0x54, 0x52, 0x51});
-        tempMap.put(138, new int[]{0x51, 0x52, 0x54, 0x58, 0x50});
-        tempMap.put(139, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
-        tempMap.put(140, new int[]{0x30, 0x48, 0x48, 0x30, 0x48});
-        tempMap.put(141, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
-        tempMap.put(142, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
-        tempMap.put(143, new int[]{0x7C, 0x20, 0x20, 0x1C, 0x20});
-        tempMap.put(144, new int[]{0x0F, 0x08, 0x00, 0x78, 0x28});
-        tempMap.put(145, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
-        tempMap.put(146, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
-        tempMap.put(147, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
-        tempMap.put(148, new int[]{0x7F, 0x08, 0x08, 0x08, 0x08});
-        tempMap.put(149, new int[]{0x00, 0x00, 0xF8, 0x00, 0x00});
-        tempMap.put(150, new int[]{0x00, 0xE8, 0xA8, 0xB8, 0x00});
-        tempMap.put(151, new int[]{0x00, 0x1D, 0x15, 0x17, 0x00});
-        tempMap.put(152, new int[]{0x00, 0x15, 0x15, 0x1F, 0x00});
-        tempMap.put(153, new int[]{0x00, 0x00, 0x68, 0x80, 0x00});
-        tempMap.put(154, new int[]{0x00, 0x80, 0x80, 0x74, 0x00});
-        tempMap.put(155, new int[]{0x60, 0x60, 0x00, 0x60, 0x60});
-        tempMap.put(156, new int[]{0x00, 0x00, 0x0D, 0x10, 0x00});
-        tempMap.put(157, new int[]{0x00, 0x10, 0x10, 0x0D, 0x00});
-        tempMap.put(158, new int[]{0x00, 0x1F, 0x04, 0x0A, 0x10});
-        tempMap.put(159, new int[]{0x00, 0x1E, 0x02, 0x02, 0x1C});
-        tempMap.put(160, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
-        tempMap.put(161, new int[]{0x78, 0x15, 0x16, 0x14, 0x78});
-        tempMap.put(162, new int[]{0x78, 0x16, 0x15, 0x16, 0x78});
-        tempMap.put(163, new int[]{0x7C, 0x55, 0x56, 0x54, 0x44});
-        tempMap.put(164, new int[]{0x7C, 0x56, 0x55, 0x56, 0x44});
-        tempMap.put(165, new int[]{0x7C, 0x55, 0x54, 0x55, 0x44});
-        tempMap.put(166, new int[]{0x00, 0x46, 0x7D, 0x46, 0x00});
-        tempMap.put(167, new int[]{0x00, 0x45, 0x7C, 0x45, 0x00});
-        tempMap.put(168, new int[]{0x00, 0x00, 0x02, 0x01, 0x00});
-        tempMap.put(169, new int[]{0x00, 0x01, 0x02, 0x00, 0x00});
-        tempMap.put(170, new int[]{0x00, 0x02, 0x01, 0x02, 0x00});
-        tempMap.put(171, new int[]{0x00, 0x01, 0x00, 0x01, 0x00});
-        tempMap.put(172, new int[]{0x02, 0x01, 0x02, 0x04, 0x02});
-        tempMap.put(173, new int[]{0x3C, 0x41, 0x42, 0x40, 0x3C});
-        tempMap.put(174, new int[]{0x38, 0x42, 0x41, 0x42, 0x38});
-        tempMap.put(175, new int[]{0x58, 0x7E, 0x59, 0x41, 0x02});
-        tempMap.put(176, new int[]{0x01, 0x01, 0x01, 0x01, 0x01});
-        tempMap.put(177, new int[]{0x04, 0x08, 0x72, 0x09, 0x04});
-        tempMap.put(178, new int[]{0x18, 0xA0, 0xA2, 0xA1, 0x78});
-        tempMap.put(179, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
-        tempMap.put(180, new int[]{0x1E, 0xA1, 0xA1, 0x61, 0x12});
-        tempMap.put(181, new int[]{0x18, 0xA4, 0xA4, 0x64, 0x24});
-        tempMap.put(182, new int[]{0x7C, 0x0A, 0x11, 0x22, 0x7D});
-        tempMap.put(183, new int[]{0x78, 0x0A, 0x09, 0x0A, 0x71});
-        tempMap.put(184, new int[]{0x00, 0x00, 0x7D, 0x00, 0x00});
-        tempMap.put(185, new int[]{0x30, 0x48, 0x45, 0x40, 0x20});
-        tempMap.put(186, new int[]{0x5D, 0x22, 0x22, 0x22, 0x5D});
-        tempMap.put(187, new int[]{0x48, 0x7E, 0x49, 0x41, 0x02});
-        tempMap.put(188, new int[]{0x2B, 0x2C, 0x78, 0x2C, 0x2B});
-        tempMap.put(189, new int[]{0x08, 0x56, 0x55, 0x35, 0x08});
-        tempMap.put(190, new int[]{0x40, 0x48, 0x3E, 0x09, 0x01});
-        tempMap.put(191, new int[]{0x18, 0x24, 0x7E, 0x24, 0x24});
-        tempMap.put(192, new int[]{0x20, 0x56, 0x55, 0x56, 0x78});
-        tempMap.put(193, new int[]{0x38, 0x56, 0x55, 0x56, 0x18});
-        tempMap.put(194, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x30});
-        tempMap.put(195, new int[]{0x38, 0x42, 0x41, 0x42, 0x78});
-        tempMap.put(196, new int[]{0x20, 0x54, 0x56, 0x55, 0x78});
-        tempMap.put(197, new int[]{0x38, 0x54, 0x56, 0x55, 0x18});
-        tempMap.put(198, new int[]{0x30, 0x48, 0x4A, 0x49, 0x30});
-        tempMap.put(199, new int[]{0x38, 0x40, 0x42, 0x41, 0x78});
-        tempMap.put(200, new int[]{0x20, 0x55, 0x56, 0x54, 0x78});
-        tempMap.put(201, new int[]{0x38, 0x55, 0x56, 0x54, 0x18});
-        tempMap.put(202, new int[]{0x30, 0x49, 0x4A, 0x48, 0x30});
-        tempMap.put(203, new int[]{0x38, 0x41, 0x42, 0x40, 0x78});
-        tempMap.put(204, new int[]{0x20, 0x55, 0x54, 0x55, 0x78});
-        tempMap.put(205, new int[]{0x38, 0x55, 0x54, 0x55, 0x18});
-        tempMap.put(206, new int[]{0x30, 0x49, 0x48, 0x49, 0x30});
-        tempMap.put(207, new int[]{0x38, 0x41, 0x40, 0x41, 0x78});
-        tempMap.put(208, new int[]{0x78, 0x17, 0x15, 0x17, 0x78});
-        tempMap.put(209, new int[]{0x00, 0x4A, 0x79, 0x42, 0x00});
-        tempMap.put(210, new int[]{0x5C, 0x32, 0x2A, 0x26, 0x1D});
-        tempMap.put(211, new int[]{0x7E, 0x09, 0x7E, 0x49, 0x49});
-        tempMap.put(212, new int[]{0x20, 0x57, 0x55, 0x57, 0x78});
-        tempMap.put(213, new int[]{0x00, 0x48, 0x7A, 0x41, 0x00});
-        tempMap.put(214, new int[]{0x58, 0x24, 0x54, 0x48, 0x34});
-        tempMap.put(215, new int[]{0x74, 0x54, 0x7C, 0x54, 0x5C});
-        tempMap.put(216, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
-        tempMap.put(217, new int[]{0x00, 0x49, 0x7A, 0x40, 0x00});
-        tempMap.put(218, new int[]{0x38, 0x45, 0x44, 0x45, 0x38});
-        tempMap.put(219, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
-        tempMap.put(220, new int[]{0x7C, 0x54, 0x56, 0x55, 0x44});
-        tempMap.put(221, new int[]{0x00, 0x49, 0x78, 0x41, 0x00});
-        tempMap.put(222, new int[]{0xFE, 0x25, 0x25, 0x25, 0x1A});
-        tempMap.put(223, new int[]{0x38, 0x46, 0x45, 0x46, 0x38});
-        tempMap.put(224, new int[]{0x78, 0x14, 0x16, 0x15, 0x78});
-        tempMap.put(225, new int[]{0x7A, 0x15, 0x16, 0x15, 0x78});
-        tempMap.put(226, new int[]{0x22, 0x55, 0x56, 0x55, 0x78});
-        tempMap.put(227, new int[]{0x08, 0x7F, 0x49, 0x22, 0x1C});
-        tempMap.put(228, new int[]{0x30, 0x48, 0x4A, 0x3F, 0x02});
-        tempMap.put(229, new int[]{0x00, 0x44, 0x7E, 0x45, 0x00});
-        tempMap.put(230, new int[]{0x00, 0x45, 0x7E, 0x44, 0x00});
-        tempMap.put(231, new int[]{0x38, 0x44, 0x46, 0x45, 0x38});
-        tempMap.put(232, new int[]{0x38, 0x45, 0x46, 0x44, 0x38});
-        tempMap.put(233, new int[]{0x3A, 0x45, 0x46, 0x45, 0x38});
-        tempMap.put(234, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x31});
-        tempMap.put(235, new int[]{0x48, 0x55, 0x56, 0x55, 0x24});
-        tempMap.put(236, new int[]{0x40, 0x51, 0x2A, 0x09, 0x00});
-        tempMap.put(237, new int[]{0x3C, 0x40, 0x42, 0x41, 0x3C});
-        tempMap.put(238, new int[]{0x04, 0x09, 0x70, 0x09, 0x04});
-        tempMap.put(239, new int[]{0x18, 0xA1, 0xA0, 0xA1, 0x78});
-        tempMap.put(240, new int[]{0x41, 0x7F, 0x55, 0x14, 0x08});
-        tempMap.put(241, new int[]{0x00, 0xFE, 0x24, 0x24, 0x18});
-        tempMap.put(242, new int[]{0x00, 0x18, 0x18, 0x00, 0x00});
-        tempMap.put(243, new int[]{0x7C, 0x20, 0x20, 0x1C, 0x20});
-        tempMap.put(244, new int[]{0x06, 0x4F, 0x7F, 0x01, 0x7F});
-        tempMap.put(245, new int[]{0x15, 0x1F, 0x38, 0x24, 0x72});
-        tempMap.put(246, new int[]{0x04, 0x04, 0x04, 0x04, 0x04});
-        tempMap.put(247, new int[]{0x17, 0x08, 0x34, 0x22, 0x70});
-        tempMap.put(248, new int[]{0x17, 0x08, 0x04, 0x6A, 0x58});
-        tempMap.put(249, new int[]{0x00, 0x28, 0x35, 0x35, 0x2E});
-        tempMap.put(250, new int[]{0x26, 0x29, 0x29, 0x29, 0x26});
-        tempMap.put(251, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
-        tempMap.put(252, new int[]{0x7F, 0x7F, 0x7F, 0x7F, 0x7F});
-        tempMap.put(253, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
-        tempMap.put(254, new int[]{0x00, 0x24, 0x2E, 0x24, 0x00});
-        tempMap.put(255, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        ROMAN8B = Collections.unmodifiableMap(tempMap);
+        static {
+            Map<Integer, int[]> tempMap = new HashMap<>();
+            tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
+            tempMap.put(34, new int[]{0x00, 0x07, 0x00, 0x07, 0x00});
+            tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
+            tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
+            tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
+            tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
+            tempMap.put(39, new int[]{0x00, 0x00, 0x07, 0x00, 0x00});
+            tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
+            tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
+            tempMap.put(42, new int[]{0x08, 0x2A, 0x1C, 0x2A, 0x08});
+            tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
+            tempMap.put(44, new int[]{0x00, 0xB0, 0x70, 0x00, 0x00});
+            tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
+            tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
+            tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
+            tempMap.put(48, new int[]{0x3E, 0x51, 0x49, 0x45, 0x3E});
+            tempMap.put(49, new int[]{0x00, 0x42, 0x7F, 0x40, 0x00});
+            tempMap.put(50, new int[]{0x62, 0x51, 0x49, 0x49, 0x46});
+            tempMap.put(51, new int[]{0x22, 0x49, 0x49, 0x49, 0x36});
+            tempMap.put(52, new int[]{0x18, 0x14, 0x12, 0x7F, 0x10});
+            tempMap.put(53, new int[]{0x27, 0x45, 0x45, 0x45, 0x39});
+            tempMap.put(54, new int[]{0x3C, 0x4A, 0x49, 0x49, 0x30});
+            tempMap.put(55, new int[]{0x01, 0x71, 0x09, 0x05, 0x03});
+            tempMap.put(56, new int[]{0x36, 0x49, 0x49, 0x49, 0x36});
+            tempMap.put(57, new int[]{0x06, 0x49, 0x49, 0x29, 0x1E});
+            tempMap.put(58, new int[]{0x00, 0x36, 0x36, 0x00, 0x00});
+            tempMap.put(59, new int[]{0x00, 0xB6, 0x76, 0x00, 0x00});
+            tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
+            tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
+            tempMap.put(62, new int[]{0x41, 0x22, 0x14, 0x08, 0x00});
+            tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
+            tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x49, 0x4E});
+            tempMap.put(65, new int[]{0x7E, 0x09, 0x09, 0x09, 0x7E});
+            tempMap.put(66, new int[]{0x7F, 0x49, 0x49, 0x49, 0x36});
+            tempMap.put(67, new int[]{0x3E, 0x41, 0x41, 0x41, 0x22});
+            tempMap.put(68, new int[]{0x7F, 0x41, 0x41, 0x22, 0x1C});
+            tempMap.put(69, new int[]{0x7F, 0x49, 0x49, 0x49, 0x41});
+            tempMap.put(70, new int[]{0x7F, 0x09, 0x09, 0x09, 0x01});
+            tempMap.put(71, new int[]{0x3E, 0x41, 0x41, 0x51, 0x72});
+            tempMap.put(72, new int[]{0x7F, 0x08, 0x08, 0x08, 0x7F});
+            tempMap.put(73, new int[]{0x00, 0x41, 0x7F, 0x41, 0x00});
+            tempMap.put(74, new int[]{0x30, 0x40, 0x40, 0x40, 0x3F});
+            tempMap.put(75, new int[]{0x7F, 0x08, 0x14, 0x22, 0x41});
+            tempMap.put(76, new int[]{0x7F, 0x40, 0x40, 0x40, 0x40});
+            tempMap.put(77, new int[]{0x7F, 0x02, 0x0C, 0x02, 0x7F});
+            tempMap.put(78, new int[]{0x7F, 0x04, 0x08, 0x10, 0x7F});
+            tempMap.put(79, new int[]{0x3E, 0x41, 0x41, 0x41, 0x3E});
+            tempMap.put(80, new int[]{0x7F, 0x09, 0x09, 0x09, 0x06});
+            tempMap.put(81, new int[]{0x3E, 0x41, 0x51, 0x21, 0x5E});
+            tempMap.put(82, new int[]{0x7F, 0x09, 0x19, 0x29, 0x46});
+            tempMap.put(83, new int[]{0x26, 0x49, 0x49, 0x49, 0x32});
+            tempMap.put(84, new int[]{0x01, 0x01, 0x7F, 0x01, 0x01});
+            tempMap.put(85, new int[]{0x3F, 0x40, 0x40, 0x40, 0x3F});
+            tempMap.put(86, new int[]{0x07, 0x18, 0x60, 0x18, 0x07});
+            tempMap.put(87, new int[]{0x7F, 0x20, 0x18, 0x20, 0x7F});
+            tempMap.put(88, new int[]{0x63, 0x14, 0x08, 0x14, 0x63});
+            tempMap.put(89, new int[]{0x03, 0x04, 0x78, 0x04, 0x03});
+            tempMap.put(90, new int[]{0x61, 0x51, 0x49, 0x45, 0x43});
+            tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
+            tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
+            tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
+            tempMap.put(94, new int[]{0x04, 0x02, 0x01, 0x02, 0x04});
+            tempMap.put(95, new int[]{0x80, 0x80, 0x80, 0x80, 0x80});
+            tempMap.put(96, new int[]{0x00, 0x03, 0x04, 0x00, 0x00});
+            tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
+            tempMap.put(98, new int[]{0x7F, 0x44, 0x44, 0x44, 0x38});
+            tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x44});
+            tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x44, 0x7F});
+            tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x18});
+            tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
+            tempMap.put(103, new int[]{0x18, 0xA4, 0xA4, 0xA4, 0x78});
+            tempMap.put(104, new int[]{0x7F, 0x04, 0x04, 0x04, 0x78});
+            tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
+            tempMap.put(106, new int[]{0x40, 0x80, 0x84, 0x7D, 0x00});
+            tempMap.put(107, new int[]{0x7F, 0x10, 0x28, 0x44, 0x00});
+            tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
+            tempMap.put(109, new int[]{0x7C, 0x04, 0x18, 0x04, 0x78});
+            tempMap.put(110, new int[]{0x7C, 0x04, 0x04, 0x04, 0x78});
+            tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
+            tempMap.put(112, new int[]{0xFC, 0x24, 0x24, 0x24, 0x18});
+            tempMap.put(113, new int[]{0x18, 0x24, 0x24, 0x24, 0xFC});
+            tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x04});
+            tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x24});
+            tempMap.put(116, new int[]{0x04, 0x3F, 0x44, 0x20, 0x00});
+            tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x40, 0x7C});
+            tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
+            tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
+            tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
+            tempMap.put(121, new int[]{0x1C, 0xA0, 0xA0, 0xA0, 0x7C});
+            tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
+            tempMap.put(123, new int[]{0x08, 0x36, 0x41, 0x41, 0x00});
+            tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
+            tempMap.put(125, new int[]{0x00, 0x41, 0x41, 0x36, 0x08});
+            tempMap.put(126, new int[]{0x08, 0x04, 0x08, 0x10, 0x08});
+            tempMap.put(127, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
+            tempMap.put(128, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            tempMap.put(129, new int[]{0x08, 0x08, 0x2A, 0x08, 0x08});
+            tempMap.put(130, new int[]{0x22, 0x14, 0x08, 0x14, 0x22});
+            tempMap.put(131, new int[]{0x10, 0x20, 0x7F, 0x01, 0x01});
+            tempMap.put(132, new int[]{0x20, 0x40, 0x3E, 0x01, 0x02});
+            tempMap.put(133, new int[]{0x41, 0x63, 0x55, 0x49, 0x63});
+            tempMap.put(134, new int[]{0x7F, 0x7F, 0x3E, 0x1C, 0x08});
+            tempMap.put(135, new int[]{0x04, 0x7C, 0x04, 0x7C, 0x04});
+            tempMap.put(136, new int[]{0x30, 0x48, 0x49, 0x52, 0x3C});
+            tempMap.put(137, new int[]{0x50, 0x58, 0x54, 0x52, 0x51});
+            tempMap.put(138, new int[]{0x51, 0x52, 0x54, 0x58, 0x50});
+            tempMap.put(139, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
+            tempMap.put(140, new int[]{0x30, 0x48, 0x48, 0x30, 0x48});
+            tempMap.put(141, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
+            tempMap.put(142, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
+            tempMap.put(143, new int[]{0x80, 0x78, 0x40, 0x40, 0x38});
+            tempMap.put(144, new int[]{0x0F, 0x08, 0x00, 0x78, 0x28});
+            tempMap.put(145, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
+            tempMap.put(146, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
+            tempMap.put(147, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
+            tempMap.put(148, new int[]{0x7F, 0x08, 0x08, 0x08, 0x08});
+            tempMap.put(149, new int[]{0x00, 0x00, 0xF8, 0x00, 0x00});
+            tempMap.put(150, new int[]{0x00, 0xE8, 0xA8, 0xB8, 0x00});
+            tempMap.put(151, new int[]{0x00, 0x1D, 0x15, 0x17, 0x00});
+            tempMap.put(152, new int[]{0x00, 0x15, 0x15, 0x1F, 0x00});
+            tempMap.put(153, new int[]{0x00, 0x00, 0x68, 0x80, 0x00});
+            tempMap.put(154, new int[]{0x00, 0x80, 0x80, 0x74, 0x00});
+            tempMap.put(155, new int[]{0x60, 0x60, 0x00, 0x60, 0x60});
+            tempMap.put(156, new int[]{0x00, 0x00, 0x0D, 0x10, 0x00});
+            tempMap.put(157, new int[]{0x00, 0x10, 0x10, 0x0D, 0x00});
+            tempMap.put(158, new int[]{0x00, 0x1F, 0x04, 0x0A, 0x10});
+            tempMap.put(159, new int[]{0x00, 0x1E, 0x02, 0x02, 0x1C});
+            tempMap.put(160, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
+            tempMap.put(161, new int[]{0x78, 0x14, 0x15, 0x16, 0x78});
+            tempMap.put(162, new int[]{0x78, 0x16, 0x15, 0x16, 0x78});
+            tempMap.put(163, new int[]{0x7C, 0x54, 0x55, 0x56, 0x44});
+            tempMap.put(164, new int[]{0x7C, 0x56, 0x55, 0x56, 0x44});
+            tempMap.put(165, new int[]{0x7C, 0x55, 0x54, 0x55, 0x44});
+            tempMap.put(166, new int[]{0x00, 0x46, 0x7D, 0x46, 0x00});
+            tempMap.put(167, new int[]{0x00, 0x45, 0x7C, 0x45, 0x00});
+            tempMap.put(168, new int[]{0x00, 0x00, 0x02, 0x01, 0x00});
+            tempMap.put(169, new int[]{0x00, 0x01, 0x02, 0x00, 0x00});
+            tempMap.put(170, new int[]{0x00, 0x02, 0x01, 0x02, 0x00});
+            tempMap.put(171, new int[]{0x00, 0x01, 0x00, 0x01, 0x00});
+            tempMap.put(172, new int[]{0x02, 0x01, 0x02, 0x04, 0x02});
+            tempMap.put(173, new int[]{0x3C, 0x41, 0x42, 0x40, 0x3C});
+            tempMap.put(174, new int[]{0x38, 0x42, 0x41, 0x42, 0x38});
+            tempMap.put(175, new int[]{0x58, 0x7E, 0x59, 0x41, 0x02});
+            tempMap.put(176, new int[]{0x01, 0x01, 0x01, 0x01, 0x01});
+            tempMap.put(177, new int[]{0x0C, 0x10, 0x62, 0x11, 0x0C});
+            tempMap.put(178, new int[]{0x18, 0xA0, 0xA2, 0xA1, 0x78});
+            tempMap.put(179, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
+            tempMap.put(180, new int[]{0x1E, 0xA1, 0xA1, 0x61, 0x12});
+            tempMap.put(181, new int[]{0x18, 0xA4, 0xA4, 0x64, 0x24});
+            tempMap.put(182, new int[]{0x7E, 0x09, 0x12, 0x21, 0x7C});
+            tempMap.put(183, new int[]{0x7A, 0x09, 0x0A, 0x09, 0x70});
+            tempMap.put(184, new int[]{0x00, 0x00, 0x7D, 0x00, 0x00});
+            tempMap.put(185, new int[]{0x30, 0x48, 0x45, 0x40, 0x20});
+            tempMap.put(186, new int[]{0x5D, 0x22, 0x22, 0x22, 0x5D});
+            tempMap.put(187, new int[]{0x48, 0x7E, 0x49, 0x41, 0x02});
+            tempMap.put(188, new int[]{0x2B, 0x2C, 0x78, 0x2C, 0x2B});
+            tempMap.put(189, new int[]{0x08, 0x56, 0x55, 0x35, 0x08});
+            tempMap.put(190, new int[]{0x40, 0x48, 0x3E, 0x09, 0x01});
+            tempMap.put(191, new int[]{0x18, 0x24, 0x7E, 0x24, 0x24});
+            tempMap.put(192, new int[]{0x20, 0x56, 0x55, 0x56, 0x78});
+            tempMap.put(193, new int[]{0x38, 0x56, 0x55, 0x56, 0x48});
+            tempMap.put(194, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x30});
+            tempMap.put(195, new int[]{0x30, 0x42, 0x41, 0x42, 0x30});
+            tempMap.put(196, new int[]{0x20, 0x54, 0x56, 0x55, 0x78});
+            tempMap.put(197, new int[]{0x38, 0x54, 0x56, 0x55, 0x48});
+            tempMap.put(198, new int[]{0x30, 0x48, 0x4A, 0x49, 0x30});
+            tempMap.put(199, new int[]{0x38, 0x40, 0x42, 0x41, 0x38});
+            tempMap.put(200, new int[]{0x20, 0x55, 0x56, 0x54, 0x78});
+            tempMap.put(201, new int[]{0x38, 0x55, 0x56, 0x54, 0x48});
+            tempMap.put(202, new int[]{0x30, 0x49, 0x4A, 0x48, 0x30});
+            tempMap.put(203, new int[]{0x38, 0x41, 0x42, 0x40, 0x38});
+            tempMap.put(204, new int[]{0x20, 0x55, 0x54, 0x55, 0x78});
+            tempMap.put(205, new int[]{0x38, 0x55, 0x54, 0x55, 0x48});
+            tempMap.put(206, new int[]{0x30, 0x49, 0x48, 0x49, 0x30});
+            tempMap.put(207, new int[]{0x38, 0x41, 0x40, 0x41, 0x38});
+            tempMap.put(208, new int[]{0x78, 0x17, 0x15, 0x17, 0x78});
+            tempMap.put(209, new int[]{0x00, 0x4A, 0x79, 0x42, 0x00});
+            tempMap.put(210, new int[]{0x5C, 0x32, 0x2A, 0x26, 0x1D});
+            tempMap.put(211, new int[]{0x7E, 0x09, 0x7F, 0x49, 0x49});
+            tempMap.put(212, new int[]{0x20, 0x57, 0x55, 0x57, 0x78});
+            tempMap.put(213, new int[]{0x00, 0x48, 0x7A, 0x41, 0x00});
+            tempMap.put(214, new int[]{0x48, 0x34, 0x1C, 0x16, 0x09});
+            tempMap.put(215, new int[]{0x24, 0x54, 0x38, 0x54, 0x48});
+            tempMap.put(216, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
+            tempMap.put(217, new int[]{0x00, 0x49, 0x7A, 0x40, 0x00});
+            tempMap.put(218, new int[]{0x3C, 0x43, 0x42, 0x43, 0x3C});
+            tempMap.put(219, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
+            tempMap.put(220, new int[]{0x7C, 0x54, 0x56, 0x55, 0x44});
+            tempMap.put(221, new int[]{0x00, 0x49, 0x78, 0x41, 0x00});
+            tempMap.put(222, new int[]{0xFE, 0x25, 0x25, 0x25, 0x1A});
+            tempMap.put(223, new int[]{0x38, 0x46, 0x45, 0x46, 0x38});
+            tempMap.put(224, new int[]{0x78, 0x14, 0x16, 0x15, 0x78});
+            tempMap.put(225, new int[]{0x7A, 0x15, 0x16, 0x15, 0x78});
+            tempMap.put(226, new int[]{0x22, 0x55, 0x56, 0x55, 0x78});
+            tempMap.put(227, new int[]{0x08, 0x7F, 0x49, 0x22, 0x1C});
+            tempMap.put(228, new int[]{0x30, 0x48, 0x4A, 0x3F, 0x02});
+            tempMap.put(229, new int[]{0x00, 0x44, 0x7E, 0x45, 0x00});
+            tempMap.put(230, new int[]{0x00, 0x45, 0x7E, 0x44, 0x00});
+            tempMap.put(231, new int[]{0x38, 0x44, 0x46, 0x45, 0x38});
+            tempMap.put(232, new int[]{0x38, 0x45, 0x46, 0x44, 0x38});
+            tempMap.put(233, new int[]{0x3A, 0x45, 0x46, 0x45, 0x38});
+            tempMap.put(234, new int[]{0x32, 0x49, 0x4A, 0x49, 0x30});
+            tempMap.put(235, new int[]{0x48, 0x55, 0x56, 0x55, 0x24});
+            tempMap.put(236, new int[]{0x40, 0x51, 0x2A, 0x09, 0x00});
+            tempMap.put(237, new int[]{0x3C, 0x40, 0x42, 0x41, 0x3C});
+            tempMap.put(238, new int[]{0x0C, 0x11, 0x60, 0x11, 0x0C});
+            tempMap.put(239, new int[]{0x1C, 0xA1, 0xA0, 0xA1, 0x7C});
+            tempMap.put(240, new int[]{0x41, 0x7F, 0x4B, 0x0A, 0x04});
+            tempMap.put(241, new int[]{0x7F, 0x22, 0x22, 0x22, 0x1C});
+            tempMap.put(242, new int[]{0x00, 0x00, 0x0C, 0x0C, 0x00});
+            tempMap.put(243, new int[]{0x80, 0x78, 0x40, 0x40, 0x38});
+            tempMap.put(244, new int[]{0x06, 0x0F, 0x7F, 0x01, 0x7F});
+            tempMap.put(245, new int[]{0x15, 0x1F, 0x38, 0x24, 0x72});
+            tempMap.put(246, new int[]{0x04, 0x04, 0x04, 0x04, 0x04});
+            tempMap.put(247, new int[]{0x17, 0x08, 0x34, 0x22, 0x70});
+            tempMap.put(248, new int[]{0x17, 0x08, 0x04, 0x6A, 0x59});
+            tempMap.put(249, new int[]{0x20, 0x25, 0x2B, 0x2E, 0x20});
+            tempMap.put(250, new int[]{0x26, 0x29, 0x29, 0x29, 0x26});
+            tempMap.put(251, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
+            tempMap.put(252, new int[]{0x7F, 0x7F, 0x7F, 0x7F, 0x7F});
+            tempMap.put(253, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
+            tempMap.put(254, new int[]{0x00, 0x24, 0x2E, 0x24, 0x00});
+            tempMap.put(255, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            MAP = Collections.unmodifiableMap(tempMap);
+            TABLE = toTable(MAP);
+        }
+    }
+
+    // HP 82240B Roman 8
+    private static final class Roman8B {
+        static final Map<Integer, int[]> MAP;
+        static final int[][] TABLE;
+
+        static {
+            Map<Integer, int[]> tempMap = new HashMap<>();
+            tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
+            tempMap.put(34, new int[]{0x00, 0x07, 0x00, 0x07, 0x00});
+            tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
+            tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
+            tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
+            tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
+            tempMap.put(39, new int[]{0x00, 0x00, 0x07, 0x00, 0x00});
+            tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
+            tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
+            tempMap.put(42, new int[]{0x08, 0x2A, 0x1C, 0x2A, 0x08});
+            tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
+            tempMap.put(44, new int[]{0x00, 0xB0, 0x70, 0x00, 0x00});
+            tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
+            tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
+            tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
+            tempMap.put(48, new int[]{0x3C, 0x62, 0x52, 0x4A, 0x3C});
+            tempMap.put(49, new int[]{0x00, 0x44, 0x7E, 0x40, 0x00});
+            tempMap.put(50, new int[]{0x64, 0x52, 0x4A, 0x4A, 0x44});
+            tempMap.put(51, new int[]{0x24, 0x42, 0x4A, 0x4A, 0x34});
+            tempMap.put(52, new int[]{0x10, 0x18, 0x14, 0x7E, 0x10});
+            tempMap.put(53, new int[]{0x2E, 0x4A, 0x4A, 0x4A, 0x32});
+            tempMap.put(54, new int[]{0x38, 0x54, 0x52, 0x52, 0x20});
+            tempMap.put(55, new int[]{0x02, 0x62, 0x12, 0x0A, 0x06});
+            tempMap.put(56, new int[]{0x34, 0x4A, 0x4A, 0x4A, 0x34});
+            tempMap.put(57, new int[]{0x04, 0x4A, 0x4A, 0x2A, 0x1C});
+            tempMap.put(58, new int[]{0x00, 0x36, 0x36, 0x00, 0x00});
+            tempMap.put(59, new int[]{0x00, 0xB6, 0x76, 0x00, 0x00});
+            tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
+            tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
+            tempMap.put(62, new int[]{0x41, 0x22, 0x14, 0x08, 0x00});
+            tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
+            tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x49, 0x4E});
+            tempMap.put(65, new int[]{0x7C, 0x12, 0x12, 0x12, 0x7C});
+            tempMap.put(66, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x34});
+            tempMap.put(67, new int[]{0x3C, 0x42, 0x42, 0x42, 0x24});
+            tempMap.put(68, new int[]{0x7E, 0x42, 0x42, 0x24, 0x18});
+            tempMap.put(69, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x42});
+            tempMap.put(70, new int[]{0x7E, 0x0A, 0x0A, 0x0A, 0x02});
+            tempMap.put(71, new int[]{0x3C, 0x42, 0x42, 0x52, 0x74});
+            tempMap.put(72, new int[]{0x7E, 0x08, 0x08, 0x08, 0x7E});
+            tempMap.put(73, new int[]{0x00, 0x42, 0x7E, 0x42, 0x00});
+            tempMap.put(74, new int[]{0x20, 0x40, 0x40, 0x40, 0x3E});
+            tempMap.put(75, new int[]{0x7E, 0x08, 0x14, 0x22, 0x40});
+            tempMap.put(76, new int[]{0x7E, 0x40, 0x40, 0x40, 0x40});
+            tempMap.put(77, new int[]{0x7E, 0x04, 0x18, 0x04, 0x7E});
+            tempMap.put(78, new int[]{0x7E, 0x04, 0x08, 0x10, 0x7E});
+            tempMap.put(79, new int[]{0x3C, 0x42, 0x42, 0x42, 0x3C});
+            tempMap.put(80, new int[]{0x7E, 0x12, 0x12, 0x12, 0x0C});
+            tempMap.put(81, new int[]{0x3C, 0x42, 0x52, 0x22, 0x5C});
+            tempMap.put(82, new int[]{0x7E, 0x12, 0x12, 0x32, 0x4C});
+            tempMap.put(83, new int[]{0x24, 0x4A, 0x4A, 0x4A, 0x30});
+            tempMap.put(84, new int[]{0x02, 0x02, 0x7E, 0x02, 0x02});
+            tempMap.put(85, new int[]{0x3E, 0x40, 0x40, 0x40, 0x3E});
+            tempMap.put(86, new int[]{0x0E, 0x30, 0x40, 0x30, 0x0E});
+            tempMap.put(87, new int[]{0x7E, 0x20, 0x18, 0x20, 0x7E});
+            tempMap.put(88, new int[]{0x42, 0x24, 0x18, 0x24, 0x42});
+            tempMap.put(89, new int[]{0x06, 0x08, 0x70, 0x08, 0x06});
+            tempMap.put(90, new int[]{0x62, 0x52, 0x4A, 0x46, 0x42});
+            tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
+            tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
+            tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
+            tempMap.put(94, new int[]{0x04, 0x02, 0x01, 0x02, 0x04});
+            tempMap.put(95, new int[]{0x80, 0x80, 0x80, 0x80, 0x80});
+            tempMap.put(96, new int[]{0x00, 0x03, 0x04, 0x00, 0x00});
+            tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
+            tempMap.put(98, new int[]{0x7F, 0x44, 0x44, 0x44, 0x38});
+            tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x44});
+            tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x44, 0x7F});
+            tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x18});
+            tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
+            tempMap.put(103, new int[]{0x18, 0xA4, 0xA4, 0xA4, 0x78});
+            tempMap.put(104, new int[]{0x7F, 0x04, 0x04, 0x04, 0x78});
+            tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
+            tempMap.put(106, new int[]{0x40, 0x80, 0x84, 0x7D, 0x00});
+            tempMap.put(107, new int[]{0x7F, 0x10, 0x28, 0x44, 0x00});
+            tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
+            tempMap.put(109, new int[]{0x7C, 0x04, 0x38, 0x04, 0x78});
+            tempMap.put(110, new int[]{0x7C, 0x04, 0x04, 0x04, 0x78});
+            tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
+            tempMap.put(112, new int[]{0xFC, 0x24, 0x24, 0x24, 0x18});
+            tempMap.put(113, new int[]{0x18, 0x24, 0x24, 0x24, 0xFC});
+            tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x04});
+            tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x24});
+            tempMap.put(116, new int[]{0x04, 0x3F, 0x44, 0x20, 0x00});
+            tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x40, 0x7C});
+            tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
+            tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
+            tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
+            tempMap.put(121, new int[]{0x1C, 0xA0, 0xA0, 0xA0, 0x7C});
+            tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
+            tempMap.put(123, new int[]{0x08, 0x36, 0x41, 0x41, 0x00});
+            tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
+            tempMap.put(125, new int[]{0x00, 0x41, 0x41, 0x36, 0x08});
+            tempMap.put(126, new int[]{0x08, 0x04, 0x08, 0x10, 0x08});
+            tempMap.put(127, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
+            tempMap.put(128, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            tempMap.put(129, new int[]{0x08, 0x08, 0x2A, 0x08, 0x08});
+            tempMap.put(130, new int[]{0x22, 0x14, 0x08, 0x14, 0x22});
+            tempMap.put(131, new int[]{0x10, 0x20, 0x7F, 0x01, 0x01});
+            tempMap.put(132, new int[]{0x20, 0x40, 0x3E, 0x01, 0x02});
+            tempMap.put(133, new int[]{0x41, 0x63, 0x55, 0x49, 0x63});
+            tempMap.put(134, new int[]{0x7F, 0x7F, 0x3E, 0x1C, 0x08});
+            tempMap.put(135, new int[]{0x04, 0x7C, 0x04, 0x7C, 0x04});
+            tempMap.put(136, new int[]{0x30, 0x49, 0x4A, 0x4C, 0x38});
+            tempMap.put(137, new int[]{0x50, 0x58, 0x54, 0x52, 0x51});
+            tempMap.put(138, new int[]{0x51, 0x52, 0x54, 0x58, 0x50});
+            tempMap.put(139, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
+            tempMap.put(140, new int[]{0x30, 0x48, 0x48, 0x30, 0x48});
+            tempMap.put(141, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
+            tempMap.put(142, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
+            tempMap.put(143, new int[]{0x7C, 0x20, 0x20, 0x1C, 0x20});
+            tempMap.put(144, new int[]{0x0F, 0x08, 0x00, 0x78, 0x28});
+            tempMap.put(145, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
+            tempMap.put(146, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
+            tempMap.put(147, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
+            tempMap.put(148, new int[]{0x7F, 0x08, 0x08, 0x08, 0x08});
+            tempMap.put(149, new int[]{0x00, 0x00, 0xF8, 0x00, 0x00});
+            tempMap.put(150, new int[]{0x00, 0xE8, 0xA8, 0xB8, 0x00});
+            tempMap.put(151, new int[]{0x00, 0x1D, 0x15, 0x17, 0x00});
+            tempMap.put(152, new int[]{0x00, 0x15, 0x15, 0x1F, 0x00});
+            tempMap.put(153, new int[]{0x00, 0x00, 0x68, 0x80, 0x00});
+            tempMap.put(154, new int[]{0x00, 0x80, 0x80, 0x74, 0x00});
+            tempMap.put(155, new int[]{0x60, 0x60, 0x00, 0x60, 0x60});
+            tempMap.put(156, new int[]{0x00, 0x00, 0x0D, 0x10, 0x00});
+            tempMap.put(157, new int[]{0x00, 0x10, 0x10, 0x0D, 0x00});
+            tempMap.put(158, new int[]{0x00, 0x1F, 0x04, 0x0A, 0x10});
+            tempMap.put(159, new int[]{0x00, 0x1E, 0x02, 0x02, 0x1C});
+            tempMap.put(160, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
+            tempMap.put(161, new int[]{0x78, 0x15, 0x16, 0x14, 0x78});
+            tempMap.put(162, new int[]{0x78, 0x16, 0x15, 0x16, 0x78});
+            tempMap.put(163, new int[]{0x7C, 0x55, 0x56, 0x54, 0x44});
+            tempMap.put(164, new int[]{0x7C, 0x56, 0x55, 0x56, 0x44});
+            tempMap.put(165, new int[]{0x7C, 0x55, 0x54, 0x55, 0x44});
+            tempMap.put(166, new int[]{0x00, 0x46, 0x7D, 0x46, 0x00});
+            tempMap.put(167, new int[]{0x00, 0x45, 0x7C, 0x45, 0x00});
+            tempMap.put(168, new int[]{0x00, 0x00, 0x02, 0x01, 0x00});
+            tempMap.put(169, new int[]{0x00, 0x01, 0x02, 0x00, 0x00});
+            tempMap.put(170, new int[]{0x00, 0x02, 0x01, 0x02, 0x00});
+            tempMap.put(171, new int[]{0x00, 0x01, 0x00, 0x01, 0x00});
+            tempMap.put(172, new int[]{0x02, 0x01, 0x02, 0x04, 0x02});
+            tempMap.put(173, new int[]{0x3C, 0x41, 0x42, 0x40, 0x3C});
+            tempMap.put(174, new int[]{0x38, 0x42, 0x41, 0x42, 0x38});
+            tempMap.put(175, new int[]{0x58, 0x7E, 0x59, 0x41, 0x02});
+            tempMap.put(176, new int[]{0x01, 0x01, 0x01, 0x01, 0x01});
+            tempMap.put(177, new int[]{0x04, 0x08, 0x72, 0x09, 0x04});
+            tempMap.put(178, new int[]{0x18, 0xA0, 0xA2, 0xA1, 0x78});
+            tempMap.put(179, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
+            tempMap.put(180, new int[]{0x1E, 0xA1, 0xA1, 0x61, 0x12});
+            tempMap.put(181, new int[]{0x18, 0xA4, 0xA4, 0x64, 0x24});
+            tempMap.put(182, new int[]{0x7C, 0x0A, 0x11, 0x22, 0x7D});
+            tempMap.put(183, new int[]{0x78, 0x0A, 0x09, 0x0A, 0x71});
+            tempMap.put(184, new int[]{0x00, 0x00, 0x7D, 0x00, 0x00});
+            tempMap.put(185, new int[]{0x30, 0x48, 0x45, 0x40, 0x20});
+            tempMap.put(186, new int[]{0x5D, 0x22, 0x22, 0x22, 0x5D});
+            tempMap.put(187, new int[]{0x48, 0x7E, 0x49, 0x41, 0x02});
+            tempMap.put(188, new int[]{0x2B, 0x2C, 0x78, 0x2C, 0x2B});
+            tempMap.put(189, new int[]{0x08, 0x56, 0x55, 0x35, 0x08});
+            tempMap.put(190, new int[]{0x40, 0x48, 0x3E, 0x09, 0x01});
+            tempMap.put(191, new int[]{0x18, 0x24, 0x7E, 0x24, 0x24});
+            tempMap.put(192, new int[]{0x20, 0x56, 0x55, 0x56, 0x78});
+            tempMap.put(193, new int[]{0x38, 0x56, 0x55, 0x56, 0x18});
+            tempMap.put(194, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x30});
+            tempMap.put(195, new int[]{0x38, 0x42, 0x41, 0x42, 0x78});
+            tempMap.put(196, new int[]{0x20, 0x54, 0x56, 0x55, 0x78});
+            tempMap.put(197, new int[]{0x38, 0x54, 0x56, 0x55, 0x18});
+            tempMap.put(198, new int[]{0x30, 0x48, 0x4A, 0x49, 0x30});
+            tempMap.put(199, new int[]{0x38, 0x40, 0x42, 0x41, 0x78});
+            tempMap.put(200, new int[]{0x20, 0x55, 0x56, 0x54, 0x78});
+            tempMap.put(201, new int[]{0x38, 0x55, 0x56, 0x54, 0x18});
+            tempMap.put(202, new int[]{0x30, 0x49, 0x4A, 0x48, 0x30});
+            tempMap.put(203, new int[]{0x38, 0x41, 0x42, 0x40, 0x78});
+            tempMap.put(204, new int[]{0x20, 0x55, 0x54, 0x55, 0x78});
+            tempMap.put(205, new int[]{0x38, 0x55, 0x54, 0x55, 0x18});
+            tempMap.put(206, new int[]{0x30, 0x49, 0x48, 0x49, 0x30});
+            tempMap.put(207, new int[]{0x38, 0x41, 0x40, 0x41, 0x78});
+            tempMap.put(208, new int[]{0x78, 0x17, 0x15, 0x17, 0x78});
+            tempMap.put(209, new int[]{0x00, 0x4A, 0x79, 0x42, 0x00});
+            tempMap.put(210, new int[]{0x5C, 0x32, 0x2A, 0x26, 0x1D});
+            tempMap.put(211, new int[]{0x7E, 0x09, 0x7E, 0x49, 0x49});
+            tempMap.put(212, new int[]{0x20, 0x57, 0x55, 0x57, 0x78});
+            tempMap.put(213, new int[]{0x00, 0x48, 0x7A, 0x41, 0x00});
+            tempMap.put(214, new int[]{0x58, 0x24, 0x54, 0x48, 0x34});
+            tempMap.put(215, new int[]{0x74, 0x54, 0x7C, 0x54, 0x5C});
+            tempMap.put(216, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
+            tempMap.put(217, new int[]{0x00, 0x49, 0x7A, 0x40, 0x00});
+            tempMap.put(218, new int[]{0x38, 0x45, 0x44, 0x45, 0x38});
+            tempMap.put(219, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
+            tempMap.put(220, new int[]{0x7C, 0x54, 0x56, 0x55, 0x44});
+            tempMap.put(221, new int[]{0x00, 0x49, 0x78, 0x41, 0x00});
+            tempMap.put(222, new int[]{0xFE, 0x25, 0x25, 0x25, 0x1A});
+            tempMap.put(223, new int[]{0x38, 0x46, 0x45, 0x46, 0x38});
+            tempMap.put(224, new int[]{0x78, 0x14, 0x16, 0x15, 0x78});
+            tempMap.put(225, new int[]{0x7A, 0x15, 0x16, 0x15, 0x78});
+            tempMap.put(226, new int[]{0x22, 0x55, 0x56, 0x55, 0x78});
+            tempMap.put(227, new int[]{0x08, 0x7F, 0x49, 0x22, 0x1C});
+            tempMap.put(228, new int[]{0x30, 0x48, 0x4A, 0x3F, 0x02});
+            tempMap.put(229, new int[]{0x00, 0x44, 0x7E, 0x45, 0x00});
+            tempMap.put(230, new int[]{0x00, 0x45, 0x7E, 0x44, 0x00});
+            tempMap.put(231, new int[]{0x38, 0x44, 0x46, 0x45, 0x38});
+            tempMap.put(232, new int[]{0x38, 0x45, 0x46, 0x44, 0x38});
+            tempMap.put(233, new int[]{0x3A, 0x45, 0x46, 0x45, 0x38});
+            tempMap.put(234, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x31});
+            tempMap.put(235, new int[]{0x48, 0x55, 0x56, 0x55, 0x24});
+            tempMap.put(236, new int[]{0x40, 0x51, 0x2A, 0x09, 0x00});
+            tempMap.put(237, new int[]{0x3C, 0x40, 0x42, 0x41, 0x3C});
+            tempMap.put(238, new int[]{0x04, 0x09, 0x70, 0x09, 0x04});
+            tempMap.put(239, new int[]{0x18, 0xA1, 0xA0, 0xA1, 0x78});
+            tempMap.put(240, new int[]{0x41, 0x7F, 0x55, 0x14, 0x08});
+            tempMap.put(241, new int[]{0x00, 0xFE, 0x24, 0x24, 0x18});
+            tempMap.put(242, new int[]{0x00, 0x18, 0x18, 0x00, 0x00});
+            tempMap.put(243, new int[]{0x7C, 0x20, 0x20, 0x1C, 0x20});
+            tempMap.put(244, new int[]{0x06, 0x4F, 0x7F, 0x01, 0x7F});
+            tempMap.put(245, new int[]{0x15, 0x1F, 0x38, 0x24, 0x72});
+            tempMap.put(246, new int[]{0x04, 0x04, 0x04, 0x04, 0x04});
+            tempMap.put(247, new int[]{0x17, 0x08, 0x34, 0x22, 0x70});
+            tempMap.put(248, new int[]{0x17, 0x08, 0x04, 0x6A, 0x58});
+            tempMap.put(249, new int[]{0x00, 0x28, 0x35, 0x35, 0x2E});
+            tempMap.put(250, new int[]{0x26, 0x29, 0x29, 0x29, 0x26});
+            tempMap.put(251, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
+            tempMap.put(252, new int[]{0x7F, 0x7F, 0x7F, 0x7F, 0x7F});
+            tempMap.put(253, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
+            tempMap.put(254, new int[]{0x00, 0x24, 0x2E, 0x24, 0x00});
+            tempMap.put(255, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            MAP = Collections.unmodifiableMap(tempMap);
+            TABLE = toTable(MAP);
+        }
+    }
+
+    // HP 82240B RPL
+    private static final class Rpl {
+        static final Map<Integer, int[]> MAP;
+        static final int[][] TABLE;
+
+        static {
+            Map<Integer, int[]> tempMap = new HashMap<>();
+            tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
+            tempMap.put(34, new int[]{0x00, 0x07, 0x00, 0x07, 0x00});
+            tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
+            tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
+            tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
+            tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
+            tempMap.put(39, new int[]{0x00, 0x00, 0x07, 0x00, 0x00});
+            tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
+            tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
+            tempMap.put(42, new int[]{0x08, 0x2A, 0x1C, 0x2A, 0x08});
+            tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
+            tempMap.put(44, new int[]{0x00, 0xB0, 0x70, 0x00, 0x00});
+            tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
+            tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
+            tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
+            tempMap.put(48, new int[]{0x3C, 0x62, 0x52, 0x4A, 0x3C});
+            tempMap.put(49, new int[]{0x00, 0x44, 0x7E, 0x40, 0x00});
+            tempMap.put(50, new int[]{0x64, 0x52, 0x4A, 0x4A, 0x44});
+            tempMap.put(51, new int[]{0x24, 0x42, 0x4A, 0x4A, 0x34});
+            tempMap.put(52, new int[]{0x10, 0x18, 0x14, 0x7E, 0x10});
+            tempMap.put(53, new int[]{0x2E, 0x4A, 0x4A, 0x4A, 0x32});
+            tempMap.put(54, new int[]{0x38, 0x54, 0x52, 0x52, 0x20});
+            tempMap.put(55, new int[]{0x02, 0x62, 0x12, 0x0A, 0x06});
+            tempMap.put(56, new int[]{0x34, 0x4A, 0x4A, 0x4A, 0x34});
+            tempMap.put(57, new int[]{0x04, 0x4A, 0x4A, 0x2A, 0x1C});
+            tempMap.put(58, new int[]{0x00, 0x36, 0x36, 0x00, 0x00});
+            tempMap.put(59, new int[]{0x00, 0xB6, 0x76, 0x00, 0x00});
+            tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
+            tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
+            tempMap.put(62, new int[]{0x41, 0x22, 0x14, 0x08, 0x00});
+            tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
+            tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x49, 0x4E});
+            tempMap.put(65, new int[]{0x7C, 0x12, 0x12, 0x12, 0x7C});
+            tempMap.put(66, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x34});
+            tempMap.put(67, new int[]{0x3C, 0x42, 0x42, 0x42, 0x24});
+            tempMap.put(68, new int[]{0x7E, 0x42, 0x42, 0x24, 0x18});
+            tempMap.put(69, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x42});
+            tempMap.put(70, new int[]{0x7E, 0x0A, 0x0A, 0x0A, 0x02});
+            tempMap.put(71, new int[]{0x3C, 0x42, 0x42, 0x52, 0x74});
+            tempMap.put(72, new int[]{0x7E, 0x08, 0x08, 0x08, 0x7E});
+            tempMap.put(73, new int[]{0x00, 0x42, 0x7E, 0x42, 0x00});
+            tempMap.put(74, new int[]{0x20, 0x40, 0x40, 0x40, 0x3E});
+            tempMap.put(75, new int[]{0x7E, 0x08, 0x14, 0x22, 0x40});
+            tempMap.put(76, new int[]{0x7E, 0x40, 0x40, 0x40, 0x40});
+            tempMap.put(77, new int[]{0x7E, 0x04, 0x18, 0x04, 0x7E});
+            tempMap.put(78, new int[]{0x7E, 0x04, 0x08, 0x10, 0x7E});
+            tempMap.put(79, new int[]{0x3C, 0x42, 0x42, 0x42, 0x3C});
+            tempMap.put(80, new int[]{0x7E, 0x12, 0x12, 0x12, 0x0C});
+            tempMap.put(81, new int[]{0x3C, 0x42, 0x52, 0x22, 0x5C});
+            tempMap.put(82, new int[]{0x7E, 0x12, 0x12, 0x32, 0x4C});
+            tempMap.put(83, new int[]{0x24, 0x4A, 0x4A, 0x4A, 0x30});
+            tempMap.put(84, new int[]{0x02, 0x02, 0x7E, 0x02, 0x02});
+            tempMap.put(85, new int[]{0x3E, 0x40, 0x40, 0x40, 0x3E});
+            tempMap.put(86, new int[]{0x0E, 0x30, 0x40, 0x30, 0x0E});
+            tempMap.put(87, new int[]{0x7E, 0x20, 0x18, 0x20, 0x7E});
+            tempMap.put(88, new int[]{0x42, 0x24, 0x18, 0x24, 0x42});
+            tempMap.put(89, new int[]{0x06, 0x08, 0x70, 0x08, 0x06});
+            tempMap.put(90, new int[]{0x62, 0x52, 0x4A, 0x46, 0x42});
+            tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
+            tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
+            tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
+            tempMap.put(94, new int[]{0x04, 0x02, 0x01, 0x02, 0x04});
+            tempMap.put(95, new int[]{0x80, 0x80, 0x80, 0x80, 0x80});
+            tempMap.put(96, new int[]{0x00, 0x03, 0x04, 0x00, 0x00});
+            tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
+            tempMap.put(98, new int[]{0x7F, 0x44, 0x44, 0x44, 0x38});
+            tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x44});
+            tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x44, 0x7F});
+            tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x18});
+            tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
+            tempMap.put(103, new int[]{0x18, 0xA4, 0xA4, 0xA4, 0x78});
+            tempMap.put(104, new int[]{0x7F, 0x04, 0x04, 0x04, 0x78});
+            tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
+            tempMap.put(106, new int[]{0x40, 0x80, 0x84, 0x7D, 0x00});
+            tempMap.put(107, new int[]{0x7F, 0x10, 0x28, 0x44, 0x00});
+            tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
+            tempMap.put(109, new int[]{0x7C, 0x04, 0x38, 0x04, 0x78});
+            tempMap.put(110, new int[]{0x7C, 0x04, 0x04, 0x04, 0x78});
+            tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
+            tempMap.put(112, new int[]{0xFC, 0x24, 0x24, 0x24, 0x18});
+            tempMap.put(113, new int[]{0x18, 0x24, 0x24, 0x24, 0xFC});
+            tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x04});
+            tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x24});
+            tempMap.put(116, new int[]{0x04, 0x3F, 0x44, 0x20, 0x00});
+            tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x40, 0x7C});
+            tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
+            tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
+            tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
+            tempMap.put(121, new int[]{0x1C, 0xA0, 0xA0, 0xA0, 0x7C});
+            tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
+            tempMap.put(123, new int[]{0x08, 0x36, 0x41, 0x41, 0x00});
+            tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
+            tempMap.put(125, new int[]{0x00, 0x41, 0x41, 0x36, 0x08});
+            tempMap.put(126, new int[]{0x08, 0x04, 0x08, 0x10, 0x08});
+            tempMap.put(127, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
+            tempMap.put(128, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
+            tempMap.put(129, new int[]{0x45, 0x29, 0x11, 0x29, 0x45});
+            tempMap.put(130, new int[]{0x06, 0x1A, 0x22, 0x1A, 0x06});
+            tempMap.put(131, new int[]{0x10, 0x20, 0x7F, 0x01, 0x01});
+            tempMap.put(132, new int[]{0x20, 0x40, 0x3E, 0x01, 0x02});
+            tempMap.put(133, new int[]{0x41, 0x63, 0x55, 0x49, 0x63});
+            tempMap.put(134, new int[]{0x7F, 0x7F, 0x3E, 0x1C, 0x08});
+            tempMap.put(135, new int[]{0x04, 0x7C, 0x04, 0x7C, 0x04});
+            tempMap.put(136, new int[]{0x30, 0x49, 0x4A, 0x4C, 0x38});
+            tempMap.put(137, new int[]{0x50, 0x58, 0x54, 0x52, 0x51});
+            tempMap.put(138, new int[]{0x51, 0x52, 0x54, 0x58, 0x50});
+            tempMap.put(139, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
+            tempMap.put(140, new int[]{0x30, 0x48, 0x48, 0x30, 0x48});
+            tempMap.put(141, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
+            tempMap.put(142, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
+            tempMap.put(143, new int[]{0x10, 0x20, 0x7F, 0x20, 0x10});
+            tempMap.put(144, new int[]{0x04, 0x02, 0x7F, 0x02, 0x04});
+            tempMap.put(145, new int[]{0x08, 0x04, 0x08, 0x70, 0x0C});
+            tempMap.put(146, new int[]{0x30, 0x4A, 0x4D, 0x38, 0x00});
+            tempMap.put(147, new int[]{0x00, 0x38, 0x54, 0x54, 0x54});
+            tempMap.put(148, new int[]{0x08, 0x04, 0x38, 0x04, 0xF8});
+            tempMap.put(149, new int[]{0x3E, 0x49, 0x49, 0x3E, 0x00});
+            tempMap.put(150, new int[]{0x46, 0x28, 0x10, 0x20, 0x40});
+            tempMap.put(151, new int[]{0x80, 0x7C, 0x12, 0x12, 0x0C});
+            tempMap.put(152, new int[]{0x38, 0x44, 0x44, 0x3C, 0x04});
+            tempMap.put(153, new int[]{0x08, 0x04, 0x3C, 0x44, 0x24});
+            tempMap.put(154, new int[]{0x3C, 0x40, 0x30, 0x44, 0x38});
+            tempMap.put(155, new int[]{0x30, 0x28, 0x24, 0x28, 0x30});
+            tempMap.put(156, new int[]{0x01, 0x7F, 0x01, 0x7F, 0x01});
+            tempMap.put(157, new int[]{0x5E, 0x61, 0x01, 0x61, 0x5E});
+            tempMap.put(158, new int[]{0x7F, 0x7F, 0x7F, 0x7F, 0x7F});
+            tempMap.put(159, new int[]{0x18, 0x24, 0x18, 0x24, 0x18});
+            tempMap.put(160, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            tempMap.put(161, new int[]{0x00, 0x00, 0x7D, 0x00, 0x00});
+            tempMap.put(162, new int[]{0x18, 0x24, 0x7E, 0x24, 0x24});
+            tempMap.put(163, new int[]{0x48, 0x7E, 0x49, 0x41, 0x02});
+            tempMap.put(164, new int[]{0x5D, 0x22, 0x22, 0x22, 0x5D});
+            tempMap.put(165, new int[]{0x2B, 0x2C, 0x78, 0x2C, 0x2B});
+            tempMap.put(166, new int[]{0x00, 0x00, 0x77, 0x00, 0x00});
+            tempMap.put(167, new int[]{0x08, 0x56, 0x55, 0x35, 0x08});
+            tempMap.put(168, new int[]{0x00, 0x01, 0x00, 0x01, 0x00});
+            tempMap.put(169, new int[]{0x3E, 0x5D, 0x55, 0x41, 0x3E});
+            tempMap.put(170, new int[]{0x00, 0x28, 0x35, 0x35, 0x2E});
+            tempMap.put(171, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
+            tempMap.put(172, new int[]{0x08, 0x08, 0x08, 0x18, 0x00});
+            tempMap.put(173, new int[]{0x08, 0x08, 0x08, 0x08, 0x00});
+            tempMap.put(174, new int[]{0x3E, 0x5D, 0x4D, 0x51, 0x3E});
+            tempMap.put(175, new int[]{0x01, 0x01, 0x01, 0x01, 0x01});
+            tempMap.put(176, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
+            tempMap.put(177, new int[]{0x00, 0x24, 0x2E, 0x24, 0x00});
+            tempMap.put(178, new int[]{0x00, 0x1D, 0x15, 0x17, 0x00});
+            tempMap.put(179, new int[]{0x00, 0x15, 0x15, 0x1F, 0x00});
+            tempMap.put(180, new int[]{0x00, 0x00, 0x02, 0x01, 0x00});
+            tempMap.put(181, new int[]{0x7C, 0x20, 0x20, 0x1C, 0x20});
+            tempMap.put(182, new int[]{0x06, 0x4F, 0x7F, 0x01, 0x7F});
+            tempMap.put(183, new int[]{0x00, 0x18, 0x18, 0x00, 0x00});
+            tempMap.put(184, new int[]{0x00, 0x80, 0xA0, 0x40, 0x00});
+            tempMap.put(185, new int[]{0x00, 0x09, 0x0F, 0x08, 0x00});
+            tempMap.put(186, new int[]{0x26, 0x29, 0x29, 0x29, 0x26});
+            tempMap.put(187, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
+            tempMap.put(188, new int[]{0x17, 0x08, 0x34, 0x22, 0x70});
+            tempMap.put(189, new int[]{0x17, 0x08, 0x04, 0x6A, 0x58});
+            tempMap.put(190, new int[]{0x15, 0x1F, 0x38, 0x24, 0x72});
+            tempMap.put(191, new int[]{0x30, 0x48, 0x45, 0x40, 0x20});
+            tempMap.put(192, new int[]{0x78, 0x15, 0x16, 0x14, 0x78});
+            tempMap.put(193, new int[]{0x78, 0x14, 0x16, 0x15, 0x78});
+            tempMap.put(194, new int[]{0x78, 0x16, 0x15, 0x16, 0x78});
+            tempMap.put(195, new int[]{0x7A, 0x15, 0x16, 0x15, 0x78});
+            tempMap.put(196, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
+            tempMap.put(197, new int[]{0x78, 0x17, 0x15, 0x17, 0x78});
+            tempMap.put(198, new int[]{0x7E, 0x09, 0x7E, 0x49, 0x49});
+            tempMap.put(199, new int[]{0x1E, 0xA1, 0xA1, 0x61, 0x12});
+            tempMap.put(200, new int[]{0x7C, 0x55, 0x56, 0x54, 0x44});
+            tempMap.put(201, new int[]{0x7C, 0x54, 0x56, 0x55, 0x44});
+            tempMap.put(202, new int[]{0x7C, 0x56, 0x55, 0x56, 0x44});
+            tempMap.put(203, new int[]{0x7C, 0x55, 0x54, 0x55, 0x44});
+            tempMap.put(204, new int[]{0x00, 0x45, 0x7E, 0x44, 0x00});
+            tempMap.put(205, new int[]{0x00, 0x44, 0x7E, 0x45, 0x00});
+            tempMap.put(206, new int[]{0x00, 0x46, 0x7D, 0x46, 0x00});
+            tempMap.put(207, new int[]{0x00, 0x45, 0x7C, 0x45, 0x00});
+            tempMap.put(208, new int[]{0x08, 0x7F, 0x49, 0x22, 0x1C});
+            tempMap.put(209, new int[]{0x7C, 0x0A, 0x11, 0x22, 0x7D});
+            tempMap.put(210, new int[]{0x38, 0x45, 0x46, 0x44, 0x38});
+            tempMap.put(211, new int[]{0x38, 0x44, 0x46, 0x45, 0x38});
+            tempMap.put(212, new int[]{0x38, 0x46, 0x45, 0x46, 0x38});
+            tempMap.put(213, new int[]{0x3A, 0x45, 0x46, 0x45, 0x38});
+            tempMap.put(214, new int[]{0x38, 0x45, 0x44, 0x45, 0x38});
+            tempMap.put(215, new int[]{0x22, 0x14, 0x08, 0x14, 0x22});
+            tempMap.put(216, new int[]{0x5C, 0x32, 0x2A, 0x26, 0x1D});
+            tempMap.put(217, new int[]{0x3C, 0x41, 0x42, 0x40, 0x3C});
+            tempMap.put(218, new int[]{0x3C, 0x40, 0x42, 0x41, 0x3C});
+            tempMap.put(219, new int[]{0x38, 0x42, 0x41, 0x42, 0x38});
+            tempMap.put(220, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
+            tempMap.put(221, new int[]{0x04, 0x08, 0x72, 0x09, 0x04});
+            tempMap.put(222, new int[]{0x41, 0x7F, 0x55, 0x14, 0x08});
+            tempMap.put(223, new int[]{0xFE, 0x25, 0x25, 0x25, 0x1A});
+            tempMap.put(224, new int[]{0x20, 0x55, 0x56, 0x54, 0x78});
+            tempMap.put(225, new int[]{0x20, 0x54, 0x56, 0x55, 0x78});
+            tempMap.put(226, new int[]{0x20, 0x56, 0x55, 0x56, 0x78});
+            tempMap.put(227, new int[]{0x22, 0x55, 0x56, 0x55, 0x78});
+            tempMap.put(228, new int[]{0x20, 0x55, 0x54, 0x55, 0x78});
+            tempMap.put(229, new int[]{0x20, 0x57, 0x55, 0x57, 0x78});
+            tempMap.put(230, new int[]{0x74, 0x54, 0x7C, 0x54, 0x5C});
+            tempMap.put(231, new int[]{0x18, 0xA4, 0xA4, 0x64, 0x24});
+            tempMap.put(232, new int[]{0x38, 0x55, 0x56, 0x54, 0x18});
+            tempMap.put(233, new int[]{0x38, 0x54, 0x56, 0x55, 0x18});
+            tempMap.put(234, new int[]{0x38, 0x56, 0x55, 0x56, 0x18});
+            tempMap.put(235, new int[]{0x38, 0x55, 0x54, 0x55, 0x18});
+            tempMap.put(236, new int[]{0x00, 0x49, 0x7A, 0x40, 0x00});
+            tempMap.put(237, new int[]{0x00, 0x48, 0x7A, 0x41, 0x00});
+            tempMap.put(238, new int[]{0x00, 0x4A, 0x79, 0x42, 0x00});
+            tempMap.put(239, new int[]{0x00, 0x49, 0x78, 0x41, 0x00});
+            tempMap.put(240, new int[]{0x30, 0x48, 0x4A, 0x3F, 0x02});
+            tempMap.put(241, new int[]{0x78, 0x0A, 0x09, 0x0A, 0x71});
+            tempMap.put(242, new int[]{0x30, 0x49, 0x4A, 0x48, 0x30});
+            tempMap.put(243, new int[]{0x30, 0x48, 0x4A, 0x49, 0x30});
+            tempMap.put(244, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x30});
+            tempMap.put(245, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x31});
+            tempMap.put(246, new int[]{0x30, 0x49, 0x48, 0x49, 0x30});
+            tempMap.put(247, new int[]{0x08, 0x08, 0x2A, 0x08, 0x08});
+            tempMap.put(248, new int[]{0x58, 0x24, 0x54, 0x48, 0x34});
+            tempMap.put(249, new int[]{0x38, 0x41, 0x42, 0x40, 0x78});
+            tempMap.put(250, new int[]{0x38, 0x40, 0x42, 0x41, 0x78});
+            tempMap.put(251, new int[]{0x38, 0x42, 0x41, 0x42, 0x78});
+            tempMap.put(252, new int[]{0x38, 0x41, 0x40, 0x41, 0x78});
+            tempMap.put(253, new int[]{0x18, 0xA0, 0xA2, 0xA1, 0x78});
+            tempMap.put(254, new int[]{0x00, 0xFE, 0x24, 0x24, 0x18});
+            tempMap.put(255, new int[]{0x18, 0xA1, 0xA0, 0xA1, 0x78});
+            MAP = Collections.unmodifiableMap(tempMap);
+            TABLE = toTable(MAP);
+        }
+    }
 
-        // HP 82240B RPL
-        tempMap = new HashMap<>();
-        tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
-        tempMap.put(34, new int[]{0x00, 0x07, 0x00, 0x07, 0x00});
-        tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
-        tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
-        tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
-        tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
-        tempMap.put(39, new int[]{0x00, 0x00, 0x07, 0x00, 0x00});
-        tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
-        tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
-        tempMap.put(42, new int[]{0x08, 0x2A, 0x1C, 0x2A, 0x08});
-        tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
-        tempMap.put(44, new int[]{0x00, 0xB0, 0x70, 0x00, 0x00});
-        tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
-        tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
-        tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
-        tempMap.put(48, new int[]{0x3C, 0x62, 0x52, 0x4A, 0x3C});
-        tempMap.put(49, new int[]{0x00, 0x44, 0x7E, 0x40, 0x00});
-        tempMap.put(50, new int[]{0x64, 0x52, 0x4A, 0x4A, 0x44});
-        tempMap.put(51, new int[]{0x24, 0x42, 0x4A, 0x4A, 0x34});
-        tempMap.put(52, new int[]{0x10, 0x18, 0x14, 0x7E, 0x10});
-        tempMap.put(53, new int[]{0x2E, 0x4A, 0x4A, 0x4A, 0x32});
-        tempMap.put(54, new int[]{0x38, 0x54, 0x52, 0x52, 0x20});
-        tempMap.put(55, new int[]{0x02, 0x62, 0x12, 0x0A, 0x06});
-        tempMap.put(56, new int[]{0x34, 0x4A, 0x4A, 0x4A, 0x34});
-        tempMap.put(57, new int[]{0x04, 0x4A, 0x4A, 0x2A, 0x1C});
-        tempMap.put(58, new int[]{0x00, 0x36, 0x36, 0x00, 0x00});
-        tempMap.put(59, new int[]{0x00, 0xB6, 0x76, 0x00, 0x00});
-        tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
-        tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
-        tempMap.put(62, new int[]{0x41, 0x22, 0x14, 0x08, 0x00});
-        tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
-        tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x49, 0x4E});
-        tempMap.put(65, new int[]{0x7C, 0x12, 0x12, 0x12, 0x7C});
-        tempMap.put(66, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x34});
-        tempMap.put(67, new int[]{0x3C, 0x42, 0x42, 0x42, 0x24});
-        tempMap.put(68, new int[]{0x7E, 0x42, 0x42, 0x24, 0x18});
-        tempMap.put(69, new int[]{0x7E, 0x4A, 0x4A, 0x4A, 0x42});
-        tempMap.put(70, new int[]{0x7E, 0x0A, 0x0A, 0x0A, 0x02});
-        tempMap.put(71, new int[]{0x3C, 0x42, 0x42, 0x52, 0x74});
-        tempMap.put(72, new int[]{0x7E, 0x08, 0x08, 0x08, 0x7E});
-        tempMap.put(73, new int[]{0x00, 0x42, 0x7E, 0x42, 0x00});
-        tempMap.put(74, new int[]{0x20, 0x40, 0x40, 0x40, 0x3E});
-        tempMap.put(75, new int[]{0x7E, 0x08, 0x14, 0x22, 0x40});
-        tempMap.put(76, new int[]{0x7E, 0x40, 0x40, 0x40, 0x40});
-        tempMap.put(77, new int[]{0x7E, 0x04, 0x18, 0x04, 0x7E});
-        tempMap.put(78, new int[]{0x7E, 0x04, 0x08, 0x10, 0x7E});
-        tempMap.put(79, new int[]{0x3C, 0x42, 0x42, 0x42, 0x3C});
-        tempMap.put(80, new int[]{0x7E, 0x12, 0x12, 0x12, 0x0C});
-        tempMap.put(81, new int[]{0x3C, 0x42, 0x52, 0x22, 0x5C});
-        tempMap.put(82, new int[]{0x7E, 0x12, 0x12, 0x32, 0x4C});
-        tempMap.put(83, new int[]{0x24, 0x4A, 0x4A, 0x4A, 0x30});
-        tempMap.put(84, new int[]{0x02, 0x02, 0x7E, 0x02, 0x02});
-        tempMap.put(85, new int[]{0x3E, 0x40, 0x40, 0x40, 0x3E});
-        tempMap.put(86, new int[]{0x0E, 0x30, 0x40, 0x30, 0x0E});
-        tempMap.put(87, new int[]{0x7E, 0x20, 0x18, 0x20, 0x7E});
-        tempMap.put(88, new int[]{0x42, 0x24, 0x18, 0x24, 0x42});
-        tempMap.put(89, new int[]{0x06, 0x08, 0x70, 0x08, 0x06});
-        tempMap.put(90, new int[]{0x62, 0x52, 0x4A, 0x46, 0x42});
-        tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
-        tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
-        tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
-        tempMap.put(94, new int[]{0x04, 0x02, 0x01, 0x02, 0x04});
-        tempMap.put(95, new int[]{0x80, 0x80, 0x80, 0x80, 0x80});
-        tempMap.put(96, new int[]{0x00, 0x03, 0x04, 0x00, 0x00});
-        tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
-        tempMap.put(98, new int[]{0x7F, 0x44, 0x44, 0x44, 0x38});
-        tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x44});
-        tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x44, 0x7F});
-        tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x18});
-        tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
-        tempMap.put(103, new int[]{0x18, 0xA4, 0xA4, 0xA4, 0x78});
-        tempMap.put(104, new int[]{0x7F, 0x04, 0x04, 0x04, 0x78});
-        tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
-        tempMap.put(106, new int[]{0x40, 0x80, 0x84, 0x7D, 0x00});
-        tempMap.put(107, new int[]{0x7F, 0x10, 0x28, 0x44, 0x00});
-        tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
-        tempMap.put(109, new int[]{0x7C, 0x04, 0x38, 0x04, 0x78});
-        tempMap.put(110, new int[]{0x7C, 0x04, 0x04, 0x04, 0x78});
-        tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
-        tempMap.put(112, new int[]{0xFC, 0x24, 0x24, 0x24, 0x18});
-        tempMap.put(113, new int[]{0x18, 0x24, 0x24, 0x24, 0xFC});
-        tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x04});
-        tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x24});
-        tempMap.put(116, new int[]{0x04, 0x3F, 0x44, 0x20, 0x00});
-        tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x40, 0x7C});
-        tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
-        tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
-        tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
-        tempMap.put(121, new int[]{0x1C, 0xA0, 0xA0, 0xA0, 0x7C});
-        tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
-        tempMap.put(123, new int[]{0x08, 0x36, 0x41, 0x41, 0x00});
-        tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
-        tempMap.put(125, new int[]{0x00, 0x41, 0x41, 0x36, 0x08});
-        tempMap.put(126, new int[]{0x08, 0x04, 0x08, 0x10, 0x08});
-        tempMap.put(127, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
-        tempMap.put(128, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
-        tempMap.put(129, new int[]{0x45, 0x29, 0x11, 0x29, 0x45});
-        tempMap.put(130, new int[]{0x06, 0x1A, 0x22, 0x1A, 0x06});
-        tempMap.put(131, new int[]{0x10, 0x20, 0x7F, 0x01, 0x01});
-        tempMap.put(132, new int[]{0x20, 0x40, 0x3E, 0x01, 0x02});
-        tempMap.put(133, new int[]{0x41, 0x63, 0x55, 0x49, 0x63});
-        tempMap.put(134, new int[]{0x7F, 0x7F, 0x3E, 0x1C, 0x08});
-        tempMap.put(135, new int[]{0x04, 0x7C, 0x04, 0x7C, 0x04});
-        tempMap.put(136, new int[]{0x30, 0x49, 0x4A, 0x4C, 0x38});
-        tempMap.put(137, new int[]{0x50, 0x58, 0x54, 0x52, 0x51});
-        tempMap.put(138, new int[]{0x51, 0x52, 0x54, 0x58, 0x50});
-        tempMap.put(139, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
-        tempMap.put(140, new int[]{0x30, 0x48, 0x48, 0x30, 0x48});
-        tempMap.put(141, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
-        tempMap.put(142, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
-        tempMap.put(143, new int[]{0x10, 0x20, 0x7F, 0x20, 0x10});
-        tempMap.put(144, new int[]{0x04, 0x02, 0x7F, 0x02, 0x04});
-        tempMap.put(145, new int[]{0x08, 0x04, 0x08, 0x70, 0x0C});
-        tempMap.put(146, new int[]{0x30, 0x4A, 0x4D, 0x38, 0x00});
-        tempMap.put(147, new int[]{0x00, 0x38, 0x54, 0x54, 0x54});
-        tempMap.put(148, new int[]{0x08, 0x04, 0x38, 0x04, 0xF8});
-        tempMap.put(149, new int[]{0x3E, 0x49, 0x49, 0x3E, 0x00});
-        tempMap.put(150, new int[]{0x46, 0x28, 0x10, 0x20, 0x40});
-        tempMap.put(151, new int[]{0x80, 0x7C, 0x12, 0x12, 0x0C});
-        tempMap.put(152, new int[]{0x38, 0x44, 0x44, 0x3C, 0x04});
-        tempMap.put(153, new int[]{0x08, 0x04, 0x3C, 0x44, 0x24});
-        tempMap.put(154, new int[]{0x3C, 0x40, 0x30, 0x44, 0x38});
-        tempMap.put(155, new int[]{0x30, 0x28, 0x24, 0x28, 0x30});
-        tempMap.put(156, new int[]{0x01, 0x7F, 0x01, 0x7F, 0x01});
-        tempMap.put(157, new int[]{0x5E, 0x61, 0x01, 0x61, 0x5E});
-        tempMap.put(158, new int[]{0x7F, 0x7F, 0x7F, 0x7F, 0x7F});
-        tempMap.put(159, new int[]{0x18, 0x24, 0x18, 0x24, 0x18});
-        tempMap.put(160, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        tempMap.put(161, new int[]{0x00, 0x00, 0x7D, 0x00, 0x00});
-        tempMap.put(162, new int[]{0x18, 0x24, 0x7E, 0x24, 0x24});
-        tempMap.put(163, new int[]{0x48, 0x7E, 0x49, 0x41, 0x02});
-        tempMap.put(164, new int[]{0x5D, 0x22, 0x22, 0x22, 0x5D});
-        tempMap.put(165, new int[]{0x2B, 0x2C, 0x78, 0x2C, 0x2B});
-        tempMap.put(166, new int[]{0x00, 0x00, 0x77, 0x00, 0x00});
-        tempMap.put(167, new int[]{0x08, 0x56, 0x55, 0x35, 0x08});
-        tempMap.put(168, new int[]{0x00, 0x01, 0x00, 0x01, 0x00});
-        tempMap.put(169, new int[]{0x3E, 0x5D, 0x55, 0x41, 0x3E});
-        tempMap.put(170, new int[]{0x00, 0x28, 0x35, 0x35, 0x2E});
-        tempMap.put(171, new int[]{0x08, 0x14, 0x2A, 0x14, 0x22});
-        tempMap.put(172, new int[]{0x08, 0x08, 0x08, 0x18, 0x00});
-        tempMap.put(173, new int[]{0x08, 0x08, 0x08, 0x08, 0x00});
-        tempMap.put(174, new int[]{0x3E, 0x5D, 0x4D, 0x51, 0x3E});
-        tempMap.put(175, new int[]{0x01, 0x01, 0x01, 0x01, 0x01});
-        tempMap.put(176, new int[]{0x00, 0x07, 0x05, 0x07, 0x00});
-        tempMap.put(177, new int[]{0x00, 0x24, 0x2E, 0x24, 0x00});
-        tempMap.put(178, new int[]{0x00, 0x1D, 0x15, 0x17, 0x00});
-        tempMap.put(179, new int[]{0x00, 0x15, 0x15, 0x1F, 0x00});
-        tempMap.put(180, new int[]{0x00, 0x00, 0x02, 0x01, 0x00});
-        tempMap.put(181, new int[]{0x7C, 0x20, 0x20, 0x1C, 0x20});
-        tempMap.put(182, new int[]{0x06, 0x4F, 0x7F, 0x01, 0x7F});
-        tempMap.put(183, new int[]{0x00, 0x18, 0x18, 0x00, 0x00});
-        tempMap.put(184, new int[]{0x00, 0x80, 0xA0, 0x40, 0x00});
-        tempMap.put(185, new int[]{0x00, 0x09, 0x0F, 0x08, 0x00});
-        tempMap.put(186, new int[]{0x26, 0x29, 0x29, 0x29, 0x26});
-        tempMap.put(187, new int[]{0x22, 0x14, 0x2A, 0x14, 0x08});
-        tempMap.put(188, new int[]{0x17, 0x08, 0x34, 0x22, 0x70});
-        tempMap.put(189, new int[]{0x17, 0x08, 0x04, 0x6A, 0x58});
-        tempMap.put(190, new int[]{0x15, 0x1F, 0x38, 0x24, 0x72});
-        tempMap.put(191, new int[]{0x30, 0x48, 0x45, 0x40, 0x20});
-        tempMap.put(192, new int[]{0x78, 0x15, 0x16, 0x14, 0x78});
-        tempMap.put(193, new int[]{0x78, 0x14, 0x16, 0x15, 0x78});
-        tempMap.put(194, new int[]{0x78, 0x16, 0x15, 0x16, 0x78});
-        tempMap.put(195, new int[]{0x7A, 0x15, 0x16, 0x15, 0x78});
-        tempMap.put(196, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
-        tempMap.put(197, new int[]{0x78, 0x17, 0x15, 0x17, 0x78});
-        tempMap.put(198, new int[]{0x7E, 0x09, 0x7E, 0x49, 0x49});
-        tempMap.put(199, new int[]{0x1E, 0xA1, 0xA1, 0x61, 0x12});
-        tempMap.put(200, new int[]{0x7C, 0x55, 0x56, 0x54, 0x44});
-        tempMap.put(201, new int[]{0x7C, 0x54, 0x56, 0x55, 0x44});
-        tempMap.put(202, new int[]{0x7C, 0x56, 0x55, 0x56, 0x44});
-        tempMap.put(203, new int[]{0x7C, 0x55, 0x54, 0x55, 0x44});
-        tempMap.put(204, new int[]{0x00, 0x45, 0x7E, 0x44, 0x00});
-        tempMap.put(205, new int[]{0x00, 0x44, 0x7E, 0x45, 0x00});
-        tempMap.put(206, new int[]{0x00, 0x46, 0x7D, 0x46, 0x00});
-        tempMap.put(207, new int[]{0x00, 0x45, 0x7C, 0x45, 0x00});
-        tempMap.put(208, new int[]{0x08, 0x7F, 0x49, 0x22, 0x1C});
-        tempMap.put(209, new int[]{0x7C, 0x0A, 0x11, 0x22, 0x7D});
-        tempMap.put(210, new int[]{0x38, 0x45, 0x46, 0x44, 0x38});
-        tempMap.put(211, new int[]{0x38, 0x44, 0x46, 0x45, 0x38});
-        tempMap.put(212, new int[]{0x38, 0x46, 0x45, 0x46, 0x38});
-        tempMap.put(213, new int[]{0x3A, 0x45, 0x46, 0x45, 0x38});
-        tempMap.put(214, new int[]{0x38, 0x45, 0x44, 0x45, 0x38});
-        tempMap.put(215, new int[]{0x22, 0x14, 0x08, 0x14, 0x22});
-        tempMap.put(216, new int[]{0x5C, 0x32, 0x2A, 0x26, 0x1D});
-        tempMap.put(217, new int[]{0x3C, 0x41, 0x42, 0x40, 0x3C});
-        tempMap.put(218, new int[]{0x3C, 0x40, 0x42, 0x41, 0x3C});
-        tempMap.put(219, new int[]{0x38, 0x42, 0x41, 0x42, 0x38});
-        tempMap.put(220, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
-        tempMap.put(221, new int[]{0x04, 0x08, 0x72, 0x09, 0x04});
-        tempMap.put(222, new int[]{0x41, 0x7F, 0x55, 0x14, 0x08});
-        tempMap.put(223, new int[]{0xFE, 0x25, 0x25, 0x25, 0x1A});
-        tempMap.put(224, new int[]{0x20, 0x55, 0x56, 0x54, 0x78});
-        tempMap.put(225, new int[]{0x20, 0x54, 0x56, 0x55, 0x78});
-        tempMap.put(226, new int[]{0x20, 0x56, 0x55, 0x56, 0x78});
-        tempMap.put(227, new int[]{0x22, 0x55, 0x56, 0x55, 0x78});
-        tempMap.put(228, new int[]{0x20, 0x55, 0x54, 0x55, 0x78});
-        tempMap.put(229, new int[]{0x20, 0x57, 0x55, 0x57, 0x78});
-        tempMap.put(230, new int[]{0x74, 0x54, 0x7C, 0x54, 0x5C});
-        tempMap.put(231, new int[]{0x18, 0xA4, 0xA4, 0x64, 0x24});
-        tempMap.put(232, new int[]{0x38, 0x55, 0x56, 0x54, 0x18});
-        tempMap.put(233, new int[]{0x38, 0x54, 0x56, 0x55, 0x18});
-        tempMap.put(234, new int[]{0x38, 0x56, 0x55, 0x56, 0x18});
-        tempMap.put(235, new int[]{0x38, 0x55, 0x54, 0x55, 0x18});
-        tempMap.put(236, new int[]{0x00, 0x49, 0x7A, 0x40, 0x00});
-        tempMap.put(237, new int[]{0x00, 0x48, 0x7A, 0x41, 0x00});
-        tempMap.put(238, new int[]{0x00, 0x4A, 0x79, 0x42, 0x00});
-        tempMap.put(239, new int[]{0x00, 0x49, 0x78, 0x41, 0x00});
-        tempMap.put(240, new int[]{0x30, 0x48, 0x4A, 0x3F, 0x02});
-        tempMap.put(241, new int[]{0x78, 0x0A, 0x09, 0x0A, 0x71});
-        tempMap.put(242, new int[]{0x30, 0x49, 0x4A, 0x48, 0x30});
-        tempMap.put(243, new int[]{0x30, 0x48, 0x4A, 0x49, 0x30});
-        tempMap.put(244, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x30});
-        tempMap.put(245, new int[]{0x30, 0x4A, 0x49, 0x4A, 0x31});
-        tempMap.put(246, new int[]{0x30, 0x49, 0x48, 0x49, 0x30});
-        tempMap.put(247, new int[]{0x08, 0x08, 0x2A, 0x08, 0x08});
-        tempMap.put(248, new int[]{0x58, 0x24, 0x54, 0x48, 0x34});
-        tempMap.put(249, new int[]{0x38, 0x41, 0x42, 0x40, 0x78});
-        tempMap.put(250, new int[]{0x38, 0x40, 0x42, 0x41, 0x78});
-        tempMap.put(251, new int[]{0x38, 0x42, 0x41, 0x42, 0x78});
-        tempMap.put(252, new int[]{0x38, 0x41, 0x40, 0x41, 0x78});
-        tempMap.put(253, new int[]{0x18, 0xA0, 0xA2, 0xA1, 0x78});
-        tempMap.put(254, new int[]{0x00, 0xFE, 0x24, 0x24, 0x18});
-        tempMap.put(255, new int[]{0x18, 0xA1, 0xA0, 0xA1, 0x78});
-        RPL = Collections.unmodifiableMap(tempMap);
+    // HP82143A FOCAL, extracted from the original printer ROM
+    private static final class Hp82143a {
+        static final Map<Integer, int[]> MAP;
+        static final int[][] TABLE;
 
-        // HP82143A FOCAL, extracted from the original printer ROM
-        tempMap = new HashMap<>();
-        tempMap.put(0, new int[]{0x08, 0x1C, 0x3E, 0x1C, 0x08});
-        tempMap.put(1, new int[]{0x00, 0x14, 0x08, 0x14, 0x00});
-        tempMap.put(2, new int[]{0x45, 0x29, 0x11, 0x29, 0x45});
-        tempMap.put(3, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
-        tempMap.put(4, new int[]{0x38, 0x44, 0x44, 0x38, 0x44});
-        tempMap.put(5, new int[]{0x7E, 0x15, 0x25, 0x25, 0x1A});
-        tempMap.put(6, new int[]{0x7F, 0x01, 0x01, 0x01, 0x03});
-        tempMap.put(7, new int[]{0x10, 0x20, 0x7F, 0x20, 0x10});
-        tempMap.put(8, new int[]{0x60, 0x58, 0x46, 0x58, 0x60});
-        tempMap.put(9, new int[]{0x38, 0x44, 0x44, 0x3C, 0x04});
-        tempMap.put(10, new int[]{0x08, 0x1C, 0x3E, 0x1C, 0x08});
-        tempMap.put(11, new int[]{0x62, 0x14, 0x08, 0x10, 0x60});
-        tempMap.put(12, new int[]{0x40, 0x3C, 0x20, 0x20, 0x1C});
-        tempMap.put(13, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
-        tempMap.put(14, new int[]{0x10, 0x08, 0x78, 0x08, 0x04});
-        tempMap.put(15, new int[]{0x08, 0x55, 0x7F, 0x55, 0x08});
-        tempMap.put(16, new int[]{0x3E, 0x49, 0x49, 0x49, 0x3E});
-        tempMap.put(17, new int[]{0x5E, 0x61, 0x01, 0x61, 0x5E});
-        tempMap.put(18, new int[]{0x30, 0x4A, 0x4D, 0x49, 0x30});
-        tempMap.put(19, new int[]{0x78, 0x14, 0x15, 0x14, 0x78});
-        tempMap.put(20, new int[]{0x38, 0x44, 0x45, 0x3C, 0x40});
-        tempMap.put(21, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
-        tempMap.put(22, new int[]{0x38, 0x45, 0x44, 0x3D, 0x40});
-        tempMap.put(23, new int[]{0x3C, 0x43, 0x42, 0x43, 0x3C});
-        tempMap.put(24, new int[]{0x38, 0x45, 0x44, 0x45, 0x38});
-        tempMap.put(25, new int[]{0x3E, 0x41, 0x40, 0x41, 0x3E});
-        tempMap.put(26, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
-        tempMap.put(27, new int[]{0x7E, 0x09, 0x7F, 0x49, 0x49});
-        tempMap.put(28, new int[]{0x38, 0x44, 0x38, 0x54, 0x58});
-        tempMap.put(29, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
-        tempMap.put(30, new int[]{0x48, 0x7E, 0x49, 0x41, 0x22});
-        tempMap.put(31, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
-        tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
-        tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
-        tempMap.put(34, new int[]{0x00, 0x06, 0x00, 0x06, 0x00});
-        tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
-        tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
-        tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
-        tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
-        tempMap.put(39, new int[]{0x00, 0x00, 0x06, 0x00, 0x00});
-        tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
-        tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
-        tempMap.put(42, new int[]{0x14, 0x08, 0x3E, 0x08, 0x14});
-        tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
-        tempMap.put(44, new int[]{0x00, 0x40, 0x30, 0x00, 0x00});
-        tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
-        tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
-        tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
-        tempMap.put(48, new int[]{0x3E, 0x51, 0x49, 0x45, 0x3E});
-        tempMap.put(49, new int[]{0x00, 0x42, 0x7F, 0x40, 0x00});
-        tempMap.put(50, new int[]{0x62, 0x51, 0x49, 0x49, 0x46});
-        tempMap.put(51, new int[]{0x21, 0x41, 0x49, 0x4D, 0x33});
-        tempMap.put(52, new int[]{0x18, 0x14, 0x12, 0x7F, 0x10});
-        tempMap.put(53, new int[]{0x27, 0x45, 0x45, 0x45, 0x39});
-        tempMap.put(54, new int[]{0x3C, 0x4A, 0x49, 0x49, 0x30});
-        tempMap.put(55, new int[]{0x01, 0x71, 0x09, 0x05, 0x03});
-        tempMap.put(56, new int[]{0x36, 0x49, 0x49, 0x49, 0x36});
-        tempMap.put(57, new int[]{0x06, 0x49, 0x49, 0x29, 0x1E});
-        tempMap.put(58, new int[]{0x00, 0x00, 0x24, 0x00, 0x00});
-        tempMap.put(59, new int[]{0x00, 0x40, 0x34, 0x00, 0x00});
-        tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
-        tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
-        tempMap.put(62, new int[]{0x00, 0x41, 0x22, 0x14, 0x08});
-        tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
-        tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x55, 0x1E});
-        tempMap.put(65, new int[]{0x7E, 0x11, 0x11, 0x11, 0x7E});
-        tempMap.put(66, new int[]{0x7F, 0x49, 0x49, 0x49, 0x36});
-        tempMap.put(67, new int[]{0x3E, 0x41, 0x41, 0x41, 0x22});
-        tempMap.put(68, new int[]{0x41, 0x7F, 0x41, 0x41, 0x3E});
-        tempMap.put(69, new int[]{0x7F, 0x49, 0x49, 0x49, 0x41});
-        tempMap.put(70, new int[]{0x7F, 0x09, 0x09, 0x09, 0x01});
-        tempMap.put(71, new int[]{0x3E, 0x41, 0x41, 0x51, 0x72});
-        tempMap.put(72, new int[]{0x7F, 0x08, 0x08, 0x08, 0x7F});
-        tempMap.put(73, new int[]{0x00, 0x41, 0x7F, 0x41, 0x00});
-        tempMap.put(74, new int[]{0x20, 0x40, 0x40, 0x40, 0x3F});
-        tempMap.put(75, new int[]{0x7F, 0x08, 0x14, 0x22, 0x41});
-        tempMap.put(76, new int[]{0x7F, 0x40, 0x40, 0x40, 0x40});
-        tempMap.put(77, new int[]{0x7F, 0x02, 0x0C, 0x02, 0x7F});
-        tempMap.put(78, new int[]{0x7F, 0x04, 0x08, 0x10, 0x7F});
-        tempMap.put(79, new int[]{0x3E, 0x41, 0x41, 0x41, 0x3E});
-        tempMap.put(80, new int[]{0x7F, 0x09, 0x09, 0x09, 0x06});
-        tempMap.put(81, new int[]{0x3E, 0x41, 0x51, 0x21, 0x5E});
-        tempMap.put(82, new int[]{0x7F, 0x09, 0x19, 0x29, 0x46});
-        tempMap.put(83, new int[]{0x26, 0x49, 0x49, 0x49, 0x32});
-        tempMap.put(84, new int[]{0x01, 0x01, 0x7F, 0x01, 0x01});
-        tempMap.put(85, new int[]{0x3F, 0x40, 0x40, 0x40, 0x3F});
-        tempMap.put(86, new int[]{0x07, 0x18, 0x60, 0x18, 0x07});
-        tempMap.put(87, new int[]{0x7F, 0x20, 0x18, 0x20, 0x7F});
-        tempMap.put(88, new int[]{0x63, 0x14, 0x08, 0x14, 0x63});
-        tempMap.put(89, new int[]{0x03, 0x04, 0x78, 0x04, 0x03});
-        tempMap.put(90, new int[]{0x61, 0x51, 0x49, 0x45, 0x43});
-        tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
-        tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
-        tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
-        tempMap.put(94, new int[]{0x04, 0x02, 0x7F, 0x02, 0x04});
-        tempMap.put(95, new int[]{0x40, 0x40, 0x40, 0x40, 0x40});
-        tempMap.put(96, new int[]{0x00, 0x01, 0x07, 0x01, 0x00});
-        tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
-        tempMap.put(98, new int[]{0x7F, 0x48, 0x44, 0x44, 0x38});
-        tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x20});
-        tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x48, 0x7F});
-        tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x08});
-        tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
-        tempMap.put(103, new int[]{0x08, 0x14, 0x54, 0x54, 0x3C});
-        tempMap.put(104, new int[]{0x7F, 0x08, 0x04, 0x04, 0x78});
-        tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
-        tempMap.put(106, new int[]{0x20, 0x40, 0x40, 0x3D, 0x00});
-        tempMap.put(107, new int[]{0x00, 0x7F, 0x10, 0x28, 0x44});
-        tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
-        tempMap.put(109, new int[]{0x78, 0x04, 0x18, 0x04, 0x78});
-        tempMap.put(110, new int[]{0x7C, 0x08, 0x04, 0x04, 0x78});
-        tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
-        tempMap.put(112, new int[]{0x7C, 0x14, 0x24, 0x24, 0x18});
-        tempMap.put(113, new int[]{0x18, 0x24, 0x14, 0x7C, 0x40});
-        tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x08});
-        tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x20});
-        tempMap.put(116, new int[]{0x04, 0x3E, 0x44, 0x20, 0x00});
-        tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x20, 0x7C});
-        tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
-        tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
-        tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
-        tempMap.put(121, new int[]{0x04, 0x48, 0x30, 0x08, 0x04});
-        tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
-        tempMap.put(123, new int[]{0x08, 0x78, 0x08, 0x78, 0x04});
-        tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
-        tempMap.put(125, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
-        tempMap.put(126, new int[]{0x63, 0x55, 0x49, 0x41, 0x63});
-        tempMap.put(127, new int[]{0x7F, 0x08, 0x08, 0x08, 0x08});
-        HP82143A = Collections.unmodifiableMap(tempMap);
+        static {
+            Map<Integer, int[]> tempMap = new HashMap<>();
+            tempMap.put(0, new int[]{0x08, 0x1C, 0x3E, 0x1C, 0x08});
+            tempMap.put(1, new int[]{0x00, 0x14, 0x08, 0x14, 0x00});
+            tempMap.put(2, new int[]{0x45, 0x29, 0x11, 0x29, 0x45});
+            tempMap.put(3, new int[]{0x08, 0x1C, 0x2A, 0x08, 0x08});
+            tempMap.put(4, new int[]{0x38, 0x44, 0x44, 0x38, 0x44});
+            tempMap.put(5, new int[]{0x7E, 0x15, 0x25, 0x25, 0x1A});
+            tempMap.put(6, new int[]{0x7F, 0x01, 0x01, 0x01, 0x03});
+            tempMap.put(7, new int[]{0x10, 0x20, 0x7F, 0x20, 0x10});
+            tempMap.put(8, new int[]{0x60, 0x58, 0x46, 0x58, 0x60});
+            tempMap.put(9, new int[]{0x38, 0x44, 0x44, 0x3C, 0x04});
+            tempMap.put(10, new int[]{0x08, 0x1C, 0x3E, 0x1C, 0x08});
+            tempMap.put(11, new int[]{0x62, 0x14, 0x08, 0x10, 0x60});
+            tempMap.put(12, new int[]{0x40, 0x3C, 0x20, 0x20, 0x1C});
+            tempMap.put(13, new int[]{0x60, 0x50, 0x58, 0x64, 0x42});
+            tempMap.put(14, new int[]{0x10, 0x08, 0x78, 0x08, 0x04});
+            tempMap.put(15, new int[]{0x08, 0x55, 0x7F, 0x55, 0x08});
+            tempMap.put(16, new int[]{0x3E, 0x49, 0x49, 0x49, 0x3E});
+            tempMap.put(17, new int[]{0x5E, 0x61, 0x01, 0x61, 0x5E});
+            tempMap.put(18, new int[]{0x30, 0x4A, 0x4D, 0x49, 0x30});
+            tempMap.put(19, new int[]{0x78, 0x14, 0x15, 0x14, 0x78});
+            tempMap.put(20, new int[]{0x38, 0x44, 0x45, 0x3C, 0x40});
+            tempMap.put(21, new int[]{0x78, 0x15, 0x14, 0x15, 0x78});
+            tempMap.put(22, new int[]{0x38, 0x45, 0x44, 0x3D, 0x40});
+            tempMap.put(23, new int[]{0x3C, 0x43, 0x42, 0x43, 0x3C});
+            tempMap.put(24, new int[]{0x38, 0x45, 0x44, 0x45, 0x38});
+            tempMap.put(25, new int[]{0x3E, 0x41, 0x40, 0x41, 0x3E});
+            tempMap.put(26, new int[]{0x3C, 0x41, 0x40, 0x41, 0x3C});
+            tempMap.put(27, new int[]{0x7E, 0x09, 0x7F, 0x49, 0x49});
+            tempMap.put(28, new int[]{0x38, 0x44, 0x38, 0x54, 0x58});
+            tempMap.put(29, new int[]{0x14, 0x34, 0x1C, 0x16, 0x14});
+            tempMap.put(30, new int[]{0x48, 0x7E, 0x49, 0x41, 0x22});
+            tempMap.put(31, new int[]{0x55, 0x2A, 0x55, 0x2A, 0x55});
+            tempMap.put(32, new int[]{0x00, 0x00, 0x00, 0x00, 0x00});
+            tempMap.put(33, new int[]{0x00, 0x00, 0x5F, 0x00, 0x00});
+            tempMap.put(34, new int[]{0x00, 0x06, 0x00, 0x06, 0x00});
+            tempMap.put(35, new int[]{0x14, 0x7F, 0x14, 0x7F, 0x14});
+            tempMap.put(36, new int[]{0x24, 0x2A, 0x7F, 0x2A, 0x12});
+            tempMap.put(37, new int[]{0x23, 0x13, 0x08, 0x64, 0x62});
+            tempMap.put(38, new int[]{0x36, 0x49, 0x56, 0x20, 0x50});
+            tempMap.put(39, new int[]{0x00, 0x00, 0x06, 0x00, 0x00});
+            tempMap.put(40, new int[]{0x00, 0x1C, 0x22, 0x41, 0x00});
+            tempMap.put(41, new int[]{0x00, 0x41, 0x22, 0x1C, 0x00});
+            tempMap.put(42, new int[]{0x14, 0x08, 0x3E, 0x08, 0x14});
+            tempMap.put(43, new int[]{0x08, 0x08, 0x3E, 0x08, 0x08});
+            tempMap.put(44, new int[]{0x00, 0x40, 0x30, 0x00, 0x00});
+            tempMap.put(45, new int[]{0x08, 0x08, 0x08, 0x08, 0x08});
+            tempMap.put(46, new int[]{0x00, 0x60, 0x60, 0x00, 0x00});
+            tempMap.put(47, new int[]{0x20, 0x10, 0x08, 0x04, 0x02});
+            tempMap.put(48, new int[]{0x3E, 0x51, 0x49, 0x45, 0x3E});
+            tempMap.put(49, new int[]{0x00, 0x42, 0x7F, 0x40, 0x00});
+            tempMap.put(50, new int[]{0x62, 0x51, 0x49, 0x49, 0x46});
+            tempMap.put(51, new int[]{0x21, 0x41, 0x49, 0x4D, 0x33});
+            tempMap.put(52, new int[]{0x18, 0x14, 0x12, 0x7F, 0x10});
+            tempMap.put(53, new int[]{0x27, 0x45, 0x45, 0x45, 0x39});
+            tempMap.put(54, new int[]{0x3C, 0x4A, 0x49, 0x49, 0x30});
+            tempMap.put(55, new int[]{0x01, 0x71, 0x09, 0x05, 0x03});
+            tempMap.put(56, new int[]{0x36, 0x49, 0x49, 0x49, 0x36});
+            tempMap.put(57, new int[]{0x06, 0x49, 0x49, 0x29, 0x1E});
+            tempMap.put(58, new int[]{0x00, 0x00, 0x24, 0x00, 0x00});
+            tempMap.put(59, new int[]{0x00, 0x40, 0x34, 0x00, 0x00});
+            tempMap.put(60, new int[]{0x08, 0x14, 0x22, 0x41, 0x00});
+            tempMap.put(61, new int[]{0x14, 0x14, 0x14, 0x14, 0x14});
+            tempMap.put(62, new int[]{0x00, 0x41, 0x22, 0x14, 0x08});
+            tempMap.put(63, new int[]{0x02, 0x01, 0x51, 0x09, 0x06});
+            tempMap.put(64, new int[]{0x3E, 0x41, 0x5D, 0x55, 0x1E});
+            tempMap.put(65, new int[]{0x7E, 0x11, 0x11, 0x11, 0x7E});
+            tempMap.put(66, new int[]{0x7F, 0x49, 0x49, 0x49, 0x36});
+            tempMap.put(67, new int[]{0x3E, 0x41, 0x41, 0x41, 0x22});
+            tempMap.put(68, new int[]{0x41, 0x7F, 0x41, 0x41, 0x3E});
+            tempMap.put(69, new int[]{0x7F, 0x49, 0x49, 0x49, 0x41});
+            tempMap.put(70, new int[]{0x7F, 0x09, 0x09, 0x09, 0x01});
+            tempMap.put(71, new int[]{0x3E, 0x41, 0x41, 0x51, 0x72});
+            tempMap.put(72, new int[]{0x7F, 0x08, 0x08, 0x08, 0x7F});
+            tempMap.put(73, new int[]{0x00, 0x41, 0x7F, 0x41, 0x00});
+            tempMap.put(74, new int[]{0x20, 0x40, 0x40, 0x40, 0x3F});
+            tempMap.put(75, new int[]{0x7F, 0x08, 0x14, 0x22, 0x41});
+            tempMap.put(76, new int[]{0x7F, 0x40, 0x40, 0x40, 0x40});
+            tempMap.put(77, new int[]{0x7F, 0x02, 0x0C, 0x02, 0x7F});
+            tempMap.put(78, new int[]{0x7F, 0x04, 0x08, 0x10, 0x7F});
+            tempMap.put(79, new int[]{0x3E, 0x41, 0x41, 0x41, 0x3E});
+            tempMap.put(80, new int[]{0x7F, 0x09, 0x09, 0x09, 0x06});
+            tempMap.put(81, new int[]{0x3E, 0x41, 0x51, 0x21, 0x5E});
+            tempMap.put(82, new int[]{0x7F, 0x09, 0x19, 0x29, 0x46});
+            tempMap.put(83, new int[]{0x26, 0x49, 0x49, 0x49, 0x32});
+            tempMap.put(84, new int[]{0x01, 0x01, 0x7F, 0x01, 0x01});
+            tempMap.put(85, new int[]{0x3F, 0x40, 0x40, 0x40, 0x3F});
+            tempMap.put(86, new int[]{0x07, 0x18, 0x60, 0x18, 0x07});
+            tempMap.put(87, new int[]{0x7F, 0x20, 0x18, 0x20, 0x7F});
+            tempMap.put(88, new int[]{0x63, 0x14, 0x08, 0x14, 0x63});
+            tempMap.put(89, new int[]{0x03, 0x04, 0x78, 0x04, 0x03});
+            tempMap.put(90, new int[]{0x61, 0x51, 0x49, 0x45, 0x43});
+            tempMap.put(91, new int[]{0x00, 0x7F, 0x41, 0x41, 0x00});
+            tempMap.put(92, new int[]{0x02, 0x04, 0x08, 0x10, 0x20});
+            tempMap.put(93, new int[]{0x00, 0x41, 0x41, 0x7F, 0x00});
+            tempMap.put(94, new int[]{0x04, 0x02, 0x7F, 0x02, 0x04});
+            tempMap.put(95, new int[]{0x40, 0x40, 0x40, 0x40, 0x40});
+            tempMap.put(96, new int[]{0x00, 0x01, 0x07, 0x01, 0x00});
+            tempMap.put(97, new int[]{0x20, 0x54, 0x54, 0x54, 0x78});
+            tempMap.put(98, new int[]{0x7F, 0x48, 0x44, 0x44, 0x38});
+            tempMap.put(99, new int[]{0x38, 0x44, 0x44, 0x44, 0x20});
+            tempMap.put(100, new int[]{0x38, 0x44, 0x44, 0x48, 0x7F});
+            tempMap.put(101, new int[]{0x38, 0x54, 0x54, 0x54, 0x08});
+            tempMap.put(102, new int[]{0x08, 0x7E, 0x09, 0x02, 0x00});
+            tempMap.put(103, new int[]{0x08, 0x14, 0x54, 0x54, 0x3C});
+            tempMap.put(104, new int[]{0x7F, 0x08, 0x04, 0x04, 0x78});
+            tempMap.put(105, new int[]{0x00, 0x44, 0x7D, 0x40, 0x00});
+            tempMap.put(106, new int[]{0x20, 0x40, 0x40, 0x3D, 0x00});
+            tempMap.put(107, new int[]{0x00, 0x7F, 0x10, 0x28, 0x44});
+            tempMap.put(108, new int[]{0x00, 0x41, 0x7F, 0x40, 0x00});
+            tempMap.put(109, new int[]{0x78, 0x04, 0x18, 0x04, 0x78});
+            tempMap.put(110, new int[]{0x7C, 0x08, 0x04, 0x04, 0x78});
+            tempMap.put(111, new int[]{0x38, 0x44, 0x44, 0x44, 0x38});
+            tempMap.put(112, new int[]{0x7C, 0x14, 0x24, 0x24, 0x18});
+            tempMap.put(113, new int[]{0x18, 0x24, 0x14, 0x7C, 0x40});
+            tempMap.put(114, new int[]{0x7C, 0x08, 0x04, 0x04, 0x08});
+            tempMap.put(115, new int[]{0x48, 0x54, 0x54, 0x54, 0x20});
+            tempMap.put(116, new int[]{0x04, 0x3E, 0x44, 0x20, 0x00});
+            tempMap.put(117, new int[]{0x3C, 0x40, 0x40, 0x20, 0x7C});
+            tempMap.put(118, new int[]{0x1C, 0x20, 0x40, 0x20, 0x1C});
+            tempMap.put(119, new int[]{0x3C, 0x40, 0x30, 0x40, 0x3C});
+            tempMap.put(120, new int[]{0x44, 0x28, 0x10, 0x28, 0x44});
+            tempMap.put(121, new int[]{0x04, 0x48, 0x30, 0x08, 0x04});
+            tempMap.put(122, new int[]{0x44, 0x64, 0x54, 0x4C, 0x44});
+            tempMap.put(123, new int[]{0x08, 0x78, 0x08, 0x78, 0x04});
+            tempMap.put(124, new int[]{0x00, 0x00, 0x7F, 0x00, 0x00});
+            tempMap.put(125, new int[]{0x08, 0x08, 0x2A, 0x1C, 0x08});
+            tempMap.put(126, new int[]{0x63, 0x55, 0x49, 0x41, 0x63});
+            tempMap.put(127, new int[]{0x7F, 0x08, 0x08, 0x08, 0x08});
+            MAP = Collections.unmodifiableMap(tempMap);
+            TABLE = toTable(MAP);
+        }
     }
 
     /**
@@ -872,7 +902,7 @@ import java.util.logging.Level;
      * @return The 8x5 bitmap
      */
     public static int[] getHp82240aBitmap(int code) {
-        return getOneCharacter(code, ROMAN8A);
+        return getOneCharacter(code, Roman8A.MAP);
     }
 
     /**
@@ -881,7 +911,7 @@ import java.util.logging.Level;
      * @return The 8x5 bitmap
      */
     public static int[] getHp82240bBitmap(int code) {
-        return getOneCharacter(code, ROMAN8B);
+        return getOneCharacter(code, Roman8B.MAP);
     }
 
     /**
@@ -890,7 +920,7 @@ import java.util.logging.Level;
      * @return The 8x5 bitmap
      */
     public static int[] getRplBitmap(int code) {
-        return getOneCharacter(code, RPL);
+        return getOneCharacter(code, Rpl.MAP);
     }
 
     /**
@@ -899,7 +929,61 @@ import java.util.logging.Level;
      * @return The 8x5 bitmap
      */
     public static int[] getHp82143aBitmap(int code) {
-        return getOneCharacter(code, HP82143A);
+        return getOneCharacter(code, Hp82143a.MAP);
+    }
+
+    /**
+     * Same as {@link #getHp82240aBitmap(int)}, but copies the bitmap into the given array instead of allocating one.
+     * @param code Character code to retrieve (32-255)
+     * @param target Receives the 5 columns of the bitmap
+     */
+    public static void getHp82240aBitmap(int code, int[] target) {
+        copyOneCharacter(code, Roman8A.TABLE, target);
+    }
+
+    /**
+     * Same as {@link #getHp82240bBitmap(int)}, but copies the bitmap into the given array instead of allocating one.
+     * @param code Character code to retrieve (32-255)
+     * @param target Receives the 5 columns of the bitmap
+     */
+    public static void getHp82240bBitmap(int code, int[] target) {
+        copyOneCharacter(code, Roman8B.TABLE, target);
+    }
+
+    /**
+     * Same as {@link #getRplBitmap(int)}, but copies the bitmap into the given array instead of allocating one.
+     * @param code Character code to retrieve (32-255)
+     * @param target Receives the 5 columns of the bitmap
+     */
+    public static void getRplBitmap(int code, int[] target) {
+        copyOneCharacter(code, Rpl.TABLE, target);
+    }
+
+    /**
+     * Same as {@link #getHp82143aBitmap(int)}, but copies the bitmap into the given array instead of allocating one.
+     * @param code Character code to retrieve (0-127)
+     * @param target Receives the 5 columns of the bitmap
+     */
+    public static void getHp82143aBitmap(int code, int[] target) {
+        copyOneCharacter(code, Hp82143a.TABLE, target);
+    }
+
+    private static void copyOneCharacter(int code, int[][] fontTable, int[] target) {
+        int[] charBitmap = code >= 0 && code < TABLE_SIZE ? fontTable[code] : null;
+        if (charBitmap == null) {
+            // There is no valid code for this. Return a dummy value.
+            log.log(Level.WARNING, "Invalid char requested with code {0}, returning a dummy value", code);
+            charBitmap = Roman8A.TABLE[DUMMY_CODE];
+        }
+        System.arraycopy(charBitmap, 0, target, 0, 5);
+    }
+
+    private static int[][] toTable(Map<Integer, int[]> fontMap) {
+        int[][] table = new int[TABLE_SIZE][];
+        for (Map.Entry<Integer, int[]> entry : fontMap.entrySet()) {
+            table[entry.getKey()] = entry.getValue();
+        }
+        return table;
     }
 
     private static int[] getOneCharacter(int code, Map<Integer, int[]> fontMap) {
@@ -908,7 +992,7 @@ import java.util.logging.Level;
         if (charBitmap == null) {
             // There is no valid code for this. Return a dummy value.
             log.log(Level.WARNING, "Invalid char requested with code {0}, returning a dummy value", code);
-            System.arraycopy(ROMAN8A.get(255), 0, retVal, 0, 5);
+            System.arraycopy(Roman8A.MAP.get(DUMMY_CODE), 0, retVal, 0, 5);
             return retVal;
         }
         // Return a copy of the bitmap, to guarantee that the original remains unmodified
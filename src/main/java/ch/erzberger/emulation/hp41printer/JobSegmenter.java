@@ -0,0 +1,96 @@
+package ch.erzberger.emulation.hp41printer;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import lombok.extern.java.Log;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Ends the current job of a printer when no data has arrived for a while, or when a tear-off is requested from
+ * another thread (e.g. the live view). The bytes and the tear-offs reach the processor one after the other, so the
+ * processor itself needs no locking. Reset and self test end a job in the processor itself.
+ */
+@Log
+public class JobSegmenter implements ByteProcessor {
+    // One timer thread checks the idle time of all printers
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "job-idle-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final PrinterByteProcessorImpl processor;
+    private final long idleGapNanos;
+    private final ScheduledFuture<?> idleCheck;
+    private long lastArrivalNanos = 0L;
+    private boolean jobInProgress = false;
+
+    /**
+     * @param processor     The processor of the printer
+     * @param idleGapMillis A job ends when no data arrived for this long, 0 to only end jobs on reset and tear-off
+     */
+    public JobSegmenter(PrinterByteProcessorImpl processor, long idleGapMillis) {
+        this.processor = processor;
+        this.idleGapNanos = TimeUnit.MILLISECONDS.toNanos(idleGapMillis);
+        if (idleGapMillis > 0) {
+            long period = Math.max(1L, idleGapMillis / 4);
+            idleCheck = TIMER.scheduleAtFixedRate(this::checkIdle, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            idleCheck = null;
+        }
+    }
+
+    @Override
+    public synchronized void processByte(byte byteReceived) {
+        processor.processByte(byteReceived);
+        received(System.nanoTime());
+    }
+
+    @Override
+    public void processBytes(byte[] bytes) {
+        processBytes(bytes, 0, bytes.length, System.nanoTime());
+    }
+
+    @Override
+    public synchronized void processBytes(byte[] bytes, int offset, int length, long arrivalNanos) {
+        processor.processBytes(bytes, offset, length, arrivalNanos);
+        received(System.nanoTime());
+    }
+
+    /**
+     * Ends the current job, like tearing off the paper. Can be called on any thread.
+     */
+    public synchronized void tearOff() {
+        if (jobInProgress) {
+            log.log(Level.FINE, "Tear-off requested");
+            processor.tearOff();
+            jobInProgress = false;
+        }
+    }
+
+    /**
+     * Stops checking for idle time.
+     */
+    public void close() {
+        if (idleCheck != null) {
+            idleCheck.cancel(false);
+        }
+    }
+
+    private void received(long nanos) {
+        lastArrivalNanos = nanos;
+        jobInProgress = true;
+    }
+
+    private synchronized void checkIdle() {
+        if (jobInProgress && System.nanoTime() - lastArrivalNanos >= idleGapNanos) {
+            log.log(Level.FINE, "No data for {0} ms, the job has ended", TimeUnit.NANOSECONDS.toMillis(idleGapNanos));
+            processor.tearOff();
+            jobInProgress = false;
+        }
+    }
+}
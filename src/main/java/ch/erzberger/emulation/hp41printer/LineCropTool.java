@@ -0,0 +1,115 @@
+package ch.erzberger.emulation.hp41printer;
+
+import ch.erzberger.emulation.common.CmdLineArgsChecker;
+import lombok.extern.java.Log;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import static ch.erzberger.emulation.common.CmdLineArgsChecker.*;
+
+/**
+ * Cuts printed lines out of the image files, e.g. to show the graphic of a line that was found in the text:
+ * <code>java -cp hp82240.jar ch.erzberger.emulation.hp41printer.LineCropTool -l=1234 -n=3 -o=lines.png</code>
+ * <p></p>
+ * The sidecar (see {@link LineOffsetIndex}) tells the page and the rows of the lines. Only these rows are read into
+ * an image; the rows of the other lines are not converted, and the rows after them are not read at all.
+ */
+@Log
+public final class LineCropTool {
+    private static final String INDEXFILE = "Hp8224-Index.txt";
+    private static final String PNGFILE = "Hp8224-Image.png";
+
+    private LineCropTool() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> arguments = new CmdLineArgsChecker().checkCropArgs(args);
+        Path directory = Paths.get(arguments.get(DIRECTORYARG) != null ? arguments.get(DIRECTORYARG) : "");
+        try {
+            long line = Long.parseLong(arguments.get(LINEARG).trim());
+            int count = arguments.get(COUNTARG) != null ? Integer.parseInt(arguments.get(COUNTARG).trim()) : 1;
+            String output = arguments.get(OUTPUTARG) != null ? arguments.get(OUTPUTARG) : String.format("Hp8224-Line-%d.png", line);
+            BufferedImage strip = crop(directory, line, count);
+            ImageIO.write(strip, "png", Paths.get(output).toFile());
+            log.log(Level.INFO, "Line {0} written to {1}", new Object[]{line, output});
+        } catch (NumberFormatException ex) {
+            log.log(Level.SEVERE, "Invalid number: {0}", ex.getMessage());
+            System.exit(-1);
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot crop the line", ex);
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * @param directory The output directory of the simulator
+     * @param firstLine The first line, counted across all pages starting with 1
+     * @param count     The number of lines; the strip ends at the end of the page
+     * @return The image of the lines, as wide as the image file
+     * @throws IOException If the line is unknown, or its page is no longer in the directory
+     */
+    public static BufferedImage crop(Path directory, long firstLine, int count) throws IOException {
+        Path sidecar = directory.resolve(LineOffsetIndex.INDEXFILE);
+        LineOffset first = LineOffsetIndex.read(sidecar, firstLine);
+        int height = first.getHeight();
+        long last = Math.min(firstLine + Math.max(1, count) - 1, LineOffsetIndex.size(sidecar));
+        for (long line = firstLine + 1; line <= last; line++) {
+            LineOffset next = LineOffsetIndex.read(sidecar, line);
+            if (next.getPage() != first.getPage()) {
+                break;
+            }
+            height = next.getY() + next.getHeight() - first.getY();
+        }
+        Path image = pageImage(directory, first.getPage());
+        try (ImageInputStream input = ImageIO.createImageInputStream(image.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (input == null || !readers.hasNext()) {
+                throw new IOException("Not an image: " + image);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle(0, first.getY(), reader.getWidth(0), height));
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * A finished page has its file name in the index. A page that is not in the index is the current page.
+     */
+    private static Path pageImage(Path directory, int page) throws IOException {
+        Path indexFile = directory.resolve(INDEXFILE);
+        if (Files.exists(indexFile)) {
+            List<String> entries = Files.readAllLines(indexFile);
+            for (String entry : entries) {
+                String[] columns = entry.split("\t");
+                if (columns.length >= 3 && columns[0].matches("\\d+") && Integer.parseInt(columns[0]) == page) {
+                    Path image = directory.resolve(columns[2]);
+                    if (!Files.exists(image)) {
+                        throw new IOException(String.format("The image of page %d (%s) is no longer in %s, it may have been archived",
+                                page, columns[2], directory.toAbsolutePath()));
+                    }
+                    return image;
+                }
+            }
+        }
+        return directory.resolve(PNGFILE);
+    }
+}
@@ -0,0 +1,15 @@
+package ch.erzberger.emulation.hp41printer;
+
+import lombok.Value;
+
+/**
+ * Where a printed line is in the image files: its page, its number on the page (starting with 1), and its rows in
+ * the image file of the page.
+ */
+@Value
+public class LineOffset {
+    int page;
+    int line;
+    int y;
+    int height;
+}
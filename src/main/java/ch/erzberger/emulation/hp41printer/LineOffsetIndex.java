@@ -0,0 +1,86 @@
+package ch.erzberger.emulation.hp41printer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The sidecar of the image files (Hp8224-Lines.idx): one record of 16 bytes for every printed line, with its page,
+ * its number on the page, and the first row and the height of the line in the image file of the page. The lines are
+ * numbered across all pages, starting with 1; the record of a line is read without reading the others.
+ */
+public final class LineOffsetIndex {
+    public static final String INDEXFILE = "Hp8224-Lines.idx";
+    private static final int RECORD = 16;
+
+    private LineOffsetIndex() {
+    }
+
+    /**
+     * @param file   The sidecar
+     * @param offset The line that was added to the image
+     */
+    static void append(Path file, LineOffset offset) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD);
+        record.putInt(offset.getPage()).putInt(offset.getLine()).putInt(offset.getY()).putInt(offset.getHeight());
+        Files.write(file, record.array(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Removes the lines of the pages after the given one, because their image is overwritten. Also removes a
+     * record that was only written in part.
+     *
+     * @param file     The sidecar
+     * @param lastPage The last page that is kept
+     */
+    static void removePagesAfter(Path file, int lastPage) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long lines = channel.size() / RECORD;
+            ByteBuffer page = ByteBuffer.allocate(4);
+            // The pages only grow, so the lines to remove are all at the end
+            while (lines > 0) {
+                page.clear();
+                channel.read(page, (lines - 1) * RECORD);
+                if (page.getInt(0) <= lastPage) {
+                    break;
+                }
+                lines--;
+            }
+            channel.truncate(lines * RECORD);
+        }
+    }
+
+    /**
+     * @param file The sidecar
+     * @return The number of lines in the sidecar
+     */
+    public static long size(Path file) throws IOException {
+        return Files.exists(file) ? Files.size(file) / RECORD : 0L;
+    }
+
+    /**
+     * @param file The sidecar
+     * @param line The number of the line, starting with 1
+     * @return Where the line is in the image files
+     * @throws IOException If the line is not in the sidecar
+     */
+    public static LineOffset read(Path file, long line) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (line < 1 || line > channel.size() / RECORD) {
+                throw new IOException(String.format("Line %d is not in %s", line, file));
+            }
+            ByteBuffer record = ByteBuffer.allocate(RECORD);
+            while (record.hasRemaining()) {
+                channel.read(record, (line - 1) * RECORD + record.position());
+            }
+            record.flip();
+            return new LineOffset(record.getInt(), record.getInt(), record.getInt(), record.getInt());
+        }
+    }
+}
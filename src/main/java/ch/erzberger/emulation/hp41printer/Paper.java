@@ -1,5 +1,11 @@
 package ch.erzberger.emulation.hp41printer;
 
+import ch.erzberger.emulation.monitoring.LineTrace;
+
+/**
+ * Receives the printed lines. The processor reuses its buffers for the next line, so the bitmap passed to
+ * printGraphic is only valid during the call; copy it if it is needed later.
+ */
 public interface Paper {
     /**
      * Print the text part of the output to Paper.
@@ -11,4 +17,30 @@ public interface Paper {
      * @param bitmap The pseudo-bitmap.
      */
     void printGraphic(boolean[][] bitmap);
+
+    /**
+     * Print the text part of the output to Paper, and mark the phases of the line in the trace.
+     * @param line The line to append to the paper.
+     * @param trace The latency trace of the line.
+     */
+    default void printLine(String line, LineTrace trace) {
+        printLine(line);
+    }
+
+    /**
+     * Print a pseudo-bitmap to Paper graphically, and mark the phases of the line in the trace.
+     * @param bitmap The pseudo-bitmap.
+     * @param trace The latency trace of the line.
+     */
+    default void printGraphic(boolean[][] bitmap, LineTrace trace) {
+        printGraphic(bitmap);
+    }
+
+    /**
+     * Ends the current print job, e.g. on a printer reset or when the user tears off the paper.
+     * The next line starts a new job.
+     */
+    default void tearOff() {
+        // A paper without jobs ignores the tear-off
+    }
 }
@@ -1,5 +1,8 @@
 package ch.erzberger.emulation.hp41printer;
 
+import ch.erzberger.emulation.jfr.JournalCommitEvent;
+import ch.erzberger.emulation.jfr.PaperWriteEvent;
+import ch.erzberger.emulation.monitoring.LineTrace;
 import lombok.extern.java.Log;
 
 import javax.imageio.*;
@@ -7,29 +10,208 @@ import javax.imageio.metadata.IIOInvalidTreeException;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Iterator;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
 import java.util.logging.Level;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Log
-public class PaperImpl implements Paper {
+public class PaperImpl implements Paper, Closeable {
     private static final String TEXTFILE = "Hp8224-Text.txt";
     private static final String PNGFILE = "Hp8224-Image.png";
+    private static final String PAGE_TEXTFILE = "Hp8224-Text-%04d%s.txt";
+    private static final String PAGE_PNGFILE = "Hp8224-Image-%04d%s.png";
+    private static final DateTimeFormatter JOB_TIMESTAMP = DateTimeFormatter.ofPattern("-yyyyMMdd-HHmmss")
+            .withZone(ZoneId.systemDefault());
+    private static final String INDEXFILE = "Hp8224-Index.txt";
+    private static final Pattern PAGE_FILE_PATTERN = Pattern.compile("Hp8224-(?:Image|Text)-(\\d+)(?:-\\d{8}-\\d{6})?\\.(?:png|txt)");
     private static final int PADLEFT = 22;
     private static final int PADRIGHT = 19;
     private static final int PADTOPBOTTOM = 10;
+    private final Path outputDirectory;
+    private final Path textFile;
+    private final Path imageFile;
+    private final Path lineIndexFile;
+    private final int linesPerPage;
+    private final boolean jobs;
     private final StringBuilder textCache = new StringBuilder();
     // As long as the Paper instance is running it keeps appending to the same image buffer. On ever append
     // the buffer will also be written to disk. When the instance restarts then the buffer will be empty.
     private BufferedImage imageCache = null;
+    private int linesPrinted = 0;
+    private int pageLines = 0; // Lines on the current page
+    private int pageNumber; // Number of the last finished page
+    private final Consumer<FinishedPage> pageListener;
+    private Instant pageStarted = null; // Time of the first line on the current page
+    private ImageWriter pngWriter = null; // Created when the first image is written
+    private final PaperJournal journal; // null unless the output is durable
+    private final long commitMillis;
+    private boolean published = true; // false while the files lag behind the journal
+    private int uncommittedLines = 0; // Lines in the journal since the last commit
+    private boolean restoring = false; // The lines of the journal are printed again, but not journaled again
 
+    /**
+     * Paper that writes its output files into the current directory.
+     */
+    public PaperImpl() {
+        this(Paths.get(""));
+    }
+
+    /**
+     * @param outputDirectory The directory for the output files
+     */
+    public PaperImpl(Path outputDirectory) {
+        this(outputDirectory, 0);
+    }
+
+    /**
+     * Paper that starts a new page after the given number of lines. The finished page is renamed to e.g.
+     * Hp8224-Image-0001.png and Hp8224-Text-0001.txt, listed in Hp8224-Index.txt, and its memory is released.
+     * The numbers continue after the pages that are already in the directory.
+     *
+     * @param outputDirectory The directory for the output files
+     * @param linesPerPage    Lines per page, 0 for one endless page
+     */
+    public PaperImpl(Path outputDirectory, int linesPerPage) {
+        this(outputDirectory, linesPerPage, false);
+    }
+
+    /**
+     * Paper that splits the output into pages, and also ends the page on a {@link #tearOff()}. Each job then gets
+     * its own files, named with the number and the start time of the job, e.g. Hp8224-Image-0001-20240131-154500.png.
+     *
+     * @param outputDirectory The directory for the output files
+     * @param linesPerPage    Lines per page, 0 for pages of any length
+     * @param jobs            true to finish the page on a tear-off
+     */
+    public PaperImpl(Path outputDirectory, int linesPerPage, boolean jobs) {
+        this(outputDirectory, linesPerPage, jobs, null);
+    }
+
+    /**
+     * Paper that tells the listener about every finished page, e.g. to archive it. The output of the last run is
+     * then finished as a page at startup, instead of being overwritten.
+     *
+     * @param outputDirectory The directory for the output files
+     * @param linesPerPage    Lines per page, 0 for pages of any length
+     * @param jobs            true to finish the page on a tear-off
+     * @param pageListener    Called on the printing thread for every finished page, or null
+     */
+    public PaperImpl(Path outputDirectory, int linesPerPage, boolean jobs, Consumer<FinishedPage> pageListener) {
+        this(outputDirectory, linesPerPage, jobs, pageListener, PrinterOptions.NOT_DURABLE);
+        keepLastRun(false);
+    }
+
+    private PaperImpl(Path outputDirectory, int linesPerPage, boolean jobs, Consumer<FinishedPage> pageListener, long commitMillis) {
+        this.outputDirectory = outputDirectory;
+        this.textFile = outputDirectory.resolve(TEXTFILE);
+        this.imageFile = outputDirectory.resolve(PNGFILE);
+        this.lineIndexFile = outputDirectory.resolve(LineOffsetIndex.INDEXFILE);
+        this.linesPerPage = linesPerPage;
+        this.jobs = jobs;
+        this.pageListener = pageListener;
+        this.commitMillis = commitMillis;
+        boolean durable = commitMillis != PrinterOptions.NOT_DURABLE;
+        this.pageNumber = linesPerPage > 0 || jobs || pageListener != null || durable ? lastPageNumber(outputDirectory) : 0;
+        this.journal = durable ? openJournal(outputDirectory) : null;
+        PngWriterFactory.prefetch();
+    }
+
+    /**
+     * Paper whose output survives a crash. Every line goes into a journal, which is forced to the disk every
+     * commitMillis together with all lines since the last commit (0 for every line). Only then are the text and
+     * image files replaced, each with a new file that is renamed over the old one, so a reader never sees a missing
+     * or truncated file. On the next start the current page is restored from the journal and continued.
+     * <p></p>
+     * A line is committed with its graphic, which the processor prints after the text of every line. The paper
+     * must be closed, otherwise the commit timer keeps it.
+     *
+     * @param outputDirectory The directory for the output files
+     * @param linesPerPage    Lines per page, 0 for pages of any length
+     * @param jobs            true to finish the page on a tear-off
+     * @param pageListener    Called on the printing thread for every finished page, or null
+     * @param commitMillis    Time between the commits of the journal, or PrinterOptions.NOT_DURABLE
+     * @return The paper, with the page of the last run restored
+     */
+    public static PaperImpl open(Path outputDirectory, int linesPerPage, boolean jobs, Consumer<FinishedPage> pageListener, long commitMillis) {
+        if (commitMillis == PrinterOptions.NOT_DURABLE) {
+            return new PaperImpl(outputDirectory, linesPerPage, jobs, pageListener);
+        }
+        PaperImpl paper = new PaperImpl(outputDirectory, linesPerPage, jobs, pageListener, commitMillis);
+        paper.keepLastRun(paper.journal != null && paper.recoverJournal());
+        if (paper.journal != null) {
+            paper.journal.scheduleCommits(() -> paper.commit(LineTrace.NONE), commitMillis);
+        }
+        return paper;
+    }
+
+    /**
+     * Commits the last lines of a durable paper and stops its commit timer. The paper must not be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (journal != null) {
+            commit(LineTrace.NONE);
+            journal.close();
+        }
+    }
+
+    /**
+     * Keeps the output of the last run, or overwrites it, when the paper starts.
+     *
+     * @param recovered true if the page of the last run was restored from the journal
+     */
+    private void keepLastRun(boolean recovered) {
+        if (jobs || pageListener != null) {
+            finishLeftoverPage();
+        }
+        if (!recovered) {
+            removeOverwrittenLines(pageNumber);
+        }
+    }
+
+    @Override
     public void printLine(String line) {
+        printLine(line, LineTrace.NONE);
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap) {
+        printGraphic(bitmap, LineTrace.NONE);
+    }
+
+    @Override
+    public synchronized void tearOff() {
+        if (jobs && pageLines > 0) {
+            finishPage();
+        }
+    }
+
+    @Override
+    public synchronized void printLine(String line, LineTrace trace) {
+        if (pageStarted == null) {
+            startPage(Instant.now());
+        }
         // Append the text buffer
         textCache.append(line);
         textCache.append('\n');
@@ -40,8 +222,15 @@ public class PaperImpl implements Paper {
                 log.log(Level.INFO, "Printing: {0}", line);
             }
         }
+        linesPrinted++;
+        if (journal != null) {
+            // Committed with the graphic of the line
+            journalLine(() -> journal.text(line));
+            return;
+        }
+        PaperWriteEvent event = new PaperWriteEvent();
+        event.begin();
         // Delete and re-create the output file
-        Path textFile = Paths.get(TEXTFILE);
         try {
             Files.deleteIfExists(textFile);
             Files.createFile(textFile);
@@ -54,23 +243,322 @@ public class PaperImpl implements Paper {
         } catch (IOException ex) {
             log.log(Level.SEVERE, "Cannot write to the text file", ex);
         }
+        commitWriteEvent(event, textFile);
+        trace.mark(LineTrace.Phase.TEXT_WRITE);
     }
 
-    public void printGraphic(boolean[][] bitmap) {
+    @Override
+    public synchronized void printGraphic(boolean[][] bitmap, LineTrace trace) {
+        if (pageStarted == null) {
+            startPage(Instant.now());
+        }
         // Produce the new image which gets appended to the existing image
         BufferedImage newImageAtBottom = arrayToBMP(bitmap);
+        int previousHeight = imageCache != null ? imageCache.getHeight() : 0;
         // Append the image
         imageCache = combineImages(imageCache, newImageAtBottom);
         if (imageCache == null) {
             log.log(Level.SEVERE, "Combining the images failed");
             return;
         }
-        // Pad the image for output
-        BufferedImage paddedImage = padImage(imageCache, false, PADLEFT, PADRIGHT, PADTOPBOTTOM);
+        boolean appended = imageCache.getHeight() > previousHeight;
+        if (journal != null) {
+            trace.mark(LineTrace.Phase.RASTER);
+            journalLine(() -> journal.graphic(bitmap));
+            uncommittedLines++;
+            trace.mark(LineTrace.Phase.JOURNAL);
+            if (commitMillis == 0 && !restoring) {
+                commit(trace);
+            }
+        } else {
+            // Pad the image for output
+            BufferedImage paddedImage = padImage(imageCache, false, PADLEFT, PADRIGHT, PADTOPBOTTOM);
+            trace.mark(LineTrace.Phase.RASTER);
+            PaperWriteEvent event = new PaperWriteEvent();
+            event.begin();
+            try {
+                byte[] png = encodeImage(paddedImage);
+                trace.mark(LineTrace.Phase.ENCODE);
+                Files.write(imageFile, png);
+            } catch (IOException ex) {
+                log.log(Level.SEVERE, "Cannot write the image file", ex);
+            }
+            commitWriteEvent(event, imageFile);
+            trace.mark(LineTrace.Phase.IMAGE_WRITE);
+        }
+        if (appended) {
+            try {
+                LineOffsetIndex.append(lineIndexFile, new LineOffset(pageNumber + 1, pageLines + 1,
+                        PADTOPBOTTOM + previousHeight, newImageAtBottom.getHeight()));
+            } catch (IOException ex) {
+                log.log(Level.SEVERE, "Cannot write the line index", ex);
+            }
+        }
+        pageLines++;
+        // A restored page is only finished with the next line, its lines must stay in the journal until then
+        if (linesPerPage > 0 && pageLines >= linesPerPage && !restoring) {
+            finishPage();
+        }
+    }
+
+    /**
+     * Renames the files of the current page (or job), adds the page to the index, and starts with an empty page.
+     */
+    private void finishPage() {
+        if (journal != null) {
+            // The files of the page must be complete and on the disk before the journal is emptied
+            commit(LineTrace.NONE);
+            publish(true);
+        }
+        pageNumber++;
+        String timestamp = jobs ? JOB_TIMESTAMP.format(pageStarted) : "";
+        Path pageImage = outputDirectory.resolve(String.format(PAGE_PNGFILE, pageNumber, timestamp));
+        Path pageText = outputDirectory.resolve(String.format(PAGE_TEXTFILE, pageNumber, timestamp));
         try {
-            saveImage(new File(PNGFILE), paddedImage);
+            // A failed write may have left one of the files missing
+            if (Files.exists(imageFile)) {
+                Files.move(imageFile, pageImage, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (Files.exists(textFile)) {
+                Files.move(textFile, pageText, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Path indexFile = outputDirectory.resolve(INDEXFILE);
+            Instant finished = Instant.now();
+            String entry = String.format("%04d\t%d\t%s\t%s\t%s%n", pageNumber, pageLines, pageImage.getFileName(),
+                    pageText.getFileName(), finished);
+            if (!Files.exists(indexFile)) {
+                entry = String.format("Page\tLines\tImage\tText\tFinished%n") + entry;
+            }
+            Files.writeString(indexFile, entry, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.log(Level.INFO, "Page {0} finished: {1}", new Object[]{pageNumber, pageImage.getFileName()});
+            if (journal != null) {
+                forceDirectory(outputDirectory);
+                journal.clear();
+            }
+            if (pageListener != null) {
+                pageListener.accept(new FinishedPage(pageNumber, pageLines, pageStarted, finished, pageImage, pageText));
+            }
         } catch (IOException ex) {
-            log.log(Level.SEVERE, "Cannot write the image file", ex);
+            log.log(Level.SEVERE, "Cannot finish the page", ex);
+        }
+        // The next page starts empty, and the memory of this one can be collected
+        textCache.setLength(0);
+        imageCache = null;
+        pageLines = 0;
+        pageStarted = null;
+    }
+
+    /**
+     * The page (or job) that was printed when the simulator stopped would be overwritten, keep it as a page.
+     */
+    private void finishLeftoverPage() {
+        if (pageLines > 0) {
+            finishPage(); // Restored from the journal
+            return;
+        }
+        if (!Files.exists(textFile)) {
+            return;
+        }
+        try {
+            pageStarted = Files.getLastModifiedTime(textFile).toInstant();
+            try (Stream<String> lines = Files.lines(textFile)) {
+                pageLines = (int) lines.count();
+            }
+        } catch (IOException | UncheckedIOException ex) {
+            log.log(Level.WARNING, "Cannot read the job of the last run", ex);
+            pageStarted = Instant.now();
+        }
+        log.log(Level.INFO, "Keeping the job of the last run");
+        finishPage();
+    }
+
+    private void startPage(Instant started) {
+        pageStarted = started;
+        if (journal != null && !restoring) {
+            try {
+                journal.startPage(pageNumber + 1, started);
+            } catch (IOException ex) {
+                log.log(Level.SEVERE, "Cannot write the journal", ex);
+            }
+        }
+    }
+
+    private void removeOverwrittenLines(int lastPage) {
+        try {
+            // The lines of a page that was not kept are overwritten
+            LineOffsetIndex.removePagesAfter(lineIndexFile, lastPage);
+        } catch (IOException ex) {
+            log.log(Level.WARNING, "Cannot update the line index", ex);
+        }
+    }
+
+    private interface JournalWrite {
+        void write() throws IOException;
+    }
+
+    /**
+     * Adds a line to the journal in memory. It is written at the next commit.
+     */
+    private void journalLine(JournalWrite write) {
+        try {
+            if (!restoring) {
+                write.write();
+            }
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot write the journal", ex);
+        }
+        published = false;
+    }
+
+    /**
+     * Forces the lines since the last commit to the disk, and then replaces the text and image files. Called for
+     * every line or by the commit timer, and when the simulator exits. The commit is a JournalCommit event, and
+     * replacing the files a PaperWrite event.
+     *
+     * @param trace The trace of the line that is committed, or LineTrace.NONE
+     */
+    private synchronized void commit(LineTrace trace) {
+        JournalCommitEvent event = new JournalCommitEvent();
+        event.begin();
+        try {
+            int bytes = journal.commit();
+            trace.mark(LineTrace.Phase.FSYNC);
+            if (bytes > 0 && event.shouldCommit()) {
+                event.bytes = bytes;
+                event.lines = uncommittedLines;
+                event.commit();
+            }
+            uncommittedLines = 0;
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot write the journal", ex);
+        }
+        publish(false);
+    }
+
+    /**
+     * Replaces the text and image files, if they lag behind the lines.
+     *
+     * @param force true to force the new files to the disk
+     */
+    private void publish(boolean force) {
+        if (published) {
+            return;
+        }
+        PaperWriteEvent event = new PaperWriteEvent();
+        event.begin();
+        try {
+            replaceFile(textFile, textCache.toString().getBytes(StandardCharsets.UTF_8), force);
+            if (imageCache != null) {
+                replaceFile(imageFile, encodeImage(padImage(imageCache, false, PADLEFT, PADRIGHT, PADTOPBOTTOM)), force);
+            }
+            published = true;
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot write the output files", ex);
+        }
+        commitWriteEvent(event, imageFile);
+    }
+
+    private static void replaceFile(Path file, byte[] content, boolean force) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (force) {
+                channel.force(false);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Forces the renames in the directory to the disk, where the platform supports it.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory.toAbsolutePath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            log.log(Level.FINE, "Cannot force the directory", ex);
+        }
+    }
+
+    private static PaperJournal openJournal(Path outputDirectory) {
+        try {
+            return new PaperJournal(outputDirectory);
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot open the journal, the output is not durable", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Prints the lines of the page that was not finished when the simulator stopped again, unless the page was
+     * finished after all.
+     *
+     * @return true if a page was restored
+     */
+    private boolean recoverJournal() {
+        try {
+            PaperJournal.RecoveredPage page = PaperJournal.read(outputDirectory);
+            if (page == null || page.page <= pageNumber || page.lines.isEmpty()) {
+                journal.clear();
+                return false;
+            }
+            log.log(Level.INFO, "Restoring {0} lines of the last run from the journal", page.lines.size());
+            removeOverwrittenLines(pageNumber);
+            // The records stay in the journal until the page is finished, so the page survives another crash
+            // before its files are written. Only an incomplete record at the end is cut off.
+            journal.truncate(page.length);
+            restoring = true;
+            startPage(page.started);
+            for (Object line : page.lines) {
+                if (line instanceof String) {
+                    printLine((String) line);
+                } else {
+                    printGraphic((boolean[][]) line);
+                }
+            }
+            restoring = false;
+            commit(LineTrace.NONE);
+            return true;
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot restore the last run from the journal", ex);
+            return false;
+        }
+    }
+
+    private static int lastPageNumber(Path outputDirectory) {
+        int last = 0;
+        try (Stream<Path> files = Files.list(outputDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = PAGE_FILE_PATTERN.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    last = Math.max(last, Integer.parseInt(matcher.group(1)));
+                }
+            }
+        } catch (IOException ex) {
+            log.log(Level.WARNING, "Cannot list the output directory, starting with page 1", ex);
+        }
+        // Archived pages are no longer in the directory, but still in the index
+        Path indexFile = outputDirectory.resolve(INDEXFILE);
+        if (Files.exists(indexFile)) {
+            try (Stream<String> lines = Files.lines(indexFile)) {
+                last = Math.max(last, lines.map(line -> line.split("\t", 2)[0]).filter(page -> page.matches("\\d+"))
+                        .mapToInt(Integer::parseInt).max().orElse(0));
+            } catch (IOException | UncheckedIOException ex) {
+                log.log(Level.WARNING, "Cannot read the index file", ex);
+            }
+        }
+        return last;
+    }
+
+    private void commitWriteEvent(PaperWriteEvent event, Path file) {
+        if (event.shouldCommit()) {
+            event.file = file.toString();
+            event.lines = linesPrinted;
+            event.commit();
         }
     }
 
@@ -140,25 +628,25 @@ public class PaperImpl implements Paper {
         return paddedImage;
     }
 
-    private void saveImage(File output, BufferedImage image) throws IOException {
-        // Search for the "png" image writer with editable metadata (apparently there is more than one png writer)
-        for (Iterator<ImageWriter> iw = ImageIO.getImageWritersByFormatName("png"); iw.hasNext(); ) {
-            ImageWriter writer = iw.next();
-            ImageWriteParam writeParam = writer.getDefaultWriteParam();
-            ImageTypeSpecifier typeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_RGB);
-            IIOMetadata metadata = writer.getDefaultImageMetadata(typeSpecifier, writeParam);
-            if (metadata.isReadOnly() || !metadata.isStandardMetadataFormatSupported()) {
-                continue;
-            }
-            // Found it; Set the dpi value
-            setDPI(metadata);
-            // Write the file
-            try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
-                writer.setOutput(stream);
-                writer.write(metadata, new IIOImage(image, null, metadata), writeParam);
-            }
-            // Done, simply return (don't continue with the loop)
-            return;
+    private byte[] encodeImage(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        saveImage(output, image);
+        return output.toByteArray();
+    }
+
+    private void saveImage(OutputStream output, BufferedImage image) throws IOException {
+        if (pngWriter == null) {
+            pngWriter = PngWriterFactory.newWriter();
+        }
+        ImageWriteParam writeParam = pngWriter.getDefaultWriteParam();
+        ImageTypeSpecifier typeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_RGB);
+        IIOMetadata metadata = pngWriter.getDefaultImageMetadata(typeSpecifier, writeParam);
+        // Set the dpi value
+        setDPI(metadata);
+        // Write the image. The output is in memory anyway, so the stream does not need a cache file.
+        try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+            pngWriter.setOutput(stream);
+            pngWriter.write(metadata, new IIOImage(image, null, metadata), writeParam);
         }
     }
 
@@ -0,0 +1,256 @@
+package ch.erzberger.emulation.hp41printer;
+
+import lombok.extern.java.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the current page (Hp8224-Journal.bin), so that a page survives a crash even if its files
+ * were not written since the last lines. The lines are collected in memory and written with one write and one fsync
+ * per commit (group commit). The journal starts with the number of its page and is emptied when the page is finished.
+ * <p></p>
+ * Every record is its length, a CRC32 and the data, so a record that was only written in part is recognized and
+ * ends the journal.
+ */
+@Log
+class PaperJournal {
+    static final String JOURNALFILE = "Hp8224-Journal.bin";
+    private static final byte PAGE = 'P';
+    private static final byte TEXT = 'T';
+    private static final byte GRAPHIC = 'G';
+    // One timer commits the journals of all printers
+    private static final ScheduledExecutorService COMMITTER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "journal-commit");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Set<Runnable> COMMIT_ON_EXIT = ConcurrentHashMap.newKeySet();
+
+    static {
+        // The lines since the last commit would be lost on a normal exit, e.g. at the end of an input file
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> COMMIT_ON_EXIT.forEach(Runnable::run), "journal-shutdown"));
+    }
+
+    private final FileChannel channel;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordData = new DataOutputStream(record);
+    private final CRC32 crc = new CRC32();
+    private ScheduledFuture<?> commits = null;
+    private Runnable exitCommit = null;
+
+    /**
+     * @param outputDirectory The directory for the output files
+     */
+    PaperJournal(Path outputDirectory) throws IOException {
+        channel = FileChannel.open(outputDirectory.resolve(JOURNALFILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Calls the commit every interval, and when the simulator exits, until the journal is closed.
+     */
+    void scheduleCommits(Runnable commit, long intervalMillis) {
+        if (intervalMillis > 0) {
+            commits = COMMITTER.scheduleWithFixedDelay(commit, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        exitCommit = commit;
+        COMMIT_ON_EXIT.add(commit);
+    }
+
+    /**
+     * Stops the commits and closes the file. The records that were not committed are lost.
+     */
+    void close() {
+        if (commits != null) {
+            commits.cancel(false);
+        }
+        if (exitCommit != null) {
+            COMMIT_ON_EXIT.remove(exitCommit);
+        }
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.log(Level.WARNING, "Cannot close the journal", ex);
+        }
+    }
+
+    /**
+     * Empties the journal and starts it with the given page.
+     */
+    void startPage(int page, Instant started) throws IOException {
+        clear();
+        recordData.writeByte(PAGE);
+        recordData.writeInt(page);
+        recordData.writeLong(started.toEpochMilli());
+        addRecord();
+    }
+
+    void text(String line) throws IOException {
+        recordData.writeByte(TEXT);
+        recordData.write(line.getBytes(StandardCharsets.UTF_8));
+        addRecord();
+    }
+
+    /**
+     * @param bitmap The bitmap of the line, [column][row], with at most 8 rows
+     */
+    void graphic(boolean[][] bitmap) throws IOException {
+        int rows = bitmap.length > 0 ? bitmap[0].length : 0;
+        recordData.writeByte(GRAPHIC);
+        recordData.writeByte(rows);
+        for (boolean[] column : bitmap) {
+            int packed = 0;
+            for (int row = 0; row < rows; row++) {
+                if (column[row]) {
+                    packed |= 1 << row;
+                }
+            }
+            recordData.writeByte(packed);
+        }
+        addRecord();
+    }
+
+    /**
+     * Writes the records since the last commit, and forces them to the disk.
+     *
+     * @return The number of bytes written, 0 if there was nothing to write
+     */
+    int commit() throws IOException {
+        int size = pending.size();
+        if (size == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+        pending.reset();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        return size;
+    }
+
+    /**
+     * Empties the journal, e.g. when its page is finished and its files are on the disk.
+     */
+    void clear() throws IOException {
+        pending.reset();
+        channel.truncate(0L);
+        channel.force(false);
+    }
+
+    /**
+     * Cuts off the end of the journal, e.g. a record of the last run that was only written in part, so that the next
+     * records follow the complete ones.
+     *
+     * @param size The number of bytes to keep
+     */
+    void truncate(long size) throws IOException {
+        pending.reset();
+        channel.truncate(size);
+        channel.force(false);
+    }
+
+    /**
+     * Reads the journal that is left from the last run.
+     *
+     * @param outputDirectory The directory for the output files
+     * @return The page in the journal, or null if there is none
+     */
+    static RecoveredPage read(Path outputDirectory) throws IOException {
+        Path file = outputDirectory.resolve(JOURNALFILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(file));
+        RecoveredPage page = null;
+        CRC32 check = new CRC32();
+        int complete = 0;
+        while (journal.remaining() >= 8) {
+            int length = journal.getInt();
+            int crc = journal.getInt();
+            if (length <= 0 || length > journal.remaining()) {
+                break;
+            }
+            byte[] data = new byte[length];
+            journal.get(data);
+            check.reset();
+            check.update(data);
+            if ((int) check.getValue() != crc) {
+                break;
+            }
+            ByteBuffer entry = ByteBuffer.wrap(data);
+            byte type = entry.get();
+            if (type == PAGE) {
+                page = new RecoveredPage(entry.getInt(), Instant.ofEpochMilli(entry.getLong()));
+            } else if (page == null) {
+                break; // Lines without a page
+            } else if (type == TEXT) {
+                page.lines.add(new String(data, 1, length - 1, StandardCharsets.UTF_8));
+            } else if (type == GRAPHIC) {
+                int rows = entry.get();
+                boolean[][] bitmap = new boolean[entry.remaining()][rows];
+                for (int column = 0; column < bitmap.length; column++) {
+                    int packed = entry.get();
+                    for (int row = 0; row < rows; row++) {
+                        bitmap[column][row] = (packed >> row & 1) != 0;
+                    }
+                }
+                page.lines.add(bitmap);
+            }
+            complete = journal.position();
+        }
+        if (complete < journal.limit()) {
+            log.log(Level.WARNING, "The journal ends with an incomplete record, it is ignored");
+        }
+        if (page != null) {
+            page.length = complete;
+        }
+        return page;
+    }
+
+    private void addRecord() throws IOException {
+        byte[] data = record.toByteArray();
+        record.reset();
+        crc.reset();
+        crc.update(data);
+        DataOutputStream output = new DataOutputStream(pending);
+        output.writeInt(data.length);
+        output.writeInt((int) crc.getValue());
+        output.write(data);
+    }
+
+    /**
+     * The page that was printed when the simulator stopped, with its text and graphic lines in printed order.
+     */
+    static final class RecoveredPage {
+        final int page;
+        final Instant started;
+        final List<Object> lines = new ArrayList<>(); // A String for the text, a boolean[][] for the graphic
+        long length = 0L; // The bytes of the complete records
+
+        RecoveredPage(int page, Instant started) {
+            this.page = page;
+            this.started = started;
+        }
+    }
+}
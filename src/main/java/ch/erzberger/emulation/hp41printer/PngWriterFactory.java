@@ -0,0 +1,64 @@
+package ch.erzberger.emulation.hp41printer;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.spi.ImageWriterSpi;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Finds the "png" image writer with editable metadata (apparently there is more than one png writer).
+ * Looking it up initializes ImageIO and scans all its plugins, which takes a noticeable time on a small machine.
+ * It is therefore done only once, on a background thread that starts as soon as the first Paper is created, so
+ * that it is usually done by the time the first line is printed.
+ */
+final class PngWriterFactory {
+    private static final CompletableFuture<ImageWriterSpi> PROVIDER = CompletableFuture.supplyAsync(
+            PngWriterFactory::findProvider, task -> {
+                Thread thread = new Thread(task, "png-writer-lookup");
+                thread.setDaemon(true);
+                thread.start();
+            });
+
+    private PngWriterFactory() {
+        // Prevent instantiation
+        super();
+    }
+
+    /**
+     * Starts looking up the writer in the background, if it has not been started yet.
+     */
+    static void prefetch() {
+        // Loading the class starts the lookup, nothing else to do
+    }
+
+    /**
+     * @return A new instance of the png writer, waits for the lookup if necessary
+     * @throws IOException If there is no png writer with editable metadata
+     */
+    static ImageWriter newWriter() throws IOException {
+        ImageWriterSpi provider = PROVIDER.join();
+        if (provider == null) {
+            throw new IOException("No png image writer with editable metadata found");
+        }
+        return provider.createWriterInstance();
+    }
+
+    private static ImageWriterSpi findProvider() {
+        for (Iterator<ImageWriter> iw = ImageIO.getImageWritersByFormatName("png"); iw.hasNext(); ) {
+            ImageWriter writer = iw.next();
+            ImageWriteParam writeParam = writer.getDefaultWriteParam();
+            ImageTypeSpecifier typeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_RGB);
+            IIOMetadata metadata = writer.getDefaultImageMetadata(typeSpecifier, writeParam);
+            if (!metadata.isReadOnly() && metadata.isStandardMetadataFormatSupported()) {
+                return writer.getOriginatingProvider();
+            }
+        }
+        return null;
+    }
+}
@@ -4,9 +4,17 @@ import ch.erzberger.emulation.common.ByteProcessor;
 import ch.erzberger.emulation.common.Hp82240EscapeCodes;
 import ch.erzberger.emulation.common.Hp82240aCharsetProvider;
 import ch.erzberger.emulation.common.RplCharsetProvider;
+import ch.erzberger.emulation.jfr.LinePrintedEvent;
+import ch.erzberger.emulation.jfr.PrinterOverflowEvent;
+import ch.erzberger.emulation.logging.HotPathLogger;
+import ch.erzberger.emulation.monitoring.LatencyTracer;
+import ch.erzberger.emulation.monitoring.LineTrace;
+import ch.erzberger.emulation.monitoring.PrinterMetrics;
 import lombok.Getter;
 import lombok.extern.java.Log;
 
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.logging.Level;
 
 @Log
@@ -36,6 +44,9 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
     // Other constants
     private static final int ROWS = 8;
     private static final int COLUMNS = 166;
+    private static final HotPathLogger HOT_LOG = new HotPathLogger(log);
+    private static final PrinterMetrics METRICS = PrinterMetrics.getInstance();
+    private static final LatencyTracer TRACER = LatencyTracer.getInstance();
 
     // global variables
     private final Paper paper; // Callback for printing the generated output
@@ -47,19 +58,51 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
     // Force model A
     private final boolean useModelA;
 
-    // Bitmap and Text buffers, and counter for the current row in the bitmap
-    private boolean[][] bitmapBuffer = new boolean[COLUMNS][ROWS];
+    // Bitmap and Text buffers, and counter for the current row in the bitmap. Both buffers are reused for every line.
+    private final boolean[][] bitmapBuffer = new boolean[COLUMNS][ROWS];
     private int currentColumn = 0;
-    private StringBuilder textBuffer = new StringBuilder();
+    private final StringBuilder textBuffer = new StringBuilder();
+    // The bitmap of the character being appended
+    private final int[] glyph = new int[5];
 
     // Counter for receiving graphic bytes (rows). The number of rows are part of the byte stream and must be checked.
     private int graphicsBytesRemaining = 0;
 
+    // Latency trace of the current line, and arrival / processing start of the block of bytes being processed
+    private final LineTrace lineTrace = new LineTrace();
+    private long blockArrivalNanos = 0L;
+    private long blockStartNanos = 0L;
+
     public PrinterByteProcessorImpl(Paper paper, boolean useModelA) {
         this.useModelA = useModelA;
         this.paper = paper;
     }
 
+    @Override
+    public void processBytes(byte[] bytes) {
+        processBytes(bytes, 0, bytes.length, System.nanoTime());
+    }
+
+    @Override
+    public void processBytes(byte[] bytes, int offset, int length, long arrivalNanos) {
+        blockArrivalNanos = arrivalNanos;
+        blockStartNanos = System.nanoTime();
+        for (int i = offset; i < offset + length; i++) {
+            processByte(bytes[i]);
+        }
+        // Bytes passed in one by one have no known arrival time
+        blockArrivalNanos = 0L;
+        blockStartNanos = 0L;
+    }
+
+    /**
+     * Ends the current job on the paper. Must be called on the thread that processes the bytes, see JobSegmenter.
+     * A line that is not complete yet goes to the next job.
+     */
+    public void tearOff() {
+        paper.tearOff();
+    }
+
     /**
      * Main handler, accepts a single byte from the serial stream
      *
@@ -68,43 +111,53 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
     @Override
     public void processByte(byte rawInput) {
         int input = rawInput & 0xFF;
-        log.log(Level.FINEST, "Processing byte: {0}", input);
+        METRICS.byteReceived();
+        if (!lineTrace.isActive()) {
+            startTrace();
+        }
+        HOT_LOG.log(Level.FINEST, "Processing byte: {0}", input);
         // Are graphic rows currently being received? If so, append one column to the bitmap buffer.
         if (graphicsBytesRemaining != 0) {
-            log.log(Level.FINEST, "Graphics bytes remaining: {0}", graphicsBytesRemaining);
+            HOT_LOG.log(Level.FINEST, "Graphics bytes remaining: {0}", graphicsBytesRemaining);
+            METRICS.graphicsByte();
             // Check if the row fits. If not, print the line and then continue.
             if (currentColumn >= COLUMNS) {
                 log.log(Level.WARNING, "Received a graphic column beyond the end of the line. Column is: {0}", currentColumn);
+                PrinterOverflowEvent.commit(PrinterOverflowEvent.GRAPHICS_WRAP, currentColumn);
+                METRICS.columnOverflow();
                 sendToPaper();
             }
             // Append the 8 bits of one column in the bitmap buffer and increase the current column counter
             appendGraphicsColumns(input);
-            log.log(Level.FINEST, "Done appending graphics to column, byte is {0}", input);
+            HOT_LOG.log(Level.FINEST, "Done appending graphics to column, byte is {0}", input);
             // Decrement the graphics bytes counter. Once it hits zero, the next byte is interpreted normally again (ESC, CR or text).
             graphicsBytesRemaining--;
             // Nothing further is checked in graphics mode (CR, ESC etc.). We are done here.
-            log.log(Level.FINEST, "Done processing graphics, bytes remaining: {0}", graphicsBytesRemaining);
+            HOT_LOG.log(Level.FINEST, "Done processing graphics, bytes remaining: {0}", graphicsBytesRemaining);
             return;
         }
         // Check for a line feed
         if (!escInProgress && (input == REGULAR_LINEFEED || input == HP_SPECIAL_LINEFEED)) {
-            log.log(Level.FINEST, "Linefeed received");
+            HOT_LOG.log(Level.FINEST, "Linefeed received");
             sendToPaper();
             return;
         }
         // Check for graphic character, starting an graphic sequence
         if (input == ESC) {
-            log.log(Level.FINEST, "Start ESC sequence");
+            HOT_LOG.log(Level.FINEST, "Start ESC sequence");
             escInProgress = true;
             return;
         }
         if (!escInProgress) {
-            log.log(Level.FINEST, "Appending character as text: {0}", new String(new byte[]{(byte) input}, Hp82240aCharsetProvider.hp82240a()));
+            if (HOT_LOG.isLoggable(Level.FINEST)) {
+                log.log(Level.FINEST, "Appending character as text: {0}", Hp82240aChars.CHARS[input]);
+            }
             // If no graphic sequence is in progress, then append the character to the current line
+            METRICS.textByte();
             if (iso8859 && !useModelA) {
-                textBuffer.append(new String(new byte[]{(byte) input}, RplCharsetProvider.Rpl()));
+                textBuffer.append(RplChars.CHARS[input]);
             } else {
-                textBuffer.append(new String(new byte[]{(byte) input}, Hp82240aCharsetProvider.hp82240a()));
+                textBuffer.append(Hp82240aChars.CHARS[input]);
             }
             // Also append the character to the graphics buffer
             appendCharToGraphicsBuffer(input);
@@ -112,42 +165,47 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
         }
         // escape sequence is in progress, check which one it is
         Hp82240EscapeCodes code = Hp82240EscapeCodes.getEscapeCodeByCode(input);
+        METRICS.escapeSequence(code);
         switch (code) {
             case START_DOUBLEWIDE:
-                log.log(Level.FINE, "Start doublewide");
+                HOT_LOG.log(Level.FINE, "Start doublewide");
                 doubleWide = true;
                 break;
             case STOP_DOUBLEWIDE:
-                log.log(Level.FINE, "Stop doublewide");
+                HOT_LOG.log(Level.FINE, "Stop doublewide");
                 doubleWide = false;
                 break;
             case START_UNDERLINE:
-                log.log(Level.FINE, "Start underline");
+                HOT_LOG.log(Level.FINE, "Start underline");
                 underline = true;
                 break;
             case STOP_UNDERLINE:
-                log.log(Level.FINE, "Stop underline");
+                HOT_LOG.log(Level.FINE, "Stop underline");
                 underline = false;
                 break;
             case START_ISO8859:
-                log.log(Level.FINE, "Start 82240B mode");
+                HOT_LOG.log(Level.FINE, "Start 82240B mode");
                 iso8859 = true;
                 break;
             case STOP_ISO8859:
-                log.log(Level.FINE, "Stop 82240B mode");
+                HOT_LOG.log(Level.FINE, "Stop 82240B mode");
                 iso8859 = false;
                 break;
             case RESET:
-                log.log(Level.FINE, "Reset printer");
+                HOT_LOG.log(Level.FINE, "Reset printer");
                 reset();
+                paper.tearOff();
                 break;
             case SELFTEST:
-                log.log(Level.FINE, "Self test");
+                HOT_LOG.log(Level.FINE, "Self test");
                 reset();
+                // The self test is a job of its own
+                paper.tearOff();
                 selfTest();
+                paper.tearOff();
                 break;
             default:
-                log.log(Level.FINE, "Start graphics mode for {0} bytes", input);
+                HOT_LOG.log(Level.FINE, "Start graphics mode for {0} bytes", input);
                 startGraphicMode(input);
                 break;
         }
@@ -159,7 +217,7 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
         underline = false;
         iso8859 = false;
         graphicsBytesRemaining = 0;
-        textBuffer = new StringBuilder();
+        textBuffer.setLength(0);
     }
 
     private void startGraphicMode(int length) {
@@ -168,34 +226,36 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
         // Check the length: It must be between 1 and 166
         if (graphicsBytesRemaining < 1 || graphicsBytesRemaining > COLUMNS) {
             log.log(Level.SEVERE, "Graphics mode with invalid length requested. Length is {0}", graphicsBytesRemaining);
+            PrinterOverflowEvent.commit(PrinterOverflowEvent.INVALID_GRAPHICS_LENGTH, graphicsBytesRemaining);
+            METRICS.invalidGraphicsLength();
         }
     }
 
     private void appendCharToGraphicsBuffer(int character) {
-        log.log(Level.FINEST, "Appending one character to the bitmap buffer. Currrent column: {0}", currentColumn);
+        HOT_LOG.log(Level.FINEST, "Appending one character to the bitmap buffer. Currrent column: {0}", currentColumn);
         // Check if the character fits onto the current line.
         // The last one needs 6 pixels (single wide) or 12 pixels (double wide) to fit
         if ((doubleWide && currentColumn > COLUMNS-12) || (!doubleWide && currentColumn > COLUMNS-6)) {
+            PrinterOverflowEvent.commit(PrinterOverflowEvent.TEXT_WRAP, currentColumn);
             sendToPaper();
         }
         // Left of any char is en empty row, except for the first character on a line
         padCharLeft();
         // Get the bitmap for the character
-        int[] bitmap;
         if (useModelA) {
-            bitmap = HpPrinterFonts.getHp82240aBitmap(character);
+            HpPrinterFonts.getHp82240aBitmap(character, glyph);
         } else {
             if (iso8859) {
-                bitmap = HpPrinterFonts.getRplBitmap(character);
+                HpPrinterFonts.getRplBitmap(character, glyph);
             } else {
-                bitmap = HpPrinterFonts.getHp82240bBitmap(character);
+                HpPrinterFonts.getHp82240bBitmap(character, glyph);
             }
         }
         // Patch the bitmap to include an underscore if necessary
-        addUnderLineIfNecessary(bitmap);
+        addUnderLineIfNecessary(glyph);
         // The bitmap contains the 5 bytes that make up the columns of the character.
         for (int charColumn = 0; charColumn < 5; charColumn++) {
-            int bitsForCharColumn = bitmap[charColumn];
+            int bitsForCharColumn = glyph[charColumn];
             appendColumnToBitmap(bitmapBuffer, currentColumn, bitsForCharColumn);
             currentColumn++;
             if (doubleWide) {
@@ -241,6 +301,8 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
     private void appendGraphicsColumns(int column) {
         if (currentColumn >= COLUMNS) {
             log.log(Level.SEVERE, "Column too big: {0}", column);
+            PrinterOverflowEvent.commit(PrinterOverflowEvent.COLUMN_DROPPED, currentColumn);
+            METRICS.columnOverflow();
             return;
         }
         // Add the underline if necessary
@@ -267,16 +329,66 @@ public class PrinterByteProcessorImpl implements ByteProcessor {
         buffer[indexToAppend][7] = (byteToAppend & 0b10000000) > 0;
     }
 
+    private void startTrace() {
+        if (blockStartNanos == 0L) {
+            long now = System.nanoTime();
+            lineTrace.start(now);
+            lineTrace.mark(LineTrace.Phase.QUEUEING, now);
+        } else {
+            lineTrace.start(blockArrivalNanos);
+            lineTrace.mark(LineTrace.Phase.QUEUEING, blockStartNanos);
+        }
+    }
+
     private void sendToPaper() {
+        long start = System.nanoTime();
+        LinePrintedEvent event = new LinePrintedEvent();
+        event.begin();
+        if (!lineTrace.isActive()) {
+            // A line without any bytes, e.g. during the self test
+            startTrace();
+        }
+        lineTrace.mark(LineTrace.Phase.RECEIVING, blockStartNanos == 0L ? start : blockStartNanos);
+        lineTrace.mark(LineTrace.Phase.DECODE, start);
         // Text output
-        paper.printLine(textBuffer.toString());
-        textBuffer = new StringBuilder(); // Clear the current line
+        paper.printLine(textBuffer.toString(), lineTrace);
         // Graphic output
-        paper.printGraphic(bitmapBuffer);
-        bitmapBuffer = new boolean[COLUMNS][ROWS]; // Clear the bitmap buffer
+        paper.printGraphic(bitmapBuffer, lineTrace);
+        METRICS.linePrinted(System.nanoTime() - start);
+        lineTrace.finish(TRACER);
+        if (event.shouldCommit()) {
+            event.textLength = textBuffer.length();
+            event.graphicsColumns = currentColumn;
+            event.doubleWide = doubleWide;
+            event.underline = underline;
+            event.iso8859 = iso8859;
+            event.commit();
+        }
+        textBuffer.setLength(0); // Clear the current line
+        for (boolean[] column : bitmapBuffer) {
+            Arrays.fill(column, false); // Clear the bitmap buffer
+        }
         currentColumn = 0;
     }
 
+    // Every byte is decoded once, so that appending a character to the text does not create a String.
+    // The tables are holder classes, so that they are only built when the charset is used.
+    private static final class Hp82240aChars {
+        static final String[] CHARS = decodeAll(Hp82240aCharsetProvider.hp82240a());
+    }
+
+    private static final class RplChars {
+        static final String[] CHARS = decodeAll(RplCharsetProvider.Rpl());
+    }
+
+    private static String[] decodeAll(Charset charset) {
+        String[] chars = new String[256];
+        for (int code = 0; code < chars.length; code++) {
+            chars[code] = new String(new byte[]{(byte) code}, charset);
+        }
+        return chars;
+    }
+
     private void selfTest() {
         // Start with an empty line
         sendToPaper();
@@ -1,22 +1,30 @@
 package ch.erzberger.emulation.hp41printer;
 
+import ch.erzberger.emulation.logging.HotPathLogger;
 import lombok.extern.java.Log;
 
 import java.nio.charset.StandardCharsets;
 import java.util.logging.Level;
 
 @Log public class PrinterLogger {
+    private static final HotPathLogger HOT_LOG = new HotPathLogger(log);
+
     // Prevent instantiation
     private PrinterLogger() {
         super();
     }
     public static void logPrintData(byte[] data) {
-        String asAscii = new String(data, StandardCharsets.UTF_8);
-        StringBuilder asHex = new StringBuilder();
-        for (byte currentByte : data) {
-            asHex.append(String.format("%02X ", currentByte));
+        logPrintData(data, 0, data.length);
+    }
+
+    /**
+     * Logs the received data on FINE, as text and as hex. Nothing is converted if FINE is disabled.
+     */
+    public static void logPrintData(byte[] data, int offset, int length) {
+        if (!HOT_LOG.isLoggable(Level.FINE)) {
+            return;
         }
-        log.log(Level.FINE, "Parsed data in ASCII format: {0}", asAscii);
-        log.log(Level.FINE, "Parsed data in Hex: {0}", asHex);
+        log.log(Level.FINE, "Parsed data in ASCII format: {0}", new String(data, offset, length, StandardCharsets.UTF_8));
+        HOT_LOG.hex(Level.FINE, "Parsed data in Hex: ", data, offset, length);
     }
 }
@@ -0,0 +1,31 @@
+package ch.erzberger.emulation.hp41printer;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The options of one simulated printer, from the command line or a sessions file. See {@link PrinterSetup}.
+ */
+@Data
+public class PrinterOptions {
+    /**
+     * Jobs are not split
+     */
+    public static final long NO_JOBS = -1L;
+    /**
+     * The output files are written with every line, without a journal
+     */
+    public static final long NOT_DURABLE = -1L;
+
+    private boolean useModelA;
+    private int linesPerPage; // 0 for one endless page
+    private long jobIdleMillis = NO_JOBS; // 0 to end jobs on reset and tear-off only
+    private Path archiveDirectory; // null to keep the finished pages in the output directory
+    private Duration archiveMaxAge; // null to keep all archives
+    private long archiveMaxBytes; // 0 for no limit
+    private Path indexDirectory; // null for no search index
+    private boolean tiles; // Also draw the roll as tiles, see TiledPaper
+    private long durableCommitMillis = NOT_DURABLE; // Time between the commits of the journal, see PaperImpl
+}
@@ -0,0 +1,89 @@
+package ch.erzberger.emulation.hp41printer;
+
+import ch.erzberger.emulation.archive.PageArchiver;
+import ch.erzberger.emulation.common.ByteProcessor;
+import ch.erzberger.emulation.liveview.LiveViewPaper;
+import ch.erzberger.emulation.liveview.LiveViewServer;
+import ch.erzberger.emulation.search.IndexingPaper;
+import ch.erzberger.emulation.search.SearchIndex;
+import lombok.extern.java.Log;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
+/**
+ * Puts together the parts of one simulated printer: the paper, the archive, the tiles, the search index, the live
+ * view, the byte processor and the job segmenter, depending on the options.
+ */
+@Log
+public final class PrinterSetup {
+    private PrinterSetup() {
+    }
+
+    /**
+     * @param outputDirectory Directory for the output files
+     * @param options         The options of the printer
+     * @param liveView        The live view to show the output in, or null
+     * @return The processor for the received bytes
+     */
+    public static ByteProcessor create(Path outputDirectory, PrinterOptions options, LiveViewServer liveView) {
+        return createProcessor(createPaper(outputDirectory, options, liveView), options, liveView);
+    }
+
+    /**
+     * The paper with the archive, the tiles, the search index and the live view, without the processor. Several
+     * processors can print on it one after the other, e.g. one for every connection of a network bridge.
+     *
+     * @param outputDirectory Directory for the output files
+     * @param options         The options of the printer
+     * @param liveView        The live view to show the output in, or null
+     * @return The paper
+     */
+    public static Paper createPaper(Path outputDirectory, PrinterOptions options, LiveViewServer liveView) {
+        boolean jobs = options.getJobIdleMillis() != PrinterOptions.NO_JOBS;
+        PageArchiver archiver = null;
+        if (options.getArchiveDirectory() != null) {
+            archiver = new PageArchiver(options.getArchiveDirectory(), options.getArchiveMaxAge(), options.getArchiveMaxBytes());
+        }
+        Paper paper = PaperImpl.open(outputDirectory, options.getLinesPerPage(), jobs, archiver,
+                options.getDurableCommitMillis());
+        if (options.isTiles()) {
+            paper = new TiledPaper(paper, outputDirectory);
+        }
+        if (options.getIndexDirectory() != null) {
+            try {
+                SearchIndex index = SearchIndex.open(options.getIndexDirectory());
+                paper = new IndexingPaper(paper, index);
+                if (liveView != null) {
+                    liveView.setSearchIndex(index);
+                }
+            } catch (IOException ex) {
+                log.log(Level.SEVERE, String.format("Cannot open the search index in %s, printing without it", options.getIndexDirectory()), ex);
+            }
+        }
+        if (liveView != null) {
+            paper = new LiveViewPaper(paper, liveView);
+        }
+        return paper;
+    }
+
+    /**
+     * @param paper    The paper to print on, see {@link #createPaper(Path, PrinterOptions, LiveViewServer)}
+     * @param options  The options of the printer
+     * @param liveView The live view for the tear-off, or null
+     * @return The processor for the received bytes, a {@link JobSegmenter} if the output is split into jobs
+     */
+    public static ByteProcessor createProcessor(Paper paper, PrinterOptions options, LiveViewServer liveView) {
+        boolean jobs = options.getJobIdleMillis() != PrinterOptions.NO_JOBS;
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(paper, options.isUseModelA());
+        if (!jobs) {
+            return processor;
+        }
+        JobSegmenter segmenter = new JobSegmenter(processor, options.getJobIdleMillis());
+        if (liveView != null) {
+            liveView.setTearOffAction(segmenter::tearOff);
+        }
+        return segmenter;
+    }
+}
@@ -0,0 +1,311 @@
+package ch.erzberger.emulation.hp41printer;
+
+import ch.erzberger.emulation.monitoring.LineTrace;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.java.Log;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * Paper that also draws the whole roll as tiles of 256 x 256 pixels (Hp8224-Tiles/LEVEL/X-Y.png), at several zoom
+ * levels: level 0 has one pixel per dot, and every further level halves the width and the height. A dot of a lower
+ * level is black if any of its four dots above is black, so thin lines do not disappear. A browser shows the roll
+ * with Hp8224-Tiles/index.html, which only loads the tiles that are visible.
+ * <p></p>
+ * Only the last row of tiles of every level is kept in memory, as one bit per dot. A new line only rewrites the
+ * tiles that got new rows, so the work per line does not depend on the length of the roll. Every tile is written to
+ * a temporary file and then renamed, so a viewer never sees half a tile. After a restart the roll continues.
+ */
+@Log
+public class TiledPaper implements Paper {
+    public static final String TILES_DIRECTORY = "Hp8224-Tiles";
+    static final int TILE = 256;
+    private static final int TILE_BYTES = TILE / 8;
+    private static final int LEVELS = 6;
+    private static final String DESCRIPTOR = "tiles.json";
+    private static final String DESCRIPTOR_SCRIPT = "tiles.js"; // The same for the viewer, which cannot load JSON from a file
+    private static final ObjectMapper JSON = new ObjectMapper();
+    // The 8 dots of a byte, two by two, as the 4 dots of the next level
+    private static final int[] HALVE = new int[256];
+
+    static {
+        for (int value = 0; value < 256; value++) {
+            int halved = 0;
+            for (int pair = 0; pair < 4; pair++) {
+                if ((value & (0xC0 >>> (2 * pair))) != 0) {
+                    halved |= 0x08 >>> pair;
+                }
+            }
+            HALVE[value] = halved;
+        }
+    }
+
+    private final Paper paper;
+    private final Path directory;
+    private final int levels;
+    private TileLevel[] pyramid = null; // Created with the first line, when the width is known
+    private byte[] row = null;
+
+    /**
+     * @param paper           The paper that gets all lines
+     * @param outputDirectory The directory for the tiles directory
+     */
+    public TiledPaper(Paper paper, Path outputDirectory) {
+        this(paper, outputDirectory, LEVELS);
+    }
+
+    /**
+     * @param paper           The paper that gets all lines
+     * @param outputDirectory The directory for the tiles directory
+     * @param levels          The number of zoom levels
+     */
+    TiledPaper(Paper paper, Path outputDirectory, int levels) {
+        this.paper = paper;
+        this.directory = outputDirectory.resolve(TILES_DIRECTORY);
+        this.levels = levels;
+        try {
+            Files.createDirectories(directory);
+            try (InputStream viewer = TiledPaper.class.getClassLoader().getResourceAsStream("tiles.html")) {
+                if (viewer != null) {
+                    Files.copy(viewer, directory.resolve("index.html"), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            resume();
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot continue the tiles of the last run, starting a new roll", ex);
+            pyramid = null;
+        }
+    }
+
+    @Override
+    public void printLine(String line) {
+        paper.printLine(line);
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap) {
+        paper.printGraphic(bitmap);
+        addLine(bitmap);
+    }
+
+    @Override
+    public void printLine(String line, LineTrace trace) {
+        paper.printLine(line, trace);
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap, LineTrace trace) {
+        paper.printGraphic(bitmap, trace);
+        addLine(bitmap);
+    }
+
+    @Override
+    public void tearOff() {
+        paper.tearOff();
+    }
+
+    private void addLine(boolean[][] bitmap) {
+        if (bitmap.length == 0) {
+            return;
+        }
+        try {
+            if (pyramid == null) {
+                startRoll(bitmap.length);
+            } else if (bitmap.length != pyramid[0].width) {
+                log.log(Level.SEVERE, "Line has the wrong number of columns for the tiles. Expected: {0}, actual: {1}",
+                        new Object[]{pyramid[0].width, bitmap.length});
+                return;
+            }
+            for (int y = 0; y < bitmap[0].length; y++) {
+                Arrays.fill(row, (byte) 0);
+                for (int x = 0; x < bitmap.length; x++) {
+                    if (bitmap[x][y]) {
+                        row[x >> 3] |= (byte) (0x80 >>> (x & 7));
+                    }
+                }
+                appendRow(0, row);
+            }
+            for (TileLevel level : pyramid) {
+                if (level.dirty) {
+                    writeBand(level);
+                }
+            }
+            writeDescriptor();
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot write the tiles", ex);
+        }
+    }
+
+    /**
+     * Adds a row of dots to a level. Two rows make one row of the next level.
+     */
+    private void appendRow(int number, byte[] dots) throws IOException {
+        TileLevel level = pyramid[number];
+        System.arraycopy(dots, 0, level.band, (int) (level.rows % TILE) * level.rowBytes, level.rowBytes);
+        level.rows++;
+        level.dirty = true;
+        if (level.rows % TILE == 0) {
+            // The row of tiles is complete, and is never written again
+            writeBand(level);
+            Arrays.fill(level.band, (byte) 0);
+        }
+        if (number + 1 < pyramid.length) {
+            if (level.pending == null) {
+                level.pending = dots.clone();
+            } else {
+                byte[] halved = new byte[pyramid[number + 1].rowBytes];
+                for (int i = 0; i < halved.length; i++) {
+                    int left = 2 * i < level.rowBytes ? (level.pending[2 * i] | dots[2 * i]) & 0xFF : 0;
+                    int right = 2 * i + 1 < level.rowBytes ? (level.pending[2 * i + 1] | dots[2 * i + 1]) & 0xFF : 0;
+                    halved[i] = (byte) (HALVE[left] << 4 | HALVE[right]);
+                }
+                level.pending = null;
+                appendRow(number + 1, halved);
+            }
+        }
+    }
+
+    /**
+     * Writes the tiles of the last row of tiles of the level.
+     */
+    private void writeBand(TileLevel level) throws IOException {
+        long band = (level.rows - 1) / TILE;
+        Path levelDirectory = directory.resolve(Integer.toString(level.number));
+        Files.createDirectories(levelDirectory);
+        for (int x = 0; x * TILE < level.width; x++) {
+            BufferedImage tile = new BufferedImage(TILE, TILE, BufferedImage.TYPE_BYTE_BINARY);
+            byte[] pixels = ((DataBufferByte) tile.getRaster().getDataBuffer()).getData();
+            for (int y = 0; y < TILE; y++) {
+                for (int i = 0; i < TILE_BYTES; i++) {
+                    int source = x * TILE_BYTES + i;
+                    // In the image a set bit is white
+                    pixels[y * TILE_BYTES + i] = (byte) ~(source < level.rowBytes ? level.band[y * level.rowBytes + source] : 0);
+                }
+            }
+            Path file = levelDirectory.resolve(x + "-" + band + ".png");
+            Path temporary = levelDirectory.resolve(file.getFileName() + ".tmp");
+            ImageIO.write(tile, "png", temporary.toFile());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        level.dirty = false;
+    }
+
+    private void writeDescriptor() throws IOException {
+        Map<String, Object> descriptor = new LinkedHashMap<>();
+        descriptor.put("width", pyramid[0].width);
+        descriptor.put("height", pyramid[0].rows);
+        descriptor.put("tileSize", TILE);
+        descriptor.put("levels", pyramid.length);
+        String json = JSON.writeValueAsString(descriptor);
+        replace(directory.resolve(DESCRIPTOR), json);
+        replace(directory.resolve(DESCRIPTOR_SCRIPT), "var tiles = " + json + ";\n");
+    }
+
+    private static void replace(Path file, String content) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temporary, content);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void startRoll(int width) throws IOException {
+        // The tiles of an older roll would show through where the new one is shorter
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".png")) {
+                    Files.delete(file);
+                }
+            }
+        }
+        pyramid = newPyramid(width, 0L);
+    }
+
+    private TileLevel[] newPyramid(int width, long height) {
+        TileLevel[] result = new TileLevel[levels];
+        for (int number = 0; number < levels; number++) {
+            result[number] = new TileLevel(number, Math.max(1, (width + (1 << number) - 1) >> number), height >> number);
+        }
+        row = new byte[result[0].rowBytes];
+        return result;
+    }
+
+    /**
+     * Loads the last row of tiles of every level, and the row that waits for its partner for the next level.
+     */
+    private void resume() throws IOException {
+        Path descriptorFile = directory.resolve(DESCRIPTOR);
+        if (!Files.exists(descriptorFile)) {
+            return;
+        }
+        JsonNode descriptor = JSON.readTree(descriptorFile.toFile());
+        if (descriptor.get("levels").asInt() != levels || descriptor.get("tileSize").asInt() != TILE) {
+            return; // Different tiles, the first line starts a new roll
+        }
+        TileLevel[] resumed = newPyramid(descriptor.get("width").asInt(), descriptor.get("height").asLong());
+        for (TileLevel level : resumed) {
+            if (level.rows % TILE != 0) {
+                readBand(level, level.rows / TILE, level.band);
+            }
+            if (level.rows % 2 != 0 && level.number + 1 < resumed.length) {
+                long last = level.rows - 1;
+                byte[] band = last / TILE == level.rows / TILE ? level.band : readBand(level, last / TILE, new byte[level.band.length]);
+                level.pending = Arrays.copyOfRange(band, (int) (last % TILE) * level.rowBytes, (int) (last % TILE + 1) * level.rowBytes);
+            }
+        }
+        pyramid = resumed;
+        log.log(Level.INFO, "Continuing the tiles after {0} rows", pyramid[0].rows);
+    }
+
+    private byte[] readBand(TileLevel level, long band, byte[] target) throws IOException {
+        for (int x = 0; x * TILE < level.width; x++) {
+            Path file = directory.resolve(level.number + "/" + x + "-" + band + ".png");
+            BufferedImage tile = ImageIO.read(file.toFile());
+            if (tile == null || tile.getWidth() != TILE || tile.getHeight() != TILE) {
+                throw new IOException("Not a tile: " + file);
+            }
+            for (int y = 0; y < TILE; y++) {
+                for (int i = 0; i < TILE_BYTES && x * TILE_BYTES + i < level.rowBytes; i++) {
+                    int dots = 0;
+                    for (int bit = 0; bit < 8; bit++) {
+                        int column = 8 * i + bit;
+                        if (x * TILE + column < level.width && (tile.getRGB(column, y) & 0xFFFFFF) == 0) {
+                            dots |= 0x80 >>> bit;
+                        }
+                    }
+                    target[y * level.rowBytes + x * TILE_BYTES + i] = (byte) dots;
+                }
+            }
+        }
+        return target;
+    }
+
+    private static final class TileLevel {
+        final int number;
+        final int width;
+        final int rowBytes;
+        final byte[] band; // The last row of tiles, one bit per dot, a set bit is black
+        long rows; // Rows of dots so far
+        byte[] pending = null; // A row that waits for the next one, to make a row of the next level
+        boolean dirty = false;
+
+        TileLevel(int number, int width, long rows) {
+            this.number = number;
+            this.width = width;
+            this.rowBytes = (width + 7) / 8;
+            this.band = new byte[TILE * rowBytes];
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ch.erzberger.emulation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for a commit of the journal of a durable paper. The duration covers writing the lines since the last
+ * commit and forcing them to the disk; replacing the output files afterwards is a PaperWrite event.
+ */
+@Name("ch.erzberger.hp82240.JournalCommit")
+@Label("Journal Commit")
+@Category({"HP 82240", "Paper"})
+@Description("Lines of a durable paper written to its journal and forced to the disk")
+@StackTrace(false)
+public class JournalCommitEvent extends Event {
+    @Label("Bytes")
+    @DataAmount
+    public int bytes;
+
+    @Label("Lines")
+    @Description("Number of lines in the commit")
+    public int lines;
+}
@@ -0,0 +1,29 @@
+package ch.erzberger.emulation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for each line that the printer sends to the paper. The duration covers writing the line to the Paper.
+ */
+@Name("ch.erzberger.hp82240.LinePrinted")
+@Label("Line Printed")
+@Category({"HP 82240", "Printer"})
+@Description("A completed line, sent to the Paper")
+@StackTrace(false)
+public class LinePrintedEvent extends Event {
+    @Label("Text Length")
+    public int textLength;
+
+    @Label("Graphics Columns")
+    @Description("Number of columns used on the line, by text and graphics")
+    public int graphicsColumns;
+
+    @Label("Double Wide")
+    public boolean doubleWide;
+
+    @Label("Underline")
+    public boolean underline;
+
+    @Label("ISO 8859")
+    public boolean iso8859;
+}
@@ -0,0 +1,20 @@
+package ch.erzberger.emulation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for writing an output file of the Paper.
+ */
+@Name("ch.erzberger.hp82240.PaperWrite")
+@Label("Paper Write")
+@Category({"HP 82240", "Paper"})
+@Description("Writing the text or the image file of the paper")
+@StackTrace(false)
+public class PaperWriteEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("Lines")
+    @Description("Number of lines in the file after the write")
+    public int lines;
+}
@@ -0,0 +1,39 @@
+package ch.erzberger.emulation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for data that does not fit onto the line, and for invalid graphics lengths.
+ */
+@Name("ch.erzberger.hp82240.PrinterOverflow")
+@Label("Printer Overflow")
+@Category({"HP 82240", "Printer"})
+@Description("Data that does not fit the line, or an invalid graphics length")
+public class PrinterOverflowEvent extends Event {
+    public static final String TEXT_WRAP = "Text wrapped to the next line";
+    public static final String GRAPHICS_WRAP = "Graphics wrapped to the next line";
+    public static final String COLUMN_DROPPED = "Column beyond the end of the line dropped";
+    public static final String INVALID_GRAPHICS_LENGTH = "Invalid graphics length";
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Value")
+    @Description("The column, or the invalid graphics length")
+    public int value;
+
+    /**
+     * Commits an overflow event, if the event is enabled.
+     *
+     * @param kind  The kind of overflow
+     * @param value The column, or the invalid graphics length
+     */
+    public static void commit(String kind, int value) {
+        PrinterOverflowEvent event = new PrinterOverflowEvent();
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.value = value;
+            event.commit();
+        }
+    }
+}
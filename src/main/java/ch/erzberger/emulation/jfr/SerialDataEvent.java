@@ -0,0 +1,20 @@
+package ch.erzberger.emulation.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for each block of data that the serial port delivers.
+ */
+@Name("ch.erzberger.hp82240.SerialData")
+@Label("Serial Data Received")
+@Category({"HP 82240", "Receiver"})
+@Description("A block of bytes received in one serial port event")
+@StackTrace(false)
+public class SerialDataEvent extends Event {
+    @Label("Port")
+    public String port;
+
+    @Label("Bytes")
+    @DataAmount
+    public int bytes;
+}
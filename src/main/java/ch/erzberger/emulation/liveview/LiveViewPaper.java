@@ -0,0 +1,60 @@
+package ch.erzberger.emulation.liveview;
+
+import ch.erzberger.emulation.hp41printer.Paper;
+import ch.erzberger.emulation.monitoring.LineTrace;
+
+/**
+ * Paper that shows every line in the live view, and then passes it on to the real paper.
+ */
+public class LiveViewPaper implements Paper {
+    private final Paper paper;
+    private final LiveViewServer server;
+    private String text = ""; // The processor prints the text of a line before its graphic
+    private boolean printedSinceTearOff = false;
+
+    /**
+     * @param paper  The paper that gets all lines
+     * @param server The live view to show the lines in
+     */
+    public LiveViewPaper(Paper paper, LiveViewServer server) {
+        this.paper = paper;
+        this.server = server;
+    }
+
+    @Override
+    public void printLine(String line) {
+        text = line;
+        paper.printLine(line);
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap) {
+        server.publish(text, bitmap);
+        printedSinceTearOff = true;
+        paper.printGraphic(bitmap);
+    }
+
+    @Override
+    public void printLine(String line, LineTrace trace) {
+        text = line;
+        paper.printLine(line, trace);
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap, LineTrace trace) {
+        // Publish first, the bitmap is only valid during the call and the live view should not wait for the files
+        server.publish(text, bitmap);
+        printedSinceTearOff = true;
+        paper.printGraphic(bitmap, trace);
+    }
+
+    @Override
+    public void tearOff() {
+        // Reset and self test end the job even if nothing was printed, which is no reason for a separator
+        if (printedSinceTearOff) {
+            server.publishTearOff();
+            printedSinceTearOff = false;
+        }
+        paper.tearOff();
+    }
+}
@@ -0,0 +1,405 @@
+package ch.erzberger.emulation.liveview;
+
+import ch.erzberger.emulation.search.IndexedLine;
+import ch.erzberger.emulation.search.SearchHit;
+import ch.erzberger.emulation.search.SearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.java.Log;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * Shows the printer output in a browser while it is printed. The server only listens on the loopback interface.
+ * <ul>
+ *     <li>/ - A page that appends every new line</li>
+ *     <li>/text - The text of the retained lines</li>
+ *     <li>/image.png - The image of the retained lines, padded like the image file</li>
+ *     <li>/events - Server-Sent Events, one 'line' event per printed line, and a 'tearoff' event at the end of a job</li>
+ *     <li>/tear-off - POST ends the current job, if the printer is split into jobs. The request needs the header
+ *     X-Requested-With, which a page of another site cannot send without asking the server first</li>
+ *     <li>/search?q=WORDS&amp;context=2&amp;limit=50 - The lines in the search index that contain all words, as JSON</li>
+ * </ul>
+ * A 'line' event carries the text and the bitmap of one line, with one byte per column like the graphics bytes of the
+ * printer (bit 0 is the top row), in Base64. The event id is the number of the line; a client that reconnects with
+ * Last-Event-ID only gets the lines it missed. Publishing a line costs the same no matter how long the roll is.
+ */
+@Log
+public class LiveViewServer {
+    private static final int DEFAULT_RETAINED_LINES = 10000;
+    private static final int CLIENT_QUEUE_SIZE = 1024;
+    private static final int MAX_CLIENTS = 16;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final int PADLEFT = 22;
+    private static final int PADRIGHT = 19;
+    private static final int PADTOPBOTTOM = 10;
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String REQUESTED_WITH = "X-Requested-With";
+    private static final String TEAROFF_EVENT = "event: tearoff\ndata: \n\n";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int retainedLines;
+    private final Deque<Line> lines = new ArrayDeque<>();
+    private final Set<Client> clients = new CopyOnWriteArraySet<>();
+    private long nextLineNumber = 1;
+    private volatile Runnable tearOffAction = null;
+    private volatile SearchIndex searchIndex = null;
+
+    /**
+     * @param port Port on the loopback interface, 0 for any free port
+     * @throws IOException If the port cannot be opened
+     */
+    public LiveViewServer(int port) throws IOException {
+        this(port, DEFAULT_RETAINED_LINES);
+    }
+
+    /**
+     * @param port          Port on the loopback interface, 0 for any free port
+     * @param retainedLines Number of lines that are kept for new clients, /text and /image.png
+     * @throws IOException If the port cannot be opened
+     */
+    public LiveViewServer(int port, int retainedLines) throws IOException {
+        this.retainedLines = retainedLines;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "live-view-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handlePage);
+        server.createContext("/text", this::handleText);
+        server.createContext("/image.png", this::handleImage);
+        server.createContext("/events", this::handleEvents);
+        server.createContext("/tear-off", this::handleTearOff);
+        server.createContext("/search", this::handleSearch);
+    }
+
+    public void start() {
+        server.start();
+        log.log(Level.INFO, "Live view on http://localhost:{0,number,#}/", getPort());
+    }
+
+    /**
+     * Closes the connections of all clients and stops the server.
+     */
+    public void stop() {
+        for (Client client : clients) {
+            client.close();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Adds a line to the view. The bitmap is copied, the caller may reuse it.
+     *
+     * @param text   The text of the line
+     * @param bitmap The bitmap of the line, [column][row]
+     */
+    public void publish(String text, boolean[][] bitmap) {
+        byte[] columns = new byte[bitmap.length];
+        int rows = Math.min(8, bitmap.length > 0 ? bitmap[0].length : 0);
+        for (int column = 0; column < bitmap.length; column++) {
+            int packed = 0;
+            for (int row = 0; row < rows; row++) {
+                if (bitmap[column][row]) {
+                    packed |= 1 << row;
+                }
+            }
+            columns[column] = (byte) packed;
+        }
+        synchronized (this) {
+            Line line = new Line(nextLineNumber++, text, rows, columns);
+            lines.addLast(line);
+            if (lines.size() > retainedLines) {
+                lines.removeFirst();
+            }
+            // Under the lock, so that a client that is just connecting gets every line exactly once
+            for (Client client : clients) {
+                if (!client.events.offer(line.event)) {
+                    log.log(Level.WARNING, "Live view client is too slow, closing its connection");
+                    client.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells the clients that a job has ended. It is not replayed to clients that connect later.
+     */
+    public synchronized void publishTearOff() {
+        for (Client client : clients) {
+            client.events.offer(TEAROFF_EVENT);
+        }
+    }
+
+    /**
+     * @param tearOffAction Called for a POST to /tear-off, e.g. JobSegmenter.tearOff()
+     */
+    public void setTearOffAction(Runnable tearOffAction) {
+        this.tearOffAction = tearOffAction;
+    }
+
+    /**
+     * @param searchIndex The index that /search uses
+     */
+    public void setSearchIndex(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    private synchronized List<Line> retained(long after) {
+        List<Line> result = new ArrayList<>();
+        for (Line line : lines) {
+            if (line.number > after) {
+                result.add(line);
+            }
+        }
+        return result;
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        if (!"/".equals(exchange.getRequestURI().getPath())) {
+            send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        try (InputStream page = LiveViewServer.class.getClassLoader().getResourceAsStream("liveview.html")) {
+            if (page == null) {
+                throw new IOException("liveview.html is missing in the jar file");
+            }
+            send(exchange, 200, "text/html; charset=utf-8", page.readAllBytes());
+        }
+    }
+
+    private void handleText(HttpExchange exchange) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Line line : retained(0L)) {
+            text.append(line.text).append('\n');
+        }
+        send(exchange, 200, "text/plain; charset=utf-8", text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleImage(HttpExchange exchange) throws IOException {
+        List<Line> snapshot = retained(0L);
+        int width = snapshot.isEmpty() ? 0 : snapshot.get(0).columns.length;
+        int height = snapshot.stream().mapToInt(l -> l.rows).sum();
+        BufferedImage image = new BufferedImage(width + PADLEFT + PADRIGHT, height + 2 * PADTOPBOTTOM, BufferedImage.TYPE_BYTE_BINARY);
+        int white = Color.WHITE.getRGB();
+        int black = Color.BLACK.getRGB();
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, white);
+            }
+        }
+        int top = PADTOPBOTTOM;
+        for (Line line : snapshot) {
+            for (int column = 0; column < Math.min(width, line.columns.length); column++) {
+                for (int row = 0; row < line.rows; row++) {
+                    if ((line.columns[column] >> row & 1) != 0) {
+                        image.setRGB(PADLEFT + column, top + row, black);
+                    }
+                }
+            }
+            top += line.rows;
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        send(exchange, 200, "image/png", png.toByteArray());
+    }
+
+    private void handleTearOff(HttpExchange exchange) throws IOException {
+        Runnable action = tearOffAction;
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            send(exchange, 405, "text/plain", "Use POST".getBytes(StandardCharsets.UTF_8));
+        } else if (!exchange.getRequestHeaders().containsKey(REQUESTED_WITH)) {
+            send(exchange, 403, "text/plain", ("Missing header " + REQUESTED_WITH).getBytes(StandardCharsets.UTF_8));
+        } else if (action == null) {
+            send(exchange, 404, "text/plain", "The output is not split into jobs".getBytes(StandardCharsets.UTF_8));
+        } else {
+            action.run();
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        SearchIndex index = searchIndex;
+        if (index == null) {
+            send(exchange, 404, "text/plain", "The printed text is not indexed".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        Map<String, String> parameters = queryParameters(exchange.getRequestURI().getRawQuery());
+        int context;
+        int limit;
+        try {
+            context = Integer.parseInt(parameters.getOrDefault("context", "2"));
+            limit = Integer.parseInt(parameters.getOrDefault("limit", "50"));
+        } catch (NumberFormatException e) {
+            send(exchange, 400, "text/plain", "Invalid number".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        long start = System.nanoTime();
+        List<SearchHit> hits = index.search(parameters.getOrDefault("q", ""), Math.max(0, context), limit);
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (SearchHit hit : hits) {
+            Map<String, Object> entry = toJson(hit.getLine());
+            entry.put("before", hit.getBefore().stream().map(LiveViewServer::toJson).collect(Collectors.toList()));
+            entry.put("after", hit.getAfter().stream().map(LiveViewServer::toJson).collect(Collectors.toList()));
+            result.add(entry);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("hits", result);
+        response.put("micros", (System.nanoTime() - start) / 1000L);
+        send(exchange, 200, "application/json", JSON.writeValueAsBytes(response));
+    }
+
+    private static Map<String, Object> toJson(IndexedLine line) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("run", line.getRun());
+        json.put("line", line.getLine());
+        json.put("printed", line.getPrinted().toString());
+        json.put("text", line.getText());
+        return json;
+    }
+
+    private static Map<String, String> queryParameters(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                            URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        if (clients.size() >= MAX_CLIENTS) {
+            send(exchange, 503, "text/plain", "Too many clients".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        long lastEventId = parseLastEventId(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+        Client client = new Client();
+        List<Line> missed;
+        synchronized (this) {
+            missed = retained(lastEventId);
+            clients.add(client);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        try {
+            for (Line line : missed) {
+                body.write(line.event.getBytes(StandardCharsets.UTF_8));
+            }
+            body.flush();
+            while (!client.closed) {
+                String event = client.events.poll(HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                // A comment as heartbeat, so that a client that is gone is noticed
+                body.write((event != null ? event : ":\n\n").getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+        } catch (IOException e) {
+            log.log(Level.FINE, "Live view client disconnected", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.remove(client);
+            exchange.close();
+        }
+    }
+
+    private static long parseLastEventId(String header) {
+        if (header == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static class Line {
+        final long number;
+        final String text;
+        final int rows;
+        final byte[] columns;
+        final String event; // Created once, and shared by all clients
+
+        Line(long number, String text, int rows, byte[] columns) {
+            this.number = number;
+            this.text = text;
+            this.rows = rows;
+            this.columns = columns;
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("text", text);
+            data.put("rows", rows);
+            data.put("bitmap", Base64.getEncoder().encodeToString(columns));
+            try {
+                event = "id: " + number + "\nevent: line\ndata: " + JSON.writeValueAsString(data) + "\n\n";
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot convert a line to JSON", e);
+            }
+        }
+    }
+
+    private static class Client {
+        final BlockingQueue<String> events = new ArrayBlockingQueue<>(CLIENT_QUEUE_SIZE);
+        volatile boolean closed = false;
+
+        void close() {
+            closed = true;
+            // Wakes up the handler if it is waiting for an event
+            events.offer(":\n\n");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ch.erzberger.emulation.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+/**
+ * A console handler that writes on a background thread, so that the serial callback does not wait for the
+ * console. The records are queued and written in order by a ConsoleHandler, which is configured with the usual
+ * java.util.logging.ConsoleHandler properties (formatter, encoding).
+ * If the queue is full, the record is dropped instead of blocking the caller; the number of dropped records is
+ * reported with the next record that is written. Closing the handler (which the LogManager does when the JVM ends)
+ * waits until the writer thread has written all records that are still queued. The writer thread is started with
+ * the first record.
+ * <p></p>
+ * Configuration in logging.properties:
+ * <ul>
+ *     <li>ch.erzberger.emulation.logging.AsyncConsoleHandler.level (default ALL)</li>
+ *     <li>ch.erzberger.emulation.logging.AsyncConsoleHandler.queueSize (default 8192)</li>
+ * </ul>
+ */
+public final class AsyncConsoleHandler extends Handler {
+    private static final int DEFAULT_QUEUE_SIZE = 8192;
+
+    private final BlockingQueue<LogRecord> queue;
+    private final ConsoleHandler console = new ConsoleHandler();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Thread writer = null; // Started with the first record
+    private volatile boolean closed = false;
+
+    public AsyncConsoleHandler() {
+        LogManager manager = LogManager.getLogManager();
+        String prefix = getClass().getName();
+        setLevel(parseLevel(manager.getProperty(prefix + ".level")));
+        queue = new ArrayBlockingQueue<>(parseQueueSize(manager.getProperty(prefix + ".queueSize")));
+        // This handler does the filtering, the console writes whatever it gets
+        console.setLevel(Level.ALL);
+    }
+
+    @Override
+    public void publish(LogRecord logRecord) {
+        if (closed || !isLoggable(logRecord)) {
+            return;
+        }
+        if (!queue.offer(logRecord)) {
+            dropped.incrementAndGet();
+        }
+        if (writer == null) {
+            startWriter();
+        }
+    }
+
+    @Override
+    public void flush() {
+        console.flush();
+    }
+
+    @Override
+    public void close() {
+        Thread started;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            // No writer is started from now on
+            closed = true;
+            started = writer;
+        }
+        if (started == null) {
+            drain();
+        } else {
+            // The writer writes all records that are queued, and then ends
+            try {
+                started.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (started.isAlive()) {
+                // Stuck on the console, the rest is left to it
+                return;
+            }
+        }
+        console.close();
+    }
+
+    /**
+     * @return Number of records that were dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private synchronized void startWriter() {
+        if (writer == null && !closed) {
+            writer = new Thread(this::drain, "async-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                LogRecord logRecord = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (logRecord != null) {
+                    write(logRecord);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void write(LogRecord logRecord) {
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            console.publish(new LogRecord(Level.WARNING, "Logging queue full, " + lost + " messages were dropped"));
+        }
+        console.publish(logRecord); // Flushes the console
+    }
+
+    private static Level parseLevel(String value) {
+        if (value == null) {
+            return Level.ALL;
+        }
+        try {
+            return Level.parse(value.trim());
+        } catch (IllegalArgumentException ex) {
+            return Level.ALL;
+        }
+    }
+
+    private static int parseQueueSize(String value) {
+        if (value == null) {
+            return DEFAULT_QUEUE_SIZE;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException ex) {
+            return DEFAULT_QUEUE_SIZE;
+        }
+    }
+}
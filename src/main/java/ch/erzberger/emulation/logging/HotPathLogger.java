@@ -0,0 +1,61 @@
+package ch.erzberger.emulation.logging;
+
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Logging for code that runs for every received byte. java.util.logging only checks the level after the
+ * arguments have been boxed and the message strings built; these methods check it first, so that a disabled
+ * level costs a single comparison and nothing is allocated.
+ */
+public final class HotPathLogger {
+    private static final HexFormat HEX = HexFormat.ofDelimiter(" ").withUpperCase();
+
+    private final Logger logger;
+
+    public HotPathLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    public boolean isLoggable(Level level) {
+        return logger.isLoggable(level);
+    }
+
+    /**
+     * Logs a constant message.
+     */
+    public void log(Level level, String message) {
+        if (logger.isLoggable(level)) {
+            logger.log(level, message);
+        }
+    }
+
+    /**
+     * Logs a message with one int parameter, which is only boxed if the level is enabled.
+     */
+    public void log(Level level, String pattern, int value) {
+        if (logger.isLoggable(level)) {
+            logger.log(level, pattern, value);
+        }
+    }
+
+    /**
+     * Logs a message that is expensive to build. The supplier is only called if the level is enabled.
+     */
+    public void log(Level level, Supplier<String> message) {
+        if (logger.isLoggable(level)) {
+            logger.log(level, message);
+        }
+    }
+
+    /**
+     * Logs a range of bytes as hex, e.g. "1B 04 41 0A".
+     */
+    public void hex(Level level, String prefix, byte[] data, int offset, int length) {
+        if (logger.isLoggable(level)) {
+            logger.log(level, prefix + HEX.formatHex(data, offset, offset + length));
+        }
+    }
+}
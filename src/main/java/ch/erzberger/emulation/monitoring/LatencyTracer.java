@@ -0,0 +1,94 @@
+package ch.erzberger.emulation.monitoring;
+
+import lombok.extern.java.Log;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Process wide recorder for the latency of printed lines, broken down into the phases of {@link LineTrace}.
+ * The recorded latencies are dumped on demand (via JMX), and when the simulator ends if the system property
+ * hp82240.latencyDump is true.
+ */
+@Log
+public class LatencyTracer implements LatencyTracerMXBean {
+    public static final String OBJECT_NAME = "ch.erzberger.hp82240:type=LatencyTracer";
+    public static final String DUMP_PROPERTY = "hp82240.latencyDump";
+    private static final LatencyTracer INSTANCE = new LatencyTracer();
+
+    private final Map<LineTrace.Phase, LatencyHistogram> phases = new EnumMap<>(LineTrace.Phase.class);
+    private final LatencyHistogram total = new LatencyHistogram();
+
+    LatencyTracer() {
+        for (LineTrace.Phase phase : LineTrace.Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public static LatencyTracer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the tracer with the platform MBean server, and dumps the latencies when the JVM ends if
+     * {@link #DUMP_PROPERTY} is set. Calling it more than once has no effect.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+                if (Boolean.getBoolean(DUMP_PROPERTY)) {
+                    // The log manager might be shut down already when the hook runs, hence stderr
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(dump()), "latency-dump")); // NOSONAR
+                }
+            }
+        } catch (JMException ex) {
+            log.log(Level.WARNING, "Cannot register the latency tracer MBean", ex);
+        }
+    }
+
+    void record(LineTrace.Phase phase, long nanos) {
+        phases.get(phase).record(nanos);
+    }
+
+    void recordTotal(long nanos) {
+        total.record(nanos);
+    }
+
+    LatencyHistogram getHistogram(LineTrace.Phase phase) {
+        return phases.get(phase);
+    }
+
+    LatencyHistogram getTotal() {
+        return total;
+    }
+
+    @Override
+    public String getTotalSummary() {
+        return total.summary();
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("Line latency, first byte received until written or forced to the disk:%n"));
+        result.append(String.format("  %-12s %s%n", "TOTAL", total.summary()));
+        for (Map.Entry<LineTrace.Phase, LatencyHistogram> entry : phases.entrySet()) {
+            result.append(String.format("  %-12s %s%n", entry.getKey(), entry.getValue().summary()));
+        }
+        return result.toString();
+    }
+
+    @Override
+    public void reset() {
+        phases.values().forEach(LatencyHistogram::reset);
+        total.reset();
+    }
+}
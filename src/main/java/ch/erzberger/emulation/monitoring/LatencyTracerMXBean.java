@@ -0,0 +1,21 @@
+package ch.erzberger.emulation.monitoring;
+
+/**
+ * Access to the per-line latency trace with jconsole or any other JMX client.
+ */
+public interface LatencyTracerMXBean {
+    /**
+     * @return Percentiles of the total latency, from the arrival of the first byte until the line is written
+     */
+    String getTotalSummary();
+
+    /**
+     * @return Percentiles of the total latency, and of each phase
+     */
+    String dump();
+
+    /**
+     * Clears all recorded latencies.
+     */
+    void reset();
+}
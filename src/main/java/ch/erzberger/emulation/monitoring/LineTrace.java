@@ -0,0 +1,100 @@
+package ch.erzberger.emulation.monitoring;
+
+/**
+ * Timestamps of one printed line, from the arrival of its first byte until its output has been written (or forced
+ * to the disk).
+ * The printer and the paper mark the end of each phase; the time between two marks is the duration of the phase.
+ * A phase that is not marked (e.g. by a Paper that does not support tracing) is added to the next phase.
+ * One instance is reused for all lines of a printer, so tracing does not allocate.
+ */
+public class LineTrace {
+    /**
+     * The phases of a line, in order. Each phase ends at its mark.
+     */
+    public enum Phase {
+        /** From the arrival of the first byte until the printer starts to process it */
+        QUEUEING,
+        /** From processing the first byte until the data with the line feed started to be processed */
+        RECEIVING,
+        /** Decoding the rest of the line, until the line feed */
+        DECODE,
+        /** Writing the text output */
+        TEXT_WRITE,
+        /** Converting the line into an image and appending it to the paper */
+        RASTER,
+        /** Encoding the image (PNG) */
+        ENCODE,
+        /** Writing the image output */
+        IMAGE_WRITE,
+        /** Adding the line to the journal in memory, instead of writing the files (durable output) */
+        JOURNAL,
+        /** Forcing the output to the disk. Not marked if the output is left to the operating system */
+        FSYNC
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * A trace that ignores all marks, for callers that do not trace.
+     */
+    public static final LineTrace NONE = new LineTrace();
+
+    private final long[] marks = new long[PHASES.length];
+    private long arrivalNanos;
+    private boolean active = false;
+
+    /**
+     * Starts tracing a new line.
+     *
+     * @param arrivalNanos System.nanoTime() when the first byte of the line arrived
+     */
+    public void start(long arrivalNanos) {
+        if (this == NONE) {
+            return;
+        }
+        this.arrivalNanos = arrivalNanos;
+        this.active = true;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Marks the end of a phase now.
+     */
+    public void mark(Phase phase) {
+        mark(phase, System.nanoTime());
+    }
+
+    /**
+     * Marks the end of a phase at the given time.
+     */
+    public void mark(Phase phase, long nanos) {
+        if (active) {
+            marks[phase.ordinal()] = nanos;
+        }
+    }
+
+    /**
+     * Records the durations of the line, and ends the trace.
+     *
+     * @param tracer The recorder for the durations
+     */
+    public void finish(LatencyTracer tracer) {
+        if (!active) {
+            return;
+        }
+        long previous = arrivalNanos;
+        for (Phase phase : PHASES) {
+            long mark = marks[phase.ordinal()];
+            if (mark != 0L) {
+                tracer.record(phase, mark - previous);
+                previous = mark;
+                marks[phase.ordinal()] = 0L;
+            }
+        }
+        tracer.recordTotal(previous - arrivalNanos);
+        active = false;
+    }
+}
@@ -0,0 +1,186 @@
+package ch.erzberger.emulation.monitoring;
+
+import ch.erzberger.emulation.common.Hp82240EscapeCodes;
+import lombok.extern.java.Log;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Process wide metrics of the printer simulator. All counters are lock-free and never allocate, so the
+ * metrics are always collected. They are published as an MXBean with {@link #register()}.
+ */
+@Log
+public class PrinterMetrics implements PrinterMetricsMXBean {
+    public static final String OBJECT_NAME = "ch.erzberger.hp82240:type=PrinterMetrics";
+    private static final PrinterMetrics INSTANCE = new PrinterMetrics();
+
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder linesPrinted = new LongAdder();
+    private final LongAdder textBytes = new LongAdder();
+    private final LongAdder graphicsBytes = new LongAdder();
+    private final Map<Hp82240EscapeCodes, LongAdder> escapeSequences = new EnumMap<>(Hp82240EscapeCodes.class);
+    private final LongAdder columnOverflows = new LongAdder();
+    private final LongAdder invalidGraphicsLengths = new LongAdder();
+    private final LongAdder serialEvents = new LongAdder();
+    private final LongAdder serialBytes = new LongAdder();
+    private final LatencyHistogram lineToDiskLatency = new LatencyHistogram();
+
+    PrinterMetrics() {
+        for (Hp82240EscapeCodes code : Hp82240EscapeCodes.values()) {
+            escapeSequences.put(code, new LongAdder());
+        }
+    }
+
+    public static PrinterMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server. Calling it more than once has no effect.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException ex) {
+            log.log(Level.WARNING, "Cannot register the printer metrics MBean", ex);
+        }
+    }
+
+    public void byteReceived() {
+        bytesReceived.increment();
+    }
+
+    public void textByte() {
+        textBytes.increment();
+    }
+
+    public void graphicsByte() {
+        graphicsBytes.increment();
+    }
+
+    public void escapeSequence(Hp82240EscapeCodes code) {
+        escapeSequences.get(code).increment();
+    }
+
+    public void columnOverflow() {
+        columnOverflows.increment();
+    }
+
+    public void invalidGraphicsLength() {
+        invalidGraphicsLengths.increment();
+    }
+
+    public void serialEvent(int bytes) {
+        serialEvents.increment();
+        serialBytes.add(bytes);
+    }
+
+    /**
+     * @param nanos Time from the line feed until the line has been written by the Paper
+     */
+    public void linePrinted(long nanos) {
+        linesPrinted.increment();
+        lineToDiskLatency.record(nanos);
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getLinesPrinted() {
+        return linesPrinted.sum();
+    }
+
+    @Override
+    public long getTextBytes() {
+        return textBytes.sum();
+    }
+
+    @Override
+    public long getGraphicsBytes() {
+        return graphicsBytes.sum();
+    }
+
+    @Override
+    public Map<String, Long> getEscapeSequences() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<Hp82240EscapeCodes, LongAdder> entry : escapeSequences.entrySet()) {
+            result.put(entry.getKey().getTextVersion(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    @Override
+    public long getColumnOverflows() {
+        return columnOverflows.sum();
+    }
+
+    @Override
+    public long getInvalidGraphicsLengths() {
+        return invalidGraphicsLengths.sum();
+    }
+
+    @Override
+    public long getSerialEvents() {
+        return serialEvents.sum();
+    }
+
+    @Override
+    public double getAverageBytesPerSerialEvent() {
+        long events = serialEvents.sum();
+        return events == 0 ? 0.0 : (double) serialBytes.sum() / events;
+    }
+
+    @Override
+    public long getLineToDiskLatencyCount() {
+        return lineToDiskLatency.getCount();
+    }
+
+    @Override
+    public double getLineToDiskLatencyMeanMillis() {
+        return lineToDiskLatency.getMean() / 1e6;
+    }
+
+    @Override
+    public double getLineToDiskLatencyP50Millis() {
+        return lineToDiskLatency.getValueAtPercentile(0.5) / 1e6;
+    }
+
+    @Override
+    public double getLineToDiskLatencyP99Millis() {
+        return lineToDiskLatency.getValueAtPercentile(0.99) / 1e6;
+    }
+
+    @Override
+    public double getLineToDiskLatencyMaxMillis() {
+        return lineToDiskLatency.getMax() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        bytesReceived.reset();
+        linesPrinted.reset();
+        textBytes.reset();
+        graphicsBytes.reset();
+        escapeSequences.values().forEach(LongAdder::reset);
+        columnOverflows.reset();
+        invalidGraphicsLengths.reset();
+        serialEvents.reset();
+        serialBytes.reset();
+        lineToDiskLatency.reset();
+    }
+}
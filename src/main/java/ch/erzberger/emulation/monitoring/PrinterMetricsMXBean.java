@@ -0,0 +1,50 @@
+package ch.erzberger.emulation.monitoring;
+
+import java.util.Map;
+
+/**
+ * Metrics of the printer simulator, readable with jconsole or any other JMX client.
+ */
+public interface PrinterMetricsMXBean {
+    long getBytesReceived();
+
+    long getLinesPrinted();
+
+    long getTextBytes();
+
+    long getGraphicsBytes();
+
+    /**
+     * @return Number of escape sequences, by type
+     */
+    Map<String, Long> getEscapeSequences();
+
+    /**
+     * @return Number of graphic columns that did not fit onto the line (wrapped or dropped)
+     */
+    long getColumnOverflows();
+
+    long getInvalidGraphicsLengths();
+
+    long getSerialEvents();
+
+    double getAverageBytesPerSerialEvent();
+
+    /**
+     * @return Number of lines measured for the latency from the line feed until the line is written to disk
+     */
+    long getLineToDiskLatencyCount();
+
+    double getLineToDiskLatencyMeanMillis();
+
+    double getLineToDiskLatencyP50Millis();
+
+    double getLineToDiskLatencyP99Millis();
+
+    double getLineToDiskLatencyMaxMillis();
+
+    /**
+     * Sets all metrics back to zero.
+     */
+    void reset();
+}
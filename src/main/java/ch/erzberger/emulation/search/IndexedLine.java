@@ -0,0 +1,17 @@
+package ch.erzberger.emulation.search;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A printed line as stored in the search index. The run counts the starts of the simulator, the line counts the
+ * lines of one run, starting with 1.
+ */
+@Value
+public class IndexedLine {
+    int run;
+    int line;
+    Instant printed;
+    String text;
+}
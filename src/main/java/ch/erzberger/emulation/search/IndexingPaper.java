@@ -0,0 +1,48 @@
+package ch.erzberger.emulation.search;
+
+import ch.erzberger.emulation.hp41printer.Paper;
+import ch.erzberger.emulation.monitoring.LineTrace;
+
+/**
+ * Paper that adds the text of every line to the search index, and then passes it on to the real paper.
+ */
+public class IndexingPaper implements Paper {
+    private final Paper paper;
+    private final SearchIndex index;
+
+    /**
+     * @param paper The paper that gets all lines
+     * @param index The index for the text of the lines
+     */
+    public IndexingPaper(Paper paper, SearchIndex index) {
+        this.paper = paper;
+        this.index = index;
+    }
+
+    @Override
+    public void printLine(String line) {
+        index.add(line);
+        paper.printLine(line);
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap) {
+        paper.printGraphic(bitmap);
+    }
+
+    @Override
+    public void printLine(String line, LineTrace trace) {
+        index.add(line);
+        paper.printLine(line, trace);
+    }
+
+    @Override
+    public void printGraphic(boolean[][] bitmap, LineTrace trace) {
+        paper.printGraphic(bitmap, trace);
+    }
+
+    @Override
+    public void tearOff() {
+        paper.tearOff();
+    }
+}
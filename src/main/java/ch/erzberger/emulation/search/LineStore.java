@@ -0,0 +1,128 @@
+package ch.erzberger.emulation.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * The text of all indexed lines, so that a hit and its context can be read without scanning the text files.
+ * lines.dat holds the records one after the other, lines.idx the end offset of every record (8 bytes each), so a
+ * line is found by its number with one read. The records are written before their offsets; after a crash, a record
+ * without an offset is cut off on the next start.
+ */
+class LineStore implements Closeable {
+    static final String DATAFILE = "lines.dat";
+    static final String OFFSETSFILE = "lines.idx";
+    private static final int HEADER = 4 + 4 + 8 + 4; // Run, line, time and length of the text
+
+    private final FileChannel data;
+    private final FileChannel offsets;
+    private final boolean readOnly;
+    private final ByteBuffer offset = ByteBuffer.allocate(8);
+    private ByteBuffer record = ByteBuffer.allocate(256);
+    private volatile long count;
+    private long dataEnd;
+
+    /**
+     * @param directory The directory of the index
+     * @param readOnly  Only read, e.g. while the simulator writes the index
+     */
+    LineStore(Path directory, boolean readOnly) throws IOException {
+        this.readOnly = readOnly;
+        if (readOnly) {
+            data = FileChannel.open(directory.resolve(DATAFILE), StandardOpenOption.READ);
+            offsets = FileChannel.open(directory.resolve(OFFSETSFILE), StandardOpenOption.READ);
+        } else {
+            data = FileChannel.open(directory.resolve(DATAFILE), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            offsets = FileChannel.open(directory.resolve(OFFSETSFILE), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        }
+        // An offset that was only written in part does not count
+        count = offsets.size() / 8;
+        dataEnd = count > 0 ? endOf(count - 1) : 0L;
+        if (!readOnly) {
+            offsets.truncate(count * 8);
+            data.truncate(dataEnd);
+        }
+    }
+
+    /**
+     * @return The number of the new line
+     */
+    long append(int run, int line, long printedMillis, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (record.capacity() < HEADER + bytes.length) {
+            record = ByteBuffer.allocate(HEADER + bytes.length);
+        }
+        record.clear();
+        record.putInt(run).putInt(line).putLong(printedMillis).putInt(bytes.length).put(bytes).flip();
+        while (record.hasRemaining()) {
+            dataEnd += data.write(record, dataEnd);
+        }
+        offset.clear();
+        offset.putLong(dataEnd).flip();
+        while (offset.hasRemaining()) {
+            offsets.write(offset, count * 8 + offset.position());
+        }
+        return count++;
+    }
+
+    /**
+     * @return The number of lines, which is also the number of the next line
+     */
+    long size() throws IOException {
+        if (readOnly) {
+            // The simulator may still be writing
+            count = Math.max(count, offsets.size() / 8);
+        }
+        return count;
+    }
+
+    /**
+     * Can be called on any thread.
+     */
+    IndexedLine read(long number) throws IOException {
+        long start = number > 0 ? endOf(number - 1) : 0L;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (endOf(number) - start));
+        readFully(data, buffer, start);
+        buffer.flip();
+        int run = buffer.getInt();
+        int line = buffer.getInt();
+        long printed = buffer.getLong();
+        byte[] text = new byte[buffer.getInt()];
+        buffer.get(text);
+        return new IndexedLine(run, line, Instant.ofEpochMilli(printed), new String(text, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Forces the lines to the disk.
+     */
+    void force() throws IOException {
+        data.force(false);
+        offsets.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        data.close();
+        offsets.close();
+    }
+
+    private long endOf(long number) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        readFully(offsets, buffer, number * 8);
+        return buffer.getLong(0);
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the index file");
+            }
+        }
+    }
+}
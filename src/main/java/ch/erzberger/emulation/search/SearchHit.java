@@ -0,0 +1,15 @@
+package ch.erzberger.emulation.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A line that contains all words of a query, with the lines of the same run that were printed around it.
+ */
+@Value
+public class SearchHit {
+    IndexedLine line;
+    List<IndexedLine> before;
+    List<IndexedLine> after;
+}
@@ -0,0 +1,446 @@
+package ch.erzberger.emulation.search;
+
+import lombok.extern.java.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index of all printed lines, across all runs of the simulator. Every line is stored (see {@link LineStore})
+ * and its words are collected in memory. Every few thousand lines, the words are written into an immutable segment
+ * (see {@link Segment}). Whenever the last four segments have the same level, they are merged into one on a
+ * background thread, so a query only reads a few segments no matter how long the history is.
+ * <p></p>
+ * A query finds the lines that contain all of its words. A word is a run of letters and digits, with dots and commas
+ * inside (e.g. 12.345,67); the case does not matter. Lines that were stored but not yet written into a segment
+ * when the simulator stopped are indexed again on the next start.
+ */
+@Log
+public class SearchIndex implements Closeable {
+    private static final int SEGMENT_LINES = 4096;
+    private static final int MERGE_FACTOR = 4;
+    private static final int OPEN_ATTEMPTS = 5;
+    private static final ExecutorService MERGER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-merger");
+        t.setDaemon(true);
+        return t;
+    });
+    // Merges that are queued or running; a merge schedules the next one before it counts as done
+    private static final AtomicInteger PENDING_MERGES = new AtomicInteger();
+
+    private final Path directory;
+    private final boolean readOnly;
+    private final int segmentLines;
+    private final LineStore lines;
+    private final List<Segment> segments = new ArrayList<>(); // In the order of their lines
+    private final Map<String, Postings> buffer = new HashMap<>(); // The words of the lines after the last segment
+    private final int run;
+    private long bufferStart; // The first line that is not in a segment
+    private int lineInRun = 0;
+    private boolean merging = false;
+    private boolean closed = false;
+
+    /**
+     * Opens the index to add lines, and creates it if it does not exist.
+     *
+     * @param directory The directory of the index
+     */
+    public static SearchIndex open(Path directory) throws IOException {
+        return new SearchIndex(directory, false, SEGMENT_LINES);
+    }
+
+    /**
+     * Opens the index only to search it, e.g. while the simulator writes it. Lines that are added afterward are not
+     * found.
+     *
+     * @param directory The directory of the index
+     */
+    public static SearchIndex openReadOnly(Path directory) throws IOException {
+        return new SearchIndex(directory, true, SEGMENT_LINES);
+    }
+
+    SearchIndex(Path directory, boolean readOnly, int segmentLines) throws IOException {
+        this.directory = directory;
+        this.readOnly = readOnly;
+        this.segmentLines = segmentLines;
+        if (!readOnly) {
+            Files.createDirectories(directory);
+        }
+        lines = new LineStore(directory, readOnly);
+        try {
+            loadSegments();
+            bufferStart = segments.isEmpty() ? 0L : segments.get(segments.size() - 1).getEndLine();
+            long size = lines.size();
+            for (long number = bufferStart; number < size; number++) {
+                addToBuffer(number, lines.read(number).getText());
+            }
+            run = size > 0 ? lines.read(size - 1).getRun() + 1 : 1;
+        } catch (IOException ex) {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            lines.close();
+            throw ex;
+        }
+        log.log(Level.FINE, "Search index {0} opened with {1} segments", new Object[]{directory, segments.size()});
+    }
+
+    /**
+     * Adds a line to the index. Called on the printing thread.
+     *
+     * @param text The text of the printed line
+     */
+    public synchronized void add(String text) {
+        if (readOnly) {
+            throw new IllegalStateException("The search index is open for searching only");
+        }
+        if (closed) {
+            return;
+        }
+        try {
+            long number = lines.append(run, ++lineInRun, System.currentTimeMillis(), text);
+            addToBuffer(number, text);
+            if (number + 1 - bufferStart >= segmentLines) {
+                flush();
+            }
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot add the line to the search index", ex);
+        }
+    }
+
+    /**
+     * Finds the lines that contain all words of the query. Can be called on any thread.
+     *
+     * @param query   The words to search for
+     * @param context The number of lines of the same run before and after each hit
+     * @param limit   The maximum number of hits
+     * @return The hits, the most recent first
+     */
+    public List<SearchHit> search(String query, int context, int limit) throws IOException {
+        List<String> words = tokens(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Segment> snapshot;
+        List<long[]> buffered = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("The search index is closed");
+            }
+            snapshot = new ArrayList<>(segments);
+            // A segment that is merged meanwhile stays open until the query is done
+            snapshot.forEach(Segment::acquire);
+            for (String word : words) {
+                Postings postings = buffer.get(word);
+                buffered.add(postings != null ? postings.toArray() : new long[0]);
+            }
+        }
+        long[] matches = null;
+        try {
+            for (int i = 0; i < words.size() && (matches == null || matches.length > 0); i++) {
+                List<long[]> parts = new ArrayList<>();
+                for (Segment segment : snapshot) {
+                    parts.add(segment.postings(words.get(i)));
+                }
+                parts.add(buffered.get(i));
+                long[] postings = concat(parts);
+                matches = matches == null ? postings : intersect(matches, postings);
+            }
+        } finally {
+            for (Segment segment : snapshot) {
+                segment.release();
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = matches.length - 1; i >= Math.max(0, matches.length - limit); i--) {
+            hits.add(hit(matches[i], context));
+        }
+        return hits;
+    }
+
+    /**
+     * @return The number of this run of the simulator
+     */
+    public int getRun() {
+        return run;
+    }
+
+    /**
+     * Writes the words of the lines since the last segment into a new segment.
+     */
+    public synchronized void flush() throws IOException {
+        long end = lines.size();
+        if (readOnly || closed || end == bufferStart) {
+            return;
+        }
+        // The lines must be on disk before the segment that points to them
+        lines.force();
+        NavigableMap<String, long[]> postings = new TreeMap<>();
+        buffer.forEach((word, list) -> postings.put(word, list.toArray()));
+        segments.add(Segment.write(directory, postings, bufferStart, end, 0));
+        buffer.clear();
+        bufferStart = end;
+        scheduleMerge();
+    }
+
+    /**
+     * Writes the last segment. A merge that is still running is finished on the next start.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                flush();
+                closed = true;
+                for (Segment segment : segments) {
+                    segment.close();
+                }
+                segments.clear();
+            }
+        } finally {
+            lines.close();
+        }
+    }
+
+    /**
+     * Waits until all merges are done, including those that finished merges schedule meanwhile.
+     */
+    public static void awaitMerged() {
+        try {
+            while (PENDING_MERGES.get() > 0) {
+                MERGER.submit(() -> {
+                }).get(30, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.log(Level.WARNING, "Merging did not finish", e);
+        }
+    }
+
+    /**
+     * @return The words of the text, in lower case
+     */
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean inWord = Character.isLetterOrDigit(c) || (start >= 0 && (c == '.' || c == ','));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                int end = i;
+                while (!Character.isLetterOrDigit(text.charAt(end - 1))) {
+                    end--; // A dot or comma at the end is punctuation
+                }
+                tokens.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void addToBuffer(long number, String text) {
+        for (String word : tokens(text)) {
+            buffer.computeIfAbsent(word, w -> new Postings()).add(number);
+        }
+    }
+
+    /**
+     * Opens the segments, and leaves out those that were merged into another one just before the simulator stopped.
+     * While the simulator merges, a segment can disappear between listing and opening it; then the listing is repeated.
+     */
+    private void loadSegments() throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            List<Segment> found = new ArrayList<>();
+            boolean complete = true;
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    if (!readOnly && file.getFileName().toString().endsWith(".seg.tmp")) {
+                        Files.delete(file); // A segment that was not finished
+                    } else if (Segment.isSegmentFile(file)) {
+                        try {
+                            found.add(Segment.open(file));
+                        } catch (NoSuchFileException ex) {
+                            complete = false;
+                        }
+                    }
+                }
+            }
+            found.sort(Comparator.comparingLong(Segment::getFirstLine)
+                    .thenComparing(Comparator.comparingLong(Segment::getEndLine).reversed()));
+            long end = 0L;
+            for (Segment segment : found) {
+                if (segment.getEndLine() <= end) {
+                    if (readOnly) {
+                        segment.close();
+                    } else {
+                        segment.retire();
+                    }
+                } else {
+                    complete &= segment.getFirstLine() == end;
+                    segments.add(segment);
+                    end = segment.getEndLine();
+                }
+            }
+            if (complete || attempt == OPEN_ATTEMPTS) {
+                return;
+            }
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            segments.clear();
+        }
+    }
+
+    /**
+     * Called with the lock held, after a segment was added or merged.
+     */
+    private void scheduleMerge() {
+        int size = segments.size();
+        if (merging || closed || size < MERGE_FACTOR) {
+            return;
+        }
+        List<Segment> last = new ArrayList<>(segments.subList(size - MERGE_FACTOR, size));
+        if (last.stream().anyMatch(s -> s.getLevel() != last.get(0).getLevel())) {
+            return;
+        }
+        merging = true;
+        last.forEach(Segment::acquire);
+        PENDING_MERGES.incrementAndGet();
+        MERGER.execute(() -> {
+            try {
+                merge(last);
+            } finally {
+                PENDING_MERGES.decrementAndGet();
+            }
+        });
+    }
+
+    private void merge(List<Segment> inputs) {
+        try {
+            Segment merged = Segment.merge(directory, inputs);
+            synchronized (this) {
+                if (closed) {
+                    // The inputs are left out on the next start
+                    merged.close();
+                } else {
+                    int position = segments.indexOf(inputs.get(0));
+                    segments.removeAll(inputs);
+                    segments.add(position, merged);
+                    for (Segment input : inputs) {
+                        input.retire();
+                    }
+                    log.log(Level.FINE, "Merged {0} segments into {1}", new Object[]{inputs.size(), merged.getFile().getFileName()});
+                }
+            }
+        } catch (IOException ex) {
+            log.log(Level.WARNING, "Cannot merge the segments of the search index", ex);
+        } finally {
+            synchronized (this) {
+                merging = false;
+                scheduleMerge();
+            }
+            for (Segment input : inputs) {
+                try {
+                    input.release();
+                } catch (IOException ex) {
+                    log.log(Level.WARNING, "Cannot delete a merged segment", ex);
+                }
+            }
+        }
+    }
+
+    private SearchHit hit(long number, int context) throws IOException {
+        IndexedLine line = lines.read(number);
+        List<IndexedLine> before = new ArrayList<>();
+        for (long n = Math.max(0L, number - context); n < number; n++) {
+            IndexedLine other = lines.read(n);
+            if (other.getRun() == line.getRun()) {
+                before.add(other);
+            }
+        }
+        List<IndexedLine> after = new ArrayList<>();
+        long size = lines.size();
+        for (long n = number + 1; n <= number + context && n < size; n++) {
+            IndexedLine other = lines.read(n);
+            if (other.getRun() == line.getRun()) {
+                after.add(other);
+            }
+        }
+        return new SearchHit(line, before, after);
+    }
+
+    private static long[] concat(List<long[]> parts) {
+        long[] result = new long[parts.stream().mapToInt(p -> p.length).sum()];
+        int position = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * The lines of one word, in ascending order and without duplicates.
+     */
+    private static final class Postings {
+        private long[] lines = new long[4];
+        private int size = 0;
+
+        void add(long line) {
+            if (size > 0 && lines[size - 1] == line) {
+                return; // The word is more than once in the line
+            }
+            if (size == lines.length) {
+                lines = Arrays.copyOf(lines, size * 2);
+            }
+            lines[size++] = line;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(lines, size);
+        }
+    }
+}
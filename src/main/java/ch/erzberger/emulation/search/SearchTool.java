@@ -0,0 +1,80 @@
+package ch.erzberger.emulation.search;
+
+import ch.erzberger.emulation.common.CmdLineArgsChecker;
+import lombok.extern.java.Log;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import static ch.erzberger.emulation.common.CmdLineArgsChecker.*;
+
+/**
+ * Searches the printed history in a search index, also while the simulator is running:
+ * <code>java -cp hp82240.jar ch.erzberger.emulation.search.SearchTool -x=index 12.345</code>
+ */
+@Log
+public class SearchTool {
+    private static final DateTimeFormatter PRINTED = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private SearchTool() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> arguments = new CmdLineArgsChecker().checkSearchArgs(args);
+        String query = arguments.get(QUERYARG);
+        if (query == null || query.isBlank()) {
+            log.log(Level.SEVERE, "No words to search for");
+            System.exit(-1);
+        }
+        int context = parseNumber(arguments.get(CONTEXTARG), 2);
+        int limit = parseNumber(arguments.get(LIMITARG), 50);
+        try (SearchIndex index = SearchIndex.openReadOnly(Paths.get(arguments.get(INDEXARG)))) {
+            long start = System.nanoTime();
+            List<SearchHit> hits = index.search(query, context, limit);
+            long millis = (System.nanoTime() - start) / 1_000_000L;
+            for (SearchHit hit : hits) {
+                print(System.out, hit);
+            }
+            log.log(Level.INFO, "{0} hits in {1} ms", new Object[]{hits.size(), millis});
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot search the index", ex);
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Prints the hit with its context, the line of the hit marked with '>'.
+     */
+    static void print(PrintStream output, SearchHit hit) {
+        IndexedLine line = hit.getLine();
+        output.printf("Run %d, line %d, %s%n", line.getRun(), line.getLine(), PRINTED.format(line.getPrinted()));
+        for (IndexedLine other : hit.getBefore()) {
+            output.printf("  %6d  %s%n", other.getLine(), other.getText());
+        }
+        output.printf("> %6d  %s%n", line.getLine(), line.getText());
+        for (IndexedLine other : hit.getAfter()) {
+            output.printf("  %6d  %s%n", other.getLine(), other.getText());
+        }
+        output.println();
+    }
+
+    private static int parseNumber(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException ex) {
+            log.log(Level.SEVERE, "Invalid number: {0}", value);
+            System.exit(-1);
+            return defaultValue;
+        }
+    }
+}
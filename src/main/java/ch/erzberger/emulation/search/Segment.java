@@ -0,0 +1,247 @@
+package ch.erzberger.emulation.search;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable part of the search index: the postings (line numbers) of every word of a range of lines.
+ * <p></p>
+ * The file starts with the postings, each list as the differences between its line numbers in variable length
+ * numbers. Then follows the dictionary, the words in order with the position, length and count of their postings, and
+ * a footer with the position of the dictionary, the range of lines and the merge level. Only the dictionary is read
+ * into memory; the postings of a word are read when a query asks for them.
+ * <p></p>
+ * A segment is used by the index and by running queries; it is closed (and deleted, if it was merged into another)
+ * when the last of them releases it.
+ */
+class Segment implements Closeable {
+    private static final Pattern FILE_PATTERN = Pattern.compile("segment-(\\d{12})-(\\d{12})\\.seg");
+    private static final int FOOTER = 8 + 8 + 8 + 4 + 4;
+    private static final int MAGIC = 0x48505831; // HPX1
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, long[]> dictionary = new TreeMap<>(); // Position, length and count of the postings
+    private final long firstLine;
+    private final long endLine;
+    private final int level;
+    private int references = 1; // The index holds the first reference
+    private boolean deleteWhenClosed = false;
+
+    private Segment(Path file) throws IOException {
+        this.file = file;
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER);
+            LineStore.readFully(channel, footer, channel.size() - FOOTER);
+            footer.flip();
+            long dictionaryPosition = footer.getLong();
+            firstLine = footer.getLong();
+            endLine = footer.getLong();
+            level = footer.getInt();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Not a segment of the search index: " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() - FOOTER - dictionaryPosition));
+            LineStore.readFully(channel, buffer, dictionaryPosition);
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+            int words = input.readInt();
+            for (int i = 0; i < words; i++) {
+                dictionary.put(input.readUTF(), new long[]{input.readLong(), input.readInt(), input.readInt()});
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    static Segment open(Path file) throws IOException {
+        return new Segment(file);
+    }
+
+    /**
+     * @return True if the file name is the one of a segment
+     */
+    static boolean isSegmentFile(Path file) {
+        return FILE_PATTERN.matcher(file.getFileName().toString()).matches();
+    }
+
+    /**
+     * Writes a new segment, under a temporary name that is renamed when the file is complete.
+     *
+     * @param directory The directory of the index
+     * @param postings  The line numbers of every word, in ascending order
+     * @param firstLine The first line of the segment
+     * @param endLine   The line after the last line of the segment
+     * @param level     0 for a new segment, one more than the merged segments for a merged one
+     * @return The open segment
+     */
+    static Segment write(Path directory, NavigableMap<String, long[]> postings, long firstLine, long endLine, int level) throws IOException {
+        Path file = directory.resolve(String.format("segment-%012d-%012d.seg", firstLine, endLine));
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+            DataOutputStream dictionaryOutput = new DataOutputStream(dictionary);
+            dictionaryOutput.writeInt(postings.size());
+            ByteArrayOutputStream list = new ByteArrayOutputStream();
+            for (Map.Entry<String, long[]> entry : postings.entrySet()) {
+                list.reset();
+                long previous = firstLine;
+                for (long line : entry.getValue()) {
+                    writeVarLong(list, line - previous);
+                    previous = line;
+                }
+                dictionaryOutput.writeUTF(entry.getKey());
+                dictionaryOutput.writeLong(output.size());
+                dictionaryOutput.writeInt(list.size());
+                dictionaryOutput.writeInt(entry.getValue().length);
+                list.writeTo(output);
+            }
+            long dictionaryPosition = output.size();
+            dictionary.writeTo(output);
+            output.writeLong(dictionaryPosition);
+            output.writeLong(firstLine);
+            output.writeLong(endLine);
+            output.writeInt(level);
+            output.writeInt(MAGIC);
+            output.flush();
+        }
+        try (FileChannel written = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            written.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Segment(file);
+    }
+
+    /**
+     * Merges segments of consecutive line ranges into one segment of the next level.
+     */
+    static Segment merge(Path directory, List<Segment> segments) throws IOException {
+        TreeSet<String> words = new TreeSet<>();
+        for (Segment segment : segments) {
+            words.addAll(segment.dictionary.keySet());
+        }
+        NavigableMap<String, long[]> postings = new TreeMap<>();
+        for (String word : words) {
+            long[][] parts = new long[segments.size()][];
+            int total = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                parts[i] = segments.get(i).postings(word);
+                total += parts[i].length;
+            }
+            long[] merged = new long[total];
+            int position = 0;
+            for (long[] part : parts) {
+                System.arraycopy(part, 0, merged, position, part.length);
+                position += part.length;
+            }
+            postings.put(word, merged);
+        }
+        Segment first = segments.get(0);
+        Segment last = segments.get(segments.size() - 1);
+        return write(directory, postings, first.firstLine, last.endLine, last.level + 1);
+    }
+
+    /**
+     * @return The line numbers of the word, in ascending order
+     */
+    long[] postings(String word) throws IOException {
+        long[] entry = dictionary.get(word);
+        if (entry == null) {
+            return new long[0];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) entry[1]);
+        LineStore.readFully(channel, buffer, entry[0]);
+        InputStream input = new ByteArrayInputStream(buffer.array());
+        long[] lines = new long[(int) entry[2]];
+        long previous = firstLine;
+        for (int i = 0; i < lines.length; i++) {
+            previous += readVarLong(input);
+            lines[i] = previous;
+        }
+        return lines;
+    }
+
+    long getFirstLine() {
+        return firstLine;
+    }
+
+    long getEndLine() {
+        return endLine;
+    }
+
+    int getLevel() {
+        return level;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    synchronized void acquire() {
+        references++;
+    }
+
+    /**
+     * The index no longer uses the segment, because it was merged into another. It is deleted when the last query
+     * that uses it has finished.
+     */
+    synchronized void retire() throws IOException {
+        deleteWhenClosed = true;
+        release();
+    }
+
+    synchronized void release() throws IOException {
+        if (--references == 0) {
+            channel.close();
+            if (deleteWhenClosed) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        release();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarLong(InputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new IOException("Unexpected end of the postings");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ch.erzberger.emulation.sender;
+
+import ch.erzberger.emulation.common.FileParserHelper;
+import ch.erzberger.emulation.communication.PrintDataWriter;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Sends the same print jobs to several printers at the same time. Each writer gets its own thread, so that
+ * the pacing of one writer (the IR transmission and the print time of each line) does not slow down the others.
+ * A writer that fails does not affect the other writers; the failure is recorded in its {@link WriterProgress}.
+ * While sending, the combined progress of all writers is logged periodically.
+ */
+@Log
+public class FanOutSender {
+    private final List<PrintDataWriter> writers;
+    private final List<byte[]> lines;
+    private final long readyTimeout;
+    private final long reportInterval;
+    @Getter
+    private final List<WriterProgress> progress = new ArrayList<>();
+    private long startNanos;
+
+    /**
+     * @param writers        The writers to send the data to
+     * @param lines          Pseudo-lines of printer data, as produced by FileParserHelper.readNextLine()
+     * @param readyTimeout   Maximum wait time for each writer to get ready, in milliseconds
+     * @param reportInterval Interval for the combined progress report, in milliseconds
+     */
+    public FanOutSender(List<PrintDataWriter> writers, List<byte[]> lines, long readyTimeout, long reportInterval) {
+        this.writers = List.copyOf(writers);
+        this.lines = List.copyOf(lines);
+        this.readyTimeout = readyTimeout;
+        this.reportInterval = reportInterval;
+        for (PrintDataWriter writer : this.writers) {
+            progress.add(new WriterProgress(writer.getDeviceName(), this.lines.size()));
+        }
+    }
+
+    /**
+     * Reads all jobs into memory, so that each writer can send them independently.
+     *
+     * @param jobs The YAML files to send, in order
+     * @return The pseudo-lines of all jobs
+     */
+    public static List<byte[]> readJobs(List<Path> jobs) {
+        List<byte[]> lines = new ArrayList<>();
+        for (Path job : jobs) {
+            FileParserHelper helper = new FileParserHelper(job);
+            while (helper.hasNextLine()) {
+                lines.add(helper.readNextLine());
+            }
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * Sends all lines to all writers, and blocks until every writer is done or has failed.
+     *
+     * @return true if all writers received all data
+     */
+    public boolean send() {
+        startNanos = System.nanoTime();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fan-out-progress");
+            t.setDaemon(true);
+            return t;
+        });
+        reporter.scheduleAtFixedRate(this::logProgress, reportInterval, reportInterval, TimeUnit.MILLISECONDS);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < writers.size(); i++) {
+            PrintDataWriter writer = writers.get(i);
+            WriterProgress writerProgress = progress.get(i);
+            Thread t = new Thread(() -> sendToWriter(writer, writerProgress), "sender-" + writer.getDeviceName());
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                log.log(Level.INFO, "Thread interrupted", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+        reporter.shutdownNow();
+        logProgress();
+        return progress.stream().noneMatch(WriterProgress::isFailed);
+    }
+
+    private void sendToWriter(PrintDataWriter writer, WriterProgress writerProgress) {
+        try {
+            if (!writer.waitUntilReady(readyTimeout)) {
+                writerProgress.fail("Device did not become ready");
+                return;
+            }
+            for (byte[] line : lines) {
+                writer.sendBytes(line);
+                writerProgress.lineSent(line.length);
+            }
+            writer.flush();
+            writerProgress.done();
+        } catch (RuntimeException ex) {
+            // Isolate the failure: Only this writer stops, the others keep on sending
+            log.log(Level.SEVERE, String.format("Sending to %s failed", writer.getDeviceName()), ex);
+            writerProgress.fail(ex.toString());
+        }
+    }
+
+    private void logProgress() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        long totalLines = 0;
+        long totalBytes = 0;
+        int finished = 0;
+        int failed = 0;
+        for (WriterProgress writerProgress : progress) {
+            totalLines += writerProgress.getLinesSent();
+            totalBytes += writerProgress.getBytesSent();
+            if (writerProgress.isFinished()) {
+                finished++;
+            }
+            if (writerProgress.isFailed()) {
+                failed++;
+            }
+            log.log(Level.FINE, "{0}: {1} of {2} lines, {3} bytes{4}", new Object[]{writerProgress.getDeviceName(),
+                    writerProgress.getLinesSent(), writerProgress.getLinesTotal(), writerProgress.getBytesSent(),
+                    writerProgress.isFailed() ? ", failed: " + writerProgress.getFailure() : ""});
+        }
+        log.log(Level.INFO, "{0} printers ({1} finished, {2} failed): {3} of {4} lines, {5} bytes/s",
+                new Object[]{progress.size(), finished, failed, totalLines, (long) lines.size() * progress.size(),
+                        String.format("%.1f", totalBytes / seconds)});
+    }
+
+    /**
+     * Progress of one writer. Updated by the writer's thread, read by the progress reporter.
+     */
+    @Getter
+    public static class WriterProgress {
+        private final String deviceName;
+        private final long linesTotal;
+        @Getter(AccessLevel.NONE)
+        private final AtomicLong linesSentCounter = new AtomicLong();
+        @Getter(AccessLevel.NONE)
+        private final AtomicLong bytesSentCounter = new AtomicLong();
+        private volatile boolean finished = false;
+        private volatile String failure = null;
+
+        WriterProgress(String deviceName, long linesTotal) {
+            this.deviceName = deviceName;
+            this.linesTotal = linesTotal;
+        }
+
+        void lineSent(int bytes) {
+            linesSentCounter.incrementAndGet();
+            bytesSentCounter.addAndGet(bytes);
+        }
+
+        void done() {
+            finished = true;
+        }
+
+        void fail(String reason) {
+            failure = reason;
+            finished = true;
+        }
+
+        public long getLinesSent() {
+            return linesSentCounter.get();
+        }
+
+        public long getBytesSent() {
+            return bytesSentCounter.get();
+        }
+
+        public boolean isFailed() {
+            return failure != null;
+        }
+    }
+}
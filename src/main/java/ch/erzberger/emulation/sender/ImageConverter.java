@@ -0,0 +1,238 @@
+package ch.erzberger.emulation.sender;
+
+import ch.erzberger.emulation.common.CmdLineArgsChecker;
+import ch.erzberger.emulation.communication.PrintDataWriter;
+import ch.erzberger.emulation.communication.SerialArduinoWriterImpl;
+import ch.erzberger.emulation.communication.StdOutWriterImpl;
+import lombok.extern.java.Log;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+
+import static ch.erzberger.emulation.common.CmdLineArgsChecker.*;
+
+/**
+ * Converts an arbitrary image (PNG, JPEG) into printer graphics. The image is scaled to the full width of
+ * 166 dots. The printer's pixels are not square (92 dpi horizontal, 76 dpi vertical, see documentation/aspect),
+ * so the height is scaled down accordingly to keep the aspect ratio on paper.
+ * The scaled image is dithered to black and white, and every band of 8 rows becomes one line of printer data:
+ * ESC, the number of graphic bytes, one byte per column (bit 0 is the top row), and a line feed.
+ * <p></p>
+ * Dithering uses an 8x8 ordered (Bayer) matrix. Unlike error diffusion, every band can then be dithered on
+ * its own, so the bands are converted in parallel. They are still handed to the output strictly in order,
+ * as soon as they are ready, so that a long image starts printing long before it is fully converted.
+ */
+@Log
+public class ImageConverter {
+    static {
+        // Load the logging properties from the jar file
+        try (InputStream is = ImageConverter.class.getClassLoader().
+                getResourceAsStream("logging.properties")) {
+            LogManager.getLogManager().readConfiguration(is);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Cannot load log properties from jar file");
+        }
+    }
+
+    public static final int COLUMNS = 166;
+    private static final int ROWS = 8;
+    private static final double HORIZONTAL_DPI = 92.0;
+    private static final double VERTICAL_DPI = 76.0;
+    private static final int[][] BAYER = {
+            {0, 32, 8, 40, 2, 34, 10, 42},
+            {48, 16, 56, 24, 50, 18, 58, 26},
+            {12, 44, 4, 36, 14, 46, 6, 38},
+            {60, 28, 52, 20, 62, 30, 54, 22},
+            {3, 35, 11, 43, 1, 33, 9, 41},
+            {51, 19, 59, 27, 49, 17, 57, 25},
+            {15, 47, 7, 39, 13, 45, 5, 37},
+            {63, 31, 55, 23, 61, 29, 53, 21}};
+
+    private final byte[] grayPixels; // The scaled image, one byte per pixel, row by row
+    private final int height;
+
+    public ImageConverter(BufferedImage source) {
+        BufferedImage scaled = scale(source);
+        this.height = scaled.getHeight();
+        this.grayPixels = ((DataBufferByte) scaled.getRaster().getDataBuffer()).getData();
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> arguments = new CmdLineArgsChecker().checkConverterArgs(args);
+        String port = arguments.get(PORTARG);
+        if (port == null) {
+            System.exit(-1); // Error message will be written by the Cmd Line checker
+        }
+        Path imageFile = Paths.get(arguments.get(FILEARG));
+        BufferedImage image;
+        try {
+            image = ImageIO.read(imageFile.toFile());
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Cannot read the image file", ex);
+            image = null;
+        }
+        if (image == null) {
+            log.log(Level.SEVERE, "Not a supported image: {0}", imageFile);
+            System.exit(-1);
+        }
+        ImageConverter converter = new ImageConverter(image);
+        log.log(Level.INFO, "Converting {0} into {1} lines", new Object[]{imageFile, converter.getBandCount()});
+        String output = arguments.get(OUTPUTARG);
+        if (output != null) {
+            try (BufferedWriter yaml = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+                yaml.write("title: " + imageFile.getFileName() + System.lineSeparator());
+                yaml.write("purpose: Image converted by the ImageConverter" + System.lineSeparator());
+                yaml.write("hp82240PrintData:" + System.lineSeparator());
+                converter.convert(band -> writeYaml(yaml, band));
+            } catch (IOException | UncheckedIOException ex) {
+                log.log(Level.SEVERE, "Cannot write the YAML file", ex);
+                System.exit(-1);
+            }
+            System.exit(0);
+        }
+        PrintDataWriter handler = STDOUT.equals(port) ? new StdOutWriterImpl() : new SerialArduinoWriterImpl(port);
+        log.log(Level.INFO, "Using port: {0}", handler.getDeviceName());
+        if (!handler.waitUntilReady(5000L)) {
+            log.log(Level.SEVERE, "Device {0} did not become ready", handler.getDeviceName());
+        }
+        converter.convert(handler::sendBytes);
+        handler.flush();
+        System.exit(0);
+    }
+
+    /**
+     * @return The number of printer lines (bands of 8 rows) of the converted image
+     */
+    public int getBandCount() {
+        return (height + ROWS - 1) / ROWS;
+    }
+
+    /**
+     * Converts all bands in parallel, and hands them to the sink in order. The sink is called on the calling
+     * thread, so it may block (e.g. a paced PrintDataWriter) without holding up the conversion of the next bands.
+     *
+     * @param sink Receives the printer data of one band after the other
+     */
+    public void convert(Consumer<byte[]> sink) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "image-converter");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            // Keep a limited number of bands ahead of the sink, so that a huge image does not fill the memory
+            Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+            int nextBand = 0;
+            while (nextBand < getBandCount() || !inFlight.isEmpty()) {
+                while (nextBand < getBandCount() && inFlight.size() < threads * 2) {
+                    int band = nextBand++;
+                    inFlight.add(pool.submit(() -> encodeBand(band)));
+                }
+                sink.accept(waitFor(inFlight.remove()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Dithers one band of 8 rows and encodes it as a graphics block followed by a line feed.
+     *
+     * @param band The band to encode, starting at 0
+     * @return ESC, 166, 166 column bytes, LF
+     */
+    public byte[] encodeBand(int band) {
+        byte[] line = new byte[COLUMNS + 3];
+        line[0] = 0x1B;
+        line[1] = (byte) COLUMNS;
+        for (int column = 0; column < COLUMNS; column++) {
+            int bits = 0;
+            for (int row = 0; row < ROWS; row++) {
+                int y = band * ROWS + row;
+                if (y >= height) {
+                    break; // The last band might be incomplete, leave the remaining rows white
+                }
+                int gray = grayPixels[y * COLUMNS + column] & 0xFF;
+                // Scale the Bayer matrix value to a threshold between 2 and 254
+                int threshold = BAYER[y % 8][column % 8] * 4 + 2;
+                if (gray < threshold) {
+                    bits |= 1 << row;
+                }
+            }
+            line[column + 2] = (byte) bits;
+        }
+        line[COLUMNS + 2] = 0x0A;
+        return line;
+    }
+
+    /**
+     * Scale the image to 166 columns, correcting for the printer's aspect ratio, and convert it to gray scale.
+     * Large images are halved step by step first, which gives a much better result than scaling in one go.
+     */
+    static BufferedImage scale(BufferedImage source) {
+        double factor = (double) COLUMNS / source.getWidth();
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * factor * VERTICAL_DPI / HORIZONTAL_DPI));
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= COLUMNS && current.getHeight() / 2 >= targetHeight) {
+            current = drawScaled(current, current.getWidth() / 2, current.getHeight() / 2, BufferedImage.TYPE_INT_RGB);
+        }
+        return drawScaled(current, COLUMNS, targetHeight, BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    private static BufferedImage drawScaled(BufferedImage source, int width, int height, int type) {
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D g2 = scaled.createGraphics();
+        // Transparent parts of the image end up white, like the paper
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, width, height);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.drawImage(source, 0, 0, width, height, null);
+        g2.dispose();
+        return scaled;
+    }
+
+    private static byte[] waitFor(Future<byte[]> band) {
+        try {
+            return band.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while converting the image", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Converting the image failed", e.getCause());
+        }
+    }
+
+    private static void writeYaml(BufferedWriter yaml, byte[] band) {
+        // The graphic element holds the column bytes only, without ESC, length and line feed
+        String columns = HexFormat.of().withUpperCase().formatHex(band, 2, band.length - 1);
+        try {
+            yaml.write("    - graphic: " + columns + System.lineSeparator());
+            yaml.write("    - linefeed: regular" + System.lineSeparator());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -9,7 +9,10 @@ import lombok.extern.java.Log;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -34,26 +37,57 @@ public class RedEyeSender {
         if (port == null) {
             System.exit(-1); // Error message will be written by the Cmd Line checker
         }
-        PrintDataWriter handler;
-        if (STDOUT.equals(port)) {
-            handler = new StdOutWriterImpl();
-        } else {
-            handler = new SerialArduinoWriterImpl(port);
+        List<Path> files = new ArrayList<>();
+        if (arguments.get(FILEARG) != null) {
+            for (String file : arguments.get(FILEARG).split(",")) {
+                files.add(Paths.get(file.trim()));
+            }
+        }
+        String[] ports = port.split(",");
+        if (ports.length > 1) {
+            if (files.isEmpty()) {
+                log.log(Level.SEVERE, "Sending to several ports needs at least one input file");
+                System.exit(-1);
+            }
+            // Several printers: Send all files to all of them in parallel
+            List<PrintDataWriter> writers = new ArrayList<>();
+            for (String singlePort : ports) {
+                writers.add(createWriter(singlePort.trim()));
+            }
+            FanOutSender sender = new FanOutSender(writers, FanOutSender.readJobs(files), 5000L, 10000L);
+            System.exit(sender.send() ? 0 : -1);
         }
+        PrintDataWriter handler = createWriter(port);
         log.log(Level.INFO, "Using port: {0}", handler.getDeviceName());
         // Wait for the Sending device to get ready
         if (!handler.waitUntilReady(5000L)) {
             log.log(Level.SEVERE, "Device {0} did not become ready", handler.getDeviceName());
         }
-        log.log(Level.INFO, "Sender is ready");
-        // Start reading the file byte by byte, and sending each line to the Arduino
-        FileParserHelper helper = new FileParserHelper(Paths.get(arguments.get(FILEARG)));
-        byte[] buffer;
-        while (helper.hasNextLine()) {
-            buffer = helper.readNextLine();
-            handler.sendBytes(buffer);
+        if (handler.getTimeToReady() != null) {
+            log.log(Level.INFO, "Sender is ready after {0} ms", handler.getTimeToReady().toMillis());
+        }
+        if (files.isEmpty()) {
+            // No file: Send whatever arrives on stdin, line by line
+            new StreamSender(handler::sendBytes, arguments.get(TEXTARG) != null).send(System.in);
+        }
+        // Start reading the file(s) byte by byte, and sending each line to the Arduino
+        for (Path file : files) {
+            FileParserHelper helper = new FileParserHelper(file);
+            byte[] buffer;
+            while (helper.hasNextLine()) {
+                buffer = helper.readNextLine();
+                handler.sendBytes(buffer);
+            }
         }
         handler.flush();
         System.exit(0);
     }
+
+    private static PrintDataWriter createWriter(String port) {
+        if (STDOUT.equals(port)) {
+            return new StdOutWriterImpl();
+        } else {
+            return new SerialArduinoWriterImpl(port);
+        }
+    }
 }
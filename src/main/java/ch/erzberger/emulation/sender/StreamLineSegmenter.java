@@ -0,0 +1,88 @@
+package ch.erzberger.emulation.sender;
+
+import ch.erzberger.emulation.common.Hp82240EscapeCodes;
+import lombok.extern.java.Log;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Cuts a continuous stream of printer data into pseudo-lines, the same way the FileParserHelper does for
+ * YAML files: A pseudo-line ends with a line feed (0x04 or 0x0A). Bytes that are part of an escape sequence or
+ * of a graphics block are never taken as a line feed.
+ * The printer buffers only 200 bytes. A line that gets longer than that overflows the printer anyway, so it is
+ * passed on in pieces of at most 200 bytes instead of being held back until the line feed finally arrives.
+ */
+@Log
+public class StreamLineSegmenter {
+    public static final int PRINTER_BUFFER_SIZE = 200;
+    private static final int ESC = 0x1B;
+
+    private final Consumer<byte[]> sink;
+    private final byte[] lineBuffer = new byte[PRINTER_BUFFER_SIZE];
+    private int lineLength = 0;
+    private boolean escInProgress = false;
+    private int graphicsBytesRemaining = 0;
+
+    /**
+     * @param sink Receives the pseudo-lines, e.g. PrintDataWriter.sendBytes()
+     */
+    public StreamLineSegmenter(Consumer<byte[]> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Appends a chunk of data. Every line that is completed by the chunk is passed on right away.
+     *
+     * @param data   Buffer with the data
+     * @param offset Start of the data in the buffer
+     * @param length Number of bytes
+     */
+    public void accept(byte[] data, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            int input = data[i] & 0xFF;
+            lineBuffer[lineLength++] = (byte) input;
+            if (isLineFeed(input)) {
+                emit();
+            } else if (lineLength == PRINTER_BUFFER_SIZE) {
+                log.log(Level.WARNING, "More than {0} bytes without a line feed, the printer buffer will overflow", PRINTER_BUFFER_SIZE);
+                emit();
+            }
+        }
+    }
+
+    /**
+     * Passes on an incomplete line, e.g. because no more data is available at the moment.
+     */
+    public void flushPartial() {
+        if (lineLength > 0) {
+            emit();
+        }
+    }
+
+    private boolean isLineFeed(int input) {
+        if (graphicsBytesRemaining > 0) {
+            graphicsBytesRemaining--;
+            return false;
+        }
+        if (escInProgress) {
+            escInProgress = false;
+            if (Hp82240EscapeCodes.getEscapeCodeByCode(input) == Hp82240EscapeCodes.GRAPHICS_MODE) {
+                graphicsBytesRemaining = input;
+            }
+            return false;
+        }
+        if (input == ESC) {
+            escInProgress = true;
+            return false;
+        }
+        return input == 0x04 || input == 0x0A;
+    }
+
+    private void emit() {
+        byte[] line = Arrays.copyOf(lineBuffer, lineLength);
+        lineLength = 0;
+        sink.accept(line);
+    }
+}
@@ -0,0 +1,78 @@
+package ch.erzberger.emulation.sender;
+
+import ch.erzberger.emulation.common.Hp82240aCharsetProvider;
+import lombok.extern.java.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Sends printer data from a stream (usually stdin) while it arrives. Nothing is buffered beyond the current line:
+ * Each line is sent as soon as its line feed has been read, and an incomplete line is sent as soon as the producer
+ * pauses. The stream either contains raw printer bytes, or UTF-8 text that is converted into the printer charset.
+ */
+@Log
+public class StreamSender {
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private final StreamLineSegmenter segmenter;
+    private final boolean isText;
+
+    /**
+     * @param sink   Receives the pseudo-lines, e.g. PrintDataWriter.sendBytes()
+     * @param isText true if the stream is UTF-8 text, false for raw printer bytes
+     */
+    public StreamSender(Consumer<byte[]> sink, boolean isText) {
+        this.segmenter = new StreamLineSegmenter(sink);
+        this.isText = isText;
+    }
+
+    /**
+     * Reads the stream until it ends, and sends the data on the way.
+     *
+     * @param in The stream to read
+     */
+    public void send(InputStream in) {
+        try {
+            if (isText) {
+                sendText(new InputStreamReader(in, StandardCharsets.UTF_8));
+            } else {
+                sendRaw(in);
+            }
+        } catch (IOException ex) {
+            log.log(Level.SEVERE, "Error while reading the input stream", ex);
+        }
+        segmenter.flushPartial();
+    }
+
+    private void sendRaw(InputStream in) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int bytesRead;
+        // read() returns as soon as some data is available, it does not wait for the buffer to fill up
+        while ((bytesRead = in.read(buffer)) >= 0) {
+            segmenter.accept(buffer, 0, bytesRead);
+            if (in.available() == 0) {
+                segmenter.flushPartial();
+            }
+        }
+    }
+
+    private void sendText(Reader in) throws IOException {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int charsRead;
+        while ((charsRead = in.read(buffer)) >= 0) {
+            // Carriage returns (e.g. from Windows line ends) would be printed as characters, drop them
+            String text = new String(buffer, 0, charsRead).replace("\r", "");
+            byte[] converted = text.getBytes(Hp82240aCharsetProvider.hp82240a());
+            segmenter.accept(converted, 0, converted.length);
+            if (!in.ready()) {
+                segmenter.flushPartial();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ch.erzberger.emulation.session;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import ch.erzberger.emulation.hp41printer.JobSegmenter;
+import ch.erzberger.emulation.hp41printer.Paper;
+import ch.erzberger.emulation.hp41printer.PrinterOptions;
+import ch.erzberger.emulation.hp41printer.PrinterSetup;
+import lombok.extern.java.Log;
+
+import java.net.InetSocketAddress;
+import java.util.logging.Level;
+
+/**
+ * The printer of one network bridge, which continues when the bridge reconnects. Every connection gets its own
+ * decoder, so a connection that breaks off in the middle of an escape sequence or of graphics data does not garble
+ * the next one. The bridge can only have one connection at a time: a second one is refused, because its lines would
+ * be mixed into the same pages.
+ * <p></p>
+ * Only called on the selector thread of the TCP reader; the decoders run on the session.
+ */
+@Log
+public class BridgePrinter {
+    private final SessionScheduler.Session session;
+    private final Paper paper;
+    private final PrinterOptions options;
+    private InetSocketAddress connection = null;
+    private ByteProcessor decoder = null;
+
+    /**
+     * @param session The session that processes the data of all connections, see {@link SessionScheduler#newSession(String)}
+     * @param paper   The paper of the printer, see {@link PrinterSetup#createPaper}
+     * @param options The options of the printer
+     */
+    public BridgePrinter(SessionScheduler.Session session, Paper paper, PrinterOptions options) {
+        this.session = session;
+        this.paper = paper;
+        this.options = options;
+    }
+
+    public SessionScheduler.Session getSession() {
+        return session;
+    }
+
+    /**
+     * @param remote The address of the new connection
+     * @return The processor for the data of the connection
+     * @throws IllegalStateException If the bridge is still connected
+     */
+    public ByteProcessor connect(InetSocketAddress remote) {
+        if (connection != null) {
+            throw new IllegalStateException(String.format("Session %s is already connected from %s, refusing %s",
+                    session.getName(), connection, remote));
+        }
+        connection = remote;
+        decoder = PrinterSetup.createProcessor(paper, options, null);
+        return session.connect(decoder);
+    }
+
+    /**
+     * Ends the job of the connection, after its data has been processed.
+     *
+     * @param remote The address of the connection that was closed
+     */
+    public void disconnected(InetSocketAddress remote) {
+        if (!remote.equals(connection)) {
+            return; // A refused connection
+        }
+        if (decoder instanceof JobSegmenter) {
+            JobSegmenter segmenter = (JobSegmenter) decoder;
+            segmenter.close();
+            session.execute(segmenter::tearOff);
+        }
+        log.log(Level.FINE, "Session {0} disconnected from {1}", new Object[]{session.getName(), remote});
+        connection = null;
+        decoder = null;
+    }
+}
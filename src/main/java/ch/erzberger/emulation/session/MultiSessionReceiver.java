@@ -0,0 +1,130 @@
+package ch.erzberger.emulation.session;
+
+import ch.erzberger.emulation.communication.PrintDataReader;
+import ch.erzberger.emulation.communication.SerialHpIrReaderImpl;
+import ch.erzberger.emulation.communication.StdInReaderImpl;
+import ch.erzberger.emulation.communication.TcpReaderImpl;
+import ch.erzberger.emulation.hp41printer.PrinterOptions;
+import ch.erzberger.emulation.hp41printer.PrinterSetup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import lombok.extern.java.Log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+import static ch.erzberger.emulation.common.CmdLineArgsChecker.STDIN;
+
+/**
+ * Serves several printers from one process. Each session has its own reader, byte processor and output directory,
+ * and the received data of all sessions is processed on the threads of one {@link SessionScheduler}.
+ * A session that cannot be opened is logged and skipped, the others are served anyway.
+ */
+@Log
+public class MultiSessionReceiver {
+    private final SessionsFile sessionsFile;
+    private final Function<SessionDefinition, PrintDataReader> readerFactory;
+    private final SessionScheduler scheduler;
+    private final List<SessionScheduler.Session> sessions = new ArrayList<>();
+
+    /**
+     * @param sessionsFile The sessions to serve
+     */
+    public MultiSessionReceiver(SessionsFile sessionsFile) {
+        this(sessionsFile, MultiSessionReceiver::openReader);
+    }
+
+    MultiSessionReceiver(SessionsFile sessionsFile, Function<SessionDefinition, PrintDataReader> readerFactory) {
+        this.sessionsFile = sessionsFile;
+        this.readerFactory = readerFactory;
+        this.scheduler = new SessionScheduler(sessionsFile.getThreads());
+    }
+
+    /**
+     * Reads the sessions from a YAML file.
+     *
+     * @param file The YAML file
+     * @return The sessions in the file
+     */
+    public static SessionsFile readSessions(Path file) {
+        var mapper = new ObjectMapper(new YAMLFactory());
+        SessionsFile sessionsFile;
+        try {
+            sessionsFile = mapper.readValue(file.toFile(), SessionsFile.class);
+        } catch (IOException e) {
+            throw new NoClassDefFoundError(String.format("Cannot read the sessions file. Error: %s", e.getMessage()));
+        }
+        if (sessionsFile.getSessions() == null || sessionsFile.getSessions().isEmpty()) {
+            throw new NoClassDefFoundError(String.format("No sessions defined in %s", file));
+        }
+        Set<String> names = new HashSet<>();
+        for (SessionDefinition definition : sessionsFile.getSessions()) {
+            if (definition.getName() == null || !names.add(definition.getName())) {
+                throw new NoClassDefFoundError(String.format("Every session needs a unique name: %s", definition));
+            }
+        }
+        return sessionsFile;
+    }
+
+    /**
+     * Opens the readers of all sessions. The data is processed in the background until {@link #close()}.
+     *
+     * @return The number of sessions that were started
+     */
+    public int start() {
+        for (SessionDefinition definition : sessionsFile.getSessions()) {
+            String output = definition.getOutput() != null ? definition.getOutput() : definition.getName();
+            Path outputDirectory = Paths.get(output);
+            try {
+                Files.createDirectories(outputDirectory);
+                PrintDataReader reader = readerFactory.apply(definition);
+                PrinterOptions options = definition.toPrinterOptions();
+                SessionScheduler.Session session;
+                if (reader instanceof TcpReaderImpl) {
+                    // One network bridge, with a new decoder for every connection
+                    session = scheduler.newSession(definition.getName());
+                    BridgePrinter bridge = new BridgePrinter(session, PrinterSetup.createPaper(outputDirectory, options, null), options);
+                    ((TcpReaderImpl) reader).registerConnectionFactory(bridge::connect, bridge::disconnected);
+                } else {
+                    session = scheduler.newSession(definition.getName(), PrinterSetup.create(outputDirectory, options, null));
+                    reader.registerCallback(session);
+                }
+                sessions.add(session);
+                log.log(Level.INFO, "Session {0} reads from {1} and writes to {2}",
+                        new Object[]{definition.getName(), reader.getDeviceName(), outputDirectory.toAbsolutePath()});
+            } catch (IOException | RuntimeException | NoClassDefFoundError ex) {
+                // The readers report a missing port with a NoClassDefFoundError
+                log.log(Level.SEVERE, String.format("Session %s not started", definition.getName()), ex);
+            }
+        }
+        log.log(Level.INFO, "Serving {0} of {1} sessions on {2} threads",
+                new Object[]{sessions.size(), sessionsFile.getSessions().size(), sessionsFile.getThreads()});
+        return sessions.size();
+    }
+
+    /**
+     * Processes everything that was received so far, and stops the session threads.
+     */
+    public void close() {
+        scheduler.close(sessions);
+    }
+
+    private static PrintDataReader openReader(SessionDefinition definition) {
+        if (STDIN.equalsIgnoreCase(definition.getPort())) {
+            return new StdInReaderImpl();
+        }
+        if (TcpReaderImpl.isTcpPort(definition.getPort())) {
+            // All connections to the port go to this session, i.e. one network bridge per session
+            return new TcpReaderImpl(TcpReaderImpl.parseAddress(definition.getPort()));
+        }
+        return new SerialHpIrReaderImpl(definition.getPort());
+    }
+}
@@ -0,0 +1,52 @@
+package ch.erzberger.emulation.session;
+
+import ch.erzberger.emulation.hp41printer.PrinterOptions;
+import lombok.Data;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * One printer of a multi-session receiver: The port it listens on, and the directory for its output files.
+ * If no output directory is given, the name of the session is used. With linesPerPage, the output is split into pages,
+ * with jobIdleSeconds into jobs (0 to end jobs on reset and self test only). With archive, the finished pages are moved
+ * into compressed archives in that directory, which are kept for archiveDays or up to archiveMegabytes. With index,
+ * the printed text is added to a search index in that directory; every session needs its own. With tiles, the roll
+ * is also drawn as tiles. With durableCommitMillis, the current page is kept in a journal that survives a crash.
+ */
+@Data
+public class SessionDefinition {
+    private String name;
+    private String port;
+    private String output;
+    private boolean modelA;
+    private int linesPerPage;
+    private Integer jobIdleSeconds;
+    private String archive;
+    private int archiveDays;
+    private int archiveMegabytes;
+    private String index;
+    private boolean tiles;
+    private Integer durableCommitMillis;
+
+    /**
+     * @return The options of the printer of this session
+     */
+    public PrinterOptions toPrinterOptions() {
+        PrinterOptions options = new PrinterOptions();
+        options.setUseModelA(modelA);
+        options.setLinesPerPage(linesPerPage);
+        options.setJobIdleMillis(jobIdleSeconds != null ? jobIdleSeconds * 1000L : PrinterOptions.NO_JOBS);
+        if (archive != null) {
+            options.setArchiveDirectory(Paths.get(archive));
+            options.setArchiveMaxAge(archiveDays > 0 ? Duration.ofDays(archiveDays) : null);
+            options.setArchiveMaxBytes(archiveMegabytes * 1024L * 1024L);
+        }
+        options.setTiles(tiles);
+        options.setDurableCommitMillis(durableCommitMillis != null ? durableCommitMillis : PrinterOptions.NOT_DURABLE);
+        if (index != null) {
+            options.setIndexDirectory(Paths.get(index));
+        }
+        return options;
+    }
+}
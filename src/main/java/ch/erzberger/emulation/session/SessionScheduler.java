@@ -0,0 +1,200 @@
+package ch.erzberger.emulation.session;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import lombok.extern.java.Log;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Runs the byte processors of many sessions on a small shared thread pool. The readers only queue the received
+ * data and return; a session is scheduled on the pool while it has queued data, so an idle session does not hold
+ * a thread. The data of one session is always processed in order and by one thread at a time.
+ */
+@Log
+public class SessionScheduler {
+    // After this many blocks a busy session goes back to the end of the pool's queue, so that it cannot starve others
+    private static final int BLOCKS_PER_TURN = 16;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param threads Number of threads shared by all sessions
+     */
+    public SessionScheduler(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads),
+                r -> new Thread(r, "session-worker-" + threadNumber.incrementAndGet()));
+    }
+
+    /**
+     * @param name   Name of the session, for the log
+     * @param target The processor of the session, called on the pool
+     * @return A processor for the reader of the session, which queues the data for the target
+     */
+    public Session newSession(String name, ByteProcessor target) {
+        return new Session(name, target);
+    }
+
+    /**
+     * @param name Name of the session, for the log
+     * @return A session whose data only comes from its connections, see {@link Session#connect(ByteProcessor)}
+     */
+    public Session newSession(String name) {
+        return new Session(name, null);
+    }
+
+    /**
+     * Waits until the sessions have processed everything that was queued, and stops the threads.
+     * The readers must be stopped before.
+     *
+     * @param sessions The sessions of this scheduler
+     */
+    public void close(Iterable<Session> sessions) {
+        try {
+            for (Session session : sessions) {
+                session.awaitIdle();
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.log(Level.WARNING, "Session threads did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            log.log(Level.INFO, "Thread interrupted", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The processor that the reader of a session sees. Received blocks are copied, because the readers reuse their
+     * buffers.
+     */
+    public class Session implements ByteProcessor {
+        private final String name;
+        private final ByteProcessor target; // null if the data only comes from connections
+        private final Queue<Block> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Session(String name, ByteProcessor target) {
+            this.name = name;
+            this.target = target;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void processByte(byte byteReceived) {
+            processBytes(new byte[]{byteReceived}, 0, 1, System.nanoTime());
+        }
+
+        @Override
+        public void processBytes(byte[] bytes, int offset, int length, long arrivalNanos) {
+            if (target == null) {
+                throw new IllegalStateException(String.format("Session %s only takes data from its connections", name));
+            }
+            queue(target, bytes, offset, length, arrivalNanos);
+        }
+
+        /**
+         * A connection of the session, with its own processor (e.g. its own decoder). The data of all connections is
+         * processed in the order it arrived and by one thread at a time, like the data of the session itself.
+         *
+         * @param connectionTarget The processor of the connection, called on the pool
+         * @return A processor for the reader of the connection
+         */
+        public ByteProcessor connect(ByteProcessor connectionTarget) {
+            return new ByteProcessor() {
+                @Override
+                public void processByte(byte byteReceived) {
+                    processBytes(new byte[]{byteReceived}, 0, 1, System.nanoTime());
+                }
+
+                @Override
+                public void processBytes(byte[] bytes, int offset, int length, long arrivalNanos) {
+                    queue(connectionTarget, bytes, offset, length, arrivalNanos);
+                }
+            };
+        }
+
+        /**
+         * Runs the action on the pool, after the data that is queued so far.
+         */
+        public void execute(Runnable action) {
+            pending.add(new Block(action));
+            schedule();
+        }
+
+        private void queue(ByteProcessor blockTarget, byte[] bytes, int offset, int length, long arrivalNanos) {
+            pending.add(new Block(blockTarget, Arrays.copyOfRange(bytes, offset, offset + length), arrivalNanos));
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Block block;
+            int blocks = 0;
+            while (blocks++ < BLOCKS_PER_TURN && (block = pending.poll()) != null) {
+                try {
+                    if (block.action != null) {
+                        block.action.run();
+                    } else {
+                        block.target.processBytes(block.data, 0, block.data.length, block.arrivalNanos);
+                    }
+                } catch (RuntimeException ex) {
+                    // Isolate the failure: The other sessions, and the next data of this one, are still processed
+                    log.log(Level.SEVERE, String.format("Session %s failed to process received data", name), ex);
+                }
+            }
+            scheduled.set(false);
+            // Data that arrived after the last poll() would otherwise wait for the next block
+            if (!pending.isEmpty()) {
+                schedule();
+            } else {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        private synchronized void awaitIdle() throws InterruptedException {
+            while (scheduled.get() || !pending.isEmpty()) {
+                wait(100L);
+            }
+        }
+    }
+
+    private static class Block {
+        final ByteProcessor target;
+        final byte[] data;
+        final long arrivalNanos;
+        final Runnable action; // Instead of data
+
+        Block(ByteProcessor target, byte[] data, long arrivalNanos) {
+            this.target = target;
+            this.data = data;
+            this.arrivalNanos = arrivalNanos;
+            this.action = null;
+        }
+
+        Block(Runnable action) {
+            this.target = null;
+            this.data = null;
+            this.arrivalNanos = 0L;
+            this.action = action;
+        }
+    }
+}
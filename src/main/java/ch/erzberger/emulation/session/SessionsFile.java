@@ -0,0 +1,15 @@
+package ch.erzberger.emulation.session;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A YAML formatted file is read into this class. It lists the printers that are served by one receiver process,
+ * and the number of threads that process the received data of all of them.
+ */
+@Data
+public class SessionsFile {
+    private int threads = 2;
+    private List<SessionDefinition> sessions;
+}
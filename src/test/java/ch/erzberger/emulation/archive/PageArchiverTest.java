@@ -0,0 +1,100 @@
+package ch.erzberger.emulation.archive;
+
+import ch.erzberger.emulation.hp41printer.FinishedPage;
+import ch.erzberger.emulation.hp41printer.PaperImpl;
+import ch.erzberger.emulation.hp41printer.PrinterByteProcessorImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageArchiverTest {
+
+    @Test
+    void archivePages(@TempDir Path tempDir) throws IOException {
+        Path output = tempDir.resolve("output");
+        Path archives = tempDir.resolve("archives");
+        Files.createDirectories(output);
+        PageArchiver archiver = new PageArchiver(archives, null, 0L);
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(new PaperImpl(output, 2, false, archiver), false);
+        processor.processBytes("1\n2\n3\n4\n5\n".getBytes());
+        PageArchiver.awaitArchived();
+        Path archive = archives.resolve("Hp8224-" + LocalDate.now() + ".tar.gz");
+        Map<String, String> entries = readArchive(archive);
+        assertEquals(List.of("Hp8224-Image-0001.png", "Hp8224-Text-0001.txt", "Hp8224-Image-0002.png", "Hp8224-Text-0002.txt"),
+                List.copyOf(entries.keySet()));
+        assertEquals("3\n4\n", entries.get("Hp8224-Text-0002.txt"));
+        // The archived pages are gone, the current page stays
+        assertFalse(Files.exists(output.resolve("Hp8224-Text-0001.txt")));
+        assertFalse(Files.exists(output.resolve("Hp8224-Image-0002.png")));
+        assertEquals("5\n", Files.readString(output.resolve("Hp8224-Text.txt")));
+        List<String> index = Files.readAllLines(archives.resolve("Hp8224-Archive-Index.txt"));
+        assertEquals(3, index.size());
+        assertTrue(index.get(2).startsWith(archive.getFileName() + "\tHp8224-Image-0002.png\tHp8224-Text-0002.txt\t2\t2\t"));
+        // The page of the last run is archived on the next start
+        new PaperImpl(output, 2, false, archiver);
+        PageArchiver.awaitArchived();
+        assertEquals("5\n", readArchive(archive).get("Hp8224-Text-0003.txt"));
+        assertFalse(Files.exists(output.resolve("Hp8224-Text.txt")));
+    }
+
+    @Test
+    void retention(@TempDir Path tempDir) throws IOException {
+        LocalDate today = LocalDate.now();
+        Path old = tempDir.resolve("Hp8224-" + today.minusDays(10) + ".tar.gz");
+        Path recent = tempDir.resolve("Hp8224-" + today.minusDays(1) + ".tar.gz");
+        Files.write(old, new byte[100]);
+        Files.write(recent, new byte[100]);
+        Files.writeString(tempDir.resolve("Hp8224-Archive-Index.txt"), "Archive\tImage\tText\tPage\tLines\tStarted\tFinished\n"
+                + old.getFileName() + "\tHp8224-Image-0001.png\tHp8224-Text-0001.txt\t1\t1\t-\t-\n"
+                + recent.getFileName() + "\tHp8224-Image-0002.png\tHp8224-Text-0002.txt\t2\t1\t-\t-\n");
+        Path text = tempDir.resolve("Hp8224-Text-0003.txt");
+        Files.writeString(text, "3\n");
+        new PageArchiver(tempDir, Duration.ofDays(7), 0L).accept(new FinishedPage(3, 1, Instant.now(), Instant.now(),
+                tempDir.resolve("Hp8224-Image-0003.png"), text));
+        PageArchiver.awaitArchived();
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(recent));
+        List<String> index = Files.readAllLines(tempDir.resolve("Hp8224-Archive-Index.txt"));
+        assertEquals(3, index.size());
+        assertTrue(index.get(1).startsWith(recent.getFileName() + "\t"));
+        // The size limit deletes the archive of yesterday, but not the one of today
+        new PageArchiver(tempDir, null, 1L).accept(new FinishedPage(4, 1, Instant.now(), Instant.now(),
+                tempDir.resolve("Hp8224-Image-0004.png"), tempDir.resolve("Hp8224-Text-0004.txt")));
+        PageArchiver.awaitArchived();
+        assertFalse(Files.exists(recent));
+        assertTrue(Files.exists(tempDir.resolve("Hp8224-" + today + ".tar.gz")));
+    }
+
+    /**
+     * Reads all gzip members of the archive, and returns the contents of the files in it by name.
+     */
+    private static Map<String, String> readArchive(Path archive) throws IOException {
+        byte[] tar;
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(archive))) {
+            tar = input.readAllBytes();
+        }
+        Map<String, String> entries = new LinkedHashMap<>();
+        int offset = 0;
+        while (offset + 512 <= tar.length && tar[offset] != 0) {
+            String name = new String(tar, offset, 100, StandardCharsets.US_ASCII).trim().replace("\0", "");
+            int size = Integer.parseInt(new String(tar, offset + 124, 11, StandardCharsets.US_ASCII), 8);
+            entries.put(name, new String(tar, offset + 512, size, StandardCharsets.US_ASCII));
+            offset += 512 + (size + 511) / 512 * 512;
+        }
+        return entries;
+    }
+}
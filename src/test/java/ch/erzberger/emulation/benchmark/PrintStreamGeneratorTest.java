@@ -0,0 +1,62 @@
+package ch.erzberger.emulation.benchmark;
+
+import ch.erzberger.emulation.common.FileParserHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrintStreamGeneratorTest {
+    private static final long SIZE = 256 * 1024;
+
+    @Test
+    void sameSeedSameStream() throws IOException {
+        byte[] first = raw(1L);
+        assertArrayEquals(first, raw(1L));
+        assertFalse(Arrays.equals(first, raw(2L)));
+        assertTrue(first.length >= SIZE);
+        // Every element ends with a line feed
+        assertTrue(first[first.length - 1] == 0x04 || first[first.length - 1] == 0x0A);
+    }
+
+    @Test
+    void yamlContainsTheSameBytes(@TempDir Path tempDir) throws IOException {
+        Path yamlFile = tempDir.resolve("generated.yaml");
+        try (Writer out = Files.newBufferedWriter(yamlFile, StandardCharsets.UTF_8)) {
+            new PrintStreamGenerator(7L, PrintStreamGenerator.defaultMix()).writeYaml(out, SIZE);
+        }
+        assertArrayEquals(raw(7L), new FileParserHelper(yamlFile).readEntireFile());
+    }
+
+    @Test
+    void feedsAByteProcessor() throws IOException {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        long fed = new PrintStreamGenerator(3L, PrintStreamGenerator.parseMix("graphics=1,storm=1"))
+                .feed(received::write, SIZE);
+        assertEquals(fed, received.size());
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        new PrintStreamGenerator(3L, PrintStreamGenerator.parseMix("graphics=1,storm=1")).writeRaw(written, SIZE);
+        assertArrayEquals(written.toByteArray(), received.toByteArray());
+    }
+
+    @Test
+    void parseSize() {
+        assertEquals(1000L, PrintStreamGenerator.parseSize("1000"));
+        assertEquals(64L * 1024, PrintStreamGenerator.parseSize("64k"));
+        assertEquals(2L * 1024 * 1024 * 1024, PrintStreamGenerator.parseSize("2G"));
+    }
+
+    private static byte[] raw(long seed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PrintStreamGenerator(seed, PrintStreamGenerator.defaultMix()).writeRaw(out, SIZE);
+        return out.toByteArray();
+    }
+}
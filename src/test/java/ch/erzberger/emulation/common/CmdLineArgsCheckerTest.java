@@ -3,9 +3,11 @@ package ch.erzberger.emulation.common;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static ch.erzberger.emulation.common.CmdLineArgsChecker.MODELA;
-import static ch.erzberger.emulation.common.CmdLineArgsChecker.PORTARG;
+import java.util.Map;
+
+import static ch.erzberger.emulation.common.CmdLineArgsChecker.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 class CmdLineArgsCheckerTest {
@@ -24,6 +26,7 @@ class CmdLineArgsCheckerTest {
         assertEquals("ttyACM0", checker.checkReceiverArgs(new String[]{"-p=ttyACM0"}).get(PORTARG));
         assertEquals("usbmodem4101", checker.checkReceiverArgs(new String[]{"-p=usbmodem4101"}).get(PORTARG));
         assertEquals("", checker.checkReceiverArgs(new String[]{}).get(PORTARG));
+        assertEquals("tcp:127.0.0.1:9100", checker.checkReceiverArgs(new String[]{"-p=tcp:127.0.0.1:9100"}).get(PORTARG));
     }
 
     @Test
@@ -31,10 +34,31 @@ class CmdLineArgsCheckerTest {
         assertNull(checker.checkReceiverArgs(new String[]{"-p=/dev/tty.usbmodem4101"}).get(PORTARG));
         assertNull(checker.checkReceiverArgs(new String[]{"-p=tty.usbmodem4101"}).get(PORTARG));
         assertNull(checker.checkReceiverArgs(new String[]{"-p=/dev/ttyACM0"}).get(PORTARG));
+        assertNull(checker.checkReceiverArgs(new String[]{"-p=tcp:printer"}).get(PORTARG));
+        assertNull(checker.checkReceiverArgs(new String[]{"-p=tcp:127.0.0.1:91000"}).get(PORTARG));
     }
 
     @Test void checkModelA() {
         assertEquals(MODELA, checker.checkReceiverArgs(new String[]{"-a"}).get(MODELA));
         assertNull(checker.checkReceiverArgs(new String[]{"-p=/dev/ttyACM0"}).get(MODELA));
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkSearchArgs() {
+        Map<String, String> result = checker.checkSearchArgs(new String[]{"-x", "index", "-n", "5", "fox", "dog"});
+        assertEquals("index", result.get(INDEXARG));
+        assertEquals("5", result.get(LIMITARG));
+        assertEquals("fox dog", result.get(QUERYARG));
+        assertFalse(result.containsKey(LINESPERPAGEARG));
+        assertFalse(result.containsKey(PORTARG));
+    }
+
+    @Test
+    void checkCropArgs() {
+        Map<String, String> result = checker.checkCropArgs(new String[]{"-l", "12", "-n", "3"});
+        assertEquals("12", result.get(LINEARG));
+        assertEquals("3", result.get(COUNTARG));
+        assertFalse(result.containsKey(LINESPERPAGEARG));
+        assertFalse(result.containsKey(LIMITARG));
+    }
+}
@@ -0,0 +1,46 @@
+package ch.erzberger.emulation.communication;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceReadinessTest {
+
+    @Test
+    void alwaysReady() {
+        DeviceReadiness readiness = DeviceReadiness.alwaysReady();
+        assertTrue(readiness.isReady());
+        assertTrue(readiness.await(0L));
+        assertNotNull(readiness.getTimeToReady());
+    }
+
+    @Test
+    void timeout() {
+        DeviceReadiness readiness = new DeviceReadiness();
+        readiness.start();
+        long start = System.nanoTime();
+        assertFalse(readiness.await(50L));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 50L);
+        assertNull(readiness.getTimeToReady());
+    }
+
+    @Test
+    void readyFromOtherThread() throws InterruptedException {
+        DeviceReadiness readiness = new DeviceReadiness();
+        readiness.start();
+        Thread signaller = new Thread(() -> {
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            readiness.signalReady();
+        });
+        signaller.start();
+        assertTrue(readiness.await(5000L));
+        assertTrue(readiness.getTimeToReady().toMillis() >= 20L);
+        signaller.join();
+    }
+}
@@ -0,0 +1,33 @@
+package ch.erzberger.emulation.communication;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoopbackLinkTest {
+
+    @Test
+    void deliverInOrder() {
+        LoopbackLink link = new LoopbackLink(TransmissionPacing.UNLIMITED);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicInteger deliveries = new AtomicInteger();
+        link.setDeliveryListener((sentNanos, deliveredNanos, length) -> {
+            assertTrue(deliveredNanos >= sentNanos);
+            deliveries.incrementAndGet();
+        });
+        link.getReader().registerCallback(received::write);
+        byte[] buffer = HexFormat.of().parseHex("41420a");
+        link.getWriter().sendBytes(buffer);
+        buffer[0] = 0x43; // The link must not be affected by the sender reusing its buffer
+        link.getWriter().sendBytes(buffer);
+        link.getWriter().sendBytes(new byte[0]);
+        link.close();
+        assertEquals("41420a43420a", HexFormat.of().formatHex(received.toByteArray()));
+        assertEquals(2, deliveries.get());
+    }
+}
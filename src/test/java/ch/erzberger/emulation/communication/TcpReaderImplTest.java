@@ -0,0 +1,121 @@
+package ch.erzberger.emulation.communication;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TcpReaderImplTest {
+    private static final int CLIENTS = 20;
+    private static final int LINES = 200;
+
+    @Test
+    void parseAddress() {
+        assertEquals(9100, TcpReaderImpl.parseAddress("tcp:9100").getPort());
+        assertTrue(TcpReaderImpl.parseAddress("tcp:9100").getAddress().isAnyLocalAddress());
+        InetSocketAddress address = TcpReaderImpl.parseAddress("tcp:127.0.0.1:9101");
+        assertEquals("127.0.0.1", address.getHostString());
+        assertEquals(9101, address.getPort());
+        assertThrows(IllegalArgumentException.class, () -> TcpReaderImpl.parseAddress("tcp:printer"));
+        assertTrue(TcpReaderImpl.isTcpPort("TCP:9100"));
+        assertFalse(TcpReaderImpl.isTcpPort("ttyUSB0"));
+    }
+
+    @Test
+    void eachConnectionGetsItsOwnProcessor() throws Exception {
+        TcpReaderImpl reader = new TcpReaderImpl(new InetSocketAddress("127.0.0.1", 0));
+        Map<Integer, RecordingProcessor> processors = new ConcurrentHashMap<>();
+        reader.registerConnectionFactory(remote -> processors.computeIfAbsent(remote.getPort(), p -> new RecordingProcessor()));
+        List<Thread> clients = new ArrayList<>();
+        List<byte[]> sent = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            byte[] data = clientData(i);
+            sent.add(data);
+            Thread client = new Thread(() -> send(reader.getLocalPort(), data));
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        long expected = sent.stream().mapToLong(d -> d.length).sum();
+        awaitReceived(processors, expected);
+        reader.close();
+        assertEquals(CLIENTS, processors.size());
+        for (RecordingProcessor processor : processors.values()) {
+            byte[] received = processor.received.toByteArray();
+            assertTrue(sent.stream().anyMatch(d -> Arrays.equals(d, received)), "Data of a connection is mixed up");
+        }
+    }
+
+    @Test
+    void sharedProcessorForOneBridge() throws Exception {
+        TcpReaderImpl reader = new TcpReaderImpl(new InetSocketAddress("127.0.0.1", 0));
+        RecordingProcessor processor = new RecordingProcessor();
+        reader.registerCallback(processor);
+        send(reader.getLocalPort(), clientData(1));
+        // The bridge reconnects, and the data continues in the same processor
+        send(reader.getLocalPort(), clientData(2));
+        awaitReceived(Map.of(0, processor), clientData(1).length + clientData(2).length);
+        reader.close();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(clientData(1));
+        expected.write(clientData(2));
+        assertArrayEquals(expected.toByteArray(), processor.received.toByteArray());
+    }
+
+    private static byte[] clientData(int client) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (int line = 0; line < LINES; line++) {
+            data.writeBytes(String.format("Client %d line %d", client, line).getBytes());
+            data.write(0x0A);
+        }
+        return data.toByteArray();
+    }
+
+    private static void send(int port, byte[] data) {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            OutputStream out = socket.getOutputStream();
+            // Small writes, like a bridge that forwards the data while it arrives
+            for (int offset = 0; offset < data.length; offset += 37) {
+                out.write(data, offset, Math.min(37, data.length - offset));
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void awaitReceived(Map<Integer, RecordingProcessor> processors, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (processors.values().stream().mapToLong(p -> p.received.size()).sum() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+
+    private static class RecordingProcessor implements ByteProcessor {
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+        @Override
+        public void processByte(byte byteReceived) {
+            received.write(byteReceived);
+        }
+
+        @Override
+        public void processBytes(byte[] bytes, int offset, int length, long arrivalNanos) {
+            received.write(bytes, offset, length);
+        }
+    }
+}
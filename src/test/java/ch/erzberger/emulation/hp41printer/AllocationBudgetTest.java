@@ -0,0 +1,114 @@
+package ch.erzberger.emulation.hp41printer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the allocation free decoding. Decoding a byte must not allocate at all, only handing a finished line to
+ * the paper may (the text of the line is passed on as a String). A stray String or boxed log argument per byte
+ * adds at least 16 bytes per byte, and breaks the budgets by far.
+ */
+class AllocationBudgetTest {
+    private static final int MEGABYTE = 1024 * 1024;
+    private static final int WARMUP_ROUNDS = 5;
+    // The String of the text, and a little slack for e.g. the JFR event if it is not optimized away
+    private static final long BUDGET_PER_LINE = 128;
+    // For anything that is allocated once per run, e.g. a LongAdder cell on contention
+    private static final long BUDGET_PER_RUN = 16L * 1024;
+
+    private com.sun.management.ThreadMXBean threadBean;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Allocation counting needs the com.sun.management extension");
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Allocation counting is not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void oneMegabyteOfText() {
+        byte[] text = new byte[MEGABYTE];
+        for (int i = 0; i < text.length; i++) {
+            // All printable characters, including the upper half, with a line feed now and then
+            text[i] = i % 30 == 29 ? 0x0A : (byte) (32 + i % 224);
+        }
+        assertWithinBudget(text, "Processing 1 MB of text");
+    }
+
+    @Test
+    void oneMegabyteOfModesAndText() {
+        byte[] chunk = "\u001BûUnderlined\u001Bú\u001BýDouble\u001Bü\n\u001BùRPL text\u001Bø\n"
+                .getBytes(StandardCharsets.ISO_8859_1);
+        assertWithinBudget(repeat(chunk), "Processing 1 MB of text with modes");
+    }
+
+    @Test
+    void oneMegabyteOfGraphics() {
+        byte[] chunk = new byte[166 + 3];
+        chunk[0] = 0x1B;
+        chunk[1] = (byte) 166;
+        for (int i = 2; i < chunk.length - 1; i++) {
+            chunk[i] = (byte) (i * 37);
+        }
+        chunk[chunk.length - 1] = 0x0A;
+        assertWithinBudget(repeat(chunk), "Processing 1 MB of graphics");
+    }
+
+    @Test
+    void printingALine() {
+        byte[] line = "HP 82240B allocation   \n".getBytes(StandardCharsets.ISO_8859_1);
+        int lines = 10000;
+        byte[] data = new byte[line.length * lines];
+        for (int i = 0; i < lines; i++) {
+            System.arraycopy(line, 0, data, i * line.length, line.length);
+        }
+        assertWithinBudget(data, "Printing " + lines + " lines");
+    }
+
+    private void assertWithinBudget(byte[] data, String what) {
+        NoOpPaper paper = new NoOpPaper();
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(paper, false);
+        // Let the JIT compile the hot path, and initialize everything that is created lazily
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            processor.processBytes(data);
+        }
+        paper.lines = 0;
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        processor.processBytes(data);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        long budget = paper.lines * BUDGET_PER_LINE + BUDGET_PER_RUN;
+        assertTrue(allocated < budget, what + " allocated " + allocated + " bytes for " + paper.lines
+                + " lines, the budget is " + budget + " bytes");
+    }
+
+    private static byte[] repeat(byte[] chunk) {
+        byte[] data = new byte[MEGABYTE - MEGABYTE % chunk.length];
+        for (int i = 0; i < data.length; i += chunk.length) {
+            System.arraycopy(chunk, 0, data, i, chunk.length);
+        }
+        return data;
+    }
+
+    private static class NoOpPaper implements Paper {
+        private long lines = 0;
+
+        @Override
+        public void printLine(String line) {
+            lines++;
+        }
+
+        @Override
+        public void printGraphic(boolean[][] bitmap) {
+            // Thrown away
+        }
+    }
+}
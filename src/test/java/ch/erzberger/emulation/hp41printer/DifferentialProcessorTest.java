@@ -0,0 +1,251 @@
+package ch.erzberger.emulation.hp41printer;
+
+import ch.erzberger.emulation.benchmark.PrintStreamGenerator;
+import ch.erzberger.emulation.common.FileParserHelper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Feeds the same streams to the PrinterByteProcessorImpl and to the ReferencePrinterByteProcessor (the processor
+ * before any optimization), and compares the text and the bitmap of every printed line. The streams are the sample
+ * files, mutations of them, generated streams and plain random bytes. The processor under test gets the data in
+ * random chunks, like from the serial port, the reference gets it byte by byte.
+ * Every failure names the seed, so that it can be reproduced.
+ */
+class DifferentialProcessorTest {
+    private static final String SAMPLE_DIRECTORY = "documentation/sampleoutput";
+    private static final int GENERATED_STREAMS = 24;
+    private static final long GENERATED_SIZE = 64 * 1024;
+    private static final int MUTATIONS_PER_SAMPLE = 20;
+    private static final int RANDOM_STREAMS = 24;
+    private static final int RANDOM_SIZE = 8 * 1024;
+    private static final int PADLEFT = 22;
+    private static final int PADRIGHT = 19;
+    private static final int PADTOPBOTTOM = 10;
+
+    private static final Logger PACKAGE_LOGGER = Logger.getLogger("ch.erzberger.emulation");
+    private static Level savedLevel;
+
+    @BeforeAll
+    static void silenceLogging() {
+        // Overflows and invalid graphics are logged for every occurrence, and the fuzzed streams are full of them
+        savedLevel = PACKAGE_LOGGER.getLevel();
+        PACKAGE_LOGGER.setLevel(Level.OFF);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        PACKAGE_LOGGER.setLevel(savedLevel);
+    }
+
+    @Test
+    void sampleFiles() throws IOException {
+        for (Path sample : samples()) {
+            byte[] data = new FileParserHelper(sample).readEntireFile();
+            assertSameOutput(data, false, 0L, sample.getFileName().toString());
+            assertSameOutput(data, true, 0L, sample.getFileName() + " (model A)");
+        }
+    }
+
+    @Test
+    void mutatedSampleFiles() throws IOException {
+        List<byte[]> corpus = new ArrayList<>();
+        for (Path sample : samples()) {
+            corpus.add(new FileParserHelper(sample).readEntireFile());
+        }
+        long seed = 0;
+        for (byte[] original : corpus) {
+            for (int i = 0; i < MUTATIONS_PER_SAMPLE; i++, seed++) {
+                Random random = new Random(seed);
+                byte[] mutated = mutate(original, corpus.get(random.nextInt(corpus.size())), random);
+                assertSameOutput(mutated, random.nextBoolean(), seed, "Mutated sample");
+            }
+        }
+    }
+
+    @Test
+    void generatedStreams() {
+        for (long seed = 0; seed < GENERATED_STREAMS; seed++) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            new PrintStreamGenerator(seed, PrintStreamGenerator.defaultMix()).feed(stream::write, GENERATED_SIZE);
+            assertSameOutput(stream.toByteArray(), seed % 2 == 1, seed, "Generated stream");
+        }
+    }
+
+    @Test
+    void randomBytes() {
+        for (long seed = 0; seed < RANDOM_STREAMS; seed++) {
+            Random random = new Random(seed);
+            byte[] data = new byte[RANDOM_SIZE];
+            random.nextBytes(data);
+            assertSameOutput(data, random.nextBoolean(), seed, "Random bytes");
+        }
+    }
+
+    @Test
+    void renderedImage(@TempDir Path tempDir) throws IOException {
+        for (Path sample : samples()) {
+            byte[] data = new FileParserHelper(sample).readEntireFile();
+            RecordingPaper expected = new RecordingPaper();
+            new ReferencePrinterByteProcessor(expected, false).processBytes(data);
+            Path outputDirectory = Files.createDirectory(tempDir.resolve(sample.getFileName().toString()));
+            new PrinterByteProcessorImpl(new PaperImpl(outputDirectory), false).processBytes(data);
+            if (expected.bitmaps.isEmpty()) {
+                continue;
+            }
+            BufferedImage image = ImageIO.read(outputDirectory.resolve("Hp8224-Image.png").toFile());
+            assertRaster(expected.bitmaps, image, sample.getFileName().toString());
+        }
+    }
+
+    /**
+     * Runs both processors and compares their output line by line.
+     */
+    private static void assertSameOutput(byte[] data, boolean modelA, long seed, String what) {
+        RecordingPaper expected = new RecordingPaper();
+        ReferencePrinterByteProcessor reference = new ReferencePrinterByteProcessor(expected, modelA);
+        for (byte b : data) {
+            reference.processByte(b);
+        }
+        RecordingPaper actual = new RecordingPaper();
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(actual, modelA);
+        Random chunks = new Random(seed);
+        int offset = 0;
+        while (offset < data.length) {
+            int length = Math.min(data.length - offset, 1 + chunks.nextInt(300));
+            processor.processBytes(data, offset, length, System.nanoTime());
+            offset += length;
+        }
+        String context = what + ", seed " + seed + (modelA ? ", model A" : "");
+        for (int line = 0; line < Math.min(expected.texts.size(), actual.texts.size()); line++) {
+            assertEquals(expected.texts.get(line), actual.texts.get(line), context + ": Text of line " + line);
+            int column = firstDifference(expected.bitmaps.get(line), actual.bitmaps.get(line));
+            if (column >= 0) {
+                fail(context + ": Bitmap of line " + line + " (\"" + expected.texts.get(line) + "\") differs in column "
+                        + column + ", expected " + Arrays.toString(expected.bitmaps.get(line)[column]) + " but was "
+                        + Arrays.toString(actual.bitmaps.get(line)[column]));
+            }
+        }
+        assertEquals(expected.texts.size(), actual.texts.size(), context + ": Number of lines");
+    }
+
+    /**
+     * Compares the image of a Paper with the bitmaps of the reference: black where a pixel is set, white otherwise,
+     * with the padding of the paper around the lines.
+     */
+    private static void assertRaster(List<boolean[][]> bitmaps, BufferedImage image, String what) {
+        int width = bitmaps.get(0).length;
+        int rows = bitmaps.get(0)[0].length;
+        assertEquals(width + PADLEFT + PADRIGHT, image.getWidth(), what + ": Width of the image");
+        assertEquals(bitmaps.size() * rows + 2 * PADTOPBOTTOM, image.getHeight(), what + ": Height of the image");
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int line = (y - PADTOPBOTTOM) / rows;
+                int row = (y - PADTOPBOTTOM) % rows;
+                int column = x - PADLEFT;
+                boolean black = y >= PADTOPBOTTOM && line < bitmaps.size() && column >= 0 && column < width
+                        && bitmaps.get(line)[column][row];
+                boolean isBlack = (image.getRGB(x, y) & 0xFFFFFF) == 0;
+                if (black != isBlack) {
+                    fail(what + ": Pixel " + x + "/" + y + " (line " + line + ", column " + column + ", row " + row
+                            + ") should be " + (black ? "black" : "white"));
+                }
+            }
+        }
+    }
+
+    private static int firstDifference(boolean[][] expected, boolean[][] actual) {
+        for (int column = 0; column < expected.length; column++) {
+            if (!Arrays.equals(expected[column], actual[column])) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Flips, inserts, deletes, or splices in bytes from another sample.
+     */
+    private static byte[] mutate(byte[] original, byte[] other, Random random) {
+        byte[] data = original.clone();
+        int mutations = 1 + random.nextInt(8);
+        for (int i = 0; i < mutations && data.length > 0; i++) {
+            int position = random.nextInt(data.length);
+            ByteArrayOutputStream next = new ByteArrayOutputStream();
+            switch (random.nextInt(4)) {
+                case 0: // Flip a byte
+                    data[position] = (byte) random.nextInt(256);
+                    continue;
+                case 1: // Insert a byte, often one with a meaning
+                    byte[] special = {0x1B, 0x04, 0x0A, (byte) 0xFD, (byte) 0xFB, (byte) 0xA6, (byte) random.nextInt(256)};
+                    next.write(data, 0, position);
+                    next.write(special[random.nextInt(special.length)]);
+                    next.write(data, position, data.length - position);
+                    break;
+                case 2: // Delete a few bytes
+                    int deleted = Math.min(data.length - position, 1 + random.nextInt(4));
+                    next.write(data, 0, position);
+                    next.write(data, position + deleted, data.length - position - deleted);
+                    break;
+                default: // Splice in a part of another sample
+                    int start = random.nextInt(other.length);
+                    int length = Math.min(other.length - start, 1 + random.nextInt(64));
+                    next.write(data, 0, position);
+                    next.write(other, start, length);
+                    next.write(data, position, data.length - position);
+                    break;
+            }
+            data = next.toByteArray();
+        }
+        return data;
+    }
+
+    private static List<Path> samples() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(SAMPLE_DIRECTORY))) {
+            return files.filter(f -> f.toString().endsWith(".yaml")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Keeps a copy of every printed line.
+     */
+    private static class RecordingPaper implements Paper {
+        private final List<String> texts = new ArrayList<>();
+        private final List<boolean[][]> bitmaps = new ArrayList<>();
+
+        @Override
+        public void printLine(String line) {
+            texts.add(line);
+        }
+
+        @Override
+        public void printGraphic(boolean[][] bitmap) {
+            // The bitmap is only valid during the call
+            boolean[][] copy = new boolean[bitmap.length][];
+            for (int column = 0; column < bitmap.length; column++) {
+                copy[column] = bitmap[column].clone();
+            }
+            bitmaps.add(copy);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ch.erzberger.emulation.hp41printer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineCropToolTest {
+
+    @Test
+    void cropLinesOfFinishedAndCurrentPages(@TempDir Path tempDir) throws IOException {
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(new PaperImpl(tempDir, 3), false);
+        processor.processBytes("1\n2\n3\n4\nW\n6\n7\n".getBytes());
+        Path sidecar = tempDir.resolve(LineOffsetIndex.INDEXFILE);
+        assertEquals(7, LineOffsetIndex.size(sidecar));
+        assertEquals(new LineOffset(2, 2, 18, 8), LineOffsetIndex.read(sidecar, 5));
+        assertEquals(new LineOffset(3, 1, 10, 8), LineOffsetIndex.read(sidecar, 7));
+        // The strip is the same as the rows in the page
+        BufferedImage page = ImageIO.read(tempDir.resolve("Hp8224-Image-0002.png").toFile());
+        BufferedImage strip = LineCropTool.crop(tempDir, 5, 1);
+        assertEquals(page.getWidth(), strip.getWidth());
+        assertEquals(8, strip.getHeight());
+        int black = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < page.getWidth(); x++) {
+                assertEquals(page.getRGB(x, 18 + y), strip.getRGB(x, y));
+                black += page.getRGB(x, 18 + y) == 0xFF000000 ? 1 : 0;
+            }
+        }
+        assertTrue(black > 0);
+        // Several lines end at the end of the page, the current page is in Hp8224-Image.png
+        assertEquals(16, LineCropTool.crop(tempDir, 5, 5).getHeight());
+        assertEquals(8, LineCropTool.crop(tempDir, 7, 1).getHeight());
+        assertThrows(IOException.class, () -> LineCropTool.crop(tempDir, 8, 1));
+        // The current page is overwritten on the next start, and its lines are removed
+        new PaperImpl(tempDir, 3);
+        assertEquals(6, LineOffsetIndex.size(sidecar));
+    }
+}
@@ -0,0 +1,150 @@
+package ch.erzberger.emulation.hp41printer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaperImplTest {
+
+    @Test
+    void pageRollover(@TempDir Path tempDir) throws IOException {
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(new PaperImpl(tempDir, 3), false);
+        processor.processBytes("1\n2\n3\n4\n5\n6\n7\n".getBytes());
+        assertEquals("1\n2\n3\n", Files.readString(tempDir.resolve("Hp8224-Text-0001.txt")));
+        assertEquals("4\n5\n6\n", Files.readString(tempDir.resolve("Hp8224-Text-0002.txt")));
+        assertEquals(3 * 8 + 20, ImageIO.read(tempDir.resolve("Hp8224-Image-0002.png").toFile()).getHeight());
+        // The current page only has the lines since the last rollover
+        assertEquals("7\n", Files.readString(tempDir.resolve("Hp8224-Text.txt")));
+        assertEquals(8 + 20, ImageIO.read(tempDir.resolve("Hp8224-Image.png").toFile()).getHeight());
+        List<String> index = Files.readAllLines(tempDir.resolve("Hp8224-Index.txt"));
+        assertEquals(3, index.size());
+        assertTrue(index.get(2).startsWith("0002\t3\tHp8224-Image-0002.png\tHp8224-Text-0002.txt\t"));
+        // After a restart, the numbers continue
+        processor = new PrinterByteProcessorImpl(new PaperImpl(tempDir, 2), false);
+        processor.processBytes("8\n9\n".getBytes());
+        assertEquals("8\n9\n", Files.readString(tempDir.resolve("Hp8224-Text-0003.txt")));
+        assertEquals(4, Files.readAllLines(tempDir.resolve("Hp8224-Index.txt")).size());
+        // A job that was not finished when the simulator stopped is kept as a job on the next start
+        new PrinterByteProcessorImpl(new PaperImpl(tempDir, 0, true), false).processBytes("E\n".getBytes());
+        new PaperImpl(tempDir, 0, true);
+        assertEquals("E\n", Files.readString(jobFiles(tempDir).get(3)));
+        assertTrue(jobFiles(tempDir).get(3).getFileName().toString().startsWith("Hp8224-Text-0004-"));
+    }
+
+    @Test
+    void jobs(@TempDir Path tempDir) throws Exception {
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(new PaperImpl(tempDir, 0, true), false);
+        JobSegmenter segmenter = new JobSegmenter(processor, 200L);
+        // A reset ends the first job, a tear-off the second
+        segmenter.processBytes("A\nB\n\u001B\u00FFC\n".getBytes(StandardCharsets.ISO_8859_1));
+        segmenter.tearOff();
+        segmenter.tearOff(); // Nothing printed since, no empty job
+        segmenter.processBytes("D\n".getBytes(StandardCharsets.ISO_8859_1));
+        // The third job ends when no data arrives
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (jobFiles(tempDir).size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+        segmenter.close();
+        List<Path> jobs = jobFiles(tempDir);
+        assertEquals(3, jobs.size());
+        assertTrue(jobs.get(0).getFileName().toString().matches("Hp8224-Text-0001-\\d{8}-\\d{6}\\.txt"));
+        assertEquals("A\nB\n", Files.readString(jobs.get(0)));
+        assertEquals("C\n", Files.readString(jobs.get(1)));
+        assertEquals("D\n", Files.readString(jobs.get(2)));
+        assertFalse(Files.exists(tempDir.resolve("Hp8224-Text.txt")));
+        assertEquals(4, Files.readAllLines(tempDir.resolve("Hp8224-Index.txt")).size());
+        // A job that was not finished when the simulator stopped is kept as a job on the next start
+        new PrinterByteProcessorImpl(new PaperImpl(tempDir, 0, true), false).processBytes("E\n".getBytes());
+        new PaperImpl(tempDir, 0, true);
+        assertEquals("E\n", Files.readString(jobFiles(tempDir).get(3)));
+        assertTrue(jobFiles(tempDir).get(3).getFileName().toString().startsWith("Hp8224-Text-0004-"));
+    }
+
+    private static List<Path> jobFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("Hp8224-Text-")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void endlessPage(@TempDir Path tempDir) throws IOException {
+        PrinterByteProcessorImpl processor = new PrinterByteProcessorImpl(new PaperImpl(tempDir), false);
+        processor.processBytes("1\n2\n3\n".getBytes());
+        assertEquals("1\n2\n3\n", Files.readString(tempDir.resolve("Hp8224-Text.txt")));
+        assertFalse(Files.exists(tempDir.resolve("Hp8224-Index.txt")));
+    }
+
+    @Test
+    void durableOutputIsRestoredFromTheJournal(@TempDir Path tempDir) throws IOException {
+        try (PaperImpl paper = PaperImpl.open(tempDir, 0, false, null, 0L)) {
+            new PrinterByteProcessorImpl(paper, false).processBytes("A\nB\n".getBytes());
+            assertEquals("A\nB\n", Files.readString(tempDir.resolve("Hp8224-Text.txt")));
+            assertFalse(Files.exists(tempDir.resolve("Hp8224-Text.txt.tmp")));
+        }
+        // A crash lost the files, and the last record was only written in part
+        Files.delete(tempDir.resolve("Hp8224-Text.txt"));
+        Files.delete(tempDir.resolve("Hp8224-Image.png"));
+        Path journal = tempDir.resolve(PaperJournal.JOURNALFILE);
+        Files.write(journal, new byte[]{0, 0, 0, 42, 1, 2, 3, 4, 'T', 'C'}, StandardOpenOption.APPEND);
+        try (PaperImpl paper = PaperImpl.open(tempDir, 0, false, null, 0L)) {
+            assertEquals("A\nB\n", Files.readString(tempDir.resolve("Hp8224-Text.txt")));
+            assertEquals(2 * 8 + 20, ImageIO.read(tempDir.resolve("Hp8224-Image.png").toFile()).getHeight());
+            new PrinterByteProcessorImpl(paper, false).processBytes("C\n".getBytes());
+            assertEquals("A\nB\nC\n", Files.readString(tempDir.resolve("Hp8224-Text.txt")));
+        }
+        // With jobs, the restored page is finished, and the journal is emptied
+        PaperImpl.open(tempDir, 0, true, null, 0L).close();
+        assertEquals("A\nB\nC\n", Files.readString(jobFiles(tempDir).get(0)));
+        assertEquals(0L, Files.size(journal));
+        // A page that was finished is not restored again
+        PaperImpl.open(tempDir, 0, true, null, 0L).close();
+        assertEquals(1, jobFiles(tempDir).size());
+    }
+
+    @Test
+    void durableOutputSurvivesAFailedRestore(@TempDir Path tempDir) throws IOException {
+        try (PaperImpl paper = PaperImpl.open(tempDir, 0, false, null, 0L)) {
+            new PrinterByteProcessorImpl(paper, false).processBytes("A\nB\n".getBytes());
+        }
+        // A line that cannot be printed stops the restore after the first lines, before they are committed
+        PaperJournal journal = new PaperJournal(tempDir);
+        journal.graphic(new boolean[0][0]);
+        journal.commit();
+        journal.close();
+        assertThrows(RuntimeException.class, () -> PaperImpl.open(tempDir, 0, false, null, 0L));
+        // The journal still has the page
+        PaperJournal.RecoveredPage page = PaperJournal.read(tempDir);
+        assertNotNull(page);
+        assertEquals(5, page.lines.size()); // The text and the graphic of both lines, and the bad line
+        assertEquals("A", page.lines.get(0));
+        assertEquals("B", page.lines.get(2));
+    }
+
+    @Test
+    void durableOutputIsPublishedByTheCommitTimer(@TempDir Path tempDir) throws Exception {
+        try (PaperImpl paper = PaperImpl.open(tempDir, 0, false, null, 20L)) {
+            new PrinterByteProcessorImpl(paper, false).processBytes("A\n".getBytes());
+            Path textFile = tempDir.resolve("Hp8224-Text.txt");
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (!Files.exists(textFile) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertEquals("A\n", Files.readString(textFile));
+            // Closing commits the lines that are left
+            new PrinterByteProcessorImpl(paper, false).processBytes("B\n".getBytes());
+        }
+        assertEquals("A\nB\n", Files.readString(tempDir.resolve("Hp8224-Text.txt")));
+    }
+}
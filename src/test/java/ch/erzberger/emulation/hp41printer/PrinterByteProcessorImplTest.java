@@ -115,7 +115,11 @@ class PrinterByteProcessorImplTest {
 
         @Override
         public void printGraphic(boolean[][] bitmap) {
-            this.bitmap = bitmap;
+            // The processor reuses the bitmap for the next line
+            this.bitmap = new boolean[bitmap.length][];
+            for (int column = 0; column < bitmap.length; column++) {
+                this.bitmap[column] = bitmap[column].clone();
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package ch.erzberger.emulation.hp41printer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledPaperTest {
+    private static final int BLACK = 0xFF000000;
+    private static final Paper NO_PAPER = new Paper() {
+        @Override
+        public void printLine(String line) {
+            // Only the tiles are checked
+        }
+
+        @Override
+        public void printGraphic(boolean[][] bitmap) {
+            // Only the tiles are checked
+        }
+    };
+
+    @Test
+    void pyramidGrowsAndContinuesAfterRestart(@TempDir Path tempDir) throws IOException {
+        TiledPaper paper = new TiledPaper(NO_PAPER, tempDir, 5);
+        for (int line = 0; line < 41; line++) {
+            boolean[][] bitmap = new boolean[166][8];
+            if (line == 0) {
+                bitmap[5][3] = true;
+            }
+            if (line == 40) {
+                bitmap[0][0] = true;
+            }
+            paper.printGraphic(bitmap);
+        }
+        Path tiles = tempDir.resolve(TiledPaper.TILES_DIRECTORY);
+        assertEquals("{\"width\":166,\"height\":328,\"tileSize\":256,\"levels\":5}", Files.readString(tiles.resolve("tiles.json")));
+        assertTrue(Files.exists(tiles.resolve("index.html")));
+        // 328 rows at level 0 are two rows of tiles, the other levels fit into one
+        assertTrue(Files.exists(tiles.resolve("0/0-1.png")));
+        assertFalse(Files.exists(tiles.resolve("1/0-1.png")));
+        // A dot is black on every level
+        assertEquals(BLACK, tile(tiles, "0/0-0.png").getRGB(5, 3));
+        assertEquals(BLACK, tile(tiles, "1/0-0.png").getRGB(2, 1));
+        assertEquals(BLACK, tile(tiles, "2/0-0.png").getRGB(1, 0));
+        assertEquals(BLACK, tile(tiles, "4/0-0.png").getRGB(0, 0));
+        assertNotEquals(BLACK, tile(tiles, "4/0-0.png").getRGB(0, 20));
+        // Level 3 has 41 rows, the last one waits for its partner; it is found again after a restart
+        paper = new TiledPaper(NO_PAPER, tempDir, 5);
+        paper.printGraphic(new boolean[166][8]);
+        assertEquals("{\"width\":166,\"height\":336,\"tileSize\":256,\"levels\":5}", Files.readString(tiles.resolve("tiles.json")));
+        assertEquals(BLACK, tile(tiles, "4/0-0.png").getRGB(0, 20));
+        assertEquals(BLACK, tile(tiles, "0/0-1.png").getRGB(0, 320 - 256));
+        assertEquals(BLACK, tile(tiles, "0/0-0.png").getRGB(5, 3));
+    }
+
+    private static BufferedImage tile(Path tiles, String name) throws IOException {
+        BufferedImage tile = ImageIO.read(tiles.resolve(name).toFile());
+        assertEquals(TiledPaper.TILE, tile.getWidth());
+        assertEquals(TiledPaper.TILE, tile.getHeight());
+        return tile;
+    }
+}
@@ -0,0 +1,150 @@
+package ch.erzberger.emulation.liveview;
+
+import ch.erzberger.emulation.hp41printer.Paper;
+import ch.erzberger.emulation.hp41printer.PrinterByteProcessorImpl;
+import ch.erzberger.emulation.search.SearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveViewServerTest {
+    private LiveViewServer server;
+    private PrinterByteProcessorImpl processor;
+    private final List<String> printed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new LiveViewServer(0, 3);
+        server.start();
+        processor = new PrinterByteProcessorImpl(new LiveViewPaper(new Paper() {
+            @Override
+            public void printLine(String line) {
+                printed.add(line);
+            }
+
+            @Override
+            public void printGraphic(boolean[][] bitmap) {
+                // Only the text is checked
+            }
+        }, server), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void textAndImage() throws IOException {
+        print("One\nTwo\n");
+        // Graphics: ESC, 3 bytes, then the columns
+        processor.processBytes(new byte[]{0x1B, 3, (byte) 0xFF, 0x01, (byte) 0x80, 0x0A});
+        assertEquals(List.of("One", "Two", ""), printed);
+        assertEquals("One\nTwo\n\n", new String(get("/text").readAllBytes(), StandardCharsets.UTF_8));
+        BufferedImage image = ImageIO.read(get("/image.png"));
+        assertEquals(166 + 22 + 19, image.getWidth());
+        assertEquals(3 * 8 + 2 * 10, image.getHeight());
+        int top = 10 + 2 * 8;
+        for (int row = 0; row < 8; row++) {
+            assertEquals(0, image.getRGB(22, top + row) & 0xFFFFFF, "Column 0 is all black");
+            assertEquals(row == 0 ? 0 : 0xFFFFFF, image.getRGB(23, top + row) & 0xFFFFFF);
+            assertEquals(row == 7 ? 0 : 0xFFFFFF, image.getRGB(24, top + row) & 0xFFFFFF);
+        }
+        // Only the last three lines are retained
+        print("Four\n");
+        assertEquals("Two\n\nFour\n", new String(get("/text").readAllBytes(), StandardCharsets.UTF_8));
+        assertTrue(new String(get("/").readAllBytes(), StandardCharsets.UTF_8).contains("EventSource"));
+    }
+
+    @Test
+    void eventsAreReplayedAndPushed() throws IOException {
+        print("One\nTwo\n");
+        HttpURLConnection connection = open("/events");
+        connection.setRequestProperty("Last-Event-ID", "1");
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            assertEquals("text/event-stream; charset=utf-8", connection.getContentType());
+            // Line 1 was already seen by the client
+            JsonNode two = readEvent(events, 2);
+            assertEquals("Two", two.get("text").asText());
+            assertEquals(8, two.get("rows").asInt());
+            assertEquals(166, Base64.getDecoder().decode(two.get("bitmap").asText()).length);
+            print("Three\n");
+            assertEquals("Three", readEvent(events, 3).get("text").asText());
+        }
+    }
+
+    @Test
+    void tearOffNeedsTheHeaderOfThePage() throws IOException {
+        List<String> tornOff = new ArrayList<>();
+        server.setTearOffAction(() -> tornOff.add("tear-off"));
+        HttpURLConnection foreign = open("/tear-off");
+        foreign.setRequestMethod("POST");
+        assertEquals(403, foreign.getResponseCode());
+        HttpURLConnection page = open("/tear-off");
+        page.setRequestMethod("POST");
+        page.setRequestProperty("X-Requested-With", "liveview");
+        assertEquals(204, page.getResponseCode());
+        assertEquals(List.of("tear-off"), tornOff);
+    }
+
+    @Test
+    void search(@TempDir Path tempDir) throws IOException {
+        assertEquals(404, open("/search?q=two").getResponseCode());
+        try (SearchIndex index = SearchIndex.open(tempDir)) {
+            server.setSearchIndex(index);
+            index.add("One");
+            index.add("Two 1,5");
+            index.add("Three");
+            JsonNode hits = new ObjectMapper().readTree(get("/search?q=two%201%2C5&context=1")).get("hits");
+            assertEquals(1, hits.size());
+            assertEquals("Two 1,5", hits.get(0).get("text").asText());
+            assertEquals(2, hits.get(0).get("line").asInt());
+            assertEquals("One", hits.get(0).get("before").get(0).get("text").asText());
+            assertEquals("Three", hits.get(0).get("after").get(0).get("text").asText());
+        }
+    }
+
+    private void print(String text) {
+        processor.processBytes(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static JsonNode readEvent(BufferedReader events, long id) throws IOException {
+        assertEquals("id: " + id, events.readLine());
+        assertEquals("event: line", events.readLine());
+        String data = events.readLine();
+        assertTrue(data.startsWith("data: "));
+        assertEquals("", events.readLine());
+        return new ObjectMapper().readTree(data.substring("data: ".length()));
+    }
+
+    private InputStream get(String path) throws IOException {
+        HttpURLConnection connection = open(path);
+        assertEquals(200, connection.getResponseCode());
+        return connection.getInputStream();
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setReadTimeout(5000);
+        return connection;
+    }
+}
@@ -0,0 +1,74 @@
+package ch.erzberger.emulation.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotPathLoggerTest {
+    private final Logger logger = Logger.getLogger(HotPathLoggerTest.class.getName());
+    private final List<LogRecord> records = new ArrayList<>();
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord logRecord) {
+            records.add(logRecord);
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    };
+    private HotPathLogger hotLog;
+
+    @BeforeEach
+    void setUp() {
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+        logger.setLevel(Level.INFO);
+        hotLog = new HotPathLogger(logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    void disabledLevelDoesNotBuildTheMessage() {
+        hotLog.log(Level.FINEST, () -> fail("Supplier must not be called"));
+        hotLog.log(Level.FINEST, "Byte: {0}", 42);
+        hotLog.hex(Level.FINE, "Data: ", new byte[]{1, 2}, 0, 2);
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void enabledLevelLogs() {
+        logger.setLevel(Level.FINEST);
+        hotLog.log(Level.FINEST, () -> "Built");
+        hotLog.log(Level.FINE, "Byte: {0}", 42);
+        assertEquals(2, records.size());
+        assertEquals("Built", records.get(0).getMessage());
+        assertEquals(42, records.get(1).getParameters()[0]);
+    }
+
+    @Test
+    void hexDumpOfRange() {
+        logger.setLevel(Level.FINE);
+        hotLog.hex(Level.FINE, "Data: ", new byte[]{0x00, 0x1B, (byte) 0xA6, 0x0A, 0x7F}, 1, 3);
+        assertEquals("Data: 1B A6 0A", records.get(0).getMessage());
+    }
+}
@@ -0,0 +1,34 @@
+package ch.erzberger.emulation.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void buckets() {
+        for (long value : new long[]{0, 1, 31, 32, 33, 63, 64, 65, 1000, 123456789, Long.MAX_VALUE / 4}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.lowerBound(index) <= value);
+            assertTrue(LatencyHistogram.lowerBound(index + 1) > value);
+        }
+    }
+
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 0.001);
+        assertEquals(500_000, histogram.getValueAtPercentile(0.5), 500_000 * 0.04);
+        assertEquals(990_000, histogram.getValueAtPercentile(0.99), 990_000 * 0.04);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(1.0));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(0.5));
+    }
+}
@@ -0,0 +1,48 @@
+package ch.erzberger.emulation.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineTraceTest {
+    @Test
+    void phasesAreMeasuredFromMarkToMark() {
+        LatencyTracer tracer = new LatencyTracer();
+        LineTrace trace = new LineTrace();
+        trace.start(1_000L);
+        trace.mark(LineTrace.Phase.QUEUEING, 3_000L);
+        trace.mark(LineTrace.Phase.DECODE, 10_000L);
+        trace.mark(LineTrace.Phase.IMAGE_WRITE, 50_000L);
+        trace.finish(tracer);
+        assertFalse(trace.isActive());
+        assertEquals(1, tracer.getHistogram(LineTrace.Phase.QUEUEING).getCount());
+        assertEquals(0, tracer.getHistogram(LineTrace.Phase.RECEIVING).getCount());
+        // Unmarked phases count towards the next marked phase
+        assertEquals(7_000L, tracer.getHistogram(LineTrace.Phase.DECODE).getMax(), 7_000L / 32);
+        assertEquals(40_000L, tracer.getHistogram(LineTrace.Phase.IMAGE_WRITE).getMax(), 40_000L / 32);
+        assertEquals(49_000L, tracer.getTotal().getMax(), 49_000L / 32);
+    }
+
+    @Test
+    void traceIsReusedForTheNextLine() {
+        LatencyTracer tracer = new LatencyTracer();
+        LineTrace trace = new LineTrace();
+        for (int line = 0; line < 3; line++) {
+            trace.start(100L);
+            trace.mark(LineTrace.Phase.ENCODE, 200L);
+            trace.finish(tracer);
+        }
+        assertEquals(3, tracer.getHistogram(LineTrace.Phase.ENCODE).getCount());
+        assertEquals(0, tracer.getHistogram(LineTrace.Phase.QUEUEING).getCount());
+    }
+
+    @Test
+    void noneIgnoresMarks() {
+        LatencyTracer tracer = new LatencyTracer();
+        LineTrace.NONE.start(100L);
+        LineTrace.NONE.mark(LineTrace.Phase.TEXT_WRITE, 200L);
+        LineTrace.NONE.finish(tracer);
+        assertFalse(LineTrace.NONE.isActive());
+        assertEquals(0, tracer.getTotal().getCount());
+    }
+}
@@ -0,0 +1,76 @@
+package ch.erzberger.emulation.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    @Test
+    void tokens() {
+        assertEquals(List.of("x", "12.345,67", "total", "abc"), SearchIndex.tokens("X= 12.345,67. TOTAL:abc"));
+        assertEquals(List.of(), SearchIndex.tokens(" ... "));
+    }
+
+    @Test
+    void searchAcrossSegmentsAndRuns(@TempDir Path tempDir) throws IOException {
+        try (SearchIndex index = new SearchIndex(tempDir, false, 4)) {
+            for (int i = 1; i <= 40; i++) {
+                index.add(i % 10 == 0 ? "TOTAL " + i : "line " + i);
+            }
+            SearchIndex.awaitMerged();
+            List<SearchHit> hits = index.search("total", 2, 10);
+            assertEquals(List.of("TOTAL 40", "TOTAL 30", "TOTAL 20", "TOTAL 10"), texts(hits));
+            assertEquals(List.of("line 28", "line 29"), hits.get(1).getBefore().stream().map(IndexedLine::getText).collect(Collectors.toList()));
+            assertEquals(List.of("line 31", "line 32"), hits.get(1).getAfter().stream().map(IndexedLine::getText).collect(Collectors.toList()));
+            assertEquals(List.of("TOTAL 20"), texts(index.search("Total 20", 0, 10)));
+            assertEquals(List.of("TOTAL 40", "TOTAL 30"), texts(index.search("total", 0, 2)));
+            assertEquals(List.of(), index.search("missing", 0, 10));
+        }
+        // 40 lines in segments of 4 lines, merged into two segments of 16 lines and two of 4
+        assertEquals(4, segmentFiles(tempDir).size());
+        try (SearchIndex index = new SearchIndex(tempDir, false, 4)) {
+            assertEquals(2, index.getRun());
+            index.add("TOTAL 50");
+            index.add("after");
+            SearchHit hit = index.search("total", 5, 1).get(0);
+            assertEquals(2, hit.getLine().getRun());
+            assertEquals(1, hit.getLine().getLine());
+            // The context does not reach into the previous run
+            assertEquals(List.of(), hit.getBefore());
+            assertEquals(1, hit.getAfter().size());
+            try (SearchIndex reader = SearchIndex.openReadOnly(tempDir)) {
+                assertEquals(5, reader.search("total", 0, 10).size());
+            }
+        }
+    }
+
+    @Test
+    void linesAfterTheLastSegmentAreIndexedOnTheNextStart(@TempDir Path tempDir) throws IOException {
+        SearchIndex crashed = new SearchIndex(tempDir, false, 100);
+        crashed.add("TOTAL 1");
+        // The simulator stops without closing the index, so there is no segment
+        assertTrue(segmentFiles(tempDir).isEmpty());
+        try (SearchIndex index = new SearchIndex(tempDir, false, 100)) {
+            assertEquals(List.of("TOTAL 1"), texts(index.search("total", 0, 10)));
+        }
+    }
+
+    private static List<String> texts(List<SearchHit> hits) {
+        return hits.stream().map(h -> h.getLine().getText()).collect(Collectors.toList());
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Segment::isSegmentFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ch.erzberger.emulation.sender;
+
+import ch.erzberger.emulation.communication.PrintDataWriter;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutSenderTest {
+
+    @Test
+    void allWritersReceiveAllJobs() {
+        List<byte[]> lines = FanOutSender.readJobs(List.of(Paths.get("src/test/resources/test.yaml"),
+                Paths.get("src/test/resources/test.yaml")));
+        TestWriterImpl first = new TestWriterImpl("first", -1);
+        TestWriterImpl second = new TestWriterImpl("second", -1);
+        FanOutSender sender = new FanOutSender(List.of(first, second), lines, 1000L, 1000L);
+        assertTrue(sender.send());
+        assertArrayEquals(first.getReceived().toByteArray(), second.getReceived().toByteArray());
+        assertEquals(2 * 37, first.getReceived().size());
+        assertTrue(first.isFlushed());
+        assertEquals(lines.size(), sender.getProgress().get(1).getLinesSent());
+    }
+
+    @Test
+    void failingWriterIsIsolated() {
+        List<byte[]> lines = FanOutSender.readJobs(List.of(Paths.get("src/test/resources/test.yaml")));
+        TestWriterImpl good = new TestWriterImpl("good", -1);
+        TestWriterImpl bad = new TestWriterImpl("bad", 2);
+        FanOutSender sender = new FanOutSender(List.of(bad, good), lines, 1000L, 1000L);
+        assertFalse(sender.send());
+        assertEquals(37, good.getReceived().size());
+        assertFalse(sender.getProgress().get(1).isFailed());
+        FanOutSender.WriterProgress badProgress = sender.getProgress().get(0);
+        assertTrue(badProgress.isFailed());
+        assertTrue(badProgress.isFinished());
+        assertEquals(2, badProgress.getLinesSent());
+    }
+
+    /**
+     * Local stand-in for a printer port, in the style of the StdOutWriterImpl.
+     */
+    @Getter
+    private static class TestWriterImpl implements PrintDataWriter {
+        private final String deviceName;
+        private final int failAfterLines;
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        private int linesReceived = 0;
+        private boolean flushed = false;
+
+        TestWriterImpl(String deviceName, int failAfterLines) {
+            this.deviceName = deviceName;
+            this.failAfterLines = failAfterLines;
+        }
+
+        @Override
+        public boolean waitUntilReady(long timeout) {
+            return true;
+        }
+
+        @Override
+        public void sendBytes(byte[] sendBuffer) {
+            if (linesReceived == failAfterLines) {
+                throw new IllegalStateException("Port went away");
+            }
+            received.writeBytes(sendBuffer);
+            linesReceived++;
+        }
+
+        @Override
+        public void flush() {
+            flushed = true;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ch.erzberger.emulation.sender;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageConverterTest {
+
+    @Test
+    void aspectRatio() {
+        // Twice the printer width; 184 rows become 92 rows at full width, and 76 rows on the printer
+        ImageConverter converter = new ImageConverter(filledImage(332, 184, Color.BLACK));
+        assertEquals(10, converter.getBandCount());
+    }
+
+    @Test
+    void blackAndWhiteBands() {
+        ImageConverter converter = new ImageConverter(filledImage(166, 23, Color.BLACK));
+        // 23 rows scale to 19 rows: Two full bands and one with 3 rows
+        assertEquals(3, converter.getBandCount());
+        List<byte[]> bands = new ArrayList<>();
+        converter.convert(bands::add);
+        assertEquals(3, bands.size());
+        for (byte[] band : bands) {
+            assertEquals(169, band.length);
+            assertEquals(0x1B, band[0]);
+            assertEquals((byte) 166, band[1]);
+            assertEquals(0x0A, band[168]);
+        }
+        assertEquals((byte) 0xFF, bands.get(0)[2]);
+        assertEquals((byte) 0x07, bands.get(2)[2]);
+        byte[] white = new ImageConverter(filledImage(166, 8, Color.WHITE)).encodeBand(0);
+        for (int column = 2; column < 168; column++) {
+            assertEquals(0, white[column]);
+        }
+    }
+
+    @Test
+    void bandsStayInOrder() {
+        // Top half black, bottom half white
+        BufferedImage image = filledImage(166, 1000, Color.WHITE);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.BLACK);
+        g2.fillRect(0, 0, 166, 500);
+        g2.dispose();
+        ImageConverter converter = new ImageConverter(image);
+        List<byte[]> bands = new ArrayList<>();
+        converter.convert(bands::add);
+        assertEquals(converter.getBandCount(), bands.size());
+        assertEquals((byte) 0xFF, bands.get(0)[100]);
+        assertEquals(0, bands.get(bands.size() - 1)[100]);
+    }
+
+    private BufferedImage filledImage(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(color);
+        g2.fillRect(0, 0, width, height);
+        g2.dispose();
+        return image;
+    }
+}
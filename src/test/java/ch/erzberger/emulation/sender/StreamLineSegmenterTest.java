@@ -0,0 +1,54 @@
+package ch.erzberger.emulation.sender;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamLineSegmenterTest {
+    private final List<String> lines = new ArrayList<>();
+    private final StreamLineSegmenter segmenter = new StreamLineSegmenter(line -> lines.add(HexFormat.of().formatHex(line)));
+
+    @Test
+    void splitOnLineFeeds() {
+        accept("41420a43440444");
+        assertEquals(List.of("41420a", "434404"), lines);
+        segmenter.flushPartial();
+        assertEquals("44", lines.get(2));
+        segmenter.flushPartial();
+        assertEquals(3, lines.size());
+    }
+
+    @Test
+    void lineFeedsInGraphicsAndEscapeSequences() {
+        // Graphics block of 3 bytes, containing both line feed codes, followed by ESC and a real line feed
+        accept("1b030a04411b");
+        accept("fd0a");
+        assertEquals(List.of("1b030a04411bfd0a"), lines);
+    }
+
+    @Test
+    void printerBufferSize() {
+        accept("41".repeat(450) + "0a");
+        assertEquals(3, lines.size());
+        assertEquals(400, lines.get(0).length());
+        assertEquals(102, lines.get(2).length());
+    }
+
+    @Test
+    void streamText() {
+        StreamSender sender = new StreamSender(line -> lines.add(HexFormat.of().formatHex(line)), true);
+        sender.send(new ByteArrayInputStream("AÑ√\r\nB".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of("41b6830a", "42"), lines);
+    }
+
+    private void accept(String hex) {
+        byte[] data = HexFormat.of().parseHex(hex);
+        segmenter.accept(data, 0, data.length);
+    }
+}
@@ -0,0 +1,59 @@
+package ch.erzberger.emulation.session;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import ch.erzberger.emulation.hp41printer.Paper;
+import ch.erzberger.emulation.hp41printer.PrinterOptions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BridgePrinterTest {
+
+    @Test
+    void everyConnectionGetsItsOwnDecoder() {
+        SessionScheduler scheduler = new SessionScheduler(1);
+        SessionScheduler.Session session = scheduler.newSession("bridge");
+        RecordingPaper paper = new RecordingPaper();
+        PrinterOptions options = new PrinterOptions();
+        options.setJobIdleMillis(0L);
+        BridgePrinter bridge = new BridgePrinter(session, paper, options);
+        InetSocketAddress first = new InetSocketAddress("127.0.0.1", 40001);
+        InetSocketAddress second = new InetSocketAddress("127.0.0.1", 40002);
+        // The first connection breaks off after an escape character
+        ByteProcessor connection = bridge.connect(first);
+        connection.processBytes("Hello\n\u001B".getBytes(StandardCharsets.ISO_8859_1));
+        // Another connection of the same bridge is refused while the first one is open
+        assertThrows(IllegalStateException.class, () -> bridge.connect(second));
+        bridge.disconnected(second);
+        bridge.disconnected(first);
+        // The escape character does not swallow the first character of the next connection
+        bridge.connect(second).processBytes("World\n".getBytes(StandardCharsets.ISO_8859_1));
+        scheduler.close(List.of(session));
+        assertEquals(List.of("Hello", "tear-off", "World"), paper.events);
+        assertThrows(IllegalStateException.class, () -> session.processBytes(new byte[1]));
+    }
+
+    private static class RecordingPaper implements Paper {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void printLine(String line) {
+            events.add(line);
+        }
+
+        @Override
+        public void printGraphic(boolean[][] bitmap) {
+            // Only the text is checked
+        }
+
+        @Override
+        public void tearOff() {
+            events.add("tear-off");
+        }
+    }
+}
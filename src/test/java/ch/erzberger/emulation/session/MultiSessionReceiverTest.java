@@ -0,0 +1,75 @@
+package ch.erzberger.emulation.session;
+
+import ch.erzberger.emulation.common.FileParserHelper;
+import ch.erzberger.emulation.communication.LoopbackLink;
+import ch.erzberger.emulation.communication.PrintDataWriter;
+import ch.erzberger.emulation.communication.TransmissionPacing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSessionReceiverTest {
+
+    @Test
+    void readSessions(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("sessions.yaml");
+        Files.writeString(file, "threads: 4\nsessions:\n  - name: desk1\n    port: ttyUSB0\n    output: out/desk1\n"
+                + "  - name: desk2\n    port: ttyUSB1\n    modelA: true\n");
+        SessionsFile sessionsFile = MultiSessionReceiver.readSessions(file);
+        assertEquals(4, sessionsFile.getThreads());
+        assertEquals(2, sessionsFile.getSessions().size());
+        assertEquals("out/desk1", sessionsFile.getSessions().get(0).getOutput());
+        assertNull(sessionsFile.getSessions().get(1).getOutput());
+        assertTrue(sessionsFile.getSessions().get(1).isModelA());
+        Files.writeString(file, "sessions:\n  - name: desk1\n  - name: desk1\n");
+        assertThrows(NoClassDefFoundError.class, () -> MultiSessionReceiver.readSessions(file));
+    }
+
+    @Test
+    void sessionsWriteToTheirOwnDirectory(@TempDir Path tempDir) throws IOException {
+        SessionsFile sessionsFile = new SessionsFile();
+        sessionsFile.setThreads(2);
+        sessionsFile.setSessions(List.of(session("first", tempDir), session("second", tempDir), session("third", tempDir)));
+        Map<String, LoopbackLink> links = new HashMap<>();
+        MultiSessionReceiver receiver = new MultiSessionReceiver(sessionsFile, definition -> {
+            if ("third".equals(definition.getName())) {
+                throw new NoClassDefFoundError("Could not open serial port");
+            }
+            LoopbackLink link = new LoopbackLink(TransmissionPacing.UNLIMITED);
+            links.put(definition.getName(), link);
+            return link.getReader();
+        });
+        assertEquals(2, receiver.start());
+        for (LoopbackLink link : links.values()) {
+            FileParserHelper helper = new FileParserHelper(Paths.get("src/test/resources/test.yaml"));
+            PrintDataWriter writer = link.getWriter();
+            while (helper.hasNextLine()) {
+                writer.sendBytes(helper.readNextLine());
+            }
+            link.close();
+        }
+        receiver.close();
+        String first = Files.readString(tempDir.resolve("first").resolve("Hp8224-Text.txt"), StandardCharsets.UTF_8);
+        String second = Files.readString(tempDir.resolve("second").resolve("Hp8224-Text.txt"), StandardCharsets.UTF_8);
+        assertFalse(first.isEmpty());
+        assertEquals(first, second);
+        assertFalse(Files.exists(tempDir.resolve("third").resolve("Hp8224-Text.txt")));
+    }
+
+    private static SessionDefinition session(String name, Path tempDir) {
+        SessionDefinition definition = new SessionDefinition();
+        definition.setName(name);
+        definition.setOutput(tempDir.resolve(name).toString());
+        return definition;
+    }
+}
@@ -0,0 +1,88 @@
+package ch.erzberger.emulation.session;
+
+import ch.erzberger.emulation.common.ByteProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionSchedulerTest {
+    private static final int SESSIONS = 40;
+    private static final int BLOCKS = 500;
+
+    @Test
+    void eachSessionReceivesItsDataInOrder() throws InterruptedException {
+        SessionScheduler scheduler = new SessionScheduler(3);
+        List<RecordingProcessor> targets = new ArrayList<>();
+        List<SessionScheduler.Session> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            RecordingProcessor target = new RecordingProcessor();
+            targets.add(target);
+            sessions.add(scheduler.newSession("session-" + i, target));
+        }
+        // One reader thread per session, like one serial port each. The buffer is reused like the readers do.
+        List<Thread> readers = new ArrayList<>();
+        for (SessionScheduler.Session session : sessions) {
+            Thread reader = new Thread(() -> {
+                byte[] buffer = new byte[2];
+                for (int block = 0; block < BLOCKS; block++) {
+                    buffer[0] = (byte) (block >> 8);
+                    buffer[1] = (byte) block;
+                    session.processBytes(buffer, 0, 2, System.nanoTime());
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        scheduler.close(sessions);
+        for (RecordingProcessor target : targets) {
+            byte[] received = target.received.toByteArray();
+            assertEquals(2 * BLOCKS, received.length);
+            for (int block = 0; block < BLOCKS; block++) {
+                assertEquals(block, ((received[2 * block] & 0xFF) << 8) | (received[2 * block + 1] & 0xFF));
+            }
+            assertEquals(1, target.maxConcurrent);
+        }
+    }
+
+    @Test
+    void failingSessionIsIsolated() {
+        SessionScheduler scheduler = new SessionScheduler(1);
+        RecordingProcessor good = new RecordingProcessor();
+        SessionScheduler.Session failing = scheduler.newSession("failing", b -> {
+            throw new IllegalStateException("Broken printer");
+        });
+        SessionScheduler.Session working = scheduler.newSession("working", good);
+        failing.processBytes(new byte[]{1, 2, 3}, 0, 3, 0L);
+        working.processBytes(new byte[]{1, 2, 3}, 1, 2, 0L);
+        failing.processByte((byte) 4);
+        working.processByte((byte) 4);
+        scheduler.close(List.of(failing, working));
+        assertArrayEquals(new byte[]{2, 3, 4}, good.received.toByteArray());
+    }
+
+    private static class RecordingProcessor implements ByteProcessor {
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private volatile int maxConcurrent = 0;
+
+        @Override
+        public void processByte(byte byteReceived) {
+            received.write(byteReceived);
+        }
+
+        @Override
+        public void processBytes(byte[] bytes, int offset, int length, long arrivalNanos) {
+            maxConcurrent = Math.max(maxConcurrent, concurrent.incrementAndGet());
+            received.write(bytes, offset, length);
+            concurrent.decrementAndGet();
+        }
+    }
+}